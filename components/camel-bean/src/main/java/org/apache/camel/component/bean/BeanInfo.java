@@ -76,6 +76,9 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<>();
     private Map<Method, MethodInfo> methodMap = new HashMap<>();
     private boolean publicConstructors;
+    // the special methods for getClass and length on arrays, which are created on first use
+    private volatile MethodInfo getClassMethodInfo;
+    private volatile MethodInfo arrayLengthMethodInfo;
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -224,28 +227,37 @@ public class BeanInfo {
             // special for getClass, as we want the user to be able to invoke this method
             // for example to log the class type or the likes
             if ("class".equals(name) || "getClass".equals(name)) {
-                try {
-                    Method method = pojo.getClass().getMethod("getClass");
-                    methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, Collections.<ParameterInfo>emptyList(), Collections.<ParameterInfo>emptyList(), false, false);
-                } catch (NoSuchMethodException e) {
-                    throw new MethodNotFoundException(exchange, pojo, "getClass");
+                // reuse the method info as creating it introspects the annotations of the method
+                methodInfo = getClassMethodInfo;
+                if (methodInfo == null || methodInfo.getType() != pojo.getClass()) {
+                    try {
+                        Method method = pojo.getClass().getMethod("getClass");
+                        methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, Collections.<ParameterInfo>emptyList(), Collections.<ParameterInfo>emptyList(), false, false);
+                        getClassMethodInfo = methodInfo;
+                    } catch (NoSuchMethodException e) {
+                        throw new MethodNotFoundException(exchange, pojo, "getClass");
+                    }
                 }
             // special for length on an array type
             } else if ("length".equals(name) && pojo.getClass().isArray()) {
-                try {
-                    // need to use arrayLength method from ObjectHelper as Camel's bean OGNL support is method invocation based
-                    // and not for accessing fields. And hence we need to create a MethodInfo instance with a method to call
-                    // and therefore use arrayLength from ObjectHelper to return the array length field.
-                    Method method = org.apache.camel.util.ObjectHelper.class.getMethod("arrayLength", Object[].class);
-                    ParameterInfo pi = new ParameterInfo(0, Object[].class, null, ExpressionBuilder.mandatoryBodyExpression(Object[].class, true));
-                    List<ParameterInfo> lpi = new ArrayList<>(1);
-                    lpi.add(pi);
-                    methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, lpi, lpi, false, false);
-                    // Need to update the message body to be pojo for the invocation
-                    exchange.getIn().setBody(pojo);
-                } catch (NoSuchMethodException e) {
-                    throw new MethodNotFoundException(exchange, pojo, "getClass");
+                methodInfo = arrayLengthMethodInfo;
+                if (methodInfo == null || methodInfo.getType() != pojo.getClass()) {
+                    try {
+                        // need to use arrayLength method from ObjectHelper as Camel's bean OGNL support is method invocation based
+                        // and not for accessing fields. And hence we need to create a MethodInfo instance with a method to call
+                        // and therefore use arrayLength from ObjectHelper to return the array length field.
+                        Method method = org.apache.camel.util.ObjectHelper.class.getMethod("arrayLength", Object[].class);
+                        ParameterInfo pi = new ParameterInfo(0, Object[].class, null, ExpressionBuilder.mandatoryBodyExpression(Object[].class, true));
+                        List<ParameterInfo> lpi = new ArrayList<>(1);
+                        lpi.add(pi);
+                        methodInfo = new MethodInfo(exchange.getContext(), pojo.getClass(), method, lpi, lpi, false, false);
+                        arrayLengthMethodInfo = methodInfo;
+                    } catch (NoSuchMethodException e) {
+                        throw new MethodNotFoundException(exchange, pojo, "getClass");
+                    }
                 }
+                // Need to update the message body to be pojo for the invocation
+                exchange.getIn().setBody(pojo);
             } else {
                 List<MethodInfo> methods = getOperations(name);
                 if (methods != null && methods.size() == 1) {
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Invokes a bean method using a lambda generated by {@link LambdaMetafactory}, which avoids the overhead of
+ * reflection, so invoking the method is nearly as fast as calling the method directly.
+ * <p/>
+ * A lambda can only be generated for public methods with at most {@link #MAX_PARAMETERS} parameters, where the
+ * classes used by the method are public and visible from this class. Use {@link #create(Method)} which returns
+ * <tt>null</tt> for the methods which must be invoked using reflection.
+ */
+final class LambdaMethodInvoker {
+
+    static final int MAX_PARAMETERS = 4;
+
+    private static final Class<?>[] LAMBDA_TYPES = {
+        Lambda0.class, Lambda1.class, Lambda2.class, Lambda3.class, Lambda4.class, Lambda5.class
+    };
+    private static final Class<?>[] VOID_LAMBDA_TYPES = {
+        VoidLambda0.class, VoidLambda1.class, VoidLambda2.class, VoidLambda3.class, VoidLambda4.class, VoidLambda5.class
+    };
+
+    interface Lambda0 {
+        Object call();
+    }
+
+    interface Lambda1 {
+        Object call(Object a0);
+    }
+
+    interface Lambda2 {
+        Object call(Object a0, Object a1);
+    }
+
+    interface Lambda3 {
+        Object call(Object a0, Object a1, Object a2);
+    }
+
+    interface Lambda4 {
+        Object call(Object a0, Object a1, Object a2, Object a3);
+    }
+
+    interface Lambda5 {
+        Object call(Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+
+    interface VoidLambda0 {
+        void call();
+    }
+
+    interface VoidLambda1 {
+        void call(Object a0);
+    }
+
+    interface VoidLambda2 {
+        void call(Object a0, Object a1);
+    }
+
+    interface VoidLambda3 {
+        void call(Object a0, Object a1, Object a2);
+    }
+
+    interface VoidLambda4 {
+        void call(Object a0, Object a1, Object a2, Object a3);
+    }
+
+    interface VoidLambda5 {
+        void call(Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+
+    private final Object lambda;
+    private final boolean isStatic;
+    private final boolean isVoid;
+    private final Class<?> declaringClass;
+    // the parameter types where primitive types are wrapped
+    private final Class<?>[] parameterTypes;
+    private final boolean[] primitives;
+    // the number of arguments of the lambda, which includes the bean for non static methods
+    private final int arity;
+
+    private LambdaMethodInvoker(Method method, Object lambda) {
+        this.lambda = lambda;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.isVoid = method.getReturnType() == void.class;
+        this.declaringClass = method.getDeclaringClass();
+        Class<?>[] types = method.getParameterTypes();
+        this.parameterTypes = new Class<?>[types.length];
+        this.primitives = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            parameterTypes[i] = ObjectHelper.convertPrimitiveTypeToWrapperType(types[i]);
+            primitives[i] = types[i].isPrimitive();
+        }
+        this.arity = types.length + (isStatic ? 0 : 1);
+    }
+
+    /**
+     * Creates a lambda based invoker for the method.
+     *
+     * @param method the method
+     * @return the invoker, or <tt>null</tt> if the method must be invoked using reflection
+     */
+    static LambdaMethodInvoker create(Method method) {
+        if (method.getParameterCount() > MAX_PARAMETERS || !isAccessible(method)) {
+            return null;
+        }
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        boolean isVoid = method.getReturnType() == void.class;
+        int arity = method.getParameterCount() + (isStatic ? 0 : 1);
+        Class<?> lambdaType = isVoid ? VOID_LAMBDA_TYPES[arity] : LAMBDA_TYPES[arity];
+
+        // the lambda takes the bean (if not static) and the arguments, and casts or unboxes them as needed
+        Class<?>[] types = new Class<?>[arity];
+        int index = 0;
+        if (!isStatic) {
+            types[index++] = method.getDeclaringClass();
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            types[index++] = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
+        }
+        Class<?> returnType = isVoid ? void.class : Object.class;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(lambdaType),
+                MethodType.genericMethodType(arity).changeReturnType(returnType), handle, MethodType.methodType(returnType, types));
+            return new LambdaMethodInvoker(method, site.getTarget().invoke());
+        } catch (Throwable e) {
+            // the method is invoked using reflection instead
+            return null;
+        }
+    }
+
+    /**
+     * Gets the lambda generated by {@link LambdaMetafactory}, which implements one of the lambda interfaces
+     */
+    Object getLambda() {
+        return lambda;
+    }
+
+    /**
+     * Whether the bean and arguments can be used to invoke the method, which requires the arguments to be of the
+     * parameter types, as the lambda does not widen or convert the arguments like reflection does.
+     */
+    boolean accept(Object pojo, Object[] arguments) {
+        if (!isStatic && !declaringClass.isInstance(pojo)) {
+            return false;
+        }
+        int size = arguments != null ? arguments.length : 0;
+        if (size != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            Object argument = arguments[i];
+            if (argument == null ? primitives[i] : !parameterTypes[i].isInstance(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes the method, where any exception thrown by the method is thrown as-is.
+     */
+    Object invoke(Object pojo, Object[] arguments) {
+        if (isVoid) {
+            invokeVoid(pojo, arguments);
+            return null;
+        }
+        switch (arity) {
+        case 0:
+            return ((Lambda0) lambda).call();
+        case 1:
+            return ((Lambda1) lambda).call(argument(0, pojo, arguments));
+        case 2:
+            return ((Lambda2) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments));
+        case 3:
+            return ((Lambda3) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments));
+        case 4:
+            return ((Lambda4) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments), argument(3, pojo, arguments));
+        default:
+            return ((Lambda5) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments), argument(3, pojo, arguments), argument(4, pojo, arguments));
+        }
+    }
+
+    private void invokeVoid(Object pojo, Object[] arguments) {
+        switch (arity) {
+        case 0:
+            ((VoidLambda0) lambda).call();
+            break;
+        case 1:
+            ((VoidLambda1) lambda).call(argument(0, pojo, arguments));
+            break;
+        case 2:
+            ((VoidLambda2) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments));
+            break;
+        case 3:
+            ((VoidLambda3) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments));
+            break;
+        case 4:
+            ((VoidLambda4) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments), argument(3, pojo, arguments));
+            break;
+        default:
+            ((VoidLambda5) lambda).call(argument(0, pojo, arguments), argument(1, pojo, arguments),
+                argument(2, pojo, arguments), argument(3, pojo, arguments), argument(4, pojo, arguments));
+            break;
+        }
+    }
+
+    private Object argument(int index, Object pojo, Object[] arguments) {
+        if (isStatic) {
+            return arguments[index];
+        }
+        return index == 0 ? pojo : arguments[index - 1];
+    }
+
+    /**
+     * Whether the method and the classes it uses are accessible, as the generated lambda is defined
+     * by the class loader of this class and calls the method directly.
+     */
+    private static boolean isAccessible(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !isVisible(method.getDeclaringClass())) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, LambdaMethodInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -76,6 +76,9 @@ public class MethodInfo {
     private AsyncProcessor recipientList;
     private AsyncProcessor routingSlip;
     private AsyncProcessor dynamicRouter;
+    // the lambda to invoke the method, which is created on first invocation (null if using reflection)
+    private volatile LambdaMethodInvoker invoker;
+    private volatile boolean invokerCreated;
 
     /**
      * Adapter to invoke the method which has been annotated with the @DynamicRouter
@@ -419,6 +422,17 @@ public class MethodInfo {
     }
 
     protected Object invoke(Method mth, Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
+        if (mth == method) {
+            LambdaMethodInvoker lambda = getInvoker();
+            if (lambda != null && lambda.accept(pojo, arguments)) {
+                try {
+                    return lambda.invoke(pojo, arguments);
+                } catch (Throwable e) {
+                    // wrap the exception thrown by the method the same way as reflection
+                    throw new InvocationTargetException(e);
+                }
+            }
+        }
         try {
             return ObjectHelper.invokeMethodSafe(mth, pojo, arguments);
         } catch (IllegalAccessException e) {
@@ -428,6 +442,21 @@ public class MethodInfo {
         }
     }
 
+    /**
+     * Gets the lambda to invoke the method, or <tt>null</tt> if the method is invoked using reflection
+     */
+    LambdaMethodInvoker getInvoker() {
+        if (!invokerCreated) {
+            // the lambda is created lazily as most methods of a bean are never invoked
+            invoker = LambdaMethodInvoker.create(method);
+            invokerCreated = true;
+            if (invoker == null) {
+                LOG.debug("Invoking method using reflection: {}", method);
+            }
+        }
+        return invoker;
+    }
+
     protected Expression[] createParameterExpressions() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
@@ -575,6 +604,8 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        // the parameter values parsed from the last method name, as the same method name is typically used for every exchange
+        private volatile ParameterValues lastParameterValues;
 
         ParameterExpression(Expression[] expressions) {
             this.expressions = expressions;
@@ -588,15 +619,9 @@ public class MethodInfo {
             // if there was an explicit method name to invoke, then we should support using
             // any provided parameter values in the method name
             String methodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME, String.class);
-            // the parameter values is between the parenthesis
-            String methodParameters = StringHelper.betweenOuterPair(methodName, '(', ')');
-            // use an iterator to walk the parameter values
-            Iterator<?> it = null;
-            if (methodParameters != null) {
-                // split the parameters safely separated by comma, but beware that we can have
-                // quoted parameters which contains comma as well, so do a safe quote split
-                String[] parameters = StringQuoteHelper.splitSafeQuote(methodParameters, ',', true);
-                it = ObjectHelper.createIterator(parameters, ",", true);
+            ParameterValue[] values = null;
+            if (methodName != null) {
+                values = getParameterValues(exchange, methodName);
             }
 
             // remove headers as they should not be propagated
@@ -607,14 +632,90 @@ public class MethodInfo {
                 exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
             }
 
-            Object[] answer = evaluateParameterExpressions(exchange, body, it);
+            Object[] answer = evaluateParameterExpressions(exchange, body, values);
             return (T) answer;
         }
 
+        /**
+         * Gets the parameter values provided in the method name, which are only parsed when the method name changes
+         */
+        private ParameterValue[] getParameterValues(Exchange exchange, String methodName) {
+            ParameterValues last = lastParameterValues;
+            if (last == null || !last.methodName.equals(methodName)) {
+                last = new ParameterValues(methodName, parseParameterValues(exchange, methodName));
+                lastParameterValues = last;
+            }
+            return last.values;
+        }
+
+        /**
+         * Parses the parameter values provided in the method name
+         *
+         * @return the parameter values by index (<tt>null</tt> at an index which has no parameter value),
+         *         or <tt>null</tt> if the method name has no parameter values
+         */
+        private ParameterValue[] parseParameterValues(Exchange exchange, String methodName) {
+            // the parameter values is between the parenthesis
+            String methodParameters = StringHelper.betweenOuterPair(methodName, '(', ')');
+            if (methodParameters == null) {
+                return null;
+            }
+
+            // split the parameters safely separated by comma, but beware that we can have
+            // quoted parameters which contains comma as well, so do a safe quote split
+            String[] parameters = StringQuoteHelper.splitSafeQuote(methodParameters, ',', true);
+            // use an iterator to walk the parameter values
+            Iterator<?> it = ObjectHelper.createIterator(parameters, ",", true);
+
+            ParameterValue[] answer = new ParameterValue[expressions.length];
+            for (int i = 0; i < answer.length && it.hasNext(); i++) {
+                Object parameterValue = it.next();
+                // we should skip * as its a type placeholder to indicate any type
+                if (parameterValue != null && !parameterValue.equals("*")) {
+                    answer[i] = parseParameterValue(exchange, parameterValue, MethodInfo.this.parameters.get(i).getType());
+                }
+            }
+            return answer;
+        }
+
+        /**
+         * Parses a single parameter value provided in the method name
+         *
+         * @return the parameter value, or <tt>null</tt> if not a parameter value but a parameter type
+         */
+        private ParameterValue parseParameterValue(Exchange exchange, Object parameterValue, Class<?> parameterType) {
+            // convert the parameter value to a String
+            String exp = exchange.getContext().getTypeConverter().convertTo(String.class, exchange, parameterValue);
+            if (exp == null) {
+                return null;
+            }
+
+            // check if its a valid parameter value
+            boolean valid = BeanHelper.isValidParameterValue(exp);
+            if (!valid) {
+                // it may be a parameter type instead, and if so, then we should return null,
+                // as this method is only for evaluating parameter values
+                Boolean isClass = BeanHelper.isAssignableToExpectedType(exchange.getContext().getClassResolver(), exp, parameterType);
+                // the method will return a non null value if exp is a class
+                if (isClass != null) {
+                    return null;
+                }
+            }
+
+            // use simple language to evaluate the expression, as it may use the simple language to refer to message body, headers etc.
+            Expression expression = null;
+            try {
+                expression = exchange.getContext().resolveLanguage("simple").createExpression(exp);
+            } catch (Exception e) {
+                // the expression is created again when evaluated, which reports the failure for the given exchange
+            }
+            return new ParameterValue(exp, valid, expression);
+        }
+
         /**
          * Evaluates all the parameter expressions
          */
-        private Object[] evaluateParameterExpressions(Exchange exchange, Object body, Iterator<?> it) {
+        private Object[] evaluateParameterExpressions(Exchange exchange, Object body, ParameterValue[] values) {
             Object[] answer = new Object[expressions.length];
             for (int i = 0; i < expressions.length; i++) {
 
@@ -624,15 +725,14 @@ public class MethodInfo {
                 }
 
                 // grab the parameter value for the given index
-                Object parameterValue = it != null && it.hasNext() ? it.next() : null;
+                ParameterValue parameterValue = values != null ? values[i] : null;
                 // and the expected parameter type
                 Class<?> parameterType = parameters.get(i).getType();
                 // the value for the parameter to use
                 Object value = null;
 
                 // prefer to use parameter value if given, as they override any bean parameter binding
-                // we should skip * as its a type placeholder to indicate any type
-                if (parameterValue != null && !parameterValue.equals("*")) {
+                if (parameterValue != null) {
                     // evaluate the parameter value binding
                     value = evaluateParameterValue(exchange, i, parameterValue, parameterType);
                 }
@@ -662,77 +762,65 @@ public class MethodInfo {
          *
          * @since 2.9
          */
-        private Object evaluateParameterValue(Exchange exchange, int index, Object parameterValue, Class<?> parameterType) {
+        private Object evaluateParameterValue(Exchange exchange, int index, ParameterValue value, Class<?> parameterType) {
             Object answer = null;
 
-            // convert the parameter value to a String
-            String exp = exchange.getContext().getTypeConverter().convertTo(String.class, exchange, parameterValue);
-            if (exp != null) {
-                // check if its a valid parameter value
-                boolean valid = BeanHelper.isValidParameterValue(exp);
-
-                if (!valid) {
-                    // it may be a parameter type instead, and if so, then we should return null,
-                    // as this method is only for evaluating parameter values
-                    Boolean isClass = BeanHelper.isAssignableToExpectedType(exchange.getContext().getClassResolver(), exp, parameterType);
-                    // the method will return a non null value if exp is a class
-                    if (isClass != null) {
-                        return null;
-                    }
-                }
-
-                // use simple language to evaluate the expression, as it may use the simple language to refer to message body, headers etc.
-                Expression expression = null;
-                try {
+            String exp = value.exp;
+            boolean valid = value.valid;
+            Object parameterValue;
+            // use simple language to evaluate the expression, as it may use the simple language to refer to message body, headers etc.
+            Expression expression = value.expression;
+            try {
+                if (expression == null) {
                     expression = exchange.getContext().resolveLanguage("simple").createExpression(exp);
-                    parameterValue = expression.evaluate(exchange, Object.class);
-                    // use "null" to indicate the expression returned a null value which is a valid response we need to honor
-                    if (parameterValue == null) {
-                        parameterValue = "null";
-                    }
-                } catch (Exception e) {
-                    throw new ExpressionEvaluationException(expression, "Cannot create/evaluate simple expression: " + exp
-                            + " to be bound to parameter at index: " + index + " on method: " + getMethod(), exchange, e);
                 }
-
-                // special for explicit null parameter values (as end users can explicit indicate they want null as parameter)
-                // see method javadoc for details
-                if ("null".equals(parameterValue)) {
-                    return Void.TYPE;
+                parameterValue = expression.evaluate(exchange, Object.class);
+                // use "null" to indicate the expression returned a null value which is a valid response we need to honor
+                if (parameterValue == null) {
+                    parameterValue = "null";
                 }
+            } catch (Exception e) {
+                throw new ExpressionEvaluationException(expression, "Cannot create/evaluate simple expression: " + exp
+                        + " to be bound to parameter at index: " + index + " on method: " + getMethod(), exchange, e);
+            }
 
-                // the parameter value may match the expected type, then we use it as-is
-                if (parameterType.isAssignableFrom(parameterValue.getClass())) {
-                    valid = true;
-                } else {
-                    // the parameter value was not already valid, but since the simple language have evaluated the expression
-                    // which may change the parameterValue, so we have to check it again to see if its now valid
-                    exp = exchange.getContext().getTypeConverter().tryConvertTo(String.class, parameterValue);
-                    // String values from the simple language is always valid
-                    if (!valid) {
-                        // re validate if the parameter was not valid the first time (String values should be accepted)
-                        valid = parameterValue instanceof String || BeanHelper.isValidParameterValue(exp);
-                    }
+            // special for explicit null parameter values (as end users can explicit indicate they want null as parameter)
+            // see method javadoc for details
+            if ("null".equals(parameterValue)) {
+                return Void.TYPE;
+            }
+
+            // the parameter value may match the expected type, then we use it as-is
+            if (parameterType.isAssignableFrom(parameterValue.getClass())) {
+                valid = true;
+            } else {
+                // the parameter value was not already valid, but since the simple language have evaluated the expression
+                // which may change the parameterValue, so we have to check it again to see if its now valid
+                exp = exchange.getContext().getTypeConverter().tryConvertTo(String.class, parameterValue);
+                // String values from the simple language is always valid
+                if (!valid) {
+                    // re validate if the parameter was not valid the first time (String values should be accepted)
+                    valid = parameterValue instanceof String || BeanHelper.isValidParameterValue(exp);
                 }
+            }
 
-                if (valid) {
-                    // we need to unquote String parameters, as the enclosing quotes is there to denote a parameter value
-                    if (parameterValue instanceof String) {
-                        parameterValue = StringHelper.removeLeadingAndEndingQuotes((String) parameterValue);
-                    }
-                    if (parameterValue != null) {
-                        try {
-                            // its a valid parameter value, so convert it to the expected type of the parameter
-                            answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, exchange, parameterValue);
-                            if (LOG.isTraceEnabled()) {
-                                LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer, org.apache.camel.util.ObjectHelper.type(answer));
-                            }
-                        } catch (Exception e) {
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Cannot convert from type: {} to type: {} for parameter #{}", org.apache.camel.util.ObjectHelper.type(parameterValue), parameterType, index);
-                            }
-                            throw new ParameterBindingException(e, method, index, parameterType, parameterValue);
+            if (valid) {
+                // we need to unquote String parameters, as the enclosing quotes is there to denote a parameter value
+                if (parameterValue instanceof String) {
+                    parameterValue = StringHelper.removeLeadingAndEndingQuotes((String) parameterValue);
+                }
+                if (parameterValue != null) {
+                    try {
+                        // its a valid parameter value, so convert it to the expected type of the parameter
+                        answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, exchange, parameterValue);
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer, org.apache.camel.util.ObjectHelper.type(answer));
                         }
+                    } catch (Exception e) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Cannot convert from type: {} to type: {} for parameter #{}", org.apache.camel.util.ObjectHelper.type(parameterValue), parameterType, index);
+                        }
+                        throw new ParameterBindingException(e, method, index, parameterType, parameterValue);
                     }
                 }
             }
@@ -779,4 +867,33 @@ public class MethodInfo {
         }
 
     }
+
+    /**
+     * The parameter values parsed from a method name
+     */
+    private static final class ParameterValues {
+        private final String methodName;
+        private final ParameterValue[] values;
+
+        ParameterValues(String methodName, ParameterValue[] values) {
+            this.methodName = methodName;
+            this.values = values;
+        }
+    }
+
+    /**
+     * A parameter value provided in the method name, with its simple expression created up front
+     */
+    private static final class ParameterValue {
+        private final String exp;
+        private final boolean valid;
+        // null if the expression could not be created
+        private final Expression expression;
+
+        ParameterValue(String exp, boolean valid, Expression expression) {
+            this.exp = exp;
+            this.valid = valid;
+            this.expression = expression;
+        }
+    }
 }
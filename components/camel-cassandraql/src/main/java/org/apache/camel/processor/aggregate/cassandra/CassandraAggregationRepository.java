@@ -35,6 +35,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.AggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.utils.cassandra.CassandraSessionHolder;
 import org.slf4j.Logger;
@@ -476,4 +477,17 @@ public class CassandraAggregationRepository extends ServiceSupport implements Re
     public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
+
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return exchangeCodec.getBinaryExchangeCodec();
+    }
+
+    /**
+     * Sets a codec to store the exchanges in a compact binary format instead of using Java serialization.
+     * Exchanges already stored in either format can be read regardless, which allows switching format
+     * for an existing repository.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        exchangeCodec.setBinaryExchangeCodec(binaryExchangeCodec);
+    }
 }
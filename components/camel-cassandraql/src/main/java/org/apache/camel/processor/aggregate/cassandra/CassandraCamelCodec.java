@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultExchangeHolder;
 
@@ -35,7 +36,24 @@ import org.apache.camel.support.DefaultExchangeHolder;
  */
 public class CassandraCamelCodec {
 
+    private BinaryExchangeCodec binaryExchangeCodec;
+
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return binaryExchangeCodec;
+    }
+
+    /**
+     * Sets the codec to store exchanges in the binary format instead of using Java serialization.
+     * Exchanges stored in either format can be read regardless.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        this.binaryExchangeCodec = binaryExchangeCodec;
+    }
+
     public ByteBuffer marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders) throws IOException {
+        if (binaryExchangeCodec != null) {
+            return ByteBuffer.wrap(binaryExchangeCodec.marshal(exchange, false, allowSerializedHeaders, BinaryExchangeCodec.aggregatedProperties(exchange)));
+        }
         // use DefaultExchangeHolder to marshal to a serialized object
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false, allowSerializedHeaders);
         // add the aggregated size and timeout property as the only properties we want to retain
@@ -55,9 +73,23 @@ public class CassandraCamelCodec {
     }
 
     public Exchange unmarshallExchange(CamelContext camelContext, ByteBuffer buffer) throws IOException, ClassNotFoundException {
-        DefaultExchangeHolder pe = (DefaultExchangeHolder) deserialize(new ByteBufferInputStream(buffer));
-        Exchange answer = new DefaultExchange(camelContext);
-        DefaultExchangeHolder.unmarshal(answer, pe);
+        if (!buffer.hasArray()) {
+            ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+            copy.put(buffer.duplicate());
+            copy.flip();
+            buffer = copy;
+        }
+        Exchange answer;
+        byte[] data = buffer.array();
+        int offset = buffer.arrayOffset() + buffer.position();
+        if (BinaryExchangeCodec.isBinaryExchange(data, offset, buffer.remaining())) {
+            BinaryExchangeCodec codec = binaryExchangeCodec != null ? binaryExchangeCodec : new BinaryExchangeCodec();
+            answer = codec.unmarshal(camelContext, data, offset, buffer.remaining());
+        } else {
+            DefaultExchangeHolder pe = (DefaultExchangeHolder) deserialize(new ByteBufferInputStream(buffer));
+            answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, pe);
+        }
         // restore the from endpoint
         String fromEndpointUri = (String) answer.removeProperty("CamelAggregatedFromEndpoint");
         if (fromEndpointUri != null) {
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.disruptor;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.camel.AsyncCallback;
@@ -103,8 +105,13 @@ public class DisruptorConsumer extends ServiceSupport implements Consumer, Suspe
     Set<LifecycleAwareExchangeEventHandler> createEventHandlers(final int concurrentConsumers) {
         final Set<LifecycleAwareExchangeEventHandler> eventHandlers = new HashSet<>();
 
+        final int maxBatchSize = endpoint.getMaxBatchSize();
         for (int i = 0; i < concurrentConsumers; ++i) {
-            eventHandlers.add(new ConsumerEventHandler(i, concurrentConsumers));
+            if (maxBatchSize > 1) {
+                eventHandlers.add(new BatchConsumerEventHandler(i, concurrentConsumers, maxBatchSize));
+            } else {
+                eventHandlers.add(new ConsumerEventHandler(i, concurrentConsumers));
+            }
         }
 
         return eventHandlers;
@@ -142,13 +149,15 @@ public class DisruptorConsumer extends ServiceSupport implements Consumer, Suspe
         return newExchange;
     }
 
+    private static boolean isIgnored(final Exchange exchange) {
+        return exchange.hasProperties() && exchange.getProperties().containsKey(DisruptorEndpoint.DISRUPTOR_IGNORE_EXCHANGE);
+    }
+
     private void process(final SynchronizedExchange synchronizedExchange) {
         try {
             Exchange exchange = synchronizedExchange.getExchange();
 
-            final boolean ignore = exchange.hasProperties() && exchange
-                    .getProperties().containsKey(DisruptorEndpoint.DISRUPTOR_IGNORE_EXCHANGE);
-            if (ignore) {
+            if (isIgnored(exchange)) {
                 // Property was set and it was set to true, so don't process Exchange.
                 LOGGER.trace("Ignoring exchange {}", exchange);
                 return;
@@ -191,6 +200,81 @@ public class DisruptorConsumer extends ServiceSupport implements Consumer, Suspe
         }
     }
 
+    private void process(final List<SynchronizedExchange> synchronizedExchanges) {
+        final List<SynchronizedExchange> batch = new ArrayList<>(synchronizedExchanges.size());
+        final List<Exchange> exchanges = new ArrayList<>(synchronizedExchanges.size());
+        final List<Object> bodies = new ArrayList<>(synchronizedExchanges.size());
+
+        SynchronizedExchange current = null;
+        try {
+            for (SynchronizedExchange synchronizedExchange : synchronizedExchanges) {
+                current = synchronizedExchange;
+                final Exchange exchange = synchronizedExchange.getExchange();
+                if (isIgnored(exchange)) {
+                    // Property was set and it was set to true, so don't process Exchange.
+                    LOGGER.trace("Ignoring exchange {}", exchange);
+                    continue;
+                }
+
+                // send a new copied exchange with new camel context
+                final Exchange copy = prepareExchange(exchange);
+                batch.add(synchronizedExchange);
+                exchanges.add(copy);
+                bodies.add(copy.getIn().getBody());
+            }
+        } catch (Exception e) {
+            // the batch is not processed, so fail all its exchanges, as their producers may wait for them to complete
+            for (SynchronizedExchange synchronizedExchange : synchronizedExchanges) {
+                final Exchange exchange = synchronizedExchange.getExchange();
+                if (!isIgnored(exchange)) {
+                    exchange.setException(e);
+                    synchronizedExchange.consumed(exchange);
+                }
+            }
+            getExceptionHandler().handleException("Error processing exchange", current.getExchange(), e);
+            return;
+        }
+
+        if (exchanges.isEmpty()) {
+            return;
+        }
+
+        // the batched exchange has the bodies as its body, and the exchanges of the batch as grouped exchanges
+        final Exchange result = endpoint.createExchange();
+        result.getIn().setBody(bodies);
+        result.setProperty(Exchange.GROUPED_EXCHANGE, exchanges);
+        result.setProperty(Exchange.BATCH_SIZE, exchanges.size());
+
+        // synchronize each of the original exchanges when the batched exchange is complete (see process above)
+        result.addOnCompletion(new Synchronization() {
+            @Override
+            public void onComplete(Exchange exchange) {
+                consumed();
+            }
+
+            @Override
+            public void onFailure(Exchange exchange) {
+                consumed();
+            }
+
+            private void consumed() {
+                for (int i = 0; i < batch.size(); i++) {
+                    final Exchange copy = exchanges.get(i);
+                    if (result.getException() != null) {
+                        copy.setException(result.getException());
+                    }
+                    batch.get(i).consumed(copy);
+                }
+            }
+        });
+
+        try {
+            processor.process(result, NOOP_ASYNC_CALLBACK);
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", result, e);
+        }
+    }
+
     /**
      * Implementation of the {@link LifecycleAwareExchangeEventHandler} interface that passes all Exchanges to the
      * {@link Processor} registered at this {@link DisruptorConsumer}.
@@ -220,4 +304,44 @@ public class DisruptorConsumer extends ServiceSupport implements Consumer, Suspe
         }
 
     }
+
+    /**
+     * Implementation of the {@link LifecycleAwareExchangeEventHandler} interface that collects the Exchanges
+     * in batches, which are passed as one Exchange to the {@link Processor} registered at this {@link DisruptorConsumer}.
+     * A batch ends at the end of the run of events the Disruptor made available to the event handler,
+     * or when the batch is full.
+     */
+    private class BatchConsumerEventHandler extends AbstractLifecycleAwareExchangeEventHandler {
+
+        private final int ordinal;
+
+        private final int concurrentConsumers;
+
+        private final int maxBatchSize;
+
+        private final List<SynchronizedExchange> batch = new ArrayList<>();
+
+        BatchConsumerEventHandler(final int ordinal, final int concurrentConsumers, final int maxBatchSize) {
+            this.ordinal = ordinal;
+            this.concurrentConsumers = concurrentConsumers;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public void onEvent(final ExchangeEvent event, final long sequence, final boolean endOfBatch) throws Exception {
+            // see ConsumerEventHandler, the events are divided amongst the worker-pool event handlers by their ordinal.
+            // The synchronized exchange is kept rather than the event, as the event is reused by the ringbuffer
+            if (sequence % concurrentConsumers == ordinal) {
+                batch.add(event.getSynchronizedExchange());
+            }
+
+            // the end of batch may be an event for one of the other event handlers, so always check it
+            if (!batch.isEmpty() && (endOfBatch || batch.size() >= maxBatchSize)) {
+                final List<SynchronizedExchange> exchanges = new ArrayList<>(batch);
+                batch.clear();
+                process(exchanges);
+            }
+        }
+
+    }
 }
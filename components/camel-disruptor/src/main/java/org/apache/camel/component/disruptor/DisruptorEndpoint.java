@@ -19,6 +19,7 @@ package org.apache.camel.component.disruptor;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -76,6 +77,10 @@ public class DisruptorEndpoint extends DefaultEndpoint implements AsyncEndpoint,
     private DisruptorWaitStrategy waitStrategy;
     @UriParam(label = "producer", defaultValue = "Multi")
     private DisruptorProducerType producerType;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int maxBatchSize = 1;
+    @UriParam(label = "producer")
+    private boolean batchPublish;
 
     public DisruptorEndpoint(final String endpointUri, final Component component,
                              final DisruptorReference disruptorReference, final int concurrentConsumers,
@@ -230,6 +235,36 @@ public class DisruptorEndpoint extends DefaultEndpoint implements AsyncEndpoint,
         this.producerType = producerType;
     }
 
+    @ManagedAttribute(description = "The maximum number of exchanges a consumer delivers as one batched exchange")
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * The maximum number of exchanges a consumer delivers as one batched exchange.
+     * When greater than 1, the consumer collects the run of exchanges which are available on the ringbuffer
+     * (up to this number) and routes them as a single exchange, which has a java.util.List of the message bodies as body,
+     * and the exchanges in the CamelGroupedExchange property. The batch is completed when the batched exchange is done,
+     * any exception is set on each of the exchanges in the batch.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @ManagedAttribute(description = "Whether to publish each element of a collection message body as a separate exchange")
+    public boolean isBatchPublish() {
+        return batchPublish;
+    }
+
+    /**
+     * Whether to publish each element of a java.util.Collection message body as a separate exchange.
+     * The sequences on the ringbuffer are claimed for all the elements at once, so they are published as a contiguous run.
+     * This is only in use when the producer does not wait for the task to complete.
+     */
+    public void setBatchPublish(boolean batchPublish) {
+        this.batchPublish = batchPublish;
+    }
+
     @Override
     public Producer createProducer() throws Exception {
         if (getProducers().size() == 1 && getDisruptor().getProducerType() == DisruptorProducerType.Single) {
@@ -336,6 +371,23 @@ public class DisruptorEndpoint extends DefaultEndpoint implements AsyncEndpoint,
         disruptorReference.tryPublish(exchange);
     }
 
+    /**
+     * Called by DisruptorProducers to publish new exchanges as a contiguous run on the RingBuffer, blocking when full
+     */
+    void publish(final List<Exchange> exchanges) throws DisruptorNotStartedException {
+        disruptorReference.publish(exchanges);
+    }
+
+    /**
+     * Called by DisruptorProducers to publish new exchanges as a contiguous run on the RingBuffer,
+     * throwing InsufficientCapacityException when there is not room for all of them
+     *
+     * @throws InsufficientCapacityException when the Ringbuffer is full.
+     */
+    void tryPublish(final List<Exchange> exchanges) throws DisruptorNotStartedException, InsufficientCapacityException {
+        disruptorReference.tryPublish(exchanges);
+    }
+
     DisruptorReference getDisruptor() {
         return disruptorReference;
     }
@@ -16,6 +16,9 @@
  */
 package org.apache.camel.component.disruptor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +41,7 @@ public class DisruptorProducer extends DefaultAsyncProducer {
 
     private final DisruptorEndpoint endpoint;
     private boolean blockWhenFull;
+    private final boolean batchPublish;
 
     public DisruptorProducer(final DisruptorEndpoint endpoint,
                              final WaitForTaskToComplete waitForTaskToComplete,
@@ -47,6 +51,7 @@ public class DisruptorProducer extends DefaultAsyncProducer {
         this.timeout = timeout;
         this.endpoint = endpoint;
         this.blockWhenFull = blockWhenFull;
+        this.batchPublish = endpoint.isBatchPublish();
     }
 
     @Override
@@ -159,6 +164,9 @@ public class DisruptorProducer extends DefaultAsyncProducer {
                     // ignore
                 }
             }
+        } else if (batchPublish && exchange.getIn().getBody() instanceof Collection) {
+            // no wait, publish each element of the body as its own exchange as a contiguous run on the ringbuffer
+            doPublish(prepareCopies(exchange, (Collection<?>) exchange.getIn().getBody()));
         } else {
             // no wait, eg its a InOnly then just publish to the ringbuffer and return
             // handover the completion so its the copy which performs that, as we do not wait
@@ -188,6 +196,32 @@ public class DisruptorProducer extends DefaultAsyncProducer {
         }
     }
 
+    private void doPublish(List<Exchange> exchanges) {
+        log.trace("Publishing {} Exchanges to disruptor ringbuffer", exchanges.size());
+
+        try {
+            if (blockWhenFull) {
+                endpoint.publish(exchanges);
+            } else {
+                endpoint.tryPublish(exchanges);
+            }
+        } catch (DisruptorNotStartedException e) {
+            throw new IllegalStateException("Disruptor was not started", e);
+        } catch (InsufficientCapacityException e) {
+            throw new IllegalStateException("Disruptors ringbuffer was full", e);
+        }
+    }
+
+    private List<Exchange> prepareCopies(final Exchange exchange, final Collection<?> bodies) {
+        final List<Exchange> answer = new ArrayList<>(bodies.size());
+        for (Object body : bodies) {
+            // do not handover the completion as there are many copies
+            final Exchange copy = prepareCopy(exchange, false);
+            copy.getIn().setBody(body);
+            answer.add(copy);
+        }
+        return answer;
+    }
 
     private Exchange prepareCopy(final Exchange exchange, final boolean handover) {
         // use a new copy of the exchange to route async
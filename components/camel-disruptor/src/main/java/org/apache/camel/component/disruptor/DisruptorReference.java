@@ -129,6 +129,14 @@ public class DisruptorReference {
         publishExchangeOnRingBuffer(exchange, getCurrentDisruptor().getRingBuffer());
     }
 
+    public void tryPublish(final List<Exchange> exchanges) throws DisruptorNotStartedException, InsufficientCapacityException {
+        tryPublishExchangesOnRingBuffer(exchanges, getCurrentDisruptor().getRingBuffer());
+    }
+
+    public void publish(final List<Exchange> exchanges) throws DisruptorNotStartedException {
+        publishExchangesOnRingBuffer(exchanges, getCurrentDisruptor().getRingBuffer());
+    }
+
     private void publishExchangeOnRingBuffer(final Exchange exchange,
                                                              final RingBuffer<ExchangeEvent> ringBuffer) {
         final long sequence = ringBuffer.next();
@@ -142,6 +150,39 @@ public class DisruptorReference {
         ringBuffer.publish(sequence);
     }
 
+    private void publishExchangesOnRingBuffer(final List<Exchange> exchanges,
+                                              final RingBuffer<ExchangeEvent> ringBuffer) {
+        //claim the sequences in bulk, we can claim at most the size of the ringbuffer at once
+        int index = 0;
+        while (index < exchanges.size()) {
+            final int n = Math.min(exchanges.size() - index, ringBuffer.getBufferSize());
+            final long hi = ringBuffer.next(n);
+            final long lo = hi - (n - 1);
+            for (long sequence = lo; sequence <= hi; sequence++) {
+                ringBuffer.get(sequence).setExchange(exchanges.get(index++), uniqueConsumerCount);
+            }
+            ringBuffer.publish(lo, hi);
+        }
+    }
+
+    private void tryPublishExchangesOnRingBuffer(final List<Exchange> exchanges,
+                                                 final RingBuffer<ExchangeEvent> ringBuffer) throws InsufficientCapacityException {
+        final int n = exchanges.size();
+        if (n == 0) {
+            return;
+        }
+        //all or nothing, so we do not publish part of the exchanges when there is not room for all of them
+        if (n > ringBuffer.getBufferSize()) {
+            throw InsufficientCapacityException.INSTANCE;
+        }
+        final long hi = ringBuffer.tryNext(n);
+        final long lo = hi - (n - 1);
+        for (int i = 0; i < n; i++) {
+            ringBuffer.get(lo + i).setExchange(exchanges.get(i), uniqueConsumerCount);
+        }
+        ringBuffer.publish(lo, hi);
+    }
+
     public synchronized void reconfigure() throws Exception {
         LOGGER.debug("Reconfiguring disruptor {}", this);
         shutdownDisruptor(true);
@@ -236,11 +277,8 @@ public class DisruptorReference {
         while (!temporaryExchangeBuffer.isEmpty()) {
             exchanges.add(temporaryExchangeBuffer.remove());
         }
-        RingBuffer<ExchangeEvent> ringBuffer = newDisruptor.getRingBuffer();
         //and offer them again to our new ringbuffer
-        for (final Exchange exchange : exchanges) {
-            publishExchangeOnRingBuffer(exchange, ringBuffer);
-        }
+        publishExchangesOnRingBuffer(exchanges, newDisruptor.getRingBuffer());
     }
 
     private void resizeThreadPoolExecutor(final int newSize) {
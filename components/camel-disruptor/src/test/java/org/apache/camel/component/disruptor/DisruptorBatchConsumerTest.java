@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.disruptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class DisruptorBatchConsumerTest extends CamelTestSupport {
+
+    private final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch latch = new CountDownLatch(100);
+
+    @Test
+    public void testBatchConsumer() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:batch");
+        mock.expectedMinimumMessageCount(10);
+        mock.allMessages().body().isInstanceOf(List.class);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("Message " + i);
+        }
+        template.sendBody("disruptor:publish?batchPublish=true", expected);
+
+        assertTrue("Should receive all messages", latch.await(10, TimeUnit.SECONDS));
+        assertMockEndpointsSatisfied();
+        assertEquals(expected, received);
+
+        int largest = 0;
+        for (Exchange exchange : mock.getExchanges()) {
+            List<?> bodies = exchange.getIn().getBody(List.class);
+            assertTrue("Batch should not be larger than 10", bodies.size() <= 10);
+            assertEquals(bodies.size(), exchange.getProperty(Exchange.BATCH_SIZE));
+            assertEquals(bodies.size(), exchange.getProperty(Exchange.GROUPED_EXCHANGE, List.class).size());
+            largest = Math.max(largest, bodies.size());
+        }
+        assertTrue("Should have batched the messages, but the largest batch was " + largest, largest > 1);
+    }
+
+    @Test
+    public void testBatchPublish() throws Exception {
+        getMockEndpoint("mock:single").expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody("disruptor:single?batchPublish=true", Arrays.asList("A", "B", "C"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchConsumerRequestReply() throws Exception {
+        assertEquals("Hello World", template.requestBody("disruptor:reply", "Hello World"));
+
+        try {
+            template.requestBody("disruptor:reply", "Kaboom");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals("Damn I cannot do this", e.getCause().getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("disruptor:publish?maxBatchSize=10")
+                    .process(e -> {
+                        List<?> bodies = e.getIn().getBody(List.class);
+                        received.addAll(bodies);
+                        bodies.forEach(body -> latch.countDown());
+                    })
+                    .to("mock:batch");
+
+                from("disruptor:single").to("mock:single");
+
+                from("disruptor:reply?maxBatchSize=10")
+                    .filter(simple("${body} contains 'Kaboom'"))
+                        .throwException(new IllegalArgumentException("Damn I cannot do this"))
+                    .end()
+                    .to("mock:reply");
+            }
+        };
+    }
+}
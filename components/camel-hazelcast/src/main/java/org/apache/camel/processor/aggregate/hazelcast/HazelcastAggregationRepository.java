@@ -16,6 +16,7 @@
  */
 package org.apache.camel.processor.aggregate.hazelcast;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -32,8 +33,10 @@ import com.hazelcast.transaction.TransactionOptions;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultExchangeHolder;
 import org.apache.camel.support.service.ServiceSupport;
@@ -63,8 +66,8 @@ public class HazelcastAggregationRepository extends ServiceSupport
     private boolean optimistic;
     private boolean useLocalHzInstance;
     private boolean useRecovery = true;
-    private IMap<String, DefaultExchangeHolder> cache;
-    private IMap<String, DefaultExchangeHolder> persistedCache;
+    private IMap<String, Object> cache;
+    private IMap<String, Object> persistedCache;
     private HazelcastInstance hzInstance;
     private String mapName;
     private String persistenceMapName;
@@ -72,6 +75,7 @@ public class HazelcastAggregationRepository extends ServiceSupport
     private long recoveryInterval = 5000;
     private int maximumRedeliveries = 3;
     private boolean allowSerializedHeaders;
+    private BinaryExchangeCodec binaryExchangeCodec;
 
     /**
      * Creates new {@link HazelcastAggregationRepository} that defaults to non-optimistic locking
@@ -182,8 +186,8 @@ public class HazelcastAggregationRepository extends ServiceSupport
         }
         LOG.trace("Adding an Exchange with ID {} for key {} in an optimistic manner.", newExchange.getExchangeId(), key);
         if (oldExchange == null) {
-            DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(newExchange, true, allowSerializedHeaders);
-            final DefaultExchangeHolder misbehaviorHolder = cache.putIfAbsent(key, holder);
+            Object holder = marshallExchange(newExchange);
+            final Object misbehaviorHolder = cache.putIfAbsent(key, holder);
             if (misbehaviorHolder != null) {
                 Exchange misbehaviorEx = unmarshallExchange(camelContext, misbehaviorHolder);
                 LOG.error("Optimistic locking failed for exchange with key {}: IMap#putIfAbsend returned Exchange with ID {}, while it's expected no exchanges to be returned",
@@ -191,9 +195,9 @@ public class HazelcastAggregationRepository extends ServiceSupport
                 throw  new OptimisticLockingException();
             }
         } else {
-            DefaultExchangeHolder oldHolder = DefaultExchangeHolder.marshal(oldExchange, true, allowSerializedHeaders);
-            DefaultExchangeHolder newHolder = DefaultExchangeHolder.marshal(newExchange, true, allowSerializedHeaders);
-            if (!cache.replace(key, oldHolder, newHolder)) {
+            Object oldHolder = marshallExchange(oldExchange);
+            Object newHolder = marshallExchange(newExchange);
+            if (!cache.replace(key, oldHolder, newHolder) && !replaceStoredFormat(key, oldExchange, newHolder)) {
                 LOG.error("Optimistic locking failed for exchange with key {}: IMap#replace returned no Exchanges, while it's expected to replace one",
                         key);
                 throw new OptimisticLockingException();
@@ -212,8 +216,8 @@ public class HazelcastAggregationRepository extends ServiceSupport
         Lock l = hzInstance.getLock(mapName);
         try {
             l.lock();
-            DefaultExchangeHolder newHolder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
-            DefaultExchangeHolder oldHolder = cache.put(key, newHolder);
+            Object newHolder = marshallExchange(exchange);
+            Object oldHolder = cache.put(key, newHolder);
             return unmarshallExchange(camelContext, oldHolder);
         } finally {
             LOG.trace("Added an Exchange with ID {} for key {} in a thread-safe manner.", exchange.getExchangeId(), key);
@@ -312,6 +316,20 @@ public class HazelcastAggregationRepository extends ServiceSupport
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
 
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return binaryExchangeCodec;
+    }
+
+    /**
+     * Sets a codec to store the exchanges in a compact binary format instead of a serialized {@link DefaultExchangeHolder}.
+     * Exchanges already stored in either format can be read regardless, which allows switching format
+     * for an existing repository. In optimistic mode the stored exchanges are compared in their marshalled form,
+     * so an exchange stored in the other format is compared again using that format.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        this.binaryExchangeCodec = binaryExchangeCodec;
+    }
+
     /**
      * This method performs transactional operation on removing the {@code exchange}
      * from the operational storage and moving it into the persistent one if the {@link HazelcastAggregationRepository}
@@ -322,10 +340,10 @@ public class HazelcastAggregationRepository extends ServiceSupport
      */
     @Override
     public void remove(CamelContext camelContext, String key, Exchange exchange) {
-        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+        Object holder = marshallExchange(exchange);
         if (optimistic) {
             LOG.trace("Removing an exchange with ID {} for key {} in an optimistic manner.", exchange.getExchangeId(), key);
-            if (!cache.remove(key, holder)) {
+            if (!cache.remove(key, holder) && !removeStoredFormat(key, exchange)) {
                 LOG.error("Optimistic locking failed for exchange with key {}: IMap#remove removed no Exchanges, while it's expected to remove one.",
                         key);
                 throw new OptimisticLockingException();
@@ -352,10 +370,10 @@ public class HazelcastAggregationRepository extends ServiceSupport
                 try {
                     tCtx.beginTransaction();
 
-                    TransactionalMap<String, DefaultExchangeHolder> tCache = tCtx.getMap(cache.getName());
-                    TransactionalMap<String, DefaultExchangeHolder> tPersistentCache = tCtx.getMap(persistedCache.getName());
+                    TransactionalMap<String, Object> tCache = tCtx.getMap(cache.getName());
+                    TransactionalMap<String, Object> tPersistentCache = tCtx.getMap(persistedCache.getName());
 
-                    DefaultExchangeHolder removedHolder = tCache.remove(key);
+                    Object removedHolder = tCache.remove(key);
                     LOG.trace("Putting an exchange with ID {} for key {} into a recoverable storage in a thread-safe manner.",
                             exchange.getExchangeId(), key);
                     tPersistentCache.put(exchange.getExchangeId(), removedHolder);
@@ -428,6 +446,64 @@ public class HazelcastAggregationRepository extends ServiceSupport
         }
     }
 
+    /**
+     * Retries the optimistic replace, when the old exchange is stored in the other format than the configured format,
+     * as the values are compared in their marshalled form.
+     */
+    private boolean replaceStoredFormat(String key, Exchange oldExchange, Object newHolder) {
+        Object oldHolder = marshallExchangeAs(oldExchange, cache.get(key));
+        return oldHolder != null && cache.replace(key, oldHolder, newHolder);
+    }
+
+    /**
+     * Retries the optimistic remove, when the exchange is stored in the other format than the configured format,
+     * as the values are compared in their marshalled form.
+     */
+    private boolean removeStoredFormat(String key, Exchange exchange) {
+        Object holder = marshallExchangeAs(exchange, cache.get(key));
+        return holder != null && cache.remove(key, holder);
+    }
+
+    /**
+     * Marshals the exchange in the format of the stored value, or returns <tt>null</tt> if the stored value
+     * is in the configured format (or there is no stored value).
+     */
+    private Object marshallExchangeAs(Exchange exchange, Object stored) {
+        if (stored instanceof byte[] && binaryExchangeCodec == null) {
+            try {
+                return new BinaryExchangeCodec().marshal(exchange, true, allowSerializedHeaders, null);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        } else if (stored instanceof DefaultExchangeHolder && binaryExchangeCodec != null) {
+            return DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+        }
+        return null;
+    }
+
+    protected Object marshallExchange(Exchange exchange) {
+        if (binaryExchangeCodec != null) {
+            try {
+                return binaryExchangeCodec.marshal(exchange, true, allowSerializedHeaders, null);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+        return DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+    }
+
+    protected Exchange unmarshallExchange(CamelContext camelContext, Object holder) {
+        if (holder instanceof byte[]) {
+            BinaryExchangeCodec codec = binaryExchangeCodec != null ? binaryExchangeCodec : new BinaryExchangeCodec();
+            try {
+                return codec.unmarshal(camelContext, (byte[]) holder);
+            } catch (IOException | ClassNotFoundException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+        return unmarshallExchange(camelContext, (DefaultExchangeHolder) holder);
+    }
+
     protected Exchange unmarshallExchange(CamelContext camelContext, DefaultExchangeHolder holder) {
         Exchange exchange = null;
         if (holder != null) {
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import org.apache.camel.spi.ThrottlingRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A Hazelcast based {@link ThrottlingRepository}, which shares the permits of the throttlers
+ * in all the members of the Hazelcast cluster.
+ * <p/>
+ * The number of acquired permits are stored per key and time period, and expire after two time periods.
+ * The permits are acquired with an entry processor which runs on the member owning the key, so leasing
+ * permits costs a single round trip and does not lock the key.
+ */
+public class HazelcastThrottlingRepository extends ServiceSupport implements ThrottlingRepository {
+
+    private String repositoryName;
+    private IMap<String, Integer> repo;
+    private HazelcastInstance hazelcastInstance;
+
+    public HazelcastThrottlingRepository(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, HazelcastThrottlingRepository.class.getSimpleName());
+    }
+
+    public HazelcastThrottlingRepository(HazelcastInstance hazelcastInstance, String repositoryName) {
+        this.repositoryName = repositoryName;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        repo = hazelcastInstance.getMap(repositoryName);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    @Override
+    public int acquirePermits(String key, long periodStart, long timePeriodMillis, int permits, int maxPermits) {
+        String periodKey = key + "-" + periodStart;
+        Object acquired = repo.executeOnKey(periodKey, new AcquirePermitsProcessor(permits, maxPermits, timePeriodMillis * 2));
+        return acquired != null ? (Integer) acquired : 0;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    /**
+     * Acquires up to the requested number of permits of a time period, and updates the number of used
+     * permits of the period atomically on the member owning the key.
+     */
+    static final class AcquirePermitsProcessor extends AbstractEntryProcessor<String, Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int permits;
+        private final int maxPermits;
+        private final long ttlMillis;
+
+        AcquirePermitsProcessor(int permits, int maxPermits, long ttlMillis) {
+            this.permits = permits;
+            this.maxPermits = maxPermits;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object process(Map.Entry<String, Integer> entry) {
+            Integer used = entry.getValue();
+            int current = used != null ? used : 0;
+            int acquired = Math.max(0, Math.min(permits, maxPermits - current));
+            if (acquired > 0) {
+                ((ExtendedMapEntry<String, Integer>) entry).setValue(current + acquired, ttlMillis, TimeUnit.MILLISECONDS);
+            }
+            return acquired;
+        }
+    }
+}
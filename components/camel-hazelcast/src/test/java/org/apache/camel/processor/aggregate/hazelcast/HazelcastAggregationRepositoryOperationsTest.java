@@ -19,6 +19,7 @@ package org.apache.camel.processor.aggregate.hazelcast;
 import java.util.Set;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.junit.Test;
 
 
@@ -58,6 +59,34 @@ public class HazelcastAggregationRepositoryOperationsTest extends HazelcastAggre
         }
     }
 
+    @Test
+    public void checkOptimisticAddAfterSwitchingFormat() throws Exception {
+        HazelcastAggregationRepository repoOne = new HazelcastAggregationRepository(OPTIMISTIC_REPO, true, getFirstInstance());
+        HazelcastAggregationRepository repoTwo = new HazelcastAggregationRepository(OPTIMISTIC_REPO, true, getSecondInstance());
+        repoTwo.setBinaryExchangeCodec(new BinaryExchangeCodec());
+
+        try {
+            repoOne.doStart();
+            repoTwo.doStart();
+
+            final String key = "optimisticSwitchKey";
+            // stored as a serialized holder
+            Exchange newEx = createExchangeWithBody("This is an optimistic test body.");
+            repoOne.add(context(), key, null, newEx);
+
+            // and replaced and removed using the binary format
+            Exchange theNewestEx = createExchangeWithBody("This is the newest test body.");
+            repoTwo.add(context(), key, newEx, theNewestEx);
+            assertEquals(theNewestEx.getIn().getBody(), repoTwo.get(context(), key).getIn().getBody());
+
+            repoOne.remove(context(), key, theNewestEx);
+            assertNull(repoOne.get(context(), key));
+        } finally {
+            repoOne.stop();
+            repoTwo.stop();
+        }
+    }
+
     @Test
     public void checkThreadSafeAddOfNewExchange() throws Exception {
         HazelcastAggregationRepository repoOne = new HazelcastAggregationRepository(THREAD_SAFE_REPO, false, getFirstInstance());
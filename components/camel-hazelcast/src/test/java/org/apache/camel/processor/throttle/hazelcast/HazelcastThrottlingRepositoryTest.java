@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HazelcastThrottlingRepositoryTest extends CamelTestSupport {
+
+    private IMap<String, Integer> cache;
+    private HazelcastThrottlingRepository repo;
+    private HazelcastInstance hazelcastInstance;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        hazelcastInstance = Hazelcast.newHazelcastInstance(null);
+        cache = hazelcastInstance.getMap("myRepo");
+        repo = new HazelcastThrottlingRepository(hazelcastInstance, "myRepo");
+        super.setUp();
+        cache.clear();
+        repo.start();
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        repo.stop();
+        super.tearDown();
+        cache.clear();
+        hazelcastInstance.getLifecycleService().shutdown();
+    }
+
+    @Test
+    public void testAcquirePermits() throws Exception {
+        assertEquals(2, repo.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(2, (int) cache.get("foo-1000"));
+
+        // only 1 permit left within the time period
+        assertEquals(1, repo.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(0, repo.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(3, (int) cache.get("foo-1000"));
+
+        // the next time period and other keys has their own permits
+        assertEquals(2, repo.acquirePermits("foo", 2000, 1000, 2, 3));
+        assertEquals(2, repo.acquirePermits("bar", 1000, 1000, 2, 3));
+    }
+
+    @Test
+    public void testThrottleRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:out");
+        mock.expectedMessageCount(5);
+        getMockEndpoint("mock:rejected").expectedMessageCount(5);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:in", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:rejected");
+
+                from("direct:in")
+                    .throttle(5).timePeriodMillis(60000).throttlingRepository(repo).permitBatchSize(2).rejectExecution(true)
+                    .to("mock:out");
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.infinispan.processor.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.component.infinispan.InfinispanUtil;
+import org.apache.camel.spi.ThrottlingRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.api.BasicCache;
+import org.infinispan.commons.api.BasicCacheContainer;
+import org.infinispan.manager.DefaultCacheManager;
+
+/**
+ * An Infinispan based {@link ThrottlingRepository}, which shares the permits of the throttlers
+ * using the same (clustered or remote) cache.
+ * <p/>
+ * The number of acquired permits are stored per key and time period, and expire after two time periods.
+ * The permits are acquired using conditional operations (putIfAbsent and replace), so no locking is needed.
+ * As remote (Hot Rod) caches do not support replacing a value by comparing it with the old value,
+ * the version of the entry is compared instead for remote caches.
+ */
+@ManagedResource(description = "Infinispan based throttling repository")
+public class InfinispanThrottlingRepository extends ServiceSupport implements ThrottlingRepository {
+    private final String cacheName;
+    private final BasicCacheContainer cacheContainer;
+    private final boolean isManagedCacheContainer;
+    private BasicCache<String, Integer> cache;
+
+    public InfinispanThrottlingRepository(BasicCacheContainer cacheContainer, String cacheName) {
+        this.cacheContainer = cacheContainer;
+        this.cacheName = cacheName;
+        this.isManagedCacheContainer = false;
+    }
+
+    public InfinispanThrottlingRepository(String cacheName) {
+        this.cacheContainer = new DefaultCacheManager();
+        this.cacheName = cacheName;
+        this.isManagedCacheContainer = true;
+    }
+
+    public InfinispanThrottlingRepository() {
+        this(null);
+    }
+
+    public static InfinispanThrottlingRepository infinispanThrottlingRepository(BasicCacheContainer cacheContainer, String cacheName) {
+        return new InfinispanThrottlingRepository(cacheContainer, cacheName);
+    }
+
+    public static InfinispanThrottlingRepository infinispanThrottlingRepository(String cacheName) {
+        return new InfinispanThrottlingRepository(cacheName);
+    }
+
+    public static InfinispanThrottlingRepository infinispanThrottlingRepository() {
+        return new InfinispanThrottlingRepository();
+    }
+
+    @Override
+    public int acquirePermits(String key, long periodStart, long timePeriodMillis, int permits, int maxPermits) {
+        String periodKey = key + "-" + periodStart;
+        long lifespan = timePeriodMillis * 2;
+        BasicCache<String, Integer> cache = getCache();
+        if (InfinispanUtil.isRemote(cache)) {
+            return acquireRemotePermits(InfinispanUtil.asRemote(cache), periodKey, lifespan, permits, maxPermits);
+        }
+        while (true) {
+            Integer used = cache.get(periodKey);
+            int current = used != null ? used : 0;
+            int acquired = Math.max(0, Math.min(permits, maxPermits - current));
+            if (acquired == 0) {
+                return 0;
+            }
+            boolean updated;
+            if (used == null) {
+                updated = cache.putIfAbsent(periodKey, acquired, lifespan, TimeUnit.MILLISECONDS) == null;
+            } else {
+                updated = cache.replace(periodKey, used, current + acquired, lifespan, TimeUnit.MILLISECONDS);
+            }
+            if (updated) {
+                return acquired;
+            }
+            // another node acquired permits concurrently so try again
+        }
+    }
+
+    private int acquireRemotePermits(RemoteCache<String, Integer> cache, String periodKey, long lifespan, int permits, int maxPermits) {
+        while (true) {
+            MetadataValue<Integer> used = cache.getWithMetadata(periodKey);
+            int current = used != null ? used.getValue() : 0;
+            int acquired = Math.max(0, Math.min(permits, maxPermits - current));
+            if (acquired == 0) {
+                return 0;
+            }
+            boolean updated;
+            if (used == null) {
+                updated = cache.putIfAbsent(periodKey, acquired, lifespan, TimeUnit.MILLISECONDS) == null;
+            } else {
+                updated = cache.replaceWithVersion(periodKey, current + acquired, used.getVersion(),
+                    lifespan, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+            }
+            if (updated) {
+                return acquired;
+            }
+            // another node acquired permits concurrently so try again
+        }
+    }
+
+    @ManagedAttribute(description = "The cache name")
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        if (isManagedCacheContainer) {
+            cacheContainer.stop();
+        }
+
+        super.doShutdown();
+    }
+
+    private BasicCache<String, Integer> getCache() {
+        if (cache == null) {
+            // By default, previously existing values for java.util.Map operations
+            // are not returned for remote caches but putIfAbsent needs them so force it.
+            if (InfinispanUtil.isRemote(cacheContainer)) {
+                RemoteCacheManager manager = InfinispanUtil.asRemote(cacheContainer);
+                cache = cacheName != null
+                    ? manager.getCache(cacheName, true)
+                    : manager.getCache(true);
+            } else {
+                cache = cacheName != null
+                    ? cacheContainer.getCache(cacheName)
+                    : cacheContainer.getCache();
+            }
+        }
+
+        return cache;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.infinispan.processor.throttle;
+
+import java.util.UUID;
+
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InfinispanThrottlingRepositoryIT {
+
+    protected RemoteCacheManager remoteCacheManager;
+    protected InfinispanThrottlingRepository throttlingRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        remoteCacheManager = new RemoteCacheManager(
+            new ConfigurationBuilder()
+                .addServers("localhost")
+                .build(),
+            true
+        );
+        // use the default cache of the server
+        throttlingRepository = InfinispanThrottlingRepository.infinispanThrottlingRepository(remoteCacheManager, null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        remoteCacheManager.stop();
+    }
+
+    @Test
+    public void acquiresPermitsUpToMaximum() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        assertEquals(2, throttlingRepository.acquirePermits(key, 1000, 1000, 2, 3));
+        assertEquals(1, throttlingRepository.acquirePermits(key, 1000, 1000, 2, 3));
+        assertEquals(0, throttlingRepository.acquirePermits(key, 1000, 1000, 2, 3));
+
+        assertEquals(3, (int) remoteCacheManager.<String, Integer>getCache().get(key + "-1000"));
+    }
+
+    @Test
+    public void acquiresPermitsPerKeyAndTimePeriod() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        assertEquals(3, throttlingRepository.acquirePermits(key, 1000, 1000, 5, 3));
+        assertEquals(3, throttlingRepository.acquirePermits(key, 2000, 1000, 5, 3));
+        assertEquals(3, throttlingRepository.acquirePermits(key + "-bar", 1000, 1000, 5, 3));
+    }
+}
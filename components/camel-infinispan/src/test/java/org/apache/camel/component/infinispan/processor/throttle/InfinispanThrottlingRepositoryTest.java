@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.infinispan.processor.throttle;
+
+import org.infinispan.commons.api.BasicCache;
+import org.infinispan.commons.api.BasicCacheContainer;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InfinispanThrottlingRepositoryTest {
+
+    protected BasicCacheContainer basicCacheContainer;
+    protected InfinispanThrottlingRepository throttlingRepository;
+    protected String cacheName = "default";
+
+    @Before
+    public void setUp() throws Exception {
+        GlobalConfiguration global = new GlobalConfigurationBuilder().globalJmxStatistics().allowDuplicateDomains(true).build();
+        Configuration conf = new ConfigurationBuilder().build();
+        basicCacheContainer = new DefaultCacheManager(global, conf);
+        basicCacheContainer.start();
+        throttlingRepository = InfinispanThrottlingRepository.infinispanThrottlingRepository(basicCacheContainer, cacheName);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        basicCacheContainer.stop();
+    }
+
+    @Test
+    public void acquiresPermitsUpToMaximum() throws Exception {
+        assertEquals(2, throttlingRepository.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(1, throttlingRepository.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(0, throttlingRepository.acquirePermits("foo", 1000, 1000, 2, 3));
+
+        assertEquals(3, (int) getCache().get("foo-1000"));
+    }
+
+    @Test
+    public void acquiresPermitsPerKeyAndTimePeriod() throws Exception {
+        assertEquals(3, throttlingRepository.acquirePermits("foo", 1000, 1000, 5, 3));
+        assertEquals(3, throttlingRepository.acquirePermits("foo", 2000, 1000, 5, 3));
+        assertEquals(3, throttlingRepository.acquirePermits("bar", 1000, 1000, 5, 3));
+    }
+
+    private BasicCache<String, Integer> getCache() {
+        return basicCacheContainer.getCache(cacheName);
+    }
+}
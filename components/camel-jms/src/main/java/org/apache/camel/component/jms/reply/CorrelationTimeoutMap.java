@@ -20,7 +20,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 
+import org.apache.camel.TimeoutMap;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
 
 import static org.apache.camel.TimeoutMap.Listener.Type.*;
 
@@ -29,13 +33,23 @@ import static org.apache.camel.TimeoutMap.Listener.Type.*;
  * has been timed out, and thus should trigger the waiting {@link org.apache.camel.Exchange} to
  * timeout as well. Zero (or negative) timeout means infinite but is actually encoded as {@link Integer#MAX_VALUE}
  * which is 24 days.
+ * <p/>
+ * The timeouts are tracked by either a {@link DefaultTimeoutMap} or a {@link HashedWheelTimeoutMap}
+ * which scales better with many outstanding replies.
  */
-class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+class CorrelationTimeoutMap extends ServiceSupport implements TimeoutMap<String, ReplyHandler> {
 
+    private final TimeoutMap<String, ReplyHandler> delegate;
     private final BiConsumer<ReplyHandler, String> evictionTask;
 
     CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, ExecutorService executorService) {
-        super(executor, requestMapPollTimeMillis);
+        this(executor, requestMapPollTimeMillis, executorService, false);
+    }
+
+    CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, ExecutorService executorService, boolean hashedWheel) {
+        delegate = hashedWheel
+                ? new HashedWheelTimeoutMap<>(executor, requestMapPollTimeMillis)
+                : new DefaultTimeoutMap<>(executor, requestMapPollTimeMillis);
         // Support synchronous or asynchronous handling of evictions
         evictionTask = executorService == null
                 ? ReplyHandler::onTimeout
@@ -58,14 +72,44 @@ class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
         }
     }
 
+    @Override
+    public ReplyHandler get(String key) {
+        return delegate.get(key);
+    }
+
     @Override
     public ReplyHandler put(String key, ReplyHandler value, long timeoutMillis) {
-        return super.put(key, value, encode(timeoutMillis));
+        return delegate.put(key, value, encode(timeoutMillis));
     }
 
     @Override
     public ReplyHandler putIfAbsent(String key, ReplyHandler value, long timeoutMillis) {
-        return super.putIfAbsent(key, value, encode(timeoutMillis));
+        return delegate.putIfAbsent(key, value, encode(timeoutMillis));
+    }
+
+    @Override
+    public ReplyHandler remove(String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void addListener(Listener<String, ReplyHandler> listener) {
+        delegate.addListener(listener);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(delegate);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(delegate);
     }
 
 }
@@ -35,6 +35,7 @@ import org.apache.camel.component.jms.JmsEndpoint;
 import org.apache.camel.component.jms.JmsMessage;
 import org.apache.camel.component.jms.JmsMessageHelper;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -264,7 +265,8 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
         // timeout map to use for purging messages which have timed out, while waiting for an expected reply
         // when doing request/reply over JMS
         log.trace("Using timeout checker interval with {} millis", endpoint.getRequestTimeoutCheckerInterval());
-        correlation = new CorrelationTimeoutMap(scheduledExecutorService, endpoint.getRequestTimeoutCheckerInterval(), executorService);
+        correlation = new CorrelationTimeoutMap(scheduledExecutorService, endpoint.getRequestTimeoutCheckerInterval(), executorService,
+                HashedWheelTimeoutMap.isHashedWheelTimeoutMap(camelContext));
         ServiceHelper.startService(correlation);
 
         // create JMS listener and start it
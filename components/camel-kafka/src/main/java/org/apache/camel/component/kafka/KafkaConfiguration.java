@@ -135,6 +135,8 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     @UriParam(label = "consumer")
     private boolean breakOnFirstError;
     @UriParam(label = "consumer")
+    private int maxInflightRecords;
+    @UriParam(label = "consumer")
     private StateRepository<String, String> offsetRepository;
 
     // Producer Camel specific configuration properties
@@ -786,6 +788,21 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.breakOnFirstError = breakOnFirstError;
     }
 
+    public int getMaxInflightRecords() {
+        return maxInflightRecords;
+    }
+
+    /**
+     * The maximum number of records per partition which the consumer processes concurrently, using Camel's
+     * asynchronous routing engine. By default (0) the records are processed one by one. When in use the consumer
+     * commits the offsets itself using commitAsync once a record and all the records before it has completed,
+     * which preserves at-least-once delivery, and therefore the Kafka auto commit is turned off.
+     * This option cannot be used together with allowManualCommit or breakOnFirstError.
+     */
+    public void setMaxInflightRecords(int maxInflightRecords) {
+        this.maxInflightRecords = maxInflightRecords;
+    }
+
     public String getBrokers() {
         return brokers;
     }
@@ -20,19 +20,27 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
 import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.spi.StateRepository;
@@ -49,8 +57,10 @@ import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.header.Header;
 
+@ManagedResource(description = "Managed Kafka Consumer")
 public class KafkaConsumer extends DefaultConsumer {
 
     protected ExecutorService executor;
@@ -75,6 +85,10 @@ public class KafkaConsumer extends DefaultConsumer {
         if (ObjectHelper.isEmpty(brokers)) {
             throw new IllegalArgumentException("Brokers must be configured");
         }
+        if (endpoint.getConfiguration().getMaxInflightRecords() > 0
+            && (endpoint.getConfiguration().isAllowManualCommit() || endpoint.getConfiguration().isBreakOnFirstError())) {
+            throw new IllegalArgumentException("The option maxInflightRecords cannot be used together with allowManualCommit or breakOnFirstError");
+        }
     }
 
     Properties getProps() {
@@ -101,6 +115,11 @@ public class KafkaConsumer extends DefaultConsumer {
             props.put(ConsumerConfig.GROUP_ID_CONFIG, randomGroupId);
             log.debug("Kafka consumer groupId is {} (generated)", randomGroupId);
         }
+
+        if (isInflightEnabled()) {
+            // the consumer commits the offsets of the completed records itself
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
         return props;
     }
 
@@ -166,6 +185,29 @@ public class KafkaConsumer extends DefaultConsumer {
         super.doStop();
     }
 
+    @ManagedAttribute(description = "Number of records currently being processed (when maxInflightRecords is in use)")
+    public int getInflightRecords() {
+        return (int) inflightRecordsPerPartition().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @ManagedOperation(description = "Number of records currently being processed per partition (when maxInflightRecords is in use)")
+    public Map<String, Long> inflightRecordsPerPartition() {
+        return collectPerPartition(KafkaOffsetTracker::getInflightRecords);
+    }
+
+    @ManagedOperation(description = "Number of records per partition which has been received but not yet committed (when maxInflightRecords is in use)")
+    public Map<String, Long> commitLagPerPartition() {
+        return collectPerPartition(KafkaOffsetTracker::getCommitLag);
+    }
+
+    private Map<String, Long> collectPerPartition(ToLongFunction<KafkaOffsetTracker> function) {
+        Map<String, Long> answer = new TreeMap<>();
+        for (KafkaFetchRecords task : new ArrayList<>(tasks)) {
+            task.offsetTrackers.forEach((partition, tracker) -> answer.merge(serializeOffsetKey(partition), function.applyAsLong(tracker), Long::sum));
+        }
+        return answer;
+    }
+
     class KafkaFetchRecords implements Runnable, ConsumerRebalanceListener {
 
         private org.apache.kafka.clients.consumer.KafkaConsumer consumer;
@@ -174,6 +216,10 @@ public class KafkaConsumer extends DefaultConsumer {
         private final String threadId;
         private final Properties kafkaProps;
         private final Map<String, Long> lastProcessedOffset = new ConcurrentHashMap<>();
+        // the offsets of the records being processed per partition, when maxInflightRecords is in use
+        private final Map<TopicPartition, KafkaOffsetTracker> offsetTrackers = new ConcurrentHashMap<>();
+        // the partitions which are paused as their maximum number of in-flight records has been reached
+        private final Set<TopicPartition> pausedPartitions = new HashSet<>();
 
         KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps) {
             this.topicName = topicName;
@@ -243,6 +289,9 @@ public class KafkaConsumer extends DefaultConsumer {
             // messages
             boolean reConnect = false;
             boolean unsubscribing = false;
+            // records which are still in-flight from a previous consumer are consumed again
+            offsetTrackers.clear();
+            pausedPartitions.clear();
 
             try {
                 if (topicPattern != null) {
@@ -300,8 +349,28 @@ public class KafkaConsumer extends DefaultConsumer {
 
                     // flag to break out processing on the first exception
                     boolean breakOnErrorHit = false;
+                    if (isInflightEnabled()) {
+                        resumePartitions();
+                    }
+
                     log.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, pollTimeoutMs);
-                    ConsumerRecords<Object, Object> allRecords = consumer.poll(pollTimeoutMs);
+                    ConsumerRecords<Object, Object> allRecords;
+                    try {
+                        allRecords = consumer.poll(pollTimeoutMs);
+                    } catch (WakeupException e) {
+                        if (isInflightEnabled()) {
+                            // woken up to resume a paused partition, or to stop
+                            continue;
+                        }
+                        throw e;
+                    }
+
+                    if (isInflightEnabled()) {
+                        // process the records concurrently and commit the offsets of the completed records
+                        processRecordsAsync(allRecords);
+                        commitCompletedOffsets(offsetRepository);
+                        continue;
+                    }
 
                     for (TopicPartition partition : allRecords.partitions()) {
 
@@ -384,7 +453,10 @@ public class KafkaConsumer extends DefaultConsumer {
                 }
 
                 if (!reConnect) {
-                    if (isAutoCommitEnabled()) {
+                    if (isInflightEnabled()) {
+                        log.info("Committing offsets of in-flight records on stop {} from topic {}", threadId, topicName);
+                        commitInflightOffsets(new ArrayList<>(offsetTrackers.keySet()), offsetRepository);
+                    } else if (isAutoCommitEnabled()) {
                         if ("async".equals(endpoint.getConfiguration().getAutoCommitOnStop())) {
                             log.info("Auto commitAsync on stop {} from topic {}", threadId, topicName);
                             consumer.commitAsync();
@@ -435,6 +507,140 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
 
+        private void processRecordsAsync(ConsumerRecords<Object, Object> allRecords) {
+            for (TopicPartition partition : allRecords.partitions()) {
+                KafkaOffsetTracker tracker = offsetTrackers.computeIfAbsent(partition, p -> new KafkaOffsetTracker(endpoint.getConfiguration().getMaxInflightRecords()));
+
+                List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+                log.debug("Records count {} received for partition {}", partitionRecords.size(), partition);
+                for (ConsumerRecord<Object, Object> record : partitionRecords) {
+                    final long offset = record.offset();
+                    if (!tracker.tryBegin(offset)) {
+                        // the maximum number of in-flight records for the partition has been reached, so pause the
+                        // partition (the polling continues so the consumer stays in the group) and consume the
+                        // remaining records again when resumed
+                        log.debug("Pausing partition {} at offset {} as {} records are in-flight", partition, offset, tracker.getInflightRecords());
+                        consumer.seek(partition, offset);
+                        consumer.pause(Collections.singleton(partition));
+                        pausedPartitions.add(partition);
+                        break;
+                    }
+
+                    if (log.isTraceEnabled()) {
+                        log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(), record.value());
+                    }
+                    Exchange exchange = endpoint.createKafkaExchange(record);
+
+                    propagateHeaders(record, exchange, endpoint.getConfiguration());
+
+                    getAsyncProcessor().process(exchange, doneSync -> {
+                        if (exchange.getException() != null) {
+                            // will handle/log the exception and then continue to next
+                            getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+                        }
+                        if (tracker.done(offset)) {
+                            // wake up the polling thread so it resumes the paused partition
+                            consumer.wakeup();
+                        }
+                    });
+                }
+            }
+        }
+
+        /**
+         * Resumes the paused partitions which are no longer at their maximum number of in-flight records.
+         */
+        private void resumePartitions() {
+            if (pausedPartitions.isEmpty()) {
+                return;
+            }
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (TopicPartition partition : pausedPartitions) {
+                KafkaOffsetTracker tracker = offsetTrackers.get(partition);
+                if (tracker == null || !tracker.isFull()) {
+                    partitions.add(partition);
+                }
+            }
+            if (!partitions.isEmpty()) {
+                log.debug("Resuming partitions {}", partitions);
+                consumer.resume(partitions);
+                pausedPartitions.removeAll(partitions);
+            }
+        }
+
+        private void commitCompletedOffsets(StateRepository<String, String> offsetRepository) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            offsetTrackers.forEach((partition, tracker) -> {
+                long offset = tracker.nextCommitOffset();
+                if (offset != -1) {
+                    offsets.put(partition, new OffsetAndMetadata(offset));
+                }
+            });
+            if (offsets.isEmpty()) {
+                return;
+            }
+
+            if (offsetRepository != null) {
+                saveOffsets(offsetRepository, offsets);
+            } else {
+                log.debug("Committing async {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                consumer.commitAsync(offsets, (committed, e) -> {
+                    if (e != null) {
+                        // a later commit includes the offsets, or the records are consumed again
+                        log.warn("Error committing offsets {} from topic {} due {}", threadId, topicName, e.getMessage(), e);
+                    }
+                });
+            }
+        }
+
+        private void commitInflightOffsets(Collection<TopicPartition> partitions, StateRepository<String, String> offsetRepository) {
+            // wait as long as Camel waits for in-flight exchanges when shutting down
+            long timeout = endpoint.getCamelContext().getShutdownStrategy().getTimeUnit().toMillis(endpoint.getCamelContext().getShutdownStrategy().getTimeout());
+
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                KafkaOffsetTracker tracker = offsetTrackers.remove(partition);
+                if (tracker == null) {
+                    continue;
+                }
+                try {
+                    if (!tracker.awaitCompletion(timeout, TimeUnit.MILLISECONDS)) {
+                        log.warn("Timeout waiting for {} in-flight records from partition {} to complete. These records will be consumed again.", tracker.getInflightRecords(), partition);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                long offset = tracker.nextCommitOffset();
+                if (offset != -1) {
+                    offsets.put(partition, new OffsetAndMetadata(offset));
+                }
+            }
+            if (offsets.isEmpty()) {
+                return;
+            }
+
+            if (offsetRepository != null) {
+                saveOffsets(offsetRepository, offsets);
+            } else {
+                log.debug("Committing sync {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                try {
+                    consumer.commitSync(offsets);
+                } catch (WakeupException e) {
+                    // woken up by a completed record to resume a paused partition, so commit again
+                    consumer.commitSync(offsets);
+                }
+            }
+        }
+
+        private void saveOffsets(StateRepository<String, String> offsetRepository, Map<TopicPartition, OffsetAndMetadata> offsets) {
+            offsets.forEach((partition, offset) -> {
+                // the state contains the last processed offset
+                long lastOffset = offset.offset() - 1;
+                log.debug("Saving offset repository state {} from topic {} with offset: {}", threadId, topicName, lastOffset);
+                offsetRepository.setState(serializeOffsetKey(partition), serializeOffsetValue(lastOffset));
+            });
+        }
+
         private void shutdown() {
             // As advised in the KAFKA-1894 ticket, calling this wakeup method
             // breaks the infinite loop
@@ -446,6 +652,12 @@ public class KafkaConsumer extends DefaultConsumer {
             log.debug("onPartitionsRevoked: {} from topic {}", threadId, topicName);
 
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
+            if (isInflightEnabled()) {
+                // the records of the revoked partitions must complete before their offsets can be committed
+                pausedPartitions.removeAll(partitions);
+                commitInflightOffsets(partitions, offsetRepository);
+                return;
+            }
             for (TopicPartition partition : partitions) {
                 String offsetKey = serializeOffsetKey(partition);
                 Long offset = lastProcessedOffset.get(offsetKey);
@@ -490,7 +702,11 @@ public class KafkaConsumer extends DefaultConsumer {
     }
 
     private boolean isAutoCommitEnabled() {
-        return endpoint.getConfiguration().isAutoCommitEnable() != null && endpoint.getConfiguration().isAutoCommitEnable();
+        return endpoint.getConfiguration().isAutoCommitEnable() != null && endpoint.getConfiguration().isAutoCommitEnable() && !isInflightEnabled();
+    }
+
+    private boolean isInflightEnabled() {
+        return endpoint.getConfiguration().getMaxInflightRecords() > 0;
     }
 
     protected String serializeOffsetKey(TopicPartition topicPartition) {
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the offsets of the records from a single partition which are processed concurrently.
+ * <p/>
+ * The records are received in offset order but may complete in any order, so the offset which is safe to commit
+ * is the offset of the oldest record which is still in-flight (or the next offset if there are no records in-flight).
+ * This ensures that a record is never committed before it and all the records before it has completed, which
+ * preserves at-least-once delivery when the consumer is restarted.
+ * <p/>
+ * The tracker never blocks the polling thread. When the maximum number of in-flight records has been reached
+ * the consumer should pause the partition, and resume it when a record completes.
+ */
+final class KafkaOffsetTracker {
+
+    private final int maxInflightRecords;
+    private final NavigableSet<Long> inflight = new TreeSet<>();
+    private long lastReceivedOffset = -1;
+    private long committedOffset = -1;
+    // whether a record was refused as the maximum number of in-flight records was reached
+    private boolean full;
+
+    KafkaOffsetTracker(int maxInflightRecords) {
+        this.maxInflightRecords = maxInflightRecords;
+    }
+
+    /**
+     * Marks the record as in-flight, unless the maximum number of in-flight records has been reached.
+     *
+     * @return <tt>false</tt> if the maximum number of in-flight records has been reached, and the record
+     *         must be consumed again later
+     */
+    synchronized boolean tryBegin(long offset) {
+        if (inflight.size() >= maxInflightRecords) {
+            full = true;
+            return false;
+        }
+        if (committedOffset == -1) {
+            // the records before the first record we receive are already committed
+            committedOffset = offset;
+        }
+        inflight.add(offset);
+        lastReceivedOffset = Math.max(lastReceivedOffset, offset);
+        return true;
+    }
+
+    /**
+     * Marks the record as completed (whether it failed or not).
+     *
+     * @return <tt>true</tt> if a record has been refused since the maximum number of in-flight records was
+     *         reached, and now there is room for more records
+     */
+    synchronized boolean done(long offset) {
+        inflight.remove(offset);
+        notifyAll();
+        if (full && inflight.size() < maxInflightRecords) {
+            full = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the maximum number of in-flight records has been reached
+     */
+    synchronized boolean isFull() {
+        return inflight.size() >= maxInflightRecords;
+    }
+
+    /**
+     * Gets the offset which is safe to commit, that is the offset of the next record to consume when
+     * resuming, or <tt>-1</tt> if no records has been received.
+     */
+    synchronized long getCommittableOffset() {
+        if (lastReceivedOffset == -1) {
+            return -1;
+        }
+        return inflight.isEmpty() ? lastReceivedOffset + 1 : inflight.first();
+    }
+
+    /**
+     * Gets the offset which should be committed, or <tt>-1</tt> if the committable offset has already been committed.
+     * The offset is marked as committed.
+     */
+    synchronized long nextCommitOffset() {
+        long offset = getCommittableOffset();
+        if (offset > committedOffset) {
+            committedOffset = offset;
+            return offset;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of records which are in-flight
+     */
+    synchronized int getInflightRecords() {
+        return inflight.size();
+    }
+
+    /**
+     * Number of records which has been received but not yet committed
+     */
+    synchronized long getCommitLag() {
+        if (lastReceivedOffset == -1) {
+            return 0;
+        }
+        return lastReceivedOffset + 1 - committedOffset;
+    }
+
+    /**
+     * Waits for the in-flight records to complete.
+     *
+     * @return <tt>true</tt> if all records completed, or <tt>false</tt> if the timeout elapsed first
+     */
+    synchronized boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!inflight.isEmpty()) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+}
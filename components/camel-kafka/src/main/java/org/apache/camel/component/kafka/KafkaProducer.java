@@ -21,13 +21,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -117,6 +115,9 @@ public class KafkaProducer extends DefaultAsyncProducer {
         }
 
         // if we are in asynchronous mode we need a worker pool
+        if (!endpoint.isSynchronous() && workerPool == null) {
+            workerPool = endpoint.getConfiguration().getWorkerPool();
+        }
         if (!endpoint.isSynchronous() && workerPool == null) {
             workerPool = endpoint.createProducerExecutor();
             // we create a thread pool so we should also shut it down
@@ -261,55 +262,33 @@ public class KafkaProducer extends DefaultAsyncProducer {
         return new RecordHeader(entry.getKey(), headerValue);
     }
 
-    @Override
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    // Camel calls this method if the endpoint isSynchronous(), as the KafkaEndpoint creates a SynchronousDelegateProducer for it
-    public void process(Exchange exchange) throws Exception {
-        Iterator<ProducerRecord> c = createRecorder(exchange);
-        List<Future<RecordMetadata>> futures = new LinkedList<>();
-        List<RecordMetadata> recordMetadatas = new ArrayList<>();
-
-        if (endpoint.getConfiguration().isRecordMetadata()) {
-            if (exchange.hasOut()) {
-                exchange.getOut().setHeader(KafkaConstants.KAFKA_RECORDMETA, recordMetadatas);
-            } else {
-                exchange.getIn().setHeader(KafkaConstants.KAFKA_RECORDMETA, recordMetadatas);
-            }
-        }
-
-        while (c.hasNext()) {
-            ProducerRecord rec = c.next();
-            if (log.isDebugEnabled()) {
-                log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
-            }
-            futures.add(kafkaProducer.send(rec));
-        }
-        for (Future<RecordMetadata> f : futures) {
-            //wait for them all to be sent
-            recordMetadatas.add(f.get());
-        }
-    }
-
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        // the exchange is completed from the Kafka callback when all the records has been acknowledged,
+        // this is also used in synchronous mode (where the caller waits for the callback)
+        KafkaProducerCallBack cb = new KafkaProducerCallBack(exchange, callback);
         try {
             Iterator<ProducerRecord> c = createRecorder(exchange);
-            KafkaProducerCallBack cb = new KafkaProducerCallBack(exchange, callback);
             while (c.hasNext()) {
-                cb.increment();
                 ProducerRecord rec = c.next();
                 if (log.isDebugEnabled()) {
                     log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
                 }
-                kafkaProducer.send(rec, cb);
+                cb.increment();
+                try {
+                    kafkaProducer.send(rec, cb);
+                } catch (Exception e) {
+                    // the callback is not called when send fails with an exception
+                    cb.decrement();
+                    throw e;
+                }
             }
-            return cb.allSent();
         } catch (Exception ex) {
             exchange.setException(ex);
         }
-        callback.done(true);
-        return true;
+        // the records which has been sent must be acknowledged before we are done
+        return cb.allSent();
     }
 
     /**
@@ -358,6 +337,10 @@ public class KafkaProducer extends DefaultAsyncProducer {
             count.incrementAndGet();
         }
 
+        void decrement() {
+            count.decrementAndGet();
+        }
+
         boolean allSent() {
             if (count.decrementAndGet() == 0) {
                 log.trace("All messages sent, continue routing.");
@@ -377,15 +360,19 @@ public class KafkaProducer extends DefaultAsyncProducer {
             recordMetadatas.add(recordMetadata);
 
             if (count.decrementAndGet() == 0) {
-                // use worker pool to continue routing the exchange
-                // as this thread is from Kafka Callback and should not be used by Camel routing
-                workerPool.submit(new Runnable() {
-                    @Override
-                    public void run() {
+                if (workerPool == null) {
+                    // in synchronous mode the caller thread is waiting for the callback
+                    // so we can signal it from this thread which is from the Kafka Callback
+                    log.trace("All messages sent, signal waiting caller.");
+                    callback.done(false);
+                } else {
+                    // use worker pool to continue routing the exchange
+                    // as this thread is from Kafka Callback and should not be used by Camel routing
+                    workerPool.execute(() -> {
                         log.trace("All messages sent, continue routing.");
                         callback.done(false);
-                    }
-                });
+                    });
+                }
             }
         }
     }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.Properties;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KafkaConsumerMaxInflightRecordsTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "testMaxInflightRecords";
+
+    @EndpointInject("kafka:" + TOPIC
+            + "?groupId=group1"
+            + "&autoOffsetReset=earliest"
+            + "&maxInflightRecords=5"
+    )
+    private Endpoint from;
+
+    @EndpointInject("mock:result")
+    private MockEndpoint to;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    @Before
+    public void before() {
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // the records complete out of order
+                from(from).routeId("foo").delay(simple("${random(0,50)}")).asyncDelayed().to(to);
+            }
+        };
+    }
+
+    @Test
+    public void kafkaMessagesIsConsumedAndCommittedByCamel() throws Exception {
+        to.expectedMessageCount(20);
+        for (int k = 1; k <= 20; k++) {
+            ProducerRecord<String, String> data = new ProducerRecord<>(TOPIC, "1", "m" + k);
+            producer.send(data);
+        }
+        to.assertIsSatisfied();
+
+        to.reset();
+
+        // the offsets are committed so only the new records are consumed after restarting
+        to.expectedBodiesReceivedInAnyOrder("m21", "m22", "m23");
+
+        context.getRouteController().stopRoute("foo");
+        context.getRouteController().startRoute("foo");
+
+        for (int k = 21; k <= 23; k++) {
+            ProducerRecord<String, String> data = new ProducerRecord<>(TOPIC, "1", "m" + k);
+            producer.send(data);
+        }
+
+        to.assertIsSatisfied();
+    }
+}
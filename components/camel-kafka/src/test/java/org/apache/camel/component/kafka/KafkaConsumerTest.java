@@ -44,4 +44,14 @@ public class KafkaConsumerTest {
         when(endpoint.getConfiguration().getBrokers()).thenReturn("localhost:2181");
         new KafkaConsumer(endpoint, processor);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void consumerMaxInflightRecordsNotAllowedWithBreakOnFirstError() throws Exception {
+        when(endpoint.getComponent()).thenReturn(component);
+        when(endpoint.getConfiguration()).thenReturn(configuration);
+        when(endpoint.getConfiguration().getBrokers()).thenReturn("localhost:2181");
+        when(endpoint.getConfiguration().getMaxInflightRecords()).thenReturn(10);
+        when(endpoint.getConfiguration().isBreakOnFirstError()).thenReturn(true);
+        new KafkaConsumer(endpoint, processor);
+    }
 }
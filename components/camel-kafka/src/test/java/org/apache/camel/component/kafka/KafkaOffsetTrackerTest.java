@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KafkaOffsetTrackerTest {
+
+    @Test
+    public void commitsContiguousCompletedOffsets() throws Exception {
+        KafkaOffsetTracker tracker = new KafkaOffsetTracker(10);
+        assertEquals(-1, tracker.getCommittableOffset());
+        assertEquals(-1, tracker.nextCommitOffset());
+
+        assertTrue(tracker.tryBegin(5));
+        assertTrue(tracker.tryBegin(6));
+        assertTrue(tracker.tryBegin(7));
+        assertEquals(3, tracker.getInflightRecords());
+        assertEquals(3, tracker.getCommitLag());
+        // nothing has completed
+        assertEquals(-1, tracker.nextCommitOffset());
+
+        // there is a gap as 5 has not completed
+        tracker.done(6);
+        tracker.done(7);
+        assertEquals(5, tracker.getCommittableOffset());
+        assertEquals(-1, tracker.nextCommitOffset());
+
+        tracker.done(5);
+        assertEquals(8, tracker.nextCommitOffset());
+        assertEquals(0, tracker.getCommitLag());
+        // already committed
+        assertEquals(-1, tracker.nextCommitOffset());
+
+        assertTrue(tracker.tryBegin(8));
+        assertTrue(tracker.tryBegin(9));
+        tracker.done(8);
+        assertEquals(9, tracker.nextCommitOffset());
+        assertEquals(1, tracker.getInflightRecords());
+        assertEquals(1, tracker.getCommitLag());
+    }
+
+    @Test
+    public void boundsInflightRecords() throws Exception {
+        KafkaOffsetTracker tracker = new KafkaOffsetTracker(2);
+        assertTrue(tracker.tryBegin(0));
+        assertTrue(tracker.tryBegin(1));
+        assertTrue(tracker.isFull());
+
+        // the record is refused and not counted as received
+        assertFalse(tracker.tryBegin(2));
+        assertEquals(0, tracker.getCommittableOffset());
+
+        // there is room again so the partition can be resumed
+        assertTrue(tracker.done(1));
+        assertFalse(tracker.isFull());
+        assertFalse(tracker.done(0));
+
+        assertTrue(tracker.tryBegin(2));
+        assertEquals(1, tracker.getInflightRecords());
+        assertEquals(2, tracker.getCommittableOffset());
+    }
+
+    @Test
+    public void awaitsCompletion() throws Exception {
+        KafkaOffsetTracker tracker = new KafkaOffsetTracker(2);
+        assertTrue(tracker.tryBegin(0));
+        assertFalse(tracker.awaitCompletion(50, TimeUnit.MILLISECONDS));
+
+        new Thread(() -> tracker.done(0)).start();
+        assertTrue(tracker.awaitCompletion(5, TimeUnit.SECONDS));
+        assertEquals(1, tracker.nextCommitOffset());
+    }
+}
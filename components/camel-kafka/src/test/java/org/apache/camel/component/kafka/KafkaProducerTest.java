@@ -25,9 +25,11 @@ import java.util.concurrent.Future;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultAsyncProcessorAwaitManager;
 import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
 import org.apache.camel.support.DefaultMessage;
 import org.apache.kafka.clients.producer.Callback;
@@ -53,6 +55,7 @@ public class KafkaProducerTest {
 
     private TypeConverter converter = Mockito.mock(TypeConverter.class);
     private CamelContext context = Mockito.mock(CamelContext.class);
+    private ExtendedCamelContext extendedContext = Mockito.mock(ExtendedCamelContext.class);
     private Exchange exchange = Mockito.mock(Exchange.class);
     private CamelContext camelContext = Mockito.mock(CamelContext.class);
     private Message in = new DefaultMessage(camelContext);
@@ -73,9 +76,16 @@ public class KafkaProducerTest {
         Future future = Mockito.mock(Future.class);
         Mockito.when(future.get()).thenReturn(rm);
         org.apache.kafka.clients.producer.KafkaProducer kp = Mockito.mock(org.apache.kafka.clients.producer.KafkaProducer.class);
-        Mockito.when(kp.send(any(ProducerRecord.class))).thenReturn(future);
+        // the record is acknowledged right away
+        Mockito.when(kp.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+            Callback kafkaCallback = invocation.getArgument(1);
+            kafkaCallback.onCompletion(rm, null);
+            return future;
+        });
 
         Mockito.when(exchange.getContext()).thenReturn(context);
+        Mockito.when(context.adapt(ExtendedCamelContext.class)).thenReturn(extendedContext);
+        Mockito.when(extendedContext.getAsyncProcessorAwaitManager()).thenReturn(new DefaultAsyncProcessorAwaitManager());
         Mockito.when(context.getTypeConverter()).thenReturn(converter);
         Mockito.when(converter.tryConvertTo(String.class, exchange, null)).thenReturn(null);
         Mockito.when(camelContext.getHeadersMapFactory()).thenReturn(new DefaultHeadersMapFactory());
@@ -100,23 +110,24 @@ public class KafkaProducerTest {
         in.setHeader(KafkaConstants.PARTITION_KEY, 4);
 
         producer.process(exchange);
-        Mockito.verify(producer.getKafkaProducer()).send(any(ProducerRecord.class));
+        Mockito.verify(producer.getKafkaProducer()).send(any(ProducerRecord.class), any(Callback.class));
         assertRecordMetadataExists();
     }
 
-    @Test(expected = Exception.class)
+    @Test
     @SuppressWarnings({"unchecked"})
     public void processSendsMessageWithException() throws Exception {
         endpoint.getConfiguration().setTopic("sometopic");
         // setup the exception here
         org.apache.kafka.clients.producer.KafkaProducer kp = producer.getKafkaProducer();
-        Mockito.when(kp.send(any(ProducerRecord.class))).thenThrow(new ApiException());
+        Mockito.when(kp.send(any(ProducerRecord.class), any(Callback.class))).thenThrow(new ApiException());
         Mockito.when(exchange.getIn()).thenReturn(in);
         in.setHeader(KafkaConstants.PARTITION_KEY, 4);
 
         producer.process(exchange);
 
-        assertRecordMetadataExists();
+        // the exception is set on the exchange as in asynchronous mode
+        Mockito.verify(exchange).setException(isA(ApiException.class));
     }
 
     @Test
@@ -318,7 +329,7 @@ public class KafkaProducerTest {
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void verifySendMessage(Integer partitionKey, String topic, String messageKey) {
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        Mockito.verify(producer.getKafkaProducer()).send(captor.capture());
+        Mockito.verify(producer.getKafkaProducer()).send(captor.capture(), any(Callback.class));
         assertEquals(partitionKey, captor.getValue().partition());
         assertEquals(messageKey, captor.getValue().key());
         assertEquals(topic, captor.getValue().topic());
@@ -327,7 +338,7 @@ public class KafkaProducerTest {
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void verifySendMessage(String topic, String messageKey) {
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        Mockito.verify(producer.getKafkaProducer()).send(captor.capture());
+        Mockito.verify(producer.getKafkaProducer()).send(captor.capture(), any(Callback.class));
         assertEquals(messageKey, captor.getValue().key());
         assertEquals(topic, captor.getValue().topic());
     }
@@ -335,7 +346,7 @@ public class KafkaProducerTest {
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void verifySendMessage(String topic) {
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        Mockito.verify(producer.getKafkaProducer()).send(captor.capture());
+        Mockito.verify(producer.getKafkaProducer()).send(captor.capture(), any(Callback.class));
         assertEquals(topic, captor.getValue().topic());
     }
 
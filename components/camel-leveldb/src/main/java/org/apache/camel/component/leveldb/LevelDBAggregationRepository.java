@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.IOHelper;
@@ -410,6 +411,19 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
 
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return codec.getBinaryExchangeCodec();
+    }
+
+    /**
+     * Sets a codec to store the exchanges in a compact binary format instead of using Java serialization.
+     * Exchanges already stored in either format can be read regardless, which allows switching format
+     * for an existing repository.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        codec.setBinaryExchangeCodec(binaryExchangeCodec);
+    }
+
     @Override
     protected void doStart() throws Exception {
         // either we have a LevelDB configured or we use a provided fileName
@@ -21,6 +21,7 @@ import java.io.IOException;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultExchangeHolder;
 import org.fusesource.hawtbuf.Buffer;
@@ -34,6 +35,19 @@ public final class LevelDBCamelCodec {
 
     private Codec<String> keyCodec = new StringCodec();
     private Codec<DefaultExchangeHolder> exchangeCodec = new ObjectCodec<>();
+    private BinaryExchangeCodec binaryExchangeCodec;
+
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return binaryExchangeCodec;
+    }
+
+    /**
+     * Sets the codec to store exchanges in the binary format instead of using Java serialization.
+     * Exchanges stored in either format can be read regardless.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        this.binaryExchangeCodec = binaryExchangeCodec;
+    }
 
     public Buffer marshallKey(String key) throws IOException {
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
@@ -48,6 +62,9 @@ public final class LevelDBCamelCodec {
     }
 
     public Buffer marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders) throws IOException {
+        if (binaryExchangeCodec != null) {
+            return new Buffer(binaryExchangeCodec.marshal(exchange, false, allowSerializedHeaders, BinaryExchangeCodec.aggregatedProperties(exchange)));
+        }
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
         // use DefaultExchangeHolder to marshal to a serialized object
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false, allowSerializedHeaders);
@@ -69,10 +86,20 @@ public final class LevelDBCamelCodec {
     }
 
     public Exchange unmarshallExchange(CamelContext camelContext, Buffer buffer) throws IOException {
-        DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
-        DefaultExchangeHolder pe = exchangeCodec.decode(bais);
-        Exchange answer = new DefaultExchange(camelContext);
-        DefaultExchangeHolder.unmarshal(answer, pe);
+        Exchange answer;
+        if (BinaryExchangeCodec.isBinaryExchange(buffer.data, buffer.offset, buffer.length)) {
+            BinaryExchangeCodec codec = binaryExchangeCodec != null ? binaryExchangeCodec : new BinaryExchangeCodec();
+            try {
+                answer = codec.unmarshal(camelContext, buffer.data, buffer.offset, buffer.length);
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        } else {
+            DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
+            DefaultExchangeHolder pe = exchangeCodec.decode(bais);
+            answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, pe);
+        }
         // restore the from endpoint
         String fromEndpointUri = (String) answer.removeProperty("CamelAggregatedFromEndpoint");
         if (fromEndpointUri != null) {
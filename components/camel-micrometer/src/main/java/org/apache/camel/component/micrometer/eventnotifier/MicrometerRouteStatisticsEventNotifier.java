@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.micrometer.eventnotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import org.apache.camel.Route;
+import org.apache.camel.api.management.ManagedCamelContext;
+import org.apache.camel.api.management.mbean.ManagedRouteMBean;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.RouteEvent;
+import org.apache.camel.spi.CamelEvent.RouteRemovedEvent;
+import org.apache.camel.spi.CamelEvent.RouteStartedEvent;
+
+import static org.apache.camel.component.micrometer.MicrometerConstants.CAMEL_CONTEXT_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.DEFAULT_CAMEL_ROUTE_PROCESSING_TIME;
+import static org.apache.camel.component.micrometer.MicrometerConstants.QUANTILE_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.ROUTE_ID_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.SERVICE_NAME;
+
+/**
+ * Publishes the percentiles of the processing time of the routes, which are recorded by Camel when the JMX statistics
+ * level is <tt>Histogram</tt>, as gauges with a quantile tag.
+ * <p/>
+ * The gauges are registered when a route is started, and removed when the route is removed.
+ */
+public class MicrometerRouteStatisticsEventNotifier extends AbstractMicrometerEventNotifier<RouteEvent> {
+
+    private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+    private String name = DEFAULT_CAMEL_ROUTE_PROCESSING_TIME;
+    private double[] percentiles = {50, 90, 99, 99.9};
+
+    public MicrometerRouteStatisticsEventNotifier() {
+        super(RouteEvent.class);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The name of the gauges, default is CamelRouteProcessingTime
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double[] getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * The percentiles to publish, default is 50, 90, 99 and 99.9
+     */
+    public void setPercentiles(double... percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    @Override
+    public void notify(CamelEvent eventObject) {
+        if (eventObject instanceof RouteStartedEvent) {
+            addRoute(((RouteStartedEvent) eventObject).getRoute());
+        } else if (eventObject instanceof RouteRemovedEvent) {
+            removeRoute(((RouteRemovedEvent) eventObject).getRoute());
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        // routes which are already started
+        for (Route route : getCamelContext().getRoutes()) {
+            addRoute(route);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        for (List<Meter> list : meters.values()) {
+            list.forEach(getMeterRegistry()::remove);
+        }
+        meters.clear();
+        super.doStop();
+    }
+
+    private void addRoute(Route route) {
+        if (meters.containsKey(route.getId())) {
+            return;
+        }
+        ManagedCamelContext mcc = getCamelContext().getExtension(ManagedCamelContext.class);
+        ManagedRouteMBean managedRoute = mcc != null ? mcc.getManagedRoute(route.getId()) : null;
+        if (managedRoute == null || !managedRoute.isProcessingTimeHistogramEnabled()) {
+            log.debug("Processing time histogram is not enabled for route: {}", route.getId());
+            return;
+        }
+
+        List<Meter> list = new ArrayList<>(percentiles.length);
+        for (double percentile : percentiles) {
+            // the managed route is a proxy so the gauge must keep a strong reference to it
+            list.add(Gauge.builder(name, managedRoute, r -> r.processingTimePercentile(percentile))
+                    .baseUnit("milliseconds")
+                    .tags(getTags(route, percentile))
+                    .strongReference(true)
+                    .register(getMeterRegistry()));
+        }
+        meters.put(route.getId(), list);
+    }
+
+    private void removeRoute(Route route) {
+        List<Meter> list = meters.remove(route.getId());
+        if (list != null) {
+            list.forEach(getMeterRegistry()::remove);
+        }
+    }
+
+    protected Tags getTags(Route route, double percentile) {
+        return Tags.of(
+                SERVICE_NAME, MicrometerEventNotifierService.class.getSimpleName(),
+                CAMEL_CONTEXT_TAG, getCamelContext().getName(),
+                ROUTE_ID_TAG, route.getId(),
+                QUANTILE_TAG, Double.toString(percentile / 100));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.micrometer.eventNotifier;
+
+import io.micrometer.core.instrument.Gauge;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.micrometer.eventnotifier.AbstractMicrometerEventNotifier;
+import org.apache.camel.component.micrometer.eventnotifier.MicrometerRouteStatisticsEventNotifier;
+import org.junit.Test;
+
+import static org.apache.camel.component.micrometer.MicrometerConstants.DEFAULT_CAMEL_ROUTE_PROCESSING_TIME;
+import static org.apache.camel.component.micrometer.MicrometerConstants.QUANTILE_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.ROUTE_ID_TAG;
+
+public class MicrometerRouteStatisticsEventNotifierTest extends AbstractMicrometerEventNotifierTest {
+
+    private static final String ROUTE_ID = "test";
+
+    @Override
+    protected AbstractMicrometerEventNotifier<?> getEventNotifier() {
+        return new MicrometerRouteStatisticsEventNotifier();
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        camelContext.init();
+        camelContext.getManagementStrategy().getManagementAgent().setStatisticsLevel(ManagementStatisticsLevel.Histogram);
+        return camelContext;
+    }
+
+    @Test
+    public void testRouteProcessingTimePercentiles() throws Exception {
+        context.addRoutes(new TestRoute());
+
+        getMockEndpoint("mock:out").expectedMessageCount(10);
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:in", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        Gauge p99 = meterRegistry.find(DEFAULT_CAMEL_ROUTE_PROCESSING_TIME).tag(ROUTE_ID_TAG, ROUTE_ID).tag(QUANTILE_TAG, "0.99").gauge();
+        assertNotNull(p99);
+        assertTrue("Should take around 50 millis: was " + p99.value(), p99.value() >= 40);
+        assertEquals(4, meterRegistry.find(DEFAULT_CAMEL_ROUTE_PROCESSING_TIME).gauges().size());
+
+        context.getRouteController().stopRoute(ROUTE_ID);
+        context.removeRoute(ROUTE_ID);
+        assertNull(meterRegistry.find(DEFAULT_CAMEL_ROUTE_PROCESSING_TIME).gauge());
+    }
+
+    private class TestRoute extends RouteBuilder {
+        @Override
+        public void configure() throws Exception {
+            from("direct:in").routeId(ROUTE_ID).delay(50).to("mock:out");
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.camel.TimeoutMap;
 import org.apache.camel.TimeoutMap.Listener.Type;
 import org.apache.camel.spi.CamelLogger;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -181,7 +182,11 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport im
             workerPool = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "NettyTimeoutWorkerPool");
         }
 
-        map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        if (HashedWheelTimeoutMap.isHashedWheelTimeoutMap(camelContext)) {
+            map = new HashedWheelTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        } else {
+            map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        }
         map.addListener(this::onEviction);
 
         ServiceHelper.startService(map);
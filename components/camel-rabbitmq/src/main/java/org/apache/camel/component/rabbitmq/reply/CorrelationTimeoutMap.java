@@ -18,7 +18,11 @@ package org.apache.camel.component.rabbitmq.reply;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.apache.camel.TimeoutMap;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
 
 import static org.apache.camel.TimeoutMap.Listener.Type.*;
 
@@ -26,11 +30,22 @@ import static org.apache.camel.TimeoutMap.Listener.Type.*;
  * A {@link org.apache.camel.TimeoutMap} which is used to track reply messages which
  * has been timed out, and thus should trigger the waiting {@link org.apache.camel.Exchange} to
  * timeout as well.
+ * <p/>
+ * The timeouts are tracked by either a {@link DefaultTimeoutMap} or a {@link HashedWheelTimeoutMap}
+ * which scales better with many outstanding replies.
  */
-class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+class CorrelationTimeoutMap extends ServiceSupport implements TimeoutMap<String, ReplyHandler> {
+
+    private final TimeoutMap<String, ReplyHandler> delegate;
 
     CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-        super(executor, requestMapPollTimeMillis);
+        this(executor, requestMapPollTimeMillis, false);
+    }
+
+    CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean hashedWheel) {
+        delegate = hashedWheel
+                ? new HashedWheelTimeoutMap<>(executor, requestMapPollTimeMillis)
+                : new DefaultTimeoutMap<>(executor, requestMapPollTimeMillis);
         addListener(this::listener);
     }
 
@@ -54,14 +69,44 @@ class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
         }
     }
 
+    @Override
+    public ReplyHandler get(String key) {
+        return delegate.get(key);
+    }
+
     @Override
     public ReplyHandler put(String key, ReplyHandler value, long timeoutMillis) {
-        return super.put(key, value, encode(timeoutMillis));
+        return delegate.put(key, value, encode(timeoutMillis));
     }
 
     @Override
     public ReplyHandler putIfAbsent(String key, ReplyHandler value, long timeoutMillis) {
-        return super.putIfAbsent(key, value, encode(timeoutMillis));
+        return delegate.putIfAbsent(key, value, encode(timeoutMillis));
+    }
+
+    @Override
+    public ReplyHandler remove(String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void addListener(Listener<String, ReplyHandler> listener) {
+        delegate.addListener(listener);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(delegate);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(delegate);
     }
 
 }
@@ -40,6 +40,7 @@ import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import net.sf.saxon.Configuration;
@@ -70,6 +71,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.RuntimeExpressionException;
 import org.apache.camel.spi.NamespaceAware;
 import org.apache.camel.support.MessageHelper;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.xml.BytesSource;
@@ -515,33 +517,20 @@ public abstract class XQueryBuilder implements Expression, Predicate, NamespaceA
                 body = in.getBody();
             }
 
-            // the underlying input stream, which we need to close to avoid locking files or other resources
-            InputStream is = null;
-            try {
-                Source source;
-                // only convert to input stream if really needed
-                if (isInputStreamNeeded(exchange)) {
-                    if (ObjectHelper.isNotEmpty(getHeaderName())) {
-                        is = exchange.getIn().getHeader(getHeaderName(), InputStream.class);
-                    } else {
-                        is = exchange.getIn().getBody(InputStream.class);
-                    }
-                    source = getSource(exchange, is);
-                } else {
-                    source = getSource(exchange, body);
-                }
-
-                if (source == null) {
-                    // indicate it was not possible to convert to a Source type
-                    throw new NoTypeConversionAvailableException(body, Source.class);
+            // reuse the document if the message has already been parsed by another xquery,
+            // which must use the same configuration as the document is bound to its name pool
+            DocumentInfo cached = DocumentCacheHelper.getDocument(exchange, body, DocumentInfo.class);
+            DocumentInfo doc;
+            if (cached != null && cached.getConfiguration() == config) {
+                LOG.trace("Reusing document parsed from: {}", body);
+                doc = cached;
+            } else {
+                doc = buildDocument(exchange, config, body);
+                if (cached == null) {
+                    DocumentCacheHelper.putDocument(exchange, body, doc);
                 }
-
-                DocumentInfo doc = config.buildDocument(source);
-                dynamicQueryContext.setContextItem(doc);
-            } finally {
-                // can deal if is is null
-                IOHelper.close(is);
             }
+            dynamicQueryContext.setContextItem(doc);
         }
         
         configureQuery(dynamicQueryContext, exchange);
@@ -550,6 +539,38 @@ public abstract class XQueryBuilder implements Expression, Predicate, NamespaceA
         return dynamicQueryContext;
     }
 
+    private DocumentInfo buildDocument(Exchange exchange, Configuration config, Object body) throws Exception {
+        // the underlying input stream, which we need to close to avoid locking files or other resources
+        InputStream is = null;
+        try {
+            Source source;
+            // build from the DOM if the message has already been parsed, such as by xpath
+            Document document = DocumentCacheHelper.getDocument(exchange, body, Document.class);
+            if (document != null) {
+                source = new DOMSource(document);
+            } else if (isInputStreamNeeded(exchange)) {
+                if (ObjectHelper.isNotEmpty(getHeaderName())) {
+                    is = exchange.getIn().getHeader(getHeaderName(), InputStream.class);
+                } else {
+                    is = exchange.getIn().getBody(InputStream.class);
+                }
+                source = getSource(exchange, is);
+            } else {
+                source = getSource(exchange, body);
+            }
+
+            if (source == null) {
+                // indicate it was not possible to convert to a Source type
+                throw new NoTypeConversionAvailableException(body, Source.class);
+            }
+
+            return config.buildDocument(source);
+        } finally {
+            // can deal if is is null
+            IOHelper.close(is);
+        }
+    }
+
     /**
      * Checks whether we need an {@link InputStream} to access the message body.
      * <p/>
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded multi producer multi consumer {@link BlockingQueue} backed by a pre-allocated ring buffer.
+ * <p/>
+ * Adding and taking elements is lock free and does not allocate, each slot in the ring buffer has a sequence number
+ * which tells the producers and consumers whether the slot is free to be written or ready to be read.
+ * Threads only park (using a lock) when they have to wait because the queue is empty or full.
+ * <p/>
+ * The capacity is rounded up to the next power of two. Removing an element which is not at the head of the queue
+ * marks its slot as removed, and the slot is not available for new elements until the consumers have reached it.
+ * The iterator is weakly consistent and iterates over a snapshot of the queue.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // only used for parking threads waiting for the queue to be not empty or not full
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + (1 << 30) + ", was " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * The capacity of the ring buffer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    // publish the element to the consumers
+                    sequences.set(index, pos + 1);
+                    // only signal when the queue was empty, a consumer woken up for an earlier element
+                    // signals the next waiting consumer if there are more elements
+                    if (head.get() >= pos) {
+                        signalNotEmpty();
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the slot is not yet consumed from the previous lap so we are full
+                return false;
+            }
+            pos = tail.get();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object e = buffer.getAndSet(index, null);
+                    // release the slot to the producers of the next lap
+                    sequences.set(index, pos + capacity);
+                    signalNotFull();
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                }
+            } else if (diff < 0) {
+                // the slot is not yet published so we are empty
+                return null;
+            }
+            pos = head.get();
+        }
+    }
+
+    @Override
+    public E peek() {
+        Iterator<E> it = iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (offer(e)) {
+            return;
+        }
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                notFull.await();
+            }
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!offer(e)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                notEmpty.await();
+            }
+            signalNextConsumer();
+            return e;
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            while ((e = poll()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            signalNextConsumer();
+            return e;
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain queue to itself");
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (long pos = head.get(), end = tail.get(); pos < end; pos++) {
+            int index = (int) pos & mask;
+            Object e = buffer.get(index);
+            // mark the slot as removed, unless a consumer has taken it meanwhile
+            if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(index, e, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> it = snapshot().iterator();
+        return new Iterator<E>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        List<E> answer = new ArrayList<>(size());
+        for (long pos = head.get(), end = tail.get(); pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                Object e = buffer.get(index);
+                if (e != null && e != REMOVED) {
+                    answer.add((E) e);
+                }
+            }
+        }
+        return answer;
+    }
+
+    private void signalNotEmpty() {
+        if (waitingConsumers.get() > 0) {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void signalNextConsumer() {
+        // called with the lock held by a waiting consumer which got an element
+        if (waitingConsumers.get() > 1 && !isEmpty()) {
+            notEmpty.signal();
+        }
+    }
+
+    private void signalNotFull() {
+        if (waitingProducers.get() > 0) {
+            lock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
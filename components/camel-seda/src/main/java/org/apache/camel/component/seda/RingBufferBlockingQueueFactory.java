@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing {@link RingBufferBlockingQueue}
+ */
+public class RingBufferBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+
+    /**
+     * Capacity used when none provided
+     */
+    private int defaultCapacity = SedaConstants.QUEUE_SIZE;
+
+    /**
+     * @return Default ring buffer capacity
+     */
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * @param defaultCapacity Default ring buffer capacity
+     */
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create() {
+        return create(defaultCapacity);
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create(int capacity) {
+        return new RingBufferBlockingQueue<>(capacity);
+    }
+}
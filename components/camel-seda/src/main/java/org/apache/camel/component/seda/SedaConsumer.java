@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -31,8 +33,10 @@ import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.Suspendable;
 import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
@@ -50,6 +54,8 @@ import org.apache.camel.util.ObjectHelper;
 public class SedaConsumer extends ServiceSupport implements Consumer, Runnable, ShutdownAware, Suspendable {
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the number of exchanges drained from the queue which are not yet routed
+    private final AtomicInteger pendingBatchSize = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
@@ -58,11 +64,13 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final int pollBatchSize;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.pollBatchSize = endpoint.getPollBatchSize();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -103,7 +111,8 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         if (endpoint.isPurgeWhenStopping()) {
             endpoint.purgeQueue();
         }
-        return endpoint.getQueue().size();
+        // the exchanges drained from the queue are pending as well
+        return endpoint.getQueue().size() + pendingBatchSize.get();
     }
 
     @Override
@@ -160,6 +169,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
+        List<Exchange> batch = pollBatchSize > 1 ? new ArrayList<>(pollBatchSize) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -200,26 +210,16 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                 if (log.isTraceEnabled()) {
                     log.trace("Polled queue {} with timeout {} ms. -> {}", ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange);
                 }
-                if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
-                    }
+                if (exchange != null && batch != null) {
+                    // take the exchanges which are already waiting on the queue as well,
+                    // so they are routed without polling the queue for each of them
+                    batch.add(exchange);
+                    queue.drainTo(batch, pollBatchSize - 1);
+                    log.trace("Drained {} exchanges from queue {}", batch.size(), ObjectHelper.getIdentityHashCode(queue));
+                    exchange = null;
+                    processBatch(queue, batch);
+                } else if (exchange != null) {
+                    processExchange(exchange);
                 } else if (shutdownPending && queue.isEmpty()) {
                     log.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
@@ -238,6 +238,72 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         }
     }
 
+    /**
+     * Routes the exchanges drained from the queue. If the consumer is suspended or forced to shutdown
+     * meanwhile, then the exchanges not yet routed are put back on the queue.
+     */
+    private void processBatch(BlockingQueue<Exchange> queue, List<Exchange> batch) {
+        int pending = batch.size();
+        pendingBatchSize.addAndGet(pending);
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0 && (!isRunAllowed() || isSuspending() || isSuspended())) {
+                    requeue(queue, batch.subList(i, batch.size()));
+                    return;
+                }
+                pending--;
+                pendingBatchSize.decrementAndGet();
+                processExchange(batch.get(i));
+            }
+        } finally {
+            pendingBatchSize.addAndGet(-pending);
+            batch.clear();
+        }
+    }
+
+    private void requeue(BlockingQueue<Exchange> queue, List<Exchange> exchanges) {
+        log.debug("Putting {} exchanges back on queue {} as the consumer is no longer routing", exchanges.size(), ObjectHelper.getIdentityHashCode(queue));
+        if (queue instanceof BlockingDeque) {
+            // keep the order by putting them in front of the queue
+            BlockingDeque<Exchange> deque = (BlockingDeque<Exchange>) queue;
+            for (int i = exchanges.size() - 1; i >= 0; i--) {
+                if (!deque.offerFirst(exchanges.get(i))) {
+                    processExchange(exchanges.get(i));
+                }
+            }
+        } else {
+            // the exchanges can only be put back at the tail of the queue, after the exchanges added meanwhile
+            for (Exchange exchange : exchanges) {
+                if (!queue.offer(exchange)) {
+                    // the queue is full so route the exchange rather than losing it
+                    processExchange(exchange);
+                }
+            }
+        }
+    }
+
+    private void processExchange(Exchange exchange) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -347,7 +413,17 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
         // create thread pool if needed
         if (executor == null) {
-            executor = endpoint.getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, endpoint.getEndpointUri(), poolSize);
+            ExecutorServiceManager manager = endpoint.getCamelContext().getExecutorServiceManager();
+            if (endpoint.isVirtualThreads()) {
+                ThreadPoolProfile profile = new ThreadPoolProfile(endpoint.getEndpointUri());
+                profile.setPoolSize(poolSize);
+                profile.setMaxPoolSize(poolSize);
+                profile.setKeepAliveTime(0L);
+                profile.setVirtualThreads(true);
+                executor = manager.newThreadPool(this, endpoint.getEndpointUri(), profile);
+            } else {
+                executor = manager.newFixedThreadPool(this, endpoint.getEndpointUri(), poolSize);
+            }
         }
 
         // submit needed number of tasks
@@ -77,6 +77,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int pollBatchSize = 1;
+    @UriParam(label = "consumer,advanced")
+    private boolean virtualThreads;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -405,6 +409,23 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of exchanges a consumer thread takes from the queue each time it polls.
+     * When the consumer wakes up to an exchange it also drains the exchanges which are already waiting on the queue
+     * (up to this number in total) and routes them one by one, without polling the queue for each of them.
+     * This reduces the contention on the queue when there is a high volume of exchanges.
+     * The exchanges which are not yet routed when the consumer is suspended are put back at the tail of the queue,
+     * after the exchanges added meanwhile, unless the queue is a BlockingDeque.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -418,6 +439,20 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.purgeWhenStopping = purgeWhenStopping;
     }
 
+    @ManagedAttribute
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether the concurrent consumers should use virtual threads instead of platform threads (requires Java 21 or newer).
+     * This allows using a high number of concurrentConsumers for routes that block on I/O, without requiring a platform thread
+     * per consumer (turn off limitConcurrentConsumers to use more than 500 consumers).
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     /**
      * Returns the current pending exchanges
      */
@@ -32,6 +32,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -498,6 +499,19 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
 
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return codec.getBinaryExchangeCodec();
+    }
+
+    /**
+     * Sets a codec to store the exchanges in a compact binary format instead of using Java serialization.
+     * Exchanges already stored in either format can be read regardless, which allows switching format
+     * for an existing repository.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        codec.setBinaryExchangeCodec(binaryExchangeCodec);
+    }
+
    /**
      * @return the lobHandler
      */
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.processor.aggregate.jdbc;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -27,6 +28,7 @@ import java.io.OutputStream;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.support.BinaryExchangeCodec;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultExchangeHolder;
 import org.apache.camel.util.IOHelper;
@@ -36,6 +38,20 @@ import org.apache.camel.util.IOHelper;
  */
 public class JdbcCamelCodec {
 
+    private BinaryExchangeCodec binaryExchangeCodec;
+
+    public BinaryExchangeCodec getBinaryExchangeCodec() {
+        return binaryExchangeCodec;
+    }
+
+    /**
+     * Sets the codec to store exchanges in the binary format instead of using Java serialization.
+     * Exchanges stored in either format can be read regardless.
+     */
+    public void setBinaryExchangeCodec(BinaryExchangeCodec binaryExchangeCodec) {
+        this.binaryExchangeCodec = binaryExchangeCodec;
+    }
+
     public byte[] marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders) throws IOException {
         ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
         marshallExchange(camelContext, exchange, allowSerializedHeaders, bytesOut);
@@ -43,6 +59,10 @@ public class JdbcCamelCodec {
     }
 
     public void marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders, OutputStream outputStream) throws IOException {
+        if (binaryExchangeCodec != null) {
+            binaryExchangeCodec.marshal(exchange, false, allowSerializedHeaders, BinaryExchangeCodec.aggregatedProperties(exchange), outputStream);
+            return;
+        }
         // use DefaultExchangeHolder to marshal to a serialized object
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false, allowSerializedHeaders);
         // add the aggregated size and timeout property as the only properties we want to retain
@@ -67,9 +87,18 @@ public class JdbcCamelCodec {
     }
 
     public Exchange unmarshallExchange(CamelContext camelContext, InputStream inputStream) throws IOException, ClassNotFoundException {
-        DefaultExchangeHolder pe = decode(camelContext, inputStream);
-        Exchange answer = new DefaultExchange(camelContext);
-        DefaultExchangeHolder.unmarshal(answer, pe);
+        if (!inputStream.markSupported()) {
+            inputStream = new BufferedInputStream(inputStream);
+        }
+        Exchange answer;
+        if (BinaryExchangeCodec.isBinaryExchange(inputStream)) {
+            BinaryExchangeCodec codec = binaryExchangeCodec != null ? binaryExchangeCodec : new BinaryExchangeCodec();
+            answer = codec.unmarshal(camelContext, inputStream);
+        } else {
+            DefaultExchangeHolder pe = decode(camelContext, inputStream);
+            answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, pe);
+        }
         // restore the from endpoint
         String fromEndpointUri = (String) answer.removeProperty("CamelAggregatedFromEndpoint");
         if (fromEndpointUri != null) {
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.BinaryExchangeCodec;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JdbcCamelCodecTest {
+
+    @Test
+    public void binaryExchangeCodec() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+
+        JdbcCamelCodec codec = new JdbcCamelCodec();
+        codec.setBinaryExchangeCodec(new BinaryExchangeCodec());
+
+        byte[] data = codec.marshallExchange(context, createExchange(context), false);
+        assertTrue(BinaryExchangeCodec.isBinaryExchange(data));
+
+        assertExchange(codec.unmarshallExchange(context, data));
+    }
+
+    @Test
+    public void readEitherFormat() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+
+        JdbcCamelCodec serializing = new JdbcCamelCodec();
+        JdbcCamelCodec binary = new JdbcCamelCodec();
+        binary.setBinaryExchangeCodec(new BinaryExchangeCodec());
+
+        byte[] serialized = serializing.marshallExchange(context, createExchange(context), false);
+        assertFalse(BinaryExchangeCodec.isBinaryExchange(serialized));
+        byte[] binaryData = binary.marshallExchange(context, createExchange(context), false);
+
+        // existing data can be read after switching format, and the other way around
+        assertExchange(binary.unmarshallExchange(context, serialized));
+        assertExchange(serializing.unmarshallExchange(context, binaryData));
+    }
+
+    private static Exchange createExchange(CamelContext context) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.setProperty("bar", "not retained");
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 2);
+        exchange.setProperty(Exchange.AGGREGATED_CORRELATION_KEY, "myKey");
+        return exchange;
+    }
+
+    private static void assertExchange(Exchange exchange) {
+        assertEquals("Hello World", exchange.getIn().getBody());
+        assertEquals(123, exchange.getIn().getHeader("foo"));
+        assertNull(exchange.getProperty("bar"));
+        assertEquals(2, exchange.getProperty(Exchange.AGGREGATED_SIZE));
+        assertEquals("myKey", exchange.getProperty(Exchange.AGGREGATED_CORRELATION_KEY));
+    }
+
+}
@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.xpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPathConstants;
+
+/**
+ * A pre compiled XPath expression which is evaluated on a StAX {@link XMLStreamReader} without building a DOM,
+ * and which stops reading as soon as the result is known.
+ * <p/>
+ * Only a common subset of XPath is supported, being an absolute location path of element names, where the first
+ * step may use the descendant <tt>//</tt> abbreviation, each step may have a position predicate such as
+ * <tt>[1]</tt>, and the last step may be an attribute. The path may be compared to a string literal using
+ * <tt>=</tt> or <tt>!=</tt>, for example <tt>/order/item[1]/@type = 'book'</tt>.
+ * <p/>
+ * This implementation is thread safe, as the state of the evaluation is kept on the stack.
+ */
+final class StreamingXPath {
+
+    private static final int NONE = 0;
+    private static final int EQUALS = 1;
+    private static final int NOT_EQUALS = 2;
+    private static final int MAX_STEPS = 64;
+
+    private final String text;
+    private final boolean descendant;
+    // the name test and position predicate of each element step, where null or 0 means any
+    private final String[] namespaces;
+    private final String[] localNames;
+    private final int[] positions;
+    private final String attributeNamespace;
+    private final String attributeName;
+    private final int operator;
+    private final String literal;
+
+    private StreamingXPath(String text, boolean descendant, List<String[]> steps, List<Integer> positions,
+                           String[] attribute, int operator, String literal) {
+        this.text = text;
+        this.descendant = descendant;
+        int size = steps.size();
+        this.namespaces = new String[size];
+        this.localNames = new String[size];
+        this.positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            this.namespaces[i] = steps.get(i)[0];
+            this.localNames[i] = steps.get(i)[1];
+            this.positions[i] = positions.get(i);
+        }
+        this.attributeNamespace = attribute != null ? attribute[0] : null;
+        this.attributeName = attribute != null ? attribute[1] : null;
+        this.operator = operator;
+        this.literal = literal;
+    }
+
+    /**
+     * Compiles the XPath expression.
+     *
+     * @param text the XPath expression
+     * @param namespaceContext the namespace context to resolve the prefixes
+     * @return the compiled expression, or <tt>null</tt> if the expression is not supported
+     */
+    static StreamingXPath compile(String text, NamespaceContext namespaceContext) {
+        return new Parser(text, namespaceContext).parse();
+    }
+
+    /**
+     * Whether the result type is supported, which is a boolean or a string.
+     */
+    static boolean isSupported(QName resultQName) {
+        return XPathConstants.BOOLEAN.equals(resultQName) || XPathConstants.STRING.equals(resultQName);
+    }
+
+    /**
+     * Evaluates the expression on the given reader.
+     *
+     * @param reader the reader positioned at the start of the document
+     * @param resultQName the result type, which must be a boolean or a string
+     * @return the result as a {@link Boolean} or {@link String}
+     */
+    Object evaluate(XMLStreamReader reader, QName resultQName) throws XMLStreamException {
+        if (XPathConstants.STRING.equals(resultQName) && operator == NONE) {
+            // the string value of the first node in document order
+            String answer = evaluate(reader, true);
+            return answer != null ? answer : "";
+        }
+        boolean matches = evaluate(reader, false) != null;
+        return XPathConstants.STRING.equals(resultQName) ? Boolean.toString(matches) : Boolean.valueOf(matches);
+    }
+
+    /**
+     * Reads the document until a matching node is found.
+     *
+     * @param first whether to return the first node, or else the first node which is equal (or not) to the literal
+     * @return the string value of the node, or <tt>null</tt> if no node was found
+     */
+    private String evaluate(XMLStreamReader reader, boolean first) throws XMLStreamException {
+        final int steps = localNames.length;
+        final long lastStep = 1L << (steps - 1);
+        final boolean collect = attributeName == null && (first || operator != NONE);
+
+        // the steps matched by the element at each depth, where depth 0 is the document
+        long[] matches = new long[16];
+        // the number of children of the element at each depth which are passing the name test of each step
+        int[] counts = new int[16 * steps];
+        // the string value of the matching elements which are open
+        StringBuilder[] values = new StringBuilder[16];
+        int collecting = 0;
+        boolean found = false;
+        int depth = 0;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth + 1 >= matches.length) {
+                    matches = Arrays.copyOf(matches, matches.length * 2);
+                    values = Arrays.copyOf(values, values.length * 2);
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+                // the children of this element are counted from scratch
+                Arrays.fill(counts, (depth + 1) * steps, (depth + 2) * steps, 0);
+
+                long parent = matches[depth - 1];
+                long match = 0;
+                String namespace = reader.getNamespaceURI();
+                String localName = reader.getLocalName();
+                for (int i = 0; i < steps; i++) {
+                    boolean candidate = i == 0 ? descendant || depth == 1 : (parent & (1L << (i - 1))) != 0;
+                    if (candidate && isNameMatching(i, namespace, localName)
+                        && (positions[i] == 0 || ++counts[depth * steps + i] == positions[i])) {
+                        match |= 1L << i;
+                    }
+                }
+                matches[depth] = match;
+
+                if ((match & lastStep) != 0) {
+                    if (attributeName != null) {
+                        String value = getAttributeValue(reader);
+                        if (value != null && (first || test(value))) {
+                            return value;
+                        }
+                    } else if (!collect) {
+                        // the element exists
+                        return "";
+                    } else if (!first || !found) {
+                        // only the first node is collected as its the first to complete
+                        values[depth] = new StringBuilder();
+                        collecting++;
+                        found = true;
+                    }
+                } else if (depth == 1 && match == 0 && !descendant) {
+                    // the root element does not match so no other element can
+                    return null;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                StringBuilder value = values[depth];
+                if (value != null) {
+                    values[depth] = null;
+                    collecting--;
+                    String answer = value.toString();
+                    if (first || test(answer)) {
+                        return answer;
+                    }
+                }
+                depth--;
+            } else if (collecting > 0 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE)) {
+                // the string value of an element is the text of all its descendants
+                for (int i = 1; i <= depth; i++) {
+                    if (values[i] != null) {
+                        values[i].append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isNameMatching(int step, String namespace, String localName) {
+        return (localNames[step] == null || localNames[step].equals(localName))
+            && (namespaces[step] == null || namespaces[step].equals(namespace != null ? namespace : ""));
+    }
+
+    private String getAttributeValue(XMLStreamReader reader) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if (attributeName.equals(reader.getAttributeLocalName(i))
+                && attributeNamespace.equals(namespace != null ? namespace : "")) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private boolean test(String value) {
+        if (operator == EQUALS) {
+            return literal.equals(value);
+        } else if (operator == NOT_EQUALS) {
+            return !literal.equals(value);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingXPath: " + text;
+    }
+
+    /**
+     * Parses the supported subset of XPath, and gives up on anything else.
+     */
+    private static final class Parser {
+        private final String text;
+        private final NamespaceContext namespaceContext;
+        private int index;
+
+        Parser(String text, NamespaceContext namespaceContext) {
+            this.text = text;
+            this.namespaceContext = namespaceContext;
+        }
+
+        StreamingXPath parse() {
+            skipWhitespace();
+            boolean descendant;
+            if (text.startsWith("//", index)) {
+                descendant = true;
+                index += 2;
+            } else if (text.startsWith("/", index)) {
+                descendant = false;
+                index++;
+            } else {
+                return null;
+            }
+
+            List<String[]> steps = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            String[] attribute = null;
+            while (true) {
+                if (peek() == '@') {
+                    index++;
+                    attribute = parseName(false);
+                    if (attribute == null) {
+                        return null;
+                    }
+                    break;
+                }
+                String[] step = parseName(true);
+                if (step == null) {
+                    return null;
+                }
+                int position = 0;
+                if (peek() == '[') {
+                    index++;
+                    position = parsePosition();
+                    if (position <= 0 || peek() != ']') {
+                        return null;
+                    }
+                    index++;
+                }
+                steps.add(step);
+                positions.add(position);
+                if (peek() != '/' || text.startsWith("//", index)) {
+                    break;
+                }
+                index++;
+            }
+            if (steps.isEmpty() || steps.size() > MAX_STEPS) {
+                return null;
+            }
+
+            int operator = NONE;
+            String literal = null;
+            skipWhitespace();
+            if (text.startsWith("!=", index)) {
+                operator = NOT_EQUALS;
+                index += 2;
+            } else if (peek() == '=') {
+                operator = EQUALS;
+                index++;
+            }
+            if (operator != NONE) {
+                skipWhitespace();
+                literal = parseLiteral();
+                if (literal == null) {
+                    return null;
+                }
+                skipWhitespace();
+            }
+            if (index < text.length()) {
+                return null;
+            }
+            return new StreamingXPath(text, descendant, steps, positions, attribute, operator, literal);
+        }
+
+        /**
+         * Parses a name test and resolves its namespace.
+         *
+         * @return the namespace and local name, where null means any, or null if not supported
+         */
+        private String[] parseName(boolean wildcard) {
+            String prefix = null;
+            String name = parseNCName();
+            if (name == null) {
+                if (wildcard && peek() == '*') {
+                    index++;
+                    return new String[] {null, null};
+                }
+                return null;
+            }
+            if (peek() == ':') {
+                index++;
+                prefix = name;
+                name = parseNCName();
+                if (name == null) {
+                    if (!wildcard || peek() != '*') {
+                        return null;
+                    }
+                    index++;
+                }
+            }
+            // names without a prefix are not in any namespace in XPath 1.0
+            String namespace = "";
+            if (prefix != null) {
+                namespace = namespaceContext != null ? namespaceContext.getNamespaceURI(prefix) : null;
+                if (namespace == null || namespace.isEmpty()) {
+                    return null;
+                }
+            }
+            return new String[] {namespace, name};
+        }
+
+        private String parseNCName() {
+            int start = index;
+            while (index < text.length()) {
+                char ch = text.charAt(index);
+                boolean valid = index == start ? Character.isLetter(ch) || ch == '_'
+                    : Character.isLetterOrDigit(ch) || ch == '_' || ch == '-' || ch == '.';
+                if (!valid) {
+                    break;
+                }
+                index++;
+            }
+            return index > start ? text.substring(start, index) : null;
+        }
+
+        private int parsePosition() {
+            int start = index;
+            while (index < text.length() && index - start < 9 && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+                index++;
+            }
+            return index > start ? Integer.parseInt(text.substring(start, index)) : 0;
+        }
+
+        private String parseLiteral() {
+            char quote = peek();
+            if (quote != '\'' && quote != '"') {
+                return null;
+            }
+            int end = text.indexOf(quote, index + 1);
+            if (end < 0) {
+                return null;
+            }
+            String answer = text.substring(index + 1, end);
+            index = end + 1;
+            return answer;
+        }
+
+        private char peek() {
+            return index < text.length() ? text.charAt(index) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+                index++;
+            }
+        }
+    }
+
+}
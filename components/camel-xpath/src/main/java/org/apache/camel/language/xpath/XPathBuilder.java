@@ -28,6 +28,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.xpath.XPath;
@@ -62,6 +64,7 @@ import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.builder.Namespaces;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -88,6 +91,13 @@ import static org.apache.camel.support.builder.Namespaces.isMatchingNamespaceOrE
  * This implementation is thread safe by using thread locals and pooling to
  * allow concurrency.
  * <p/>
+ * When enabled, the document parsed from the message body (or header) is kept on
+ * the exchange, so other XPath expressions evaluated on the same message, such as the
+ * predicates of a content based router, and other XML languages and components, do not
+ * parse the message again (see {@link DocumentCacheHelper}). The document is only reused
+ * for STRING, NUMBER and BOOLEAN results, as the nodes of a NODE or NODESET result could
+ * be changed by the caller.
+ * <p/>
  * <b>Important:</b> After configuring the {@link XPathBuilder} its advised to
  * invoke {@link #start()} to prepare the builder before using; though the
  * builder will auto-start on first use.
@@ -110,6 +120,8 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
     private final MessageVariableResolver variableResolver = new MessageVariableResolver(exchange);
     private final Map<String, String> namespaces = new ConcurrentHashMap<>();
     private boolean threadSafety;
+    private volatile boolean streaming;
+    private volatile StreamingXPath streamingExpression;
     private volatile XPathFactory xpathFactory;
     private volatile Class<?> documentType = Document.class;
     // For some reason the default expression of "a/b" on a document such as
@@ -508,6 +520,27 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
         return this;
     }
 
+    /**
+     * Whether to evaluate the xpath expression on a stream of StAX events
+     * instead of parsing the message to a DOM, which uses less memory and
+     * stops reading the message as soon as the result is known. This applies
+     * to when using BOOLEAN or STRING as the result type, such as predicates.
+     * <p/>
+     * Only a common subset of XPath is supported, which is an absolute path
+     * of element names such as <tt>/order/item[1]/@type</tt> where the first
+     * step can be <tt>//</tt> and each step can have a position predicate,
+     * optionally compared to a string literal using <tt>=</tt> or <tt>!=</tt>.
+     * Other expressions are evaluated using DOM as usual.
+     * <p/>
+     * Streaming is disabled by default
+     *
+     * @return the current builder.
+     */
+    public XPathBuilder streaming() {
+        setStreaming(true);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -565,6 +598,14 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
         this.threadSafety = threadSafety;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * Gets the namespace context, can be <tt>null</tt> if no custom context has
      * been assigned.
@@ -889,6 +930,13 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
      * Evaluates the expression as the given result type
      */
     protected Object evaluateAs(Exchange exchange, QName resultQName) {
+        if (streaming && !logNamespaces && StreamingXPath.isSupported(resultQName)) {
+            Object answer = doInEvaluateStreaming(exchange, resultQName);
+            if (answer != null) {
+                return answer;
+            }
+        }
+
         // pool a pre compiled expression from pool
         XPathExpression xpathExpression = pool.poll();
         if (xpathExpression == null) {
@@ -1005,27 +1053,36 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
         // files or other resources
         InputStream is = null;
         try {
-            Object document;
-
-            // Check if we need to apply the XPath expression to a header
-            if (ObjectHelper.isNotEmpty(getHeaderName())) {
-                String headerName = getHeaderName();
-                // only convert to input stream if really needed
-                if (isInputStreamNeeded(exchange, headerName)) {
-                    is = exchange.getIn().getHeader(headerName, InputStream.class);
-                    document = getDocument(exchange, is);
+            // reuse the document if the message has already been parsed, unless the result is nodes
+            // of the document which the caller could change
+            Object input = getInput(exchange);
+            boolean reuse = isValueResult(resultQName);
+            Object document = reuse ? getCachedDocument(exchange, input) : null;
+
+            if (document == null) {
+                // Check if we need to apply the XPath expression to a header
+                if (ObjectHelper.isNotEmpty(getHeaderName())) {
+                    String headerName = getHeaderName();
+                    // only convert to input stream if really needed
+                    if (isInputStreamNeeded(exchange, headerName)) {
+                        is = exchange.getIn().getHeader(headerName, InputStream.class);
+                        document = getDocument(exchange, is);
+                    } else {
+                        Object headerObject = exchange.getIn().getHeader(getHeaderName());
+                        document = getDocument(exchange, headerObject);
+                    }
                 } else {
-                    Object headerObject = exchange.getIn().getHeader(getHeaderName());
-                    document = getDocument(exchange, headerObject);
+                    // only convert to input stream if really needed
+                    if (isInputStreamNeeded(exchange)) {
+                        is = exchange.getIn().getBody(InputStream.class);
+                        document = getDocument(exchange, is);
+                    } else {
+                        Object body = exchange.getIn().getBody();
+                        document = getDocument(exchange, body);
+                    }
                 }
-            } else {
-                // only convert to input stream if really needed
-                if (isInputStreamNeeded(exchange)) {
-                    is = exchange.getIn().getBody(InputStream.class);
-                    document = getDocument(exchange, is);
-                } else {
-                    Object body = exchange.getIn().getBody();
-                    document = getDocument(exchange, body);
+                if (reuse) {
+                    cacheDocument(exchange, input, document);
                 }
             }
 
@@ -1087,6 +1144,105 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
         return answer;
     }
 
+    /**
+     * Evaluates the expression on a stream of StAX events from the message.
+     *
+     * @return the result, or <tt>null</tt> if the expression or the message
+     *         cannot be streamed, and must be evaluated using DOM
+     */
+    protected Object doInEvaluateStreaming(Exchange exchange, QName resultQName) {
+        StreamingXPath expression = getStreamingExpression();
+        Object input = getInput(exchange);
+        if (expression == null || input == null || input instanceof Node || input instanceof DOMSource
+            || getCachedDocument(exchange, input) != null) {
+            // DOM is faster when the message is already parsed
+            return null;
+        }
+
+        LOG.trace("Evaluating exchange: {} as: {} using streaming", exchange, resultQName);
+
+        InputStream is = null;
+        XMLStreamReader reader = null;
+        try {
+            if (input instanceof String) {
+                reader = exchange.getContext().getTypeConverter().convertTo(XMLStreamReader.class, exchange, input);
+            } else {
+                is = exchange.getContext().getTypeConverter().convertTo(InputStream.class, exchange, input);
+                if (is != null) {
+                    reader = exchange.getContext().getTypeConverter().convertTo(XMLStreamReader.class, exchange, is);
+                }
+            }
+            if (reader == null) {
+                return null;
+            }
+            return expression.evaluate(reader, resultQName);
+        } catch (XMLStreamException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+            // IOHelper can handle if is is null
+            IOHelper.close(is);
+            // call the reset if the in message body is StreamCache
+            MessageHelper.resetStreamCache(exchange.getIn());
+        }
+    }
+
+    private StreamingXPath getStreamingExpression() {
+        if (!isStarted()) {
+            try {
+                start();
+            } catch (Exception e) {
+                throw new RuntimeExpressionException("Error starting XPathBuilder", e);
+            }
+        }
+        return streamingExpression;
+    }
+
+    /**
+     * Gets the message body, or the header if a header name has been configured.
+     */
+    private Object getInput(Exchange exchange) {
+        if (ObjectHelper.isNotEmpty(getHeaderName())) {
+            return exchange.getIn().getHeader(getHeaderName());
+        }
+        return exchange.getIn().getBody();
+    }
+
+    /**
+     * Gets the document which has already been parsed from the given input on this exchange.
+     */
+    private Object getCachedDocument(Exchange exchange, Object input) {
+        if (getDocumentType() != Document.class) {
+            return null;
+        }
+        Document document = DocumentCacheHelper.getDocument(exchange, input, Document.class);
+        if (document != null) {
+            LOG.trace("Reusing document parsed from: {}", input);
+        }
+        return document;
+    }
+
+    /**
+     * Whether the result is a value, and not nodes of the document.
+     */
+    private static boolean isValueResult(QName resultQName) {
+        return resultQName == null || XPathConstants.STRING.equals(resultQName)
+            || XPathConstants.NUMBER.equals(resultQName) || XPathConstants.BOOLEAN.equals(resultQName);
+    }
+
+    private void cacheDocument(Exchange exchange, Object input, Object document) {
+        // only cache documents which has been parsed, and not a document in the message as-is
+        if (document instanceof Document && getDocumentType() == Document.class) {
+            DocumentCacheHelper.putDocument(exchange, input, document);
+        }
+    }
+
     /**
      * Creates a new xpath expression as there we no available in the pool.
      * <p/>
@@ -1337,12 +1493,20 @@ public class XPathBuilder extends ServiceSupport implements CamelContextAware, E
         if (simpleFunction == null) {
             simpleFunction = createSimpleFunction();
         }
+
+        if (streaming && streamingExpression == null) {
+            streamingExpression = StreamingXPath.compile(text, namespaceContext);
+            if (streamingExpression == null) {
+                LOG.debug("XPath: {} is not supported in streaming mode and is evaluated using DOM", text);
+            }
+        }
     }
 
     @Override
     public void doStop() throws Exception {
         pool.clear();
         poolLogNamespaces.clear();
+        streamingExpression = null;
     }
 
     protected synchronized XPathFactory createXPathFactory() throws XPathFactoryConfigurationException {
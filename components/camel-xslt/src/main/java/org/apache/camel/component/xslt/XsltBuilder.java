@@ -40,6 +40,7 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.xml.sax.EntityResolver;
 
@@ -51,6 +52,7 @@ import org.apache.camel.RuntimeTransformException;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
 import org.apache.camel.support.builder.xml.StAX2SAXSource;
 import org.apache.camel.support.builder.xml.XMLConverterHelper;
 import org.apache.camel.util.FileUtil;
@@ -117,12 +119,17 @@ public class XsltBuilder implements Processor {
         InputStream is = null;
         try {
             Source source;
-            // only convert to input stream if really needed
-            if (isInputStreamNeeded(exchange)) {
+            Object body = exchange.getIn().getBody();
+            // reuse the document if the message has already been parsed, such as by xpath
+            Document document = DocumentCacheHelper.getDocument(exchange, body, Document.class);
+            if (document != null) {
+                LOG.trace("Reusing document parsed from: {}", body);
+                source = new DOMSource(document);
+            } else if (isInputStreamNeeded(exchange)) {
+                // only convert to input stream if really needed
                 is = exchange.getIn().getBody(InputStream.class);
                 source = getSource(exchange, is);
             } else {
-                Object body = exchange.getIn().getBody();
                 source = getSource(exchange, body);
             }
 
@@ -140,6 +147,8 @@ public class XsltBuilder implements Processor {
             transformer.transform(source, result);
             LOG.trace("Transform complete with result {}", result);
             resultHandler.setBody(out);
+            // the documents parsed from the old body are no longer needed
+            DocumentCacheHelper.removeDocuments(exchange);
         } finally {
             releaseTransformer(transformer);
             // IOHelper can handle if is is null
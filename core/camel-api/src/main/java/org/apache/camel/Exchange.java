@@ -254,6 +254,8 @@ public interface Exchange {
     String XSLT_FATAL_ERROR = "CamelXsltFatalError";
     String XSLT_WARNING     = "CamelXsltWarning";
 
+    String XML_DOCUMENT_CACHE = "CamelXmlDocumentCache";
+
     /**
      * Returns the {@link ExchangePattern} (MEP) of this exchange.
      *
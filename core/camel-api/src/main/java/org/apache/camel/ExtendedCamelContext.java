@@ -28,12 +28,14 @@ import org.apache.camel.spi.AsyncProcessorAwaitManager;
 import org.apache.camel.spi.BeanProcessorFactory;
 import org.apache.camel.spi.BeanProxyFactory;
 import org.apache.camel.spi.CamelBeanPostProcessor;
+import org.apache.camel.spi.ComponentResolver;
 import org.apache.camel.spi.DataFormatResolver;
 import org.apache.camel.spi.DeferServiceFactory;
 import org.apache.camel.spi.EndpointStrategy;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
 import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.spi.LanguageResolver;
 import org.apache.camel.spi.LifecycleStrategy;
 import org.apache.camel.spi.LogListener;
 import org.apache.camel.spi.ManagementMBeanAssembler;
@@ -166,6 +168,34 @@ public interface ExtendedCamelContext extends CamelContext {
      */
     NodeIdFactory getNodeIdFactory();
 
+    /**
+     * Gets the current component resolver
+     *
+     * @return the resolver
+     */
+    ComponentResolver getComponentResolver();
+
+    /**
+     * Sets a custom component resolver
+     *
+     * @param componentResolver the resolver
+     */
+    void setComponentResolver(ComponentResolver componentResolver);
+
+    /**
+     * Gets the current language resolver
+     *
+     * @return the resolver
+     */
+    LanguageResolver getLanguageResolver();
+
+    /**
+     * Sets a custom language resolver
+     *
+     * @param languageResolver the resolver
+     */
+    void setLanguageResolver(LanguageResolver languageResolver);
+
     /**
      * Gets the current data format resolver
      *
@@ -20,14 +20,27 @@ import javax.xml.bind.annotation.XmlEnum;
 
 /**
  * Level of granularity for performance statistics enabled
+ * <p/>
+ * The <tt>Histogram</tt> level enables statistics for both routes and processors as <tt>Default</tt>,
+ * but using striped counters and a histogram of the processing times, which allows to calculate percentiles of the
+ * processing time. The min and max processing times are then found from the histogram, with a relative error of at
+ * most 3%.
  */
 @XmlEnum
 public enum ManagementStatisticsLevel {
 
-    Extended, Default, RoutesOnly, Off;
+    Extended, Default, Histogram, RoutesOnly, Off;
 
+    /**
+     * Whether statistics is enabled for both routes and processors, which is the case for the
+     * <tt>Extended</tt>, <tt>Default</tt> and <tt>Histogram</tt> levels.
+     */
     public boolean isDefaultOrExtended() {
-        return ordinal() == Default.ordinal() || ordinal() == Extended.ordinal();
+        return ordinal() == Default.ordinal() || ordinal() == Extended.ordinal() || ordinal() == Histogram.ordinal();
+    }
+
+    public boolean isHistogram() {
+        return ordinal() == Histogram.ordinal();
     }
 
     public boolean isExtended() {
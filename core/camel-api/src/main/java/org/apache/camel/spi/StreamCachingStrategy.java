@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -80,6 +81,51 @@ public interface StreamCachingStrategy extends StaticService {
         void setStatisticsEnabled(boolean statisticsEnabled);
     }
 
+    /**
+     * A bounded pool of reusable direct (off-heap) buffers, used for in-memory stream caches.
+     */
+    interface BufferPool {
+
+        /**
+         * Acquires a buffer from the pool.
+         *
+         * @return the cleared buffer, or <tt>null</tt> if the pool is exhausted
+         */
+        ByteBuffer acquire();
+
+        /**
+         * Releases the buffer back to the pool, so it can be reused.
+         *
+         * @param buffer the buffer which was acquired from this pool
+         */
+        void release(ByteBuffer buffer);
+
+        /**
+         * Gets the size in bytes of each buffer.
+         */
+        int getBufferSize();
+
+        /**
+         * Gets the maximum number of bytes of the buffers in the pool.
+         */
+        long getPoolSize();
+
+        /**
+         * Gets the number of bytes of the buffers which are in use.
+         */
+        long getUsedSize();
+
+        /**
+         * Gets the number of bytes of the buffers which has been allocated, which are in use or free.
+         */
+        long getAllocatedSize();
+
+        /**
+         * Gets the counter for number of times the pool was exhausted, where the stream cache was spooled to disk instead.
+         */
+        long getExhaustedCounter();
+    }
+
     /**
      * Used for selecting if the memory limit is <tt>committed</tt> or <tt>maximum</tt> heap memory setting.
      */
@@ -164,6 +210,30 @@ public interface StreamCachingStrategy extends StaticService {
 
     int getBufferSize();
 
+    /**
+     * Sets the maximum size in bytes of a pool of direct (off-heap) buffers to use for in-memory stream caches,
+     * instead of allocating byte arrays on the heap. The pool is divided into buffers of {@link #getBufferSize()} bytes,
+     * which are reused when the exchanges using the stream caches are done.
+     * When the pool is exhausted, then the stream cache is spooled to disk.
+     * <p/>
+     * <b>Important:</b> a stream cache using the pool can only be read until the exchanges using it are done, as its
+     * buffers are then reused. Reading the stream cache afterwards, such as when the message body is kept by an
+     * aggregation strategy or a bean, fails with an {@link java.io.IOException}.
+     * <p/>
+     * The default size is <tt>0</tt> which means the pool is not in use.
+     */
+    void setBufferPoolSize(long bufferPoolSize);
+
+    long getBufferPoolSize();
+
+    /**
+     * Gets the pool of direct buffers to use for in-memory stream caches.
+     *
+     * @return the pool, or <tt>null</tt> if not in use
+     * @see #setBufferPoolSize(long)
+     */
+    BufferPool getBufferPool();
+
     /**
      * Sets a cipher name to use when spooling to disk to write with encryption.
      * <p/>
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Service;
+
+/**
+ * Access to a repository of permits to implement the
+ * <a href="http://camel.apache.org/throttler.html">Throttler</a> pattern across multiple Camel instances,
+ * such as a route running in a cluster, where the maximum requests per period is the total of all the instances.
+ * <p/>
+ * The time periods are aligned to the wall clock, so all the instances agree on when a time period starts.
+ * The throttler leases a number of permits at a time, and uses them for the exchanges within the same time period,
+ * to avoid accessing the repository for each exchange.
+ */
+public interface ThrottlingRepository extends Service {
+
+    /**
+     * Acquires up to the given number of permits for the key, within the time period.
+     * <p/>
+     * The number of permits acquired for the key, within the same time period, must never exceed
+     * <tt>maxPermits</tt> in total, also when acquired concurrently by different Camel instances.
+     *
+     * @param key              the correlation key of the throttler
+     * @param periodStart      the start of the time period, in millis since epoch
+     * @param timePeriodMillis the time period, which can be used to expire the permits of old time periods
+     * @param permits          the number of permits to acquire
+     * @param maxPermits       the maximum number of permits within the time period
+     * @return the number of permits acquired, between 0 (no more permits within the time period) and <tt>permits</tt>
+     */
+    int acquirePermits(String key, long periodStart, long timePeriodMillis, int permits, int maxPermits);
+
+}
@@ -24,6 +24,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -68,6 +69,7 @@ import org.apache.camel.util.ObjectHelper;
 public abstract class BaseTypeConverterRegistry extends ServiceSupport implements TypeConverter, TypeConverterRegistry {
 
     public static final String META_INF_SERVICES_TYPE_CONVERTER_LOADER = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    public static final String META_INF_SERVICES_TYPE_CONVERTER_INDEX = "META-INF/services/org/apache/camel/TypeConverterIndex";
     public static final String META_INF_SERVICES_FALLBACK_TYPE_CONVERTER = "META-INF/services/org/apache/camel/FallbackTypeConverter";
 
     protected static final TypeConverter MISS_CONVERTER = new TypeConverterSupport() {
@@ -78,6 +80,14 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     };
 
     protected final DoubleMap<Class<?>, Class<?>, TypeConverter> typeMappings = new DoubleMap<>(200);
+    // the (to, from) pairs which has no type converter, so the fallback converters can be tried without looking up again
+    protected final DoubleMap<Class<?>, Class<?>, Boolean> lookupMisses = new DoubleMap<>(16);
+    // changed when the lookup misses are cleared, so a lookup which raced with adding a type converter does not remember its miss
+    protected final AtomicInteger lookupMissesGeneration = new AtomicInteger();
+    // the type converter index files, which are only read as a whole when the index is used
+    protected final List<URL> typeConverterIndexUrls = new CopyOnWriteArrayList<>();
+    protected volatile TypeConverterIndex typeConverterIndex;
+    protected int indexedTypeConverters;
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     protected CamelContext camelContext;
@@ -369,6 +379,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                clearLookupMisses();
             }
         }
     }
@@ -388,7 +399,17 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     @Override
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         log.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean answer = typeMappings.remove(toType, fromType);
+        clearLookupMisses();
+        return answer;
+    }
+
+    private void clearLookupMisses() {
+        // a lookup may now find a type converter
+        lookupMissesGeneration.incrementAndGet();
+        if (lookupMisses.size() > 0) {
+            lookupMisses.clear();
+        }
     }
 
     @Override
@@ -440,13 +461,42 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return resolver;
     }
 
+    /**
+     * The index of the type converters which are generated by the camel annotation processor
+     */
+    public TypeConverterIndex getTypeConverterIndex() {
+        TypeConverterIndex answer = typeConverterIndex;
+        if (answer == null) {
+            List<String> loaders = new ArrayList<>();
+            List<String> entries = new ArrayList<>();
+            try {
+                for (URL url : typeConverterIndexUrls) {
+                    readTypeConverterIndex(url, loaders, entries);
+                }
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+            answer = new TypeConverterIndex(loaders, entries);
+            typeConverterIndex = answer;
+        }
+        return answer;
+    }
+
     protected <T> TypeConverter getOrFindTypeConverter(Class<?> toType, Class<?> fromType) {
         TypeConverter converter = typeMappings.get(toType, fromType);
-        if (converter == null) {
+        if (converter == null && !lookupMisses.containsKey(toType, fromType)) {
+            int generation = lookupMissesGeneration.get();
             // converter not found, try to lookup then
             converter = lookup(toType, fromType);
             if (converter != null) {
                 typeMappings.put(toType, fromType, converter);
+            } else if (generation == lookupMissesGeneration.get()) {
+                // remember the miss as looking up walks all the type mappings
+                lookupMisses.put(toType, fromType, Boolean.TRUE);
+                if (generation != lookupMissesGeneration.get()) {
+                    // a type converter was added or removed meanwhile so the miss may be stale
+                    lookupMisses.remove(toType, fromType);
+                }
             }
         }
         return converter;
@@ -522,6 +572,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
      */
     public void loadCoreAndFastTypeConverters() throws Exception {
         Collection<String> names = findTypeConverterLoaderClasses();
+        // make room for the generated type converters up front, instead of growing the type mappings while adding them
+        typeMappings.ensureCapacity(typeMappings.size() + indexedTypeConverters);
         for (String name : names) {
             log.debug("Resolving TypeConverterLoader: {}", name);
             Class clazz = getResolver().getClassLoaders().stream()
@@ -539,12 +591,29 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
     /**
      * Finds the type converter loader classes from the classpath looking
-     * for text files on the classpath at the {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER} location.
+     * for text files on the classpath at the {@link #META_INF_SERVICES_TYPE_CONVERTER_INDEX} and
+     * {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER} locations.
      */
     protected Collection<String> findTypeConverterLoaderClasses() throws IOException {
         Set<String> loaders = new LinkedHashSet<>();
+        Set<String> indexed = new HashSet<>();
+        typeConverterIndexUrls.clear();
+        typeConverterIndex = null;
+        indexedTypeConverters = 0;
+        for (URL url : getIndexUrls()) {
+            log.debug("Loading file {} to retrieve list of type converters, from url: {}", META_INF_SERVICES_TYPE_CONVERTER_INDEX, url);
+            // only the number of type converters and the loaders are read, the index is read when it is used
+            indexedTypeConverters += readTypeConverterIndex(url, loaders, null);
+            typeConverterIndexUrls.add(url);
+            indexed.add(locationOf(url, META_INF_SERVICES_TYPE_CONVERTER_INDEX));
+        }
+
         Collection<URL> loaderResources = getLoaderUrls();
         for (URL url : loaderResources) {
+            if (indexed.contains(locationOf(url, META_INF_SERVICES_TYPE_CONVERTER_LOADER))) {
+                // the loaders of this module are listed in its index
+                continue;
+            }
             log.debug("Loading file {} to retrieve list of type converters, from url: {}", META_INF_SERVICES_TYPE_CONVERTER_LOADER, url);
             BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
             try {
@@ -560,6 +629,58 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return loaders;
     }
 
+    /**
+     * Reads the type converter index file which lists the number of type converters, the loaders,
+     * and then the to and from types of the type converters.
+     *
+     * @param url     the index file
+     * @param loaders to add the loaders
+     * @param entries to add the to and from types of the type converters, or <tt>null</tt> to stop reading after the loaders
+     * @return the number of type converters in the index
+     */
+    private int readTypeConverterIndex(URL url, Collection<String> loaders, Collection<String> entries) throws IOException {
+        int size = -1;
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (size < 0) {
+                    size = Integer.parseInt(line);
+                } else if (line.indexOf(' ') < 0) {
+                    loaders.add(line);
+                } else if (entries != null) {
+                    entries.add(line);
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            IOHelper.close(reader, url.toString(), log);
+        }
+        return Math.max(size, 0);
+    }
+
+    protected Collection<URL> getIndexUrls() throws IOException {
+        List<URL> indexResources = new ArrayList<>();
+        for (ClassLoader classLoader : resolver.getClassLoaders()) {
+            Enumeration<URL> resources = classLoader.getResources(META_INF_SERVICES_TYPE_CONVERTER_INDEX);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                indexResources.add(url);
+            }
+        }
+        return indexResources;
+    }
+
+    private static String locationOf(URL url, String name) {
+        String location = url.toExternalForm();
+        return location.endsWith(name) ? location.substring(0, location.length() - name.length()) : location;
+    }
+
     protected Collection<URL> getLoaderUrls() throws IOException {
         List<URL> loaderResources = new ArrayList<>();
         for (ClassLoader classLoader : resolver.getClassLoaders()) {
@@ -742,6 +863,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         typeMappings.clear();
+        lookupMisses.clear();
         statistics.reset();
     }
 
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The index of the type converters which are generated by the camel annotation processor.
+ * <p/>
+ * Each module with generated type converter loaders has a
+ * {@link BaseTypeConverterRegistry#META_INF_SERVICES_TYPE_CONVERTER_INDEX} file listing the number of its
+ * type converters, its loaders, and the to and from class names of their type converters sorted by class name.
+ * On startup the registry only reads the number of type converters, which it uses to size its type mappings,
+ * and the loaders. The index of all the modules is read when it is first used, and the type converters are
+ * held in a perfect hash table (hash and displace), so looking up a type converter by its class names reads
+ * exactly one slot of the table.
+ */
+public final class TypeConverterIndex {
+
+    // the number of displacements to try for a bucket before the table is grown
+    private static final int MAX_DISPLACEMENTS = 1 << 16;
+
+    private final List<String> loaders;
+    // the entries in their slots of the table
+    private final String[] table;
+    private final int[] displacements;
+    private final int size;
+
+    /**
+     * Creates the index.
+     *
+     * @param loaders the class names of the type converter loaders
+     * @param entries the type converters as to and from class names separated by a space
+     */
+    public TypeConverterIndex(Collection<String> loaders, Collection<String> entries) {
+        this.loaders = Collections.unmodifiableList(new ArrayList<>(loaders));
+
+        // the entries are the keys, so they are hashed as they are without splitting them into class names
+        int n = 0;
+        String[] keys = new String[entries.size()];
+        int[] hashes = new int[entries.size()];
+        for (String entry : entries) {
+            if (entry.indexOf(' ') > 0) {
+                keys[n] = entry;
+                hashes[n] = entry.hashCode();
+                n++;
+            }
+        }
+
+        // keep the load factor of the table at most 1/2, and have 1 to 2 keys per bucket on average
+        int tableSize = Integer.highestOneBit(Math.max(n, 1)) << 2;
+        while (true) {
+            String[] slots = new String[tableSize];
+            int[] seeds = new int[Math.max(tableSize >> 2, 1)];
+            int size = build(n, keys, hashes, slots, seeds);
+            if (size >= 0) {
+                this.table = slots;
+                this.displacements = seeds;
+                this.size = size;
+                return;
+            }
+            tableSize <<= 1;
+        }
+    }
+
+    /**
+     * Places the keys in the table, largest bucket first, by finding a displacement per bucket which maps
+     * all the keys of the bucket to free slots.
+     *
+     * @return the number of distinct keys, or <tt>-1</tt> if no displacement could be found for a bucket
+     */
+    private static int build(int n, String[] entries, int[] hashes, String[] table, int[] seeds) {
+        int buckets = seeds.length;
+        int tableMask = table.length - 1;
+
+        // group the keys by bucket
+        int[] start = new int[buckets + 1];
+        for (int i = 0; i < n; i++) {
+            start[bucketOf(hashes[i], buckets - 1) + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            start[b + 1] += start[b];
+        }
+        int[] keys = new int[n];
+        int[] next = Arrays.copyOf(start, buckets);
+        for (int i = 0; i < n; i++) {
+            keys[next[bucketOf(hashes[i], buckets - 1)]++] = i;
+        }
+
+        // the same type converter may be listed by more than one module, so drop the duplicates in each bucket
+        int size = 0;
+        int maxBucket = 0;
+        int[] length = new int[buckets];
+        for (int b = 0; b < buckets; b++) {
+            int end = start[b];
+            for (int k = start[b]; k < start[b + 1]; k++) {
+                int key = keys[k];
+                boolean duplicate = false;
+                for (int j = start[b]; j < end && !duplicate; j++) {
+                    duplicate = hashes[keys[j]] == hashes[key] && entries[keys[j]].equals(entries[key]);
+                }
+                if (!duplicate) {
+                    keys[end++] = key;
+                }
+            }
+            length[b] = end - start[b];
+            size += length[b];
+            maxBucket = Math.max(maxBucket, length[b]);
+        }
+
+        int[] slots = new int[maxBucket];
+        for (int bucketSize = maxBucket; bucketSize > 0; bucketSize--) {
+            for (int b = 0; b < buckets; b++) {
+                if (length[b] != bucketSize) {
+                    continue;
+                }
+                boolean placed = false;
+                int seed = -1;
+                while (!placed && ++seed < MAX_DISPLACEMENTS) {
+                    placed = true;
+                    for (int i = 0; i < bucketSize && placed; i++) {
+                        int slot = slotOf(hashes[keys[start[b] + i]], seed, tableMask);
+                        placed = table[slot] == null;
+                        for (int j = 0; j < i && placed; j++) {
+                            placed = slots[j] != slot;
+                        }
+                        slots[i] = slot;
+                    }
+                }
+                if (!placed) {
+                    return -1;
+                }
+                seeds[b] = seed;
+                for (int i = 0; i < bucketSize; i++) {
+                    table[slots[i]] = entries[keys[start[b] + i]];
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The class names of the type converter loaders
+     */
+    public List<String> getLoaders() {
+        return loaders;
+    }
+
+    /**
+     * The number of type converters in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the index has a type converter from the given type to the given type
+     */
+    public boolean contains(Class<?> toType, Class<?> fromType) {
+        // the annotation processor uses the canonical names, which local and anonymous classes do not have
+        String to = toType.getCanonicalName();
+        String from = fromType.getCanonicalName();
+        return to != null && from != null && contains(to, from);
+    }
+
+    /**
+     * Whether the index has a type converter from the given class name to the given class name
+     */
+    public boolean contains(String toType, String fromType) {
+        int hash = hash(toType, fromType);
+        String entry = table[slotOf(hash, displacements[bucketOf(hash, displacements.length - 1)], table.length - 1)];
+        return entry != null && entry.length() == toType.length() + 1 + fromType.length()
+            && entry.startsWith(toType) && entry.charAt(toType.length()) == ' ' && entry.endsWith(fromType);
+    }
+
+    /**
+     * The hash code of the entry of the given class names, which is computed from the hash codes of the
+     * class names as {@link String#hashCode()} would compute it for the entry.
+     */
+    private static int hash(String toType, String fromType) {
+        int power = 1;
+        for (int i = 0; i < fromType.length(); i++) {
+            power *= 31;
+        }
+        return (toType.hashCode() * 31 + ' ') * power + fromType.hashCode();
+    }
+
+    private static int bucketOf(int hash, int bucketMask) {
+        return mix(hash) & bucketMask;
+    }
+
+    private static int slotOf(int hash, int seed, int tableMask) {
+        return mix(hash + (seed + 1) * 0x9e3779b9) & tableMask;
+    }
+
+    private static int mix(int h) {
+        // the murmur3 finalizer
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+}
@@ -1761,6 +1761,7 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Ext
         this.managementMBeanAssembler = doAddService(managementMBeanAssembler, false);
     }
 
+    @Override
     public ComponentResolver getComponentResolver() {
         if (componentResolver == null) {
             synchronized (lock) {
@@ -1772,10 +1773,12 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Ext
         return componentResolver;
     }
 
+    @Override
     public void setComponentResolver(ComponentResolver componentResolver) {
         this.componentResolver = doAddService(componentResolver);
     }
 
+    @Override
     public LanguageResolver getLanguageResolver() {
         if (languageResolver == null) {
             synchronized (lock) {
@@ -1787,6 +1790,7 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Ext
         return languageResolver;
     }
 
+    @Override
     public void setLanguageResolver(LanguageResolver languageResolver) {
         this.languageResolver = doAddService(languageResolver);
     }
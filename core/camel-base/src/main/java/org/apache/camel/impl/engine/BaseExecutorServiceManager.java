@@ -186,7 +186,7 @@ public abstract class BaseExecutorServiceManager extends ServiceSupport implemen
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         profile.addDefaults(defaultProfile);
 
-        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true);
+        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true, DefaultThreadPoolFactory.isVirtualThreads(profile));
         ExecutorService executorService = threadPoolFactory.newThreadPool(profile, threadFactory);
         onThreadPoolCreated(executorService, source, profile.getId());
         if (LOG.isDebugEnabled()) {
@@ -239,7 +239,8 @@ public abstract class BaseExecutorServiceManager extends ServiceSupport implemen
     public ScheduledExecutorService newScheduledThreadPool(Object source, String name, ThreadPoolProfile profile) {
         String sanitizedName = URISupport.sanitizeUri(name);
         profile.addDefaults(getDefaultThreadPoolProfile());
-        ScheduledExecutorService answer = threadPoolFactory.newScheduledThreadPool(profile, createThreadFactory(sanitizedName, true));
+        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true, DefaultThreadPoolFactory.isVirtualThreads(profile));
+        ScheduledExecutorService answer = threadPoolFactory.newScheduledThreadPool(profile, threadFactory);
         onThreadPoolCreated(answer, source, null);
 
         if (LOG.isDebugEnabled()) {
@@ -544,7 +545,11 @@ public abstract class BaseExecutorServiceManager extends ServiceSupport implemen
     }
 
     protected ThreadFactory createThreadFactory(String name, boolean isDaemon) {
-        return new CamelThreadFactory(threadNamePattern, name, isDaemon);
+        return createThreadFactory(name, isDaemon, false);
+    }
+
+    protected ThreadFactory createThreadFactory(String name, boolean isDaemon, boolean isVirtual) {
+        return new CamelThreadFactory(threadNamePattern, name, isDaemon, isVirtual);
     }
 
 }
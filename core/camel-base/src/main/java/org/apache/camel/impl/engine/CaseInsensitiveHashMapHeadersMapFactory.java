@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Map;
+
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.CaseInsensitiveHashMap;
+
+/**
+ * {@link HeadersMapFactory} which uses the {@link org.apache.camel.util.CaseInsensitiveHashMap CaseInsensitiveHashMap}.
+ * This implementation is case insensitive like the {@link DefaultHeadersMapFactory}, but uses an open addressing
+ * hash table for faster lookup of the headers, and copies the headers cheaply (copy on write) such as when
+ * an {@link org.apache.camel.Exchange} is copied.
+ * <p/>
+ * This implementation is used when the global option <tt>CamelHeadersMapFactory</tt> is set to <tt>hashed</tt>.
+ */
+public class CaseInsensitiveHashMapHeadersMapFactory implements HeadersMapFactory {
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new CaseInsensitiveHashMap();
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        return new CaseInsensitiveHashMap(map);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof CaseInsensitiveHashMap;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return true;
+    }
+}
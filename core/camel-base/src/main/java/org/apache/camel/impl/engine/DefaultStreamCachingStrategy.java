@@ -19,9 +19,13 @@ package org.apache.camel.impl.engine;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 import org.apache.camel.CamelContext;
@@ -49,6 +53,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
+    private long bufferPoolSize;
+    private volatile DirectBufferPool bufferPool;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
@@ -139,6 +145,21 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.bufferSize = bufferSize;
     }
 
+    @Override
+    public long getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    @Override
+    public void setBufferPoolSize(long bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    @Override
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     @Override
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
@@ -271,7 +292,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         // if we can overflow to disk then make sure directory exists / is created
-        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0) {
+        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0 || bufferPoolSize > 0) {
 
             if (spoolDirectory == null && spoolDirectoryName == null) {
                 throw new IllegalArgumentException("SpoolDirectory must be configured when using SpoolThreshold > 0");
@@ -315,6 +336,13 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             }
         }
 
+        if (bufferPoolSize > 0) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("BufferSize must be positive when using BufferPoolSize > 0, was: " + bufferSize);
+            }
+            bufferPool = new DirectBufferPool(bufferSize, bufferPoolSize);
+        }
+
         log.debug("StreamCaching configuration {}", this);
 
         if (spoolDirectory != null) {
@@ -326,7 +354,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
     @Override
     protected void doStop() throws Exception {
-        if (spoolThreshold > 0 & spoolDirectory != null  && isRemoveSpoolDirectoryWhenStopping()) {
+        if ((spoolThreshold > 0 || bufferPoolSize > 0) && spoolDirectory != null  && isRemoveSpoolDirectoryWhenStopping()) {
             log.debug("Removing spool directory: {}", spoolDirectory);
             FileUtil.removeDir(spoolDirectory);
         }
@@ -336,6 +364,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         statistics.reset();
+
+        // the buffers in use are released to the old pool and are then garbage collected
+        bufferPool = null;
     }
 
     @Override
@@ -346,6 +377,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", bufferPoolSize=" + bufferPoolSize
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -411,6 +443,82 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
     }
 
+    /**
+     * A pool of direct buffers, which are allocated on demand until the pool size is reached.
+     */
+    private static final class DirectBufferPool implements BufferPool {
+
+        private final int bufferSize;
+        private final long poolSize;
+        private final int maxBuffers;
+        private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger allocated = new AtomicInteger();
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicLong exhaustedCounter = new AtomicLong();
+
+        private DirectBufferPool(int bufferSize, long poolSize) {
+            this.bufferSize = bufferSize;
+            this.poolSize = poolSize;
+            this.maxBuffers = (int) Math.min(Integer.MAX_VALUE, Math.max(1, poolSize / bufferSize));
+        }
+
+        @Override
+        public ByteBuffer acquire() {
+            ByteBuffer buffer = free.poll();
+            if (buffer == null) {
+                // allocate a new buffer if the pool is not full
+                int count;
+                do {
+                    count = allocated.get();
+                    if (count >= maxBuffers) {
+                        exhaustedCounter.incrementAndGet();
+                        return null;
+                    }
+                } while (!allocated.compareAndSet(count, count + 1));
+                buffer = ByteBuffer.allocateDirect(bufferSize);
+            }
+            used.incrementAndGet();
+            buffer.clear();
+            return buffer;
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+            used.decrementAndGet();
+            free.add(buffer);
+        }
+
+        @Override
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        @Override
+        public long getPoolSize() {
+            return poolSize;
+        }
+
+        @Override
+        public long getUsedSize() {
+            return (long) used.get() * bufferSize;
+        }
+
+        @Override
+        public long getAllocatedSize() {
+            return (long) allocated.get() * bufferSize;
+        }
+
+        @Override
+        public long getExhaustedCounter() {
+            return exhaustedCounter.get();
+        }
+
+        @Override
+        public String toString() {
+            return "DirectBufferPool[bufferSize=" + bufferSize + ", poolSize=" + poolSize + "]";
+        }
+    }
+
     /**
      * Represents utilization statistics.
      */
@@ -34,6 +34,13 @@ public class HeadersMapFactoryResolver {
 
     public static final String RESOURCE_PATH = "META-INF/services/org/apache/camel/";
 
+    /**
+     * Global option to select which of the built-in {@link HeadersMapFactory} implementations to use,
+     * either <tt>default</tt> or <tt>hashed</tt>.
+     */
+    public static final String HEADERS_MAP_FACTORY_OPTION = "CamelHeadersMapFactory";
+    public static final String HASHED = "hashed";
+
     private static final Logger LOG = LoggerFactory.getLogger(HeadersMapFactoryResolver.class);
 
     private FactoryFinder factoryFinder;
@@ -60,6 +67,12 @@ public class HeadersMapFactoryResolver {
             }
         }
 
+        String option = context.getGlobalOption(HEADERS_MAP_FACTORY_OPTION);
+        if (HASHED.equalsIgnoreCase(option)) {
+            LOG.debug("Creating hashed HeadersMapFactory");
+            return new CaseInsensitiveHashMapHeadersMapFactory();
+        }
+
         // fallback to default
         LOG.debug("Creating default HeadersMapFactory");
         return new DefaultHeadersMapFactory();
@@ -32,6 +32,13 @@ public class ReactiveExecutorResolver {
 
     public static final String RESOURCE_PATH = "META-INF/services/org/apache/camel/";
 
+    /**
+     * Global option to select which of the built-in {@link ReactiveExecutor} implementations to use,
+     * either <tt>default</tt> or <tt>work-stealing</tt>.
+     */
+    public static final String REACTIVE_EXECUTOR_OPTION = "CamelReactiveExecutor";
+    public static final String WORK_STEALING = "work-stealing";
+
     private static final Logger LOG = LoggerFactory.getLogger(ReactiveExecutorResolver.class);
 
     private FactoryFinder factoryFinder;
@@ -58,6 +65,12 @@ public class ReactiveExecutorResolver {
             }
         }
 
+        String option = context.getGlobalOption(REACTIVE_EXECUTOR_OPTION);
+        if (WORK_STEALING.equalsIgnoreCase(option)) {
+            LOG.debug("Creating work-stealing ReactiveExecutor");
+            return new WorkStealingReactiveExecutor();
+        }
+
         // fallback to default
         LOG.debug("Creating default ReactiveExecutor");
         return new DefaultReactiveExecutor();
@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which uses pooled array based deques per worker thread, and allows
+ * idle workers to steal queued tasks from busy workers.
+ * <p/>
+ * This executor has the same semantics as {@link DefaultReactiveExecutor} for
+ * {@link #scheduleMain(Runnable, String)}, {@link #schedule(Runnable, String)} and {@link #scheduleSync(Runnable, String)},
+ * but does not allocate a linked list node or a description wrapper per scheduled task.
+ * <p/>
+ * A worker that has queued (not yet running) tasks publishes itself, so other threads that
+ * call {@link #executeFromQueue()} while they have no work of their own (such as threads waiting for an
+ * asynchronous callback in the {@link org.apache.camel.spi.AsyncProcessorAwaitManager}) can steal the oldest
+ * task from the busy worker and run it. Tasks scheduled with {@link #scheduleMain(Runnable, String)} or
+ * {@link #scheduleSync(Runnable, String)} are never stolen, as they must run on the calling thread.
+ */
+@ManagedResource(description = "Managed ReactiveExecutor")
+public class WorkStealingReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(this::createWorker);
+
+    // busy workers which have queued tasks that can be stolen
+    private final AtomicReferenceArray<Worker> published;
+    private final int publishedMask;
+
+    private boolean stealing = true;
+    private int initialQueueCapacity = 16;
+
+    // use for statistics so we have insights at runtime
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+    private final LongAdder pendingTasks = new LongAdder();
+    private final LongAdder stolenTasks = new LongAdder();
+
+    public WorkStealingReactiveExecutor() {
+        int size = Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1;
+        this.published = new AtomicReferenceArray<>(size);
+        this.publishedMask = size - 1;
+    }
+
+    @ManagedAttribute(description = "Whether idle workers steal tasks from busy workers")
+    public boolean isStealing() {
+        return stealing;
+    }
+
+    /**
+     * Whether idle workers are allowed to steal queued tasks from busy workers.
+     * <p/>
+     * This is enabled by default.
+     */
+    public void setStealing(boolean stealing) {
+        this.stealing = stealing;
+    }
+
+    public int getInitialQueueCapacity() {
+        return initialQueueCapacity;
+    }
+
+    /**
+     * The initial capacity of the task queues (will be rounded up to a power of two). The queues grows on demand and
+     * are pooled and reused per worker.
+     * <p/>
+     * The default value is 16.
+     */
+    public void setInitialQueueCapacity(int initialQueueCapacity) {
+        this.initialQueueCapacity = initialQueueCapacity;
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, true, true, false);
+    }
+
+    @Override
+    public void schedule(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, true, false, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, false, true, true);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        Worker worker = workers.get();
+        if (worker.executeFromQueue()) {
+            return true;
+        }
+        return stealing && steal(worker);
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return runningWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public long getPendingTasks() {
+        return pendingTasks.sum();
+    }
+
+    @ManagedAttribute(description = "Number of tasks stolen by idle workers")
+    public long getStolenTasks() {
+        return stolenTasks.sum();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    private Worker createWorker() {
+        createdWorkers.incrementAndGet();
+        return new Worker(this);
+    }
+
+    private boolean steal(Worker thief) {
+        int len = published.length();
+        int start = ThreadLocalRandom.current().nextInt(len);
+        for (int i = 0; i < len; i++) {
+            Worker victim = published.get((start + i) & publishedMask);
+            if (victim == null || victim == thief) {
+                continue;
+            }
+            Runnable task;
+            String description;
+            synchronized (victim) {
+                task = victim.queue.pollStealable();
+                description = victim.queue.polledDescription;
+            }
+            if (task != null) {
+                stolenTasks.increment();
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Stolen: {}", description != null ? description : task);
+                }
+                thief.run(task, description);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean publish(Worker worker) {
+        int len = published.length();
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < len; i++) {
+            int index = (start + i) & publishedMask;
+            if (published.compareAndSet(index, null, worker)) {
+                worker.publishedIndex = index;
+                return true;
+            }
+        }
+        // all slots are taken so this worker cannot be stolen from
+        return false;
+    }
+
+    private void unpublish(Worker worker) {
+        published.compareAndSet(worker.publishedIndex, worker, null);
+        worker.publishedIndex = -1;
+    }
+
+    /**
+     * A double ended queue of tasks backed by circular arrays, where the description of the tasks are kept
+     * in a parallel array, so no wrapper object is needed per task. Only the oldest task can be stolen
+     * and only if it was scheduled with {@link #schedule(Runnable, String)}.
+     */
+    static final class TaskQueue {
+
+        private Runnable[] tasks;
+        private String[] descriptions;
+        private boolean[] stealable;
+        private int head;
+        private int tail;
+        // the description of the last polled task
+        String polledDescription;
+
+        TaskQueue(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+            tasks = new Runnable[size];
+            descriptions = new String[size];
+            stealable = new boolean[size];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int size() {
+            return (tail - head) & (tasks.length - 1);
+        }
+
+        void addFirst(Runnable task, String description, boolean canSteal) {
+            head = (head - 1) & (tasks.length - 1);
+            tasks[head] = task;
+            descriptions[head] = description;
+            stealable[head] = canSteal;
+            if (head == tail) {
+                grow();
+            }
+        }
+
+        void addLast(Runnable task, String description, boolean canSteal) {
+            tasks[tail] = task;
+            descriptions[tail] = description;
+            stealable[tail] = canSteal;
+            tail = (tail + 1) & (tasks.length - 1);
+            if (head == tail) {
+                grow();
+            }
+        }
+
+        Runnable pollFirst() {
+            Runnable task = tasks[head];
+            if (task == null) {
+                polledDescription = null;
+                return null;
+            }
+            polledDescription = descriptions[head];
+            tasks[head] = null;
+            descriptions[head] = null;
+            stealable[head] = false;
+            head = (head + 1) & (tasks.length - 1);
+            return task;
+        }
+
+        Runnable pollStealable() {
+            int index = (tail - 1) & (tasks.length - 1);
+            Runnable task = tasks[index];
+            if (task == null || !stealable[index]) {
+                polledDescription = null;
+                return null;
+            }
+            polledDescription = descriptions[index];
+            tasks[index] = null;
+            descriptions[index] = null;
+            stealable[index] = false;
+            tail = index;
+            return task;
+        }
+
+        private void grow() {
+            int n = tasks.length;
+            int r = n - head;
+            Runnable[] newTasks = new Runnable[n << 1];
+            String[] newDescriptions = new String[n << 1];
+            boolean[] newStealable = new boolean[n << 1];
+            System.arraycopy(tasks, head, newTasks, 0, r);
+            System.arraycopy(tasks, 0, newTasks, r, head);
+            System.arraycopy(descriptions, head, newDescriptions, 0, r);
+            System.arraycopy(descriptions, 0, newDescriptions, r, head);
+            System.arraycopy(stealable, head, newStealable, 0, r);
+            System.arraycopy(stealable, 0, newStealable, r, head);
+            tasks = newTasks;
+            descriptions = newDescriptions;
+            stealable = newStealable;
+            head = 0;
+            tail = n;
+        }
+    }
+
+    private static final class Worker {
+
+        private final WorkStealingReactiveExecutor executor;
+        // the current queue and the stack of queues which was suspended by scheduleMain
+        private TaskQueue queue;
+        private TaskQueue[] back = new TaskQueue[4];
+        private int backSize;
+        // empty queues which can be reused
+        private TaskQueue[] pool = new TaskQueue[4];
+        private int poolSize;
+        private boolean running;
+        private int publishedIndex = -1;
+
+        Worker(WorkStealingReactiveExecutor executor) {
+            this.executor = executor;
+            this.queue = new TaskQueue(executor.initialQueueCapacity);
+        }
+
+        void schedule(Runnable runnable, String description, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, description != null ? description : runnable);
+            }
+            synchronized (this) {
+                if (main && !queue.isEmpty()) {
+                    pushBack(queue);
+                    queue = acquire();
+                }
+                // only tasks scheduled with schedule can be run by another thread
+                boolean canSteal = !main && !sync;
+                if (first) {
+                    queue.addFirst(runnable, description, canSteal);
+                } else {
+                    queue.addLast(runnable, description, canSteal);
+                }
+            }
+            executor.pendingTasks.increment();
+            if (!running || sync) {
+                boolean outer = !running;
+                running = true;
+                executor.runningWorkers.incrementAndGet();
+                try {
+                    for (;;) {
+                        Runnable polled;
+                        String polledDescription;
+                        synchronized (this) {
+                            polled = queue.pollFirst();
+                            polledDescription = queue.polledDescription;
+                            if (polled == null) {
+                                if (backSize > 0) {
+                                    release(queue);
+                                    queue = back[--backSize];
+                                    back[backSize] = null;
+                                    continue;
+                                } else {
+                                    break;
+                                }
+                            }
+                        }
+                        run(polled, polledDescription);
+                    }
+                } finally {
+                    if (outer) {
+                        running = false;
+                        if (publishedIndex >= 0) {
+                            executor.unpublish(this);
+                        }
+                    }
+                    executor.runningWorkers.decrementAndGet();
+                }
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Queuing reactive work: {}", description != null ? description : runnable);
+                }
+                if (publishedIndex < 0 && executor.stealing) {
+                    executor.publish(this);
+                }
+            }
+        }
+
+        boolean executeFromQueue() {
+            Runnable polled;
+            String polledDescription;
+            synchronized (this) {
+                polled = queue.pollFirst();
+                polledDescription = queue.polledDescription;
+            }
+            if (polled == null) {
+                return false;
+            }
+            run(polled, polledDescription);
+            return true;
+        }
+
+        void run(Runnable task, String description) {
+            try {
+                executor.pendingTasks.decrement();
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Running: {}", description != null ? description : task);
+                }
+                task.run();
+            } catch (Throwable t) {
+                LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+            }
+        }
+
+        private void pushBack(TaskQueue suspended) {
+            if (backSize == back.length) {
+                TaskQueue[] copy = new TaskQueue[backSize << 1];
+                System.arraycopy(back, 0, copy, 0, backSize);
+                back = copy;
+            }
+            back[backSize++] = suspended;
+        }
+
+        private TaskQueue acquire() {
+            if (poolSize > 0) {
+                TaskQueue answer = pool[--poolSize];
+                pool[poolSize] = null;
+                return answer;
+            }
+            return new TaskQueue(executor.initialQueueCapacity);
+        }
+
+        private void release(TaskQueue empty) {
+            // keep a bounded number of empty queues for reuse
+            if (poolSize < pool.length) {
+                pool[poolSize++] = empty;
+            }
+        }
+    }
+
+}
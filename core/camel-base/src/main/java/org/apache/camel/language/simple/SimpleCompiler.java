@@ -0,0 +1,737 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralExpression;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.ExpressionToPredicateAdapter;
+import org.apache.camel.support.LRUCacheFactory;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.support.builder.ExpressionBuilder;
+import org.apache.camel.support.builder.PredicateBuilder;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Compiles the AST of a <a href="http://camel.apache.org/simple.html">simple language</a> expression or predicate
+ * into specialized {@link Expression}s and {@link Predicate}s, which are used when the simple language is
+ * {@link SimpleLanguage#setCompiled(boolean) compiled}.
+ * <p/>
+ * The interpreted expressions created by the AST evaluate the operators and functions on every evaluation, such as
+ * creating the predicates of the operators, converting the literals, and invoking the OGNL methods using the bean language.
+ * The compiled expressions instead access the headers, exchange properties and body directly, convert constant
+ * operands once per type, and invoke the OGNL methods of simple chains such as <tt>${body.address.city}</tt> using
+ * method handles resolved once per class.
+ * <p/>
+ * The constructs which are not supported are evaluated by the interpreted expressions. When a method of an OGNL chain
+ * cannot be invoked as a simple getter (such as an overloaded method), the rest of the chain is invoked using the bean
+ * language from that method, so the methods already invoked are not invoked again. When a method fails, or returns
+ * <tt>null</tt> for the next method, the interpreted expression is evaluated instead, so the failure is reported
+ * by the bean language the same way as without compiling.
+ */
+public final class SimpleCompiler {
+
+    private static final String NAME = "[A-Za-z_$][\\w$]*";
+    private static final String CHAIN = "((?:\\??\\." + NAME + ")+)";
+    private static final Pattern BODY_OGNL = Pattern.compile("(?:in\\.)?body" + CHAIN);
+    private static final Pattern HEADER = Pattern.compile("(?:in\\.)?headers?(?:[.:]([\\w-]+)|\\[(['\"]?)([\\w-]+)\\2\\])");
+    private static final Pattern HEADER_OGNL = Pattern.compile("(?:in\\.)?headers?[.:]([\\w-]+)" + CHAIN);
+    private static final Pattern PROPERTY = Pattern.compile("exchangeProperty(?:[.?]([\\w-]+)|\\[([\\w-]+)\\])");
+    private static final Pattern PROPERTY_OGNL = Pattern.compile("exchangeProperty[.?]([\\w-]+)" + CHAIN);
+    private static final Pattern SEGMENT = Pattern.compile("(\\?)?\\.(" + NAME + ")");
+
+    private SimpleCompiler() {
+    }
+
+    /**
+     * Compiles the node as an {@link Expression}
+     *
+     * @param node       the node
+     * @param expression the input string
+     * @return the compiled expression, or <tt>null</tt> if the node does not create an expression
+     */
+    public static Expression compileExpression(SimpleNode node, String expression) {
+        if (node instanceof LiteralExpression) {
+            return new ConstantExpression(((LiteralExpression) node).getText());
+        } else if (node instanceof SimpleFunctionStart) {
+            return compileFunction((SimpleFunctionStart) node, expression);
+        } else if (node instanceof SingleQuoteStart) {
+            return compileQuoted(((SingleQuoteStart) node).getBlock(), expression);
+        } else if (node instanceof DoubleQuoteStart) {
+            return compileQuoted(((DoubleQuoteStart) node).getBlock(), expression);
+        }
+        // not supported so use the interpreted expression
+        return node.createExpression(expression);
+    }
+
+    /**
+     * Compiles the node as a {@link Predicate}
+     *
+     * @param node       the node
+     * @param expression the input string
+     * @return the compiled predicate, or <tt>null</tt> if the node does not create an expression
+     */
+    public static Predicate compilePredicate(SimpleNode node, String expression) {
+        if (node instanceof LogicalExpression) {
+            LogicalExpression logical = (LogicalExpression) node;
+            Predicate left = compilePredicate(logical.getLeft(), expression);
+            Predicate right = compilePredicate(logical.getRight(), expression);
+            if (left != null && right != null) {
+                if (logical.getOperator() == LogicalOperatorType.AND) {
+                    return PredicateBuilder.and(left, right);
+                } else if (logical.getOperator() == LogicalOperatorType.OR) {
+                    return PredicateBuilder.or(left, right);
+                }
+            }
+        } else if (node instanceof BinaryExpression) {
+            Predicate answer = compileBinary((BinaryExpression) node, expression);
+            if (answer != null) {
+                return answer;
+            }
+        } else {
+            Expression exp = compileExpression(node, expression);
+            return exp != null ? ExpressionToPredicateAdapter.toPredicate(exp) : null;
+        }
+        // not supported so use the interpreted expression
+        Expression exp = node.createExpression(expression);
+        return exp != null ? ExpressionToPredicateAdapter.toPredicate(exp) : null;
+    }
+
+    /**
+     * Compiles the expressions of a template, which are evaluated as strings and concatenated.
+     *
+     * @param expressions the compiled expressions
+     * @param expression  the input string
+     */
+    public static Expression compileConcat(List<Expression> expressions, String expression) {
+        return new ConcatExpression(expressions, expression);
+    }
+
+    private static Predicate compileBinary(BinaryExpression binary, String expression) {
+        BinaryOperatorType operator = binary.getOperator();
+        if (binary.getLeft() == null || binary.getRight() == null) {
+            return null;
+        }
+        Expression left = compileExpression(binary.getLeft(), expression);
+        Expression right = compileExpression(binary.getRight(), expression);
+        if (left == null || right == null) {
+            return null;
+        }
+
+        if (right instanceof ConstantExpression && ((ConstantExpression) right).value != null) {
+            // the common case of comparing with a literal where the literal can be converted once
+            Object value = ((ConstantExpression) right).value;
+            if (operator == BinaryOperatorType.EQ || operator == BinaryOperatorType.NOT_EQ
+                || operator == BinaryOperatorType.GT || operator == BinaryOperatorType.GTE
+                || operator == BinaryOperatorType.LT || operator == BinaryOperatorType.LTE) {
+                return new ConstantComparison(left, operator, value, binary.toString());
+            }
+        }
+
+        if (operator == BinaryOperatorType.EQ) {
+            return PredicateBuilder.isEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.EQ_IGNORE) {
+            return PredicateBuilder.isEqualToIgnoreCase(left, right);
+        } else if (operator == BinaryOperatorType.GT) {
+            return PredicateBuilder.isGreaterThan(left, right);
+        } else if (operator == BinaryOperatorType.GTE) {
+            return PredicateBuilder.isGreaterThanOrEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.LT) {
+            return PredicateBuilder.isLessThan(left, right);
+        } else if (operator == BinaryOperatorType.LTE) {
+            return PredicateBuilder.isLessThanOrEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.NOT_EQ) {
+            return PredicateBuilder.isNotEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.NOT_EQ_IGNORE) {
+            return PredicateBuilder.not(PredicateBuilder.isEqualToIgnoreCase(left, right));
+        } else if (operator == BinaryOperatorType.CONTAINS) {
+            return PredicateBuilder.contains(left, right);
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS) {
+            return PredicateBuilder.not(PredicateBuilder.contains(left, right));
+        } else if (operator == BinaryOperatorType.CONTAINS_IGNORECASE) {
+            return PredicateBuilder.containsIgnoreCase(left, right);
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS_IGNORECASE) {
+            return PredicateBuilder.not(PredicateBuilder.containsIgnoreCase(left, right));
+        } else if (operator == BinaryOperatorType.STARTS_WITH) {
+            return PredicateBuilder.startsWith(left, right);
+        } else if (operator == BinaryOperatorType.ENDS_WITH) {
+            return PredicateBuilder.endsWith(left, right);
+        }
+        // the other operators are interpreted
+        return null;
+    }
+
+    private static Expression compileQuoted(CompositeNodes block, String expression) {
+        if (block.getChildren().isEmpty()) {
+            return new ConstantExpression("");
+        }
+        List<Expression> parts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        boolean constant = true;
+        for (SimpleNode child : block.getChildren()) {
+            if (child instanceof LiteralNode) {
+                text.append(((LiteralNode) child).getText());
+            } else {
+                constant = false;
+            }
+            parts.add(compileExpression(child, expression));
+        }
+        if (constant) {
+            return new ConstantExpression(text.toString());
+        } else if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return new ConcatExpression(parts, null);
+    }
+
+    private static Expression compileFunction(SimpleFunctionStart function, String expression) {
+        // the interpreted expression is always created, as it validates the syntax
+        Expression interpreted = function.createExpression(expression);
+        List<SimpleNode> children = function.getBlock().getChildren();
+        if (children.size() != 1 || !(children.get(0) instanceof LiteralNode)) {
+            // nested functions are interpreted
+            return interpreted;
+        }
+        String text = ((LiteralNode) children.get(0)).getText();
+
+        if ("body".equals(text) || "in.body".equals(text)) {
+            return new BodyExpression();
+        }
+        Matcher matcher = BODY_OGNL.matcher(text);
+        if (matcher.matches()) {
+            return new BodyOgnlExpression(new MethodChain(matcher.group(1), interpreted), text);
+        }
+        matcher = HEADER.matcher(text);
+        if (matcher.matches()) {
+            String key = matcher.group(1) != null ? matcher.group(1) : matcher.group(3);
+            return new HeaderExpression(key);
+        }
+        matcher = HEADER_OGNL.matcher(text);
+        if (matcher.matches()) {
+            return new KeyedOgnlExpression(matcher.group(1), text.substring(matcher.start(1)),
+                false, new MethodChain(matcher.group(2), interpreted));
+        }
+        matcher = PROPERTY.matcher(text);
+        if (matcher.matches()) {
+            String key = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            return new PropertyExpression(key);
+        }
+        matcher = PROPERTY_OGNL.matcher(text);
+        if (matcher.matches()) {
+            return new KeyedOgnlExpression(matcher.group(1), text.substring(matcher.start(1)),
+                true, new MethodChain(matcher.group(2), interpreted));
+        }
+        return interpreted;
+    }
+
+    /**
+     * Base class for the compiled expressions, which only uses the type converter when the value is not
+     * already of the requested type.
+     */
+    private abstract static class CompiledExpression extends ExpressionAdapter {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T evaluate(Exchange exchange, Class<T> type) {
+            Object value = evaluate(exchange);
+            if (value == null || type == Object.class || type.isInstance(value)) {
+                return (T) value;
+            }
+            return exchange.getContext().getTypeConverter().convertTo(type, exchange, value);
+        }
+    }
+
+    private static final class ConstantExpression extends CompiledExpression {
+        private final String value;
+
+        ConstantExpression(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private static final class ConcatExpression extends CompiledExpression {
+        private final Expression[] parts;
+        private final String description;
+
+        ConcatExpression(List<Expression> parts, String description) {
+            this.parts = parts.toArray(new Expression[0]);
+            this.description = description;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            StringBuilder sb = new StringBuilder();
+            for (Expression part : parts) {
+                String text = part.evaluate(exchange, String.class);
+                if (text != null) {
+                    sb.append(text);
+                }
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return description != null ? description : "concat" + Arrays.toString(parts);
+        }
+    }
+
+    private static final class BodyExpression extends CompiledExpression {
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return exchange.getIn().getBody();
+        }
+
+        @Override
+        public String toString() {
+            return "body";
+        }
+    }
+
+    private static final class HeaderExpression extends CompiledExpression {
+        private final String name;
+
+        HeaderExpression(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            Object header = exchange.getIn().getHeader(name);
+            if (header == null) {
+                // fall back on a property
+                header = exchange.getProperty(name);
+            }
+            return header;
+        }
+
+        @Override
+        public String toString() {
+            return "header(" + name + ")";
+        }
+    }
+
+    private static final class PropertyExpression extends CompiledExpression {
+        private final String name;
+
+        PropertyExpression(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return exchange.getProperty(name);
+        }
+
+        @Override
+        public String toString() {
+            return "exchangeProperty(" + name + ")";
+        }
+    }
+
+    private static final class BodyOgnlExpression extends CompiledExpression {
+        private final MethodChain chain;
+        private final String text;
+
+        BodyOgnlExpression(MethodChain chain, String text) {
+            this.chain = chain;
+            this.text = text;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            Object body = exchange.getIn().getBody();
+            if (body == null) {
+                return null;
+            }
+            return chain.invoke(exchange, body);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class KeyedOgnlExpression extends CompiledExpression {
+        private final String key;
+        private final String ognl;
+        private final boolean property;
+        private final MethodChain chain;
+
+        KeyedOgnlExpression(String key, String ognl, boolean property, MethodChain chain) {
+            this.key = key;
+            this.ognl = ognl;
+            this.property = property;
+            this.chain = chain;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            // try with full name first
+            Object value = property ? exchange.getProperty(ognl) : exchange.getIn().getHeader(ognl);
+            if (value != null) {
+                return value;
+            }
+            value = property ? exchange.getProperty(key) : exchange.getIn().getHeader(key);
+            if (value == null) {
+                return null;
+            }
+            return chain.invoke(exchange, value);
+        }
+
+        @Override
+        public String toString() {
+            return (property ? "propertyOgnl(" : "headerOgnl(") + ognl + ")";
+        }
+    }
+
+    /**
+     * Compares a value with a constant, where the constant is converted once to the type of the value
+     * (instead of converting the constant on every evaluation).
+     */
+    private static final class ConstantComparison implements Predicate {
+        private final Expression left;
+        private final BinaryOperatorType operator;
+        private final Object right;
+        private final String text;
+        private volatile Conversion conversion;
+        private volatile Long rightLong;
+        private volatile Double rightDouble;
+        private volatile boolean numbersConverted;
+
+        ConstantComparison(Expression left, BinaryOperatorType operator, Object right, String text) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+            this.text = text;
+        }
+
+        @Override
+        public boolean matches(Exchange exchange) {
+            Object value = left.evaluate(exchange, Object.class);
+            TypeConverter converter = exchange.getContext().getTypeConverter();
+            switch (operator) {
+            case EQ:
+                return value != null && isEqual(converter, value);
+            case NOT_EQ:
+                return value == null || !isEqual(converter, value);
+            case GT:
+                return value != null && compare(converter, value) > 0;
+            case GTE:
+                return value != null && compare(converter, value) >= 0;
+            case LT:
+                return value != null && compare(converter, value) < 0;
+            default:
+                return value != null && compare(converter, value) <= 0;
+            }
+        }
+
+        /**
+         * Same as {@link ObjectHelper#typeCoerceEquals(TypeConverter, Object, Object)}
+         */
+        private boolean isEqual(TypeConverter converter, Object value) {
+            if (org.apache.camel.util.ObjectHelper.equal(value, right)) {
+                return true;
+            }
+            Class<?> type = value.getClass();
+            if (type.isInstance(right)) {
+                return false;
+            }
+            Conversion c = conversion;
+            if (c == null || c.type != type) {
+                c = new Conversion(type, converter.tryConvertTo(type, right));
+                conversion = c;
+            }
+            if (c.value != null) {
+                if (org.apache.camel.util.ObjectHelper.equal(value, c.value)) {
+                    return true;
+                }
+                if (isPrimitiveWrapper(type)) {
+                    // the constant and the value are both converted from their string representation
+                    // so they are not equal when converting the value to the type of the constant either
+                    return false;
+                }
+            }
+            Object converted = converter.tryConvertTo(right.getClass(), value);
+            return org.apache.camel.util.ObjectHelper.equal(converted, right);
+        }
+
+        /**
+         * Same as {@link ObjectHelper#typeCoerceCompare(TypeConverter, Object, Object)}
+         */
+        private int compare(TypeConverter converter, Object value) {
+            if (!numbersConverted) {
+                rightLong = converter.tryConvertTo(Long.class, right);
+                rightDouble = converter.tryConvertTo(Double.class, right);
+                numbersConverted = true;
+            }
+            Long rl = rightLong;
+            if (rl != null) {
+                Long num = value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                    ? ((Number) value).longValue() : converter.tryConvertTo(Long.class, value);
+                if (num != null) {
+                    return num.compareTo(rl);
+                }
+            }
+            Double rd = rightDouble;
+            if (rd != null) {
+                Double num = converter.tryConvertTo(Double.class, value);
+                if (num != null) {
+                    return num.compareTo(rd);
+                }
+            }
+            return ObjectHelper.typeCoerceCompare(converter, value, right);
+        }
+
+        private static boolean isPrimitiveWrapper(Class<?> type) {
+            return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == Double.class || type == Float.class || type == Boolean.class || type == Character.class;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class Conversion {
+        private final Class<?> type;
+        private final Object value;
+
+        Conversion(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A chain of OGNL methods without parameters, such as <tt>.address?.city</tt>, which are invoked using
+     * method handles.
+     */
+    private static final class MethodChain {
+        private final Getter[] getters;
+        private final Expression interpreted;
+
+        MethodChain(String ognl, Expression interpreted) {
+            this.interpreted = interpreted;
+            List<Getter> list = new ArrayList<>();
+            Matcher matcher = SEGMENT.matcher(ognl);
+            while (matcher.find()) {
+                list.add(new Getter(matcher.group(2), matcher.group(1) != null, ognl.substring(matcher.start())));
+            }
+            this.getters = list.toArray(new Getter[0]);
+        }
+
+        /**
+         * Invokes the methods, where the methods which cannot be invoked as simple getters are invoked
+         * using the bean language, as the interpreted expression would.
+         * <p/>
+         * When a method fails, or returns <tt>null</tt> for the next method, the interpreted expression is
+         * evaluated instead, which reports the failure.
+         *
+         * @return the result
+         */
+        Object invoke(Exchange exchange, Object bean) {
+            Object result = bean;
+            for (Getter getter : getters) {
+                if (result == null) {
+                    return interpreted.evaluate(exchange, Object.class);
+                }
+                MethodHandle handle = getter.resolve(result.getClass());
+                if (handle == null) {
+                    // continue from this method using the bean language, so the methods already invoked are not invoked again
+                    return ExpressionBuilder.beanExpression(result, getter.remainder).evaluate(exchange, Object.class);
+                }
+                try {
+                    result = (Object) handle.invokeExact(result);
+                } catch (Throwable e) {
+                    return interpreted.evaluate(exchange, Object.class);
+                }
+                if (result == null && getter.nullSafe) {
+                    return null;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Invokes a method without parameters, or the getter of a property, with a LRU cache of the method handles
+     * of the classes the method has been invoked on.
+     */
+    private static final class Getter {
+        // the number of classes to cache, which is enough unless the values are highly polymorphic
+        private static final int MAX_TYPES = 16;
+        private final String name;
+        private final boolean nullSafe;
+        // the OGNL of this and the following methods
+        private final String remainder;
+        private final Map<Class<?>, Resolved> resolved = LRUCacheFactory.newLRUCache(MAX_TYPES);
+        // the class the method was last invoked on, so a monomorphic chain does not lock the cache
+        private volatile Resolved last;
+
+        Getter(String name, boolean nullSafe, String remainder) {
+            this.name = name;
+            this.nullSafe = nullSafe;
+            this.remainder = remainder;
+        }
+
+        MethodHandle resolve(Class<?> type) {
+            Resolved r = last;
+            if (r == null || r.type != type) {
+                synchronized (resolved) {
+                    r = resolved.get(type);
+                    if (r == null) {
+                        r = new Resolved(type, findGetter(type, name));
+                        resolved.put(type, r);
+                    }
+                }
+                last = r;
+            }
+            return r.handle;
+        }
+    }
+
+    private static final class Resolved {
+        private final Class<?> type;
+        // null if the method cannot be invoked as a simple getter
+        private final MethodHandle handle;
+
+        Resolved(Class<?> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+    }
+
+    /**
+     * Finds the method with the given name, or the getter of the property with the given name,
+     * which the bean language would invoke.
+     *
+     * @return the method handle, or <tt>null</tt> if not found or the method is ambiguous
+     */
+    static MethodHandle findGetter(Class<?> type, String name) {
+        Method method = null;
+        int count = 0;
+        String capitalized = StringHelper.capitalize(name);
+        for (Method m : type.getMethods()) {
+            if (m.getName().equals(name)) {
+                count++;
+                method = m;
+            }
+        }
+        if (count == 0) {
+            // use the getter
+            for (Method m : type.getMethods()) {
+                boolean getter = m.getName().equals("get" + capitalized);
+                boolean is = m.getName().equals("is" + capitalized)
+                    && (m.getReturnType() == boolean.class || m.getReturnType() == Boolean.class);
+                if (getter || is) {
+                    count++;
+                    method = m;
+                }
+            }
+        }
+        if (count != 1 || method.getParameterCount() != 0 || method.getReturnType() == void.class
+            || Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        method = findPublicMethod(type, method);
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the method declared by a public class or interface, as a public method declared by a non public class
+     * cannot be invoked from another package.
+     */
+    private static Method findPublicMethod(Class<?> type, Method method) {
+        if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return method;
+        }
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            Method answer = findPublicMethod(c, method.getName());
+            if (answer != null) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    private static Method findPublicMethod(Class<?> type, String name) {
+        if (Modifier.isPublic(type.getModifiers())) {
+            try {
+                Method answer = type.getMethod(name);
+                if (Modifier.isPublic(answer.getDeclaringClass().getModifiers())) {
+                    return answer;
+                }
+            } catch (NoSuchMethodException e) {
+                // ignore
+            }
+        }
+        for (Class<?> i : type.getInterfaces()) {
+            Method answer = findPublicMethod(i, name);
+            if (answer != null) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+}
@@ -100,12 +100,18 @@ import org.slf4j.LoggerFactory;
 @Language("simple")
 public class SimpleLanguage extends LanguageSupport implements StaticService {
 
+    /**
+     * Global option to compile the simple expressions and predicates, when set to <tt>true</tt>.
+     */
+    public static final String COMPILED_OPTION = "CamelSimpleCompiled";
+
     private static final Logger LOG = LoggerFactory.getLogger(SimpleLanguage.class);
 
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     boolean allowEscape = true;
+    private Boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -132,9 +138,28 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         }
     }
 
+    public boolean isCompiled() {
+        return compiled != null && compiled;
+    }
+
+    /**
+     * Whether to compile the expressions and predicates into specialized expressions, which evaluates faster than
+     * interpreting the parsed expressions. The constructs which cannot be compiled are interpreted.
+     * <p/>
+     * This can also be enabled using the global option <tt>CamelSimpleCompiled=true</tt>. Is default disabled.
+     *
+     * @see SimpleCompiler
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public void start() {
-        // noop
+        if (compiled == null && getCamelContext() != null) {
+            compiled = "true".equalsIgnoreCase(getCamelContext().getGlobalOption(COMPILED_OPTION));
+            LOG.debug("Simple language compiled: {}", compiled);
+        }
     }
 
     @Override
@@ -164,7 +189,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression, isCompiled());
             answer = parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
@@ -184,7 +209,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression, isCompiled());
             answer = parser.parseExpression();
 
             if (cacheExpression != null && answer != null) {
@@ -56,12 +56,18 @@ public class SimplePredicateParser extends BaseSimpleParser {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
+    private boolean compiled;
 
     public SimplePredicateParser(String expression, boolean allowEscape, Map<String, Expression> cacheExpression) {
         super(expression, allowEscape);
         this.cacheExpression = cacheExpression;
     }
 
+    public SimplePredicateParser(String expression, boolean allowEscape, Map<String, Expression> cacheExpression, boolean compiled) {
+        this(expression, allowEscape, cacheExpression);
+        this.compiled = compiled;
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -441,9 +447,14 @@ public class SimplePredicateParser extends BaseSimpleParser {
     private List<Predicate> createPredicates() {
         List<Predicate> answer = new ArrayList<>();
         for (SimpleNode node : nodes) {
-            Expression exp = node.createExpression(expression);
-            if (exp != null) {
-                Predicate predicate = ExpressionToPredicateAdapter.toPredicate(exp);
+            Predicate predicate;
+            if (compiled) {
+                predicate = SimpleCompiler.compilePredicate(node, expression);
+            } else {
+                Expression exp = node.createExpression(expression);
+                predicate = exp != null ? ExpressionToPredicateAdapter.toPredicate(exp) : null;
+            }
+            if (predicate != null) {
                 answer.add(predicate);
             }
         }
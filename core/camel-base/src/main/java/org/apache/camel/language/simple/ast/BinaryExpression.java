@@ -66,6 +66,14 @@ public class BinaryExpression extends BaseSimpleNode {
         return true;
     }
 
+    public SimpleNode getLeft() {
+        return left;
+    }
+
+    public SimpleNode getRight() {
+        return right;
+    }
+
     public BinaryOperatorType getOperator() {
         return operator;
     }
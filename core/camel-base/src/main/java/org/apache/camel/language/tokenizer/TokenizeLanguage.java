@@ -121,6 +121,9 @@ public class TokenizeLanguage implements Language, IsSingleton {
             Expression exp = headerName == null ? ExpressionBuilder.bodyExpression() : ExpressionBuilder.headerExpression(headerName);
             if (regex) {
                 answer = ExpressionBuilder.regexTokenizeExpression(exp, token);
+            } else if (group != null && (groupDelimiter == null || groupDelimiter.equals(token))) {
+                // tokenize and group in one go
+                return ExpressionBuilder.groupTokenizeExpression(exp, token, group, skipFirst);
             } else {
                 answer = ExpressionBuilder.tokenizeExpression(exp, token);
             }
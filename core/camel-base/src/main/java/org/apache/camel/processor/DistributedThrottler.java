@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.spi.ThrottlingRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which acquires the permits from a
+ * {@link ThrottlingRepository}, so the maximum requests per period is shared by all the Camel instances using
+ * the same repository, such as a route scaled out to several nodes.
+ * <p/>
+ * The time periods are aligned to the wall clock. To avoid accessing the repository for each exchange, the
+ * throttler leases a batch of permits at a time, which are used by the exchanges within the same time period.
+ * Any leased permits which have not been used when the time period ends are discarded, so the rate is never
+ * exceeded, but a node may have to wait for the next time period while another node has unused permits.
+ * Once all the permits of a time period have been used, the repository is not accessed again until the next
+ * time period. The leases of keys which have not been used for ten time periods are removed.
+ */
+public class DistributedThrottler extends Throttler {
+
+    public static final int DEFAULT_PERMIT_BATCH_SIZE = 10;
+
+    private static final String DEFAULT_KEY = "CamelThrottlerDefaultKey";
+
+    private final ScheduledExecutorService asyncExecutor;
+    private final Expression correlationExpression;
+    private final ThrottlingRepository throttlingRepository;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private int permitBatchSize = DEFAULT_PERMIT_BATCH_SIZE;
+
+    public DistributedThrottler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
+                                final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor, final boolean rejectExecution,
+                                Expression correlation, ThrottlingRepository throttlingRepository) {
+        super(camelContext, maxRequestsPerPeriodExpression, timePeriodMillis, asyncExecutor, shutdownAsyncExecutor, rejectExecution, correlation);
+        ObjectHelper.notNull(throttlingRepository, "throttlingRepository");
+        this.asyncExecutor = asyncExecutor;
+        this.correlationExpression = correlation;
+        this.throttlingRepository = throttlingRepository;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        return doProcess(exchange, callback, true);
+    }
+
+    private boolean doProcess(final Exchange exchange, final AsyncCallback callback, final boolean sync) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            Lease lease = leases.computeIfAbsent(key, Lease::new);
+            int rate = lease.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+            long delay = lease.acquire(rate);
+            while (delay > 0) {
+                if (isRejectExecution()) {
+                    throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                            + rate + " within " + getTimePeriodMillis() + "ms");
+                }
+                if (isAsyncDelayed() && !exchange.isTransacted() && scheduleAsynchronously(exchange, callback, delay)) {
+                    log.trace("Throttled for {}ms, scheduled exchangeId: {}", delay, exchange.getExchangeId());
+                    return false;
+                }
+                // block until the next time period
+                log.trace("Throttled for {}ms, exchangeId: {}", delay, exchange.getExchangeId());
+                Thread.sleep(delay);
+                delay = lease.acquire(rate);
+            }
+
+            log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+            callback.done(sync);
+            return sync;
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            boolean forceShutdown = exchange.getContext().getShutdownStrategy().forceShutdown(this);
+            if (forceShutdown) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: " + exchange;
+                log.debug(msg);
+                exchange.setException(new RejectedExecutionException(msg, e));
+            } else {
+                exchange.setException(e);
+            }
+            callback.done(sync);
+            return sync;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(sync);
+            return sync;
+        }
+    }
+
+    /**
+     * Schedules the exchange to try again in the next time period using the thread pool.
+     *
+     * @return <tt>false</tt> if the thread pool rejected the task and the caller should run instead
+     */
+    private boolean scheduleAsynchronously(final Exchange exchange, final AsyncCallback callback, long delay) {
+        try {
+            asyncExecutor.schedule(() -> doProcess(exchange, callback, false), delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            if (isCallerRunsWhenRejected()) {
+                log.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}", exchange.getExchangeId());
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        ServiceHelper.startService(throttlingRepository);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(throttlingRepository);
+        super.doStop();
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        leases.clear();
+        super.doShutdown();
+    }
+
+    public ThrottlingRepository getThrottlingRepository() {
+        return throttlingRepository;
+    }
+
+    public int getPermitBatchSize() {
+        return permitBatchSize;
+    }
+
+    /**
+     * Sets the number of permits to lease from the repository at a time
+     */
+    public void setPermitBatchSize(int permitBatchSize) {
+        if (permitBatchSize <= 0) {
+            throw new IllegalArgumentException("PermitBatchSize should be a positive number, was: " + permitBatchSize);
+        }
+        this.permitBatchSize = permitBatchSize;
+    }
+
+    @Override
+    public int getCurrentMaximumRequestsPerPeriod() {
+        return leases.values().stream().mapToInt(l -> l.throttleRate).max().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedThrottler[requests: " + getMaximumRequestsPerPeriodExpression() + " per: " + getTimePeriodMillis()
+                + " (ms) using: " + throttlingRepository + "]";
+    }
+
+    private final class Lease {
+        private final String key;
+        private volatile int throttleRate;
+        // the time period of the leased permits, and the number of permits not yet used
+        private long periodStart;
+        private int remaining;
+        // the throttle rate when all the permits of the time period were used, or 0 if there may be more permits
+        private int exhaustedRate;
+        private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+
+        Lease(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Schedules removing this lease when the key has not been used for ten time periods.
+         */
+        void scheduleClean() {
+            try {
+                ScheduledFuture<?> future = asyncExecutor.schedule(this::clean, getTimePeriodMillis() * 10, TimeUnit.MILLISECONDS);
+                ScheduledFuture<?> previous = cleanFuture.getAndSet(future);
+                if (previous != null) {
+                    previous.cancel(false);
+                }
+            } catch (RejectedExecutionException e) {
+                log.debug("Throttling lease cleaning rejected", e);
+            }
+        }
+
+        void clean() {
+            leases.remove(key, this);
+        }
+
+        /**
+         * Takes a leased permit, or leases a new batch of permits from the repository.
+         *
+         * @return 0 if a permit was acquired, otherwise the delay in millis until the next time period
+         */
+        synchronized long acquire(int rate) {
+            long now = System.currentTimeMillis();
+            long period = getTimePeriodMillis();
+            long start = now - now % period;
+            if (periodStart != start) {
+                // the permits leased in an old time period are discarded
+                periodStart = start;
+                remaining = 0;
+                exhaustedRate = 0;
+                scheduleClean();
+            }
+            if (remaining == 0 && rate > exhaustedRate) {
+                int permits = Math.min(permitBatchSize, rate);
+                remaining = throttlingRepository.acquirePermits(key, start, period, permits, rate);
+                log.trace("Leased {} permits for key: {}", remaining, key);
+                if (remaining < permits) {
+                    // all the permits of the time period are used, so wait for the next one
+                    // unless the throttle rate is increased
+                    exhaustedRate = rate;
+                }
+            }
+            if (remaining > 0) {
+                remaining--;
+                return 0;
+            }
+            return Math.max(1, start + period - now);
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
+         *
+         * @return the throttle rate
+         */
+        int calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) {
+            Integer newThrottle = getMaximumRequestsPerPeriodExpression().evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle < 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+            }
+
+            int rate = throttleRate;
+            if (newThrottle == null && rate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + getMaximumRequestsPerPeriodExpression(), exchange);
+            }
+
+            if (newThrottle != null && newThrottle != rate) {
+                if (rate == 0) {
+                    log.debug("Initial throttle rate set to {}, triggered by ExchangeId: {}", newThrottle, exchange.getExchangeId());
+                } else {
+                    log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", rate, newThrottle, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+                rate = newThrottle;
+            }
+            return rate;
+        }
+    }
+
+}
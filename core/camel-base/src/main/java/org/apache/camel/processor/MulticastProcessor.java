@@ -151,6 +151,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     private final boolean shutdownExecutorService;
     private ExecutorService aggregateExecutorService;
     private final long timeout;
+    private int maxInflight;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
 
@@ -265,6 +266,8 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        // whether sending the next pair is paused until an exchange has been aggregated
+        final AtomicBoolean paused = new AtomicBoolean();
 
         MulticastState(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) {
             this.original = original;
@@ -312,12 +315,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 int index = nbExchangeSent.getAndIncrement();
                 updateNewExchange(exchange, index, pairs, hasNext);
 
-                // Schedule the processing of the next pair
-                if (hasNext) {
-                    if (isParallelProcessing()) {
-                        schedule(this);
-                    }
-                } else {
+                if (!hasNext) {
                     allSent.set(true);
                 }
 
@@ -358,6 +356,12 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                         }
                     });
                 });
+
+                // Schedule the processing of the next pair after this pair has been submitted,
+                // so the pairs are submitted in order, which is the order they are aggregated in
+                if (hasNext && isParallelProcessing()) {
+                    scheduleNext();
+                }
             } catch (Exception e) {
                 original.setException(e);
                 doDone(null, false);
@@ -366,7 +370,11 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
 
         protected void aggregate() {
             Lock lock = this.lock;
-            if (lock.tryLock()) {
+            do {
+                if (!lock.tryLock()) {
+                    // the thread holding the lock aggregates, and checks again after unlocking
+                    return;
+                }
                 try {
                     Exchange exchange;
                     while (!done.get() && (exchange = completion.poll()) != null) {
@@ -382,9 +390,39 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 } finally {
                     lock.unlock();
                 }
+                if (maxInflight > 0) {
+                    resume();
+                }
+                // a reply may have completed after the last poll, while another thread failed to get the lock
+            } while (!done.get() && completion.hasCompleted());
+        }
+
+        /**
+         * Schedules sending the next pair, unless the max number of inflight exchanges has been reached,
+         * in which case the next pair is sent when an exchange has been aggregated.
+         */
+        protected void scheduleNext() {
+            if (maxInflight <= 0 || isBelowMaxInflight()) {
+                schedule(this);
+            } else {
+                paused.set(true);
+                // an exchange may have been aggregated before we paused
+                resume();
+            }
+        }
+
+        protected void resume() {
+            if (isBelowMaxInflight() && paused.compareAndSet(true, false)) {
+                schedule(this);
             }
         }
 
+        private boolean isBelowMaxInflight() {
+            // the exchanges are inflight until they are aggregated, so completed exchanges waiting
+            // to be aggregated in order are inflight as well
+            return nbExchangeSent.get() - nbAggregated.get() < maxInflight;
+        }
+
         protected void timeout() {
             Lock lock = this.lock;
             if (lock.tryLock()) {
@@ -611,7 +649,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         int index = 0;
         for (Processor processor : processors) {
             // copy exchange, and do not share the unit of work
-            Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+            Exchange copy = ExchangeHelper.createCorrelatedCopyOnWrite(exchange, false);
 
             if (streamCache != null) {
                 if (index > 0) {
@@ -915,6 +953,24 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         return processors;
     }
 
+    /**
+     * The maximum number of exchanges which are sent in parallel and not yet aggregated, or 0 for no limit.
+     */
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which are sent in parallel and not yet aggregated. When the limit
+     * is reached, then the next exchange is not created until an exchange has been aggregated, which keeps the
+     * memory bounded when splitting a large message in streaming mode.
+     * <p/>
+     * The default is 0 which means no limit.
+     */
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     /**
      * An optional timeout in millis when using parallel processing
      */
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.support.HashedWheelTimer;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which does not block any threads
+ * while throttling.
+ * <p/>
+ * The throttling uses the generic cell rate algorithm (GCRA), where each correlation group only keeps track of
+ * the theoretical arrival time of the next exchange, which is updated using compare-and-set. The exchanges are
+ * spaced out evenly at maxRequestsPerPeriod within timePeriodMillis, and up to maxRequestsPerPeriod exchanges
+ * are allowed at once (burst) when the throttler has been idle.
+ * <p/>
+ * Exchanges which must be delayed are scheduled on a {@link HashedWheelTimer} shared by all the throttlers
+ * in the {@link CamelContext}, which hands the exchanges over to the thread pool of the throttler when their
+ * delay has elapsed, where they continue being routed using the {@link org.apache.camel.spi.ReactiveExecutor}.
+ * Transacted exchanges are delayed by the caller thread as they must continue routing using the same thread.
+ */
+public class NonBlockingThrottler extends Throttler {
+
+    private static final String DEFAULT_KEY = "CamelThrottlerDefaultKey";
+
+    private final CamelContext camelContext;
+    private final ScheduledExecutorService asyncExecutor;
+    private final Expression correlationExpression;
+    private final Map<String, RateState> states = new ConcurrentHashMap<>();
+    private final AtomicLong nextClean = new AtomicLong(System.nanoTime());
+    private volatile HashedWheelTimer timer;
+
+    public NonBlockingThrottler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
+                                final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor, final boolean rejectExecution,
+                                Expression correlation) {
+        super(camelContext, maxRequestsPerPeriodExpression, timePeriodMillis, asyncExecutor, shutdownAsyncExecutor, rejectExecution, correlation);
+        this.camelContext = camelContext;
+        this.asyncExecutor = asyncExecutor;
+        this.correlationExpression = correlation;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        return doProcess(exchange, callback, true);
+    }
+
+    private boolean doProcess(final Exchange exchange, final AsyncCallback callback, final boolean sync) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            RateState state = states.computeIfAbsent(key, k -> new RateState());
+            int rate = state.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+            long now = System.nanoTime();
+            cleanIdleStates(now);
+
+            long delay = rate > 0 ? state.acquire(now, rate) : -1;
+            if (delay != 0 && isRejectExecution()) {
+                throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                        + rate + " within " + getTimePeriodMillis() + "ms");
+            }
+
+            if (delay == 0) {
+                log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                callback.done(sync);
+                return sync;
+            } else if (delay < 0) {
+                // the rate is zero so try again in the next period as the rate may then have changed
+                log.trace("Throttle rate is zero, delaying exchangeId: {}", exchange.getExchangeId());
+                timer.schedule(() -> release(exchange, callback, () -> doProcess(exchange, callback, false)), getTimePeriodMillis(), TimeUnit.MILLISECONDS);
+                return false;
+            } else if (exchange.isTransacted()) {
+                // transacted exchanges must continue routing using the same thread
+                log.trace("Throttled for {}ns, exchangeId: {}", delay, exchange.getExchangeId());
+                TimeUnit.NANOSECONDS.sleep(delay);
+                callback.done(sync);
+                return sync;
+            } else {
+                log.trace("Throttled for {}ns, scheduling exchangeId: {}", delay, exchange.getExchangeId());
+                timer.schedule(() -> release(exchange, callback, () -> callback.done(false)), delay, TimeUnit.NANOSECONDS);
+                return false;
+            }
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            boolean forceShutdown = exchange.getContext().getShutdownStrategy().forceShutdown(this);
+            if (forceShutdown) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: " + exchange;
+                log.debug(msg);
+                exchange.setException(new RejectedExecutionException(msg, e));
+            } else {
+                exchange.setException(e);
+            }
+            callback.done(sync);
+            return sync;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(sync);
+            return sync;
+        }
+    }
+
+    /**
+     * Continues routing the delayed exchange using the thread pool, as the timer thread is shared and must not be
+     * used for routing. If the thread pool rejects the task and isCallerRunsWhenRejected() is enabled, then the
+     * timer thread continues routing the exchange.
+     */
+    private void release(final Exchange exchange, final AsyncCallback callback, final Runnable task) {
+        try {
+            asyncExecutor.execute(() -> camelContext.getReactiveExecutor().scheduleMain(task, "Throttler"));
+        } catch (RejectedExecutionException e) {
+            if (isCallerRunsWhenRejected()) {
+                log.debug("AsyncExecutor is full, rejected exchange will run in the timer thread, exchangeId: {}", exchange.getExchangeId());
+                camelContext.getReactiveExecutor().scheduleMain(task, "Throttler");
+            } else {
+                exchange.setException(e);
+                camelContext.getReactiveExecutor().scheduleMain(() -> callback.done(false), "Throttler");
+            }
+        }
+    }
+
+    /**
+     * Removes the correlation groups which have been idle for the clean period, which is 10 times the time period.
+     */
+    private void cleanIdleStates(long now) {
+        long next = nextClean.get();
+        if (now - next >= 0 && nextClean.compareAndSet(next, now + getCleanPeriodNanos())) {
+            long idle = now - getCleanPeriodNanos();
+            states.values().removeIf(s -> s.theoreticalArrivalTime.get() - idle < 0);
+        }
+    }
+
+    private long getCleanPeriodNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(getTimePeriodMillis() * 10);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        ObjectHelper.notNull(asyncExecutor, "executorService", this);
+        timer = getOrCreateTimer(camelContext);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        states.clear();
+        super.doShutdown();
+    }
+
+    /**
+     * Gets the timer shared by the throttlers in the {@link CamelContext}, which is created on first use.
+     */
+    private static HashedWheelTimer getOrCreateTimer(CamelContext camelContext) throws Exception {
+        synchronized (NonBlockingThrottler.class) {
+            HashedWheelTimer answer = camelContext.hasService(HashedWheelTimer.class);
+            if (answer == null) {
+                ScheduledExecutorService executor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(camelContext, "ThrottlerTimer");
+                answer = new HashedWheelTimer(executor);
+                camelContext.addService(answer, true, true);
+            }
+            return answer;
+        }
+    }
+
+    @Override
+    public int getCurrentMaximumRequestsPerPeriod() {
+        return states.values().stream().mapToInt(s -> s.throttleRate).max().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return "NonBlockingThrottler[requests: " + getMaximumRequestsPerPeriodExpression() + " per: " + getTimePeriodMillis() + " (ms)]";
+    }
+
+    private final class RateState {
+        // the time (System.nanoTime) where the next exchange is allowed without using the burst
+        private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+        private volatile int throttleRate;
+
+        /**
+         * Reserves the time where the exchange is allowed to continue.
+         *
+         * @return the delay in nanos, which is 0 if the exchange can continue now
+         */
+        long acquire(long now, int rate) {
+            long interval = TimeUnit.MILLISECONDS.toNanos(getTimePeriodMillis()) / rate;
+            // allow a burst of up to rate exchanges
+            long tolerance = interval * (rate - 1);
+            while (true) {
+                long tat = theoreticalArrivalTime.get();
+                long allowed = Math.max(now, tat - tolerance);
+                long delay = allowed - now;
+                if (delay > 0 && isRejectExecution()) {
+                    // do not reserve as the exchange is rejected
+                    return delay;
+                }
+                long next = Math.max(tat, allowed) + interval;
+                if (theoreticalArrivalTime.compareAndSet(tat, next)) {
+                    return delay;
+                }
+            }
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
+         *
+         * @return the throttle rate
+         */
+        int calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) {
+            Integer newThrottle = getMaximumRequestsPerPeriodExpression().evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle < 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+            }
+
+            int rate = throttleRate;
+            if (newThrottle == null && rate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + getMaximumRequestsPerPeriodExpression(), exchange);
+            }
+
+            if (newThrottle != null && newThrottle != rate) {
+                if (rate == 0) {
+                    log.debug("Initial throttle rate set to {}, triggered by ExchangeId: {}", newThrottle, exchange.getExchangeId());
+                } else {
+                    log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", rate, newThrottle, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+                rate = newThrottle;
+            }
+            return rate;
+        }
+    }
+
+}
@@ -223,7 +223,7 @@ public class RecipientListProcessor extends MulticastProcessor {
         Processor prepared = producer;
 
         // copy exchange, and do not share the unit of work
-        Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+        Exchange copy = ExchangeHelper.createCorrelatedCopyOnWrite(exchange, false);
 
         // if we share unit of work, we need to prepare the child exchange
         if (isShareUnitOfWork()) {
@@ -119,7 +119,8 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
             throw exchange.getException();
         }
 
-        Iterable<ProcessorExchangePair> answer = isStreaming()
+        // with max inflight the messages are split on demand, also when aggregating in order, to bound the memory usage
+        Iterable<ProcessorExchangePair> answer = isStreaming() || getMaxInflight() > 0
                 ? createProcessorExchangePairsIterable(exchange, value)
                 : createProcessorExchangePairsList(exchange, value);
         if (exchange.getException() != null) {
@@ -183,7 +184,7 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
                     if (part != null) {
                         // create a correlated copy as the new exchange to be routed in the splitter from the copy
                         // and do not share the unit of work
-                        Exchange newExchange = ExchangeHelper.createCorrelatedCopy(copy, false);
+                        Exchange newExchange = ExchangeHelper.createCorrelatedCopyOnWrite(copy, false);
                         // If the splitter has an aggregation strategy
                         // then the StreamCache created by the child routes must not be
                         // closed by the unit of work of the child route, but by the unit of
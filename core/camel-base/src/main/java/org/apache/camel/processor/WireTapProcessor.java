@@ -218,7 +218,7 @@ public class WireTapProcessor extends AsyncProcessorSupport implements Traceable
 
     private Exchange configureCopyExchange(Exchange exchange) {
         // must use a copy as we dont want it to cause side effects of the original exchange
-        Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+        Exchange copy = ExchangeHelper.createCorrelatedCopyOnWrite(exchange, false);
         // set MEP to InOnly as this wire tap is a fire and forget
         copy.setPattern(ExchangePattern.InOnly);
         // remove STREAM_CACHE_UNIT_OF_WORK property because this wire tap will
@@ -30,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -61,9 +62,12 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.StripedLock;
+import org.apache.camel.support.TimeoutMapEntry;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -97,7 +101,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     public static final String COMPLETED_BY_TIMEOUT = "timeout";
     public static final String COMPLETED_BY_FORCE = "force";
 
+    public static final int DEFAULT_LOCK_STRIPES = 256;
+
     private volatile Lock lock;
+    private volatile StripedLock stripedLock;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final AsyncProcessor processor;
@@ -223,6 +230,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private boolean stripedLocking;
+    private int lockStripes = DEFAULT_LOCK_STRIPES;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -382,13 +391,15 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        AtomicReference<Set<String>> completeAllGroups = new AtomicReference<>();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
-            aggregated = doAggregation(key, copy);
+            aggregated = doAggregation(key, copy, completeAllGroups);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -397,6 +408,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // the aggregation strategy asked to complete all the groups, which could not be done while holding the lock of this group
+        if (completeAllGroups.get() != null) {
+            doForceCompletionOfAllGroups(completeAllGroups.get());
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (getAndRemoveBooleanHeader(exchange, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE)) {
             forceCompletionOfAllGroups();
@@ -405,6 +421,14 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         callback.done(false);
     }
 
+    /**
+     * Gets the lock to use when aggregating the given correlation key
+     */
+    protected Lock getLock(String key) {
+        StripedLock striped = stripedLock;
+        return striped != null ? striped.getLock(key) : lock;
+    }
+
     protected boolean getBooleanProperty(Exchange exchange, String key) {
         return camelContext.getTypeConverter().convertTo(boolean.class, exchange, exchange.getProperty(key));
     }
@@ -428,10 +452,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
      *
      * @param key      the correlation key
      * @param newExchange the exchange
+     * @param completeAllGroups set to the groups to complete after the lock of this group is released, when using striped locking
      * @return the aggregated exchange(s) which is complete, or <tt>null</tt> if not yet complete
      * @throws org.apache.camel.CamelExchangeException is thrown if error aggregating
      */
-    private List<Exchange> doAggregation(String key, Exchange newExchange) throws CamelExchangeException {
+    private List<Exchange> doAggregation(String key, Exchange newExchange, AtomicReference<Set<String>> completeAllGroups) throws CamelExchangeException {
         log.trace("onAggregation +++ start +++ with correlation key: {}", key);
 
         List<Exchange> list = new ArrayList<>();
@@ -523,7 +548,14 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
         // check for the special exchange property to force completion of all groups
         if (getAndRemoveBooleanProperty(answer, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS)) {
-            forceCompletionOfAllGroups();
+            if (stripedLock != null) {
+                // must not lock all the groups while holding the lock of this group, so complete the groups
+                // which exists now (the same groups as with a single lock) when the lock has been released
+                Set<String> keys = aggregationRepository.getKeys();
+                completeAllGroups.set(keys != null ? new LinkedHashSet<>(keys) : Collections.emptySet());
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1024,6 +1056,29 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.optimisticLocking = optimisticLocking;
     }
 
+    public boolean isStripedLocking() {
+        return stripedLocking;
+    }
+
+    /**
+     * Whether to use a lock per correlation key (split into a number of stripes) instead of a single lock,
+     * which allows exchanges with different correlation keys to be aggregated in parallel.
+     */
+    public void setStripedLocking(boolean stripedLocking) {
+        this.stripedLocking = stripedLocking;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of stripes the lock is split into when using striped locking.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1169,7 +1224,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
             super(executor, requestMapPollTimeMillis, optimisticLocking);
-            addListener(this::onEviction);
+            addListener(AggregateProcessor.this::onTimeoutEviction);
         }
 
         @Override
@@ -1185,41 +1240,76 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 }
             }
         }
+    }
 
-        private void onEviction(Listener.Type type, String key, String exchangeId) {
-            if (type != Listener.Type.Evict) {
-                return;
-            }
-            log.debug("Completion timeout triggered for correlation key: {}", key);
+    /**
+     * Triggers the completion timeouts of the aggregated exchanges using a hashed timing wheel,
+     * which does not need to scan all the correlation keys on each run.
+     */
+    private final class AggregationWheelTimeoutMap extends HashedWheelTimeoutMap<String, String> {
+
+        private AggregationWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+            super(executor, requestMapPollTimeMillis);
+            addListener(AggregateProcessor.this::onTimeoutEviction);
+        }
+
+        @Override
+        protected boolean isValidForEviction(TimeoutMapEntry<String, String> entry) {
+            // wait for lock to be created
+            return lock != null;
+        }
 
-            boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
-            if (inProgress) {
-                log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+        @Override
+        protected void evict(TimeoutMapEntry<String, String> entry) {
+            if (optimisticLocking) {
+                // the aggregation repository detects if the group is aggregated concurrently
+                super.evict(entry);
                 return;
             }
+            // must acquire the aggregation lock of the correlation key to be able to evict
+            Lock keyLock = getLock(entry.getKey());
+            keyLock.lock();
+            try {
+                super.evict(entry);
+            } finally {
+                keyLock.unlock();
+            }
+        }
+    }
 
-            // get the aggregated exchange
-            boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
-                try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
+    private void onTimeoutEviction(TimeoutMap.Listener.Type type, String key, String exchangeId) {
+        if (type != TimeoutMap.Listener.Type.Evict) {
+            return;
+        }
+        log.debug("Completion timeout triggered for correlation key: {}", key);
+
+        boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
+        if (inProgress) {
+            log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+            return;
+        }
+
+        // get the aggregated exchange
+        boolean evictionStolen = false;
+        Exchange answer = aggregationRepository.get(camelContext, key);
+        if (answer == null) {
+            evictionStolen = true;
+        } else {
+            // indicate it was completed by timeout
+            answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+            try {
+                answer = onCompletion(key, answer, answer, true, false);
+                if (answer != null) {
+                    onSubmitCompletion(key, answer);
                 }
+            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                evictionStolen = true;
             }
+        }
 
-            if (optimisticLocking && evictionStolen) {
-                log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
-                          + "for exchange with id: {} and correlation id: {}", exchangeId, key);
-            }
+        if (optimisticLocking && evictionStolen) {
+            log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
+                      + "for exchange with id: {} and correlation id: {}", exchangeId, key);
         }
     }
 
@@ -1460,6 +1550,15 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (getCompletionInterval() > 0 && getCompletionTimeout() > 0) {
             throw new IllegalArgumentException("Only one of completionInterval or completionTimeout can be used, not both.");
         }
+        if (stripedLocking) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of optimisticLocking or stripedLocking can be used, not both.");
+            }
+            // these completions works across all the groups so the groups cannot be aggregated in parallel
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException("Striped locking cannot be used together with completionFromBatchConsumer or completionOnNewCorrelationGroup.");
+            }
+        }
         if (getCompletionInterval() > 0) {
             log.info("Using CompletionInterval to run every {} millis.", getCompletionInterval());
             if (getTimeoutCheckerExecutorService() == null) {
@@ -1478,7 +1577,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            if (HashedWheelTimeoutMap.isHashedWheelTimeoutMap(camelContext)) {
+                timeoutMap = new AggregationWheelTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            } else {
+                timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1496,6 +1599,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 setOptimisticLockingExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR, 1));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (stripedLocking) {
+            log.info("Using striped locking with {} stripes.", lockStripes);
+            stripedLock = new StripedLock(lockStripes);
+            lock = stripedLock;
         } else {
             lock = new ReentrantLock();
         }
@@ -1604,10 +1711,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     }
 
     public int forceCompletionOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the aggregation lock of the group to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1621,7 +1729,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         log.trace("Completed force completion of group {}", key);
 
@@ -1632,6 +1740,13 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     }
 
     public int forceCompletionOfAllGroups() {
+        return doForceCompletionOfAllGroups(null);
+    }
+
+    /**
+     * Forces completion of the given groups, or all the groups in the repository if <tt>null</tt>
+     */
+    private int doForceCompletionOfAllGroups(Set<String> groups) {
 
         // only run if CamelContext has been fully started or is stopping
         boolean allow = camelContext.getStatus().isStarted() || camelContext.getStatus().isStopping();
@@ -1643,7 +1758,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         log.trace("Starting force completion of all groups task");
 
         // trigger completion for all in the repository
-        Set<String> keys = aggregationRepository.getKeys();
+        Set<String> keys = groups != null ? groups : aggregationRepository.getKeys();
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
@@ -1676,10 +1791,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     }
 
     public int forceDiscardingOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the aggregation lock of the group to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1689,7 +1805,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         log.trace("Completed force discarded of group {}", key);
 
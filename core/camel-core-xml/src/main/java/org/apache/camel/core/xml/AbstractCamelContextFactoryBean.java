@@ -974,6 +974,7 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         answer.setKeepAliveTime(CamelContextHelper.parseLong(context, definition.getKeepAliveTime()));
         answer.setMaxQueueSize(CamelContextHelper.parseInteger(context, definition.getMaxQueueSize()));
         answer.setAllowCoreThreadTimeOut(CamelContextHelper.parseBoolean(context, definition.getAllowCoreThreadTimeOut()));
+        answer.setVirtualThreads(CamelContextHelper.parseBoolean(context, definition.getVirtualThreads()));
         answer.setRejectedPolicy(definition.getRejectedPolicy());
         answer.setTimeUnit(definition.getTimeUnit());
         return answer;
@@ -64,6 +64,9 @@ public abstract class AbstractCamelThreadPoolFactoryBean extends AbstractCamelFa
     @XmlAttribute
     @Metadata(description = "Whether to use a scheduled thread pool", defaultValue = "false")
     private Boolean scheduled;
+    @XmlAttribute
+    @Metadata(description = "Whether to use virtual threads (requires Java 21 or newer) instead of a pool of platform threads", defaultValue = "false")
+    private String virtualThreads;
 
     @Override
     public ExecutorService getObject() throws Exception {
@@ -92,6 +95,11 @@ public abstract class AbstractCamelThreadPoolFactoryBean extends AbstractCamelFa
             allow = CamelContextHelper.parseBoolean(getCamelContext(), allowCoreThreadTimeOut);
         }
 
+        boolean virtual = false;
+        if (virtualThreads != null) {
+            virtual = CamelContextHelper.parseBoolean(getCamelContext(), virtualThreads);
+        }
+
         ThreadPoolProfile profile = new ThreadPoolProfileBuilder(getId())
                 .poolSize(size)
                 .maxPoolSize(max)
@@ -99,6 +107,7 @@ public abstract class AbstractCamelThreadPoolFactoryBean extends AbstractCamelFa
                 .maxQueueSize(queueSize)
                 .allowCoreThreadTimeOut(allow)
                 .rejectedPolicy(rejectedPolicy)
+                .virtualThreads(virtual)
                 .build();
 
         ExecutorService answer;
@@ -163,6 +172,14 @@ public abstract class AbstractCamelThreadPoolFactoryBean extends AbstractCamelFa
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
 
+    public String getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(String virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public ThreadPoolRejectedPolicy getRejectedPolicy() {
         return rejectedPolicy;
     }
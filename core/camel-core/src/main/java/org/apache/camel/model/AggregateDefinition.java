@@ -78,6 +78,10 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Boolean stripedLocking;
+    @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -409,6 +413,22 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Boolean getStripedLocking() {
+        return stripedLocking;
+    }
+
+    public void setStripedLocking(Boolean stripedLocking) {
+        this.stripedLocking = stripedLocking;
+    }
+
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -938,6 +958,29 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Turns on using a lock per correlation key (split into a number of stripes) instead of a single lock,
+     * which allows exchanges with different correlation keys to be aggregated in parallel, while exchanges with
+     * the same correlation key are still aggregated one at a time. This option cannot be used together with
+     * optimisticLocking, completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition stripedLocking() {
+        setStripedLocking(true);
+        return this;
+    }
+
+    /**
+     * Number of stripes the lock is split into when using striped locking. The number is rounded up to a power of two,
+     * and the default is 256.
+     *
+     * @param lockStripes the number of stripes, must be a positive number
+     * @return builder
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -56,6 +56,8 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
     private Boolean stopOnException;
     @XmlAttribute @Metadata(defaultValue = "0")
     private Long timeout;
+    @XmlAttribute @Metadata(defaultValue = "0")
+    private Integer maxInflight;
     @XmlTransient
     private AggregationStrategy aggregationStrategy;
     @XmlAttribute
@@ -318,6 +320,22 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages which are processed in parallel and not yet aggregated, when using
+     * parallel processing. When the limit is reached, then the Multicast waits until a message has been aggregated,
+     * before the next message is sent. This keeps the memory usage bounded when the processing is slower
+     * than sending the messages, such as when the multicast has many recipients.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param maxInflight the maximum number of messages in flight
+     * @return the builder
+     */
+    public MulticastDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages.
      * Multicast will by default not share unit of work between the parent exchange and each multicasted exchange.
@@ -430,6 +448,14 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         this.timeout = timeout;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public String getOnPrepareRef() {
         return onPrepareRef;
     }
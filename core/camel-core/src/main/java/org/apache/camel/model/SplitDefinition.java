@@ -58,6 +58,8 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     private Boolean stopOnException;
     @XmlAttribute @Metadata(defaultValue = "0")
     private Long timeout;
+    @XmlAttribute @Metadata(defaultValue = "0")
+    private Integer maxInflight;
     @XmlAttribute
     private String onPrepareRef;
     @XmlTransient
@@ -311,6 +313,24 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which are processed in parallel and not yet aggregated, when using
+     * parallel processing. When the limit is reached, then the Splitter waits until a message has been aggregated,
+     * before the next message is splitted. This keeps the memory usage bounded when the processing is slower
+     * than splitting the messages, such as when splitting a big file in streaming mode.
+     * When set, the messages are split on demand also when not using streaming, and the replies are still
+     * aggregated in order. The total size is then only known when the last message has been splitted.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param maxInflight the maximum number of messages in flight
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages.
      * Splitter will by default not share unit of work between the parent exchange and each splitted exchange.
@@ -454,6 +474,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.timeout = timeout;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public String getOnPrepareRef() {
         return onPrepareRef;
     }
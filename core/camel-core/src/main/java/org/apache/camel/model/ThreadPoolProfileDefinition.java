@@ -52,6 +52,8 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     private String allowCoreThreadTimeOut;
     @XmlAttribute
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute
+    private String virtualThreads;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -117,6 +119,11 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition virtualThreads(boolean virtualThreads) {
+        setVirtualThreads("" + virtualThreads);
+        return this;
+    }
+
     public Boolean getDefaultProfile() {
         return defaultProfile;
     }
@@ -191,6 +198,21 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
 
+    public String getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether to use virtual threads, where a new virtual thread is started for each task, instead of
+     * using a pool of platform threads. The pool size, queue size and keep alive options are not used with virtual threads.
+     * <p/>
+     * Virtual threads requires Java 21 or newer; on older JVMs platform threads are used.
+     * Is by default <tt>false</tt>
+     */
+    public void setVirtualThreads(String virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public TimeUnit getTimeUnit() {
         return timeUnit;
     }
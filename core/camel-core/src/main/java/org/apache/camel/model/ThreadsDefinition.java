@@ -60,6 +60,8 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
     private ThreadPoolRejectedPolicy rejectedPolicy;
     @XmlAttribute @Metadata(defaultValue = "true")
     private Boolean callerRunsWhenRejected;
+    @XmlAttribute
+    private Boolean virtualThreads;
     
     public ThreadsDefinition() {
         this.threadName =  "Threads";
@@ -205,6 +207,23 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
         return this;
     }
 
+    /**
+     * Whether to use virtual threads, where a new virtual thread is started for each exchange, instead of
+     * using a pool of platform threads. This allows many concurrent exchanges that block on I/O without
+     * requiring a platform thread per exchange. The pool size, queue size and keep alive options are not
+     * used with virtual threads.
+     * <p/>
+     * Virtual threads requires Java 21 or newer; on older JVMs platform threads are used.
+     * Is by default <tt>false</tt>
+     *
+     * @param virtualThreads <tt>true</tt> to use virtual threads
+     * @return the builder
+     */
+    public ThreadsDefinition virtualThreads(boolean virtualThreads) {
+        setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     @Override
     public ExecutorService getExecutorService() {
         return executorService;
@@ -296,4 +315,12 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
     public void setAllowCoreThreadTimeOut(Boolean allowCoreThreadTimeOut) {
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
+
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
 }
@@ -30,6 +30,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottlingRepository;
 
 /**
  * Controls the rate at which messages are passed to the next node in the route
@@ -54,6 +55,14 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
+    @XmlAttribute
+    private Boolean nonBlocking;
+    @XmlAttribute
+    private String throttlingRepositoryRef;
+    @XmlAttribute @Metadata(defaultValue = "10")
+    private Integer permitBatchSize;
+    @XmlTransient
+    private ThrottlingRepository throttlingRepository;
 
     public ThrottleDefinition() {
     }
@@ -153,6 +162,62 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Enables the non blocking throttler, which does not block any threads while throttling.
+     * <p/>
+     * The exchanges are spaced out evenly within the time period, with a burst of up to the maximum requests
+     * when the throttler has been idle. Delayed exchanges are scheduled on a timer shared by all the throttlers,
+     * and continue routing using the thread pool of the throttler. The asyncDelayed option is not used.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition nonBlocking() {
+        setNonBlocking(true);
+        return this;
+    }
+
+    /**
+     * Sets a reference to the throttling repository to lookup in the registry, to acquire the permits from.
+     * <p/>
+     * The throttling repository allows the maximum requests per period to be shared by several Camel instances,
+     * such as a route scaled out to several nodes.
+     *
+     * @param throttlingRepositoryRef the reference name of the throttling repository
+     * @return the builder
+     */
+    public ThrottleDefinition throttlingRepositoryRef(String throttlingRepositoryRef) {
+        setThrottlingRepositoryRef(throttlingRepositoryRef);
+        return this;
+    }
+
+    /**
+     * Sets the throttling repository to acquire the permits from.
+     * <p/>
+     * The throttling repository allows the maximum requests per period to be shared by several Camel instances,
+     * such as a route scaled out to several nodes.
+     *
+     * @param throttlingRepository the throttling repository
+     * @return the builder
+     */
+    public ThrottleDefinition throttlingRepository(ThrottlingRepository throttlingRepository) {
+        setThrottlingRepository(throttlingRepository);
+        return this;
+    }
+
+    /**
+     * The number of permits to lease from the throttling repository at a time, to avoid accessing the repository
+     * for each exchange. The leased permits which have not been used when the time period ends are discarded.
+     * <p/>
+     * Is by default <tt>10</tt>
+     *
+     * @param permitBatchSize the number of permits to lease at a time
+     * @return the builder
+     */
+    public ThrottleDefinition permitBatchSize(int permitBatchSize) {
+        setPermitBatchSize(permitBatchSize);
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -241,6 +306,38 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public Boolean getNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(Boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    public String getThrottlingRepositoryRef() {
+        return throttlingRepositoryRef;
+    }
+
+    public void setThrottlingRepositoryRef(String throttlingRepositoryRef) {
+        this.throttlingRepositoryRef = throttlingRepositoryRef;
+    }
+
+    public ThrottlingRepository getThrottlingRepository() {
+        return throttlingRepository;
+    }
+
+    public void setThrottlingRepository(ThrottlingRepository throttlingRepository) {
+        this.throttlingRepository = throttlingRepository;
+    }
+
+    public Integer getPermitBatchSize() {
+        return permitBatchSize;
+    }
+
+    public void setPermitBatchSize(Integer permitBatchSize) {
+        this.permitBatchSize = permitBatchSize;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping.
      * The Exchange which has the same correlation key is throttled together.
@@ -60,6 +60,8 @@ public class XPathExpression extends NamespaceAwareExpression {
     private XPathFactory xpathFactory;
     @XmlAttribute @Metadata(label = "advanced")
     private Boolean threadSafety;
+    @XmlAttribute @Metadata(label = "advanced")
+    private Boolean streaming;
 
     public XPathExpression() {
     }
@@ -202,6 +204,23 @@ public class XPathExpression extends NamespaceAwareExpression {
         this.threadSafety = threadSafety;
     }
 
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Whether to evaluate the xpath expression on a stream of StAX events instead of parsing the message to a DOM,
+     * which uses less memory and stops reading the message as soon as the result is known. This applies to when
+     * using BOOLEAN or STRING as the result type, such as predicates.
+     * <p/>
+     * Only a common subset of XPath is supported, which is an absolute path of element names such as
+     * /order/item[1]/@type where the first step can be // and each step can have a position predicate,
+     * optionally compared to a string literal using = or !=. Other expressions are evaluated using DOM as usual.
+     */
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
     @Override
     public Expression createExpression(CamelContext camelContext) {
         if (documentType == null && documentTypeName != null) {
@@ -258,6 +277,9 @@ public class XPathExpression extends NamespaceAwareExpression {
         if (threadSafety != null) {
             setProperty(camelContext, expression, "threadSafety", threadSafety);
         }
+        if (streaming != null) {
+            setProperty(camelContext, expression, "streaming", streaming);
+        }
         if (isLogNamespaces) {
             setProperty(camelContext, expression, "logNamespaces", true);
         }
@@ -291,6 +313,9 @@ public class XPathExpression extends NamespaceAwareExpression {
         if (threadSafety != null) {
             setProperty(camelContext, predicate, "threadSafety", threadSafety);
         }
+        if (streaming != null) {
+            setProperty(camelContext, predicate, "streaming", streaming);
+        }
         if (isLogNamespaces) {
             setProperty(camelContext, predicate, "logNamespaces", true);
         }
@@ -110,6 +110,12 @@ public class AggregateReifier extends ProcessorReifier<AggregateDefinition> {
         if (definition.getOptimisticLocking() != null) {
             answer.setOptimisticLocking(definition.getOptimisticLocking());
         }
+        if (definition.getStripedLocking() != null) {
+            answer.setStripedLocking(definition.getStripedLocking());
+        }
+        if (definition.getLockStripes() != null) {
+            answer.setLockStripes(definition.getLockStripes());
+        }
         if (definition.getCompletionPredicate() != null) {
             Predicate predicate = definition.getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
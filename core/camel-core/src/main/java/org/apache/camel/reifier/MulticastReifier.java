@@ -70,12 +70,17 @@ public class MulticastReifier extends ProcessorReifier<MulticastDefinition> {
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflight = definition.getMaxInflight() != null ? definition.getMaxInflight() : 0;
+        if (maxInflight > 0 && !isParallelProcessing && threadPool == null) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (definition.getOnPrepareRef() != null) {
             definition.setOnPrepare(CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), definition.getOnPrepareRef(), Processor.class));
         }
 
         MulticastProcessor answer = new MulticastProcessor(routeContext.getCamelContext(), list, strategy, isParallelProcessing,
                 threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, definition.getOnPrepare(), isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
+        answer.setMaxInflight(maxInflight);
         return answer;
     }
 
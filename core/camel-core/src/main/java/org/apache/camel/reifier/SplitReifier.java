@@ -54,6 +54,10 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflight = definition.getMaxInflight() != null ? definition.getMaxInflight() : 0;
+        if (maxInflight > 0 && !isParallelProcessing && threadPool == null) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (definition.getOnPrepareRef() != null) {
             definition.setOnPrepare(CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), definition.getOnPrepareRef(), Processor.class));
         }
@@ -63,6 +67,7 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, definition.getAggregationStrategy(),
                 isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, definition.isStopOnException(),
                 timeout, definition.getOnPrepare(), isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
+        answer.setMaxInflight(maxInflight);
         return answer;
     }
 
@@ -24,8 +24,11 @@ import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ProcessorDefinitionHelper;
 import org.apache.camel.model.ThrottleDefinition;
 import org.apache.camel.model.language.ExpressionDefinition;
+import org.apache.camel.processor.DistributedThrottler;
+import org.apache.camel.processor.NonBlockingThrottler;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.ThrottlingRepository;
 
 public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
@@ -54,9 +57,27 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
         }
 
         boolean reject = definition.getRejectExecution() != null && definition.getRejectExecution();
-        Throttler answer = new Throttler(routeContext.getCamelContext(), maxRequestsExpression, period, threadPool, shutdownThreadPool, reject, correlation);
+        ThrottlingRepository repository = definition.getThrottlingRepository();
+        if (repository == null && definition.getThrottlingRepositoryRef() != null) {
+            repository = routeContext.mandatoryLookup(definition.getThrottlingRepositoryRef(), ThrottlingRepository.class);
+        }
 
-        answer.setAsyncDelayed(async);
+        boolean nonBlocking = definition.getNonBlocking() != null && definition.getNonBlocking();
+        Throttler answer;
+        if (repository != null) {
+            DistributedThrottler distributed = new DistributedThrottler(routeContext.getCamelContext(), maxRequestsExpression, period, threadPool,
+                    shutdownThreadPool, reject, correlation, repository);
+            if (definition.getPermitBatchSize() != null) {
+                distributed.setPermitBatchSize(definition.getPermitBatchSize());
+            }
+            distributed.setAsyncDelayed(async);
+            answer = distributed;
+        } else if (nonBlocking) {
+            answer = new NonBlockingThrottler(routeContext.getCamelContext(), maxRequestsExpression, period, threadPool, shutdownThreadPool, reject, correlation);
+        } else {
+            answer = new Throttler(routeContext.getCamelContext(), maxRequestsExpression, period, threadPool, shutdownThreadPool, reject, correlation);
+            answer.setAsyncDelayed(async);
+        }
         if (definition.getCallerRunsWhenRejected() == null) {
             // should be true by default
             answer.setCallerRunsWhenRejected(true);
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
+import org.junit.Test;
+
+public class XPathDocumentReuseTest extends ContextTestSupport {
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    public void testParsedOnceByChoice() throws Exception {
+        getMockEndpoint("mock:b").expectedMessageCount(0);
+        getMockEndpoint("mock:c").expectedMessageCount(1);
+
+        template.sendBody("direct:start", new Order("<order><type>c</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        // both when clauses and the filter are evaluated on the same document
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void testParsedAgainWhenBodyChanged() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(1);
+        getMockEndpoint("mock:b").expectedMessageCount(0);
+
+        template.sendBody("direct:changed", new Order("<order><type>b</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void testEachMessageParsed() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(2);
+
+        template.sendBody("direct:start", new Order("<order><type>a</type></order>"));
+        template.sendBody("direct:start", new Order("<order><type>a</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void testNotReusedWhenDisabled() throws Exception {
+        context.getGlobalOptions().remove(DocumentCacheHelper.DOCUMENT_CACHE_ENABLED);
+        getMockEndpoint("mock:c").expectedMessageCount(1);
+
+        template.sendBody("direct:start", new Order("<order><type>c</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, parsed.get());
+    }
+
+    @Test
+    public void testNodesNotFromReusedDocument() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(1);
+        getMockEndpoint("mock:b").expectedMessageCount(0);
+
+        template.sendBody("direct:nodes", new Order("<order><type>a</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        // the node list is evaluated on a document of its own, so changing it does not affect the next predicate
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void testNotKeptByCopies() throws Exception {
+        getMockEndpoint("mock:copy").expectedMessageCount(1);
+
+        template.sendBody("direct:copy", new Order("<order><type>a</type></order>"));
+
+        assertMockEndpointsSatisfied();
+        assertNull(getMockEndpoint("mock:copy").getReceivedExchanges().get(0).getProperty(DocumentCacheHelper.DOCUMENT_CACHE));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                getContext().getGlobalOptions().put(DocumentCacheHelper.DOCUMENT_CACHE_ENABLED, "true");
+                getContext().getTypeConverterRegistry().addTypeConverter(Document.class, Order.class, new TypeConverterSupport() {
+                    @Override
+                    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+                        parsed.incrementAndGet();
+                        return getContext().getTypeConverter().convertTo(type, exchange, ((Order) value).xml);
+                    }
+                });
+
+                from("direct:start")
+                    .choice()
+                        .when().xpath("/order/type = 'a'").to("mock:a")
+                        .when().xpath("/order/type = 'b'").to("mock:b")
+                        .otherwise()
+                            .filter().xpath("/order/type = 'c'").to("mock:c");
+
+                from("direct:changed")
+                    .filter().xpath("/order/type = 'b'")
+                        .setBody(constant(new Order("<order><type>a</type></order>")))
+                    .end()
+                    .choice()
+                        .when().xpath("/order/type = 'a'").to("mock:a")
+                        .when().xpath("/order/type = 'b'").to("mock:b");
+
+                from("direct:nodes")
+                    .filter().xpath("/order/type = 'a'")
+                        .setHeader("types").xpath("/order/type", NodeList.class)
+                        .process(exchange -> exchange.getIn().getHeader("types", NodeList.class).item(0).setTextContent("b"))
+                    .end()
+                    .choice()
+                        .when().xpath("/order/type = 'a'").to("mock:a")
+                        .when().xpath("/order/type = 'b'").to("mock:b");
+
+                from("direct:copy")
+                    .filter().xpath("/order/type = 'a'")
+                        .multicast().to("mock:copy");
+            }
+        };
+    }
+
+    public static class Order {
+        private final String xml;
+
+        public Order(String xml) {
+            this.xml = xml;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.language.xpath.XPathBuilder;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+
+import static org.apache.camel.language.xpath.XPathBuilder.xpath;
+
+public class XPathStreamingTest extends ContextTestSupport {
+
+    private static final String ORDERS = "<orders xmlns:m='http://camel.apache.org/m'>"
+        + "<order id='1'><item type='book'>Camel in Action</item><item type='cd'>Abbey <b>Road</b></item></order>"
+        + "<order id='2'><item type='dvd'>Alien</item><m:item>Special</m:item><empty/></order>"
+        + "<order id='3'><order id='4'><item type='nested'>Nested</item></order></order>"
+        + "</orders>";
+
+    private static final String[] EXPRESSIONS = {
+        "/orders", "/orders/order", "/foo", "/orders/foo", "/*/order/item", "/orders/order[2]/item",
+        "/orders/order[1]/item[2]", "/orders/order[4]", "//item", "//order/item", "//order[1]/item", "//order[2]",
+        "/orders/order/@id", "/orders/order[2]/@id", "/orders/order/@foo", "//item/@type", "/orders/order/empty",
+        "/orders/order/item = 'Alien'", "/orders/order/item = 'Abbey Road'", "/orders/order/item = 'Foo'",
+        "/orders/order/item != 'Alien'", "/orders/order[1]/@id = '1'", "/orders/order[1]/@id = \"2\"",
+        "//item/@type != 'book'", "//order/@id = '4'", "/orders/order/m:item = 'Special'", "/orders/order/m:*",
+        "/orders/order/empty = ''", "/orders/order/m:item = 'Alien'", "/orders/order/*[2] = 'Special'"
+    };
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testSameResultAsDom() throws Exception {
+        for (String text : EXPRESSIONS) {
+            assertSameResultAsDom(text);
+        }
+    }
+
+    @Test
+    public void testNotSupported() throws Exception {
+        // these are evaluated using DOM
+        assertSameResultAsDom("count(/orders/order) = 3");
+        assertSameResultAsDom("/orders/order[@id = '2']/item");
+        assertSameResultAsDom("/orders/order/item/text() = 'Alien'");
+        assertSameResultAsDom("/orders//item = 'Nested'");
+        assertSameResultAsDom("/orders/order/item = 'Alien' and /orders/order/@id = '1'");
+        assertSameResultAsDom("orders/order");
+    }
+
+    @Test
+    public void testStopReadingWhenResultIsKnown() throws Exception {
+        // the message is broken after the first order, so it cannot be parsed to a DOM
+        String broken = "<orders><order id='1'><item type='book'>Camel in Action</item></order><order>";
+
+        assertEquals(Boolean.TRUE, streaming("/orders/order/item = 'Camel in Action'").matches(createExchange(broken)));
+        assertEquals(Boolean.TRUE, streaming("/orders/order[1]/@id").matches(createExchange(broken)));
+        assertEquals("Camel in Action", streaming("/orders/order/item").stringResult().evaluate(createExchange(broken), String.class));
+        // the root element does not match
+        assertEquals(Boolean.FALSE, streaming("/foo/order").matches(createExchange(broken)));
+    }
+
+    @Test
+    public void testStreamingInputStream() throws Exception {
+        Exchange exchange = createExchange(new ByteArrayInputStream(ORDERS.getBytes()));
+        assertEquals(Boolean.TRUE, streaming("/orders/order[2]/item/@type = 'dvd'").matches(exchange));
+    }
+
+    @Test
+    public void testStreamingHeader() throws Exception {
+        Exchange exchange = createExchange("<foo/>");
+        exchange.getIn().setHeader("orders", ORDERS);
+        XPathBuilder builder = streaming("/orders/order[2]/@id");
+        builder.setHeaderName("orders");
+        assertEquals("2", builder.stringResult().evaluate(exchange, String.class));
+    }
+
+    @Test
+    public void testStreamingContentBasedRouter() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .choice()
+                        .when(streaming("/orders/order[1]/item[1]/@type = 'cd'")).to("mock:cd")
+                        .when(streaming("//item/@type = 'book'")).to("mock:book")
+                        .otherwise().to("mock:other");
+            }
+        });
+        context.start();
+
+        getMockEndpoint("mock:cd").expectedMessageCount(0);
+        getMockEndpoint("mock:book").expectedMessageCount(1);
+        getMockEndpoint("mock:other").expectedBodiesReceived("<foo/>");
+
+        template.sendBody("direct:start", ORDERS);
+        template.sendBody("direct:start", "<foo/>");
+
+        MockEndpoint.assertIsSatisfied(context);
+    }
+
+    protected void assertSameResultAsDom(String text) throws Exception {
+        Object expected = xpath(text).booleanResult().namespace("m", "http://camel.apache.org/m").evaluate(createExchange(ORDERS));
+        Object actual = streaming(text).booleanResult().evaluate(createExchange(ORDERS));
+        assertEquals("Boolean result of: " + text, expected, actual);
+
+        expected = xpath(text).stringResult().namespace("m", "http://camel.apache.org/m").evaluate(createExchange(ORDERS));
+        actual = streaming(text).stringResult().evaluate(createExchange(ORDERS));
+        assertEquals("String result of: " + text, expected, actual);
+    }
+
+    protected XPathBuilder streaming(String text) {
+        return xpath(text).streaming().namespace("m", "http://camel.apache.org/m");
+    }
+
+    protected Exchange createExchange(Object body) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(body);
+        return exchange;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.w3c.dom.Document;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.ValidationException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.support.builder.Namespaces;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
+import org.junit.Test;
+
+public class XmlDocumentReuseTest extends ContextTestSupport {
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    public void testXsltReusesDocument() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        getMockEndpoint("mock:result").message(0).body(String.class).contains("<goodbye>world!</goodbye>");
+
+        template.sendBody("direct:xslt", new Xml("<hello>world!</hello>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void testValidatorReusesDocument() throws Exception {
+        getMockEndpoint("mock:valid").expectedMessageCount(1);
+        getMockEndpoint("mock:invalid").expectedMessageCount(0);
+
+        template.sendBody("direct:validate", new Xml("<mail xmlns='http://foo.com/bar'><subject>Hey</subject><body>Hello world!</body></mail>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void testValidatorReusesInvalidDocument() throws Exception {
+        getMockEndpoint("mock:valid").expectedMessageCount(0);
+        getMockEndpoint("mock:invalid").expectedMessageCount(1);
+
+        template.sendBody("direct:validate", new Xml("<mail xmlns='http://foo.com/bar'><body>Hello world!</body></mail>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, parsed.get());
+    }
+
+    @Test
+    public void testNotReusedWithoutXPath() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:xslt-only", new Xml("<hello>world!</hello>"));
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, parsed.get());
+        assertNull(getMockEndpoint("mock:result").getReceivedExchanges().get(0).getProperty("CamelXmlDocumentCache"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                getContext().getGlobalOptions().put(DocumentCacheHelper.DOCUMENT_CACHE_ENABLED, "true");
+                getContext().getTypeConverterRegistry().addTypeConverter(Document.class, Xml.class, new TypeConverterSupport() {
+                    @Override
+                    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+                        parsed.incrementAndGet();
+                        return getContext().getTypeConverter().convertTo(type, exchange, ((Xml) value).xml);
+                    }
+                });
+                getContext().getTypeConverterRegistry().addTypeConverter(InputStream.class, Xml.class, new TypeConverterSupport() {
+                    @Override
+                    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+                        parsed.incrementAndGet();
+                        return type.cast(new ByteArrayInputStream(((Xml) value).xml.getBytes(StandardCharsets.UTF_8)));
+                    }
+                });
+
+                Namespaces ns = new Namespaces("foo", "http://foo.com/bar");
+
+                from("direct:xslt")
+                    .filter().xpath("/hello")
+                        .to("xslt:org/apache/camel/component/xslt/example.xsl")
+                        .to("mock:result");
+
+                from("direct:xslt-only")
+                    .to("xslt:org/apache/camel/component/xslt/example.xsl")
+                    .to("mock:result");
+
+                from("direct:validate")
+                    .filter().xpath("/foo:mail", ns)
+                        .doTry()
+                            .to("validator:org/apache/camel/component/validator/schema.xsd")
+                            .to("mock:valid")
+                        .doCatch(ValidationException.class)
+                            .to("mock:invalid")
+                        .end();
+            }
+        };
+    }
+
+    public static class Xml {
+        private final String xml;
+
+        public Xml(String xml) {
+            this.xml = xml;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.reflect.Method;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class BeanLambdaInvokerTest extends ContextTestSupport {
+
+    private final MyLambdaBean bean = new MyLambdaBean();
+
+    @Test
+    public void testLambdaInvoker() throws Exception {
+        assertLambda(MyLambdaBean.class.getMethod("hello", String.class), LambdaMethodInvoker.Lambda2.class);
+        assertLambda(MyLambdaBean.class.getMethod("sum", int.class, int.class), LambdaMethodInvoker.Lambda3.class);
+        assertLambda(MyLambdaBean.class.getMethod("remember", String.class), LambdaMethodInvoker.VoidLambda2.class);
+        assertLambda(MyLambdaBean.class.getMethod("upper", String.class), LambdaMethodInvoker.Lambda1.class);
+        assertLambda(MyLambdaBean.class.getMethod("fail", String.class), LambdaMethodInvoker.Lambda2.class);
+
+        // too many parameters and a non public class are invoked using reflection
+        assertNull(getInvoker(MyLambdaBean.class.getMethod("concat", String.class, String.class, String.class, String.class, String.class)));
+        assertNull(getInvoker(MyHiddenBean.class.getMethod("bye", String.class)));
+    }
+
+    @Test
+    public void testInstanceMethod() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World", "Hello Camel");
+
+        template.sendBody("direct:hello", "World");
+        template.sendBody("direct:hello", "Camel");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPrimitiveParameters() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(5, 7);
+
+        template.sendBodyAndHeader("direct:sum", 2, "b", 3);
+        template.sendBodyAndHeader("direct:sum", 3, "b", 4);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testVoidMethod() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:void", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals("Hello World", bean.getLast());
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("HELLO WORLD");
+
+        template.sendBody("direct:static", "Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testManyParameters() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("abcde");
+
+        template.sendBody("direct:many", "a");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testNonPublicClass() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Bye World");
+
+        template.sendBody("direct:hidden", "World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testCheckedException() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+
+        try {
+            template.sendBody("direct:fail", "Hello World");
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            MyCheckedException cause = assertIsInstanceOf(MyCheckedException.class, e.getCause());
+            assertEquals("Forced Hello World", cause.getMessage());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testNullBody() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.message(0).body().isEqualTo("Hello null");
+
+        template.sendBody("direct:hello", null);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private LambdaMethodInvoker getInvoker(Method method) {
+        BeanInfo info = new BeanInfo(context, method.getDeclaringClass());
+        return info.getMethodInfo(method).getInvoker();
+    }
+
+    private void assertLambda(Method method, Class<?> lambdaType) {
+        LambdaMethodInvoker invoker = getInvoker(method);
+        assertNotNull("Should use a lambda to invoke " + method, invoker);
+        Object lambda = invoker.getLambda();
+        assertIsInstanceOf(lambdaType, lambda);
+        // the lambda class is generated by LambdaMetafactory
+        assertTrue(lambda.getClass().isSynthetic());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:hello").bean(bean, "hello").to("mock:result");
+                from("direct:sum").bean(bean, "sum(${body}, ${header.b})").to("mock:result");
+                from("direct:void").bean(bean, "remember").to("mock:result");
+                from("direct:static").bean(MyLambdaBean.class, "upper").to("mock:result");
+                from("direct:many").bean(bean, "concat(${body}, 'b', 'c', 'd', 'e')").to("mock:result");
+                from("direct:hidden").bean(new MyHiddenBean(), "bye").to("mock:result");
+                from("direct:fail").bean(bean, "fail").to("mock:result");
+            }
+        };
+    }
+
+    public static class MyLambdaBean {
+
+        private volatile String last;
+
+        public static String upper(String body) {
+            return body.toUpperCase();
+        }
+
+        public String hello(String body) {
+            return "Hello " + body;
+        }
+
+        public int sum(int a, int b) {
+            return a + b;
+        }
+
+        public void remember(String body) {
+            last = body;
+        }
+
+        public String concat(String a, String b, String c, String d, String e) {
+            return a + b + c + d + e;
+        }
+
+        public String fail(String body) throws MyCheckedException {
+            throw new MyCheckedException("Forced " + body);
+        }
+
+        public String getLast() {
+            return last;
+        }
+    }
+
+    public static class MyCheckedException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        public MyCheckedException(String message) {
+            super(message);
+        }
+    }
+
+    static class MyHiddenBean {
+
+        public String bye(String body) {
+            return "Bye " + body;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testOfferAndPoll() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertEquals(4, queue.getCapacity());
+        assertEquals(4, queue.remainingCapacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer("A" + i));
+        }
+        assertFalse("Queue should be full", queue.offer("B"));
+        assertFalse("Queue should be full", queue.offer("B", 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+        assertEquals("A0", queue.peek());
+
+        assertEquals("A0", queue.poll());
+        assertTrue(queue.offer("A4"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals("[A1, A2]", drained.toString());
+        assertEquals("[A3, A4]", new ArrayList<>(queue).toString());
+
+        assertEquals("A3", queue.take());
+        assertEquals("A4", queue.poll(10, TimeUnit.MILLISECONDS));
+        assertNull(queue.poll());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(4);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertEquals("[A, C]", new ArrayList<>(queue).toString());
+
+        // the removed element is skipped by the consumer
+        assertEquals("A", queue.poll());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll());
+
+        queue.add("D");
+        queue.clear();
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(16);
+        final int producers = 4;
+        final int messages = 10000;
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final CountDownLatch latch = new CountDownLatch(producers * messages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+        try {
+            for (int i = 0; i < producers; i++) {
+                final int producer = i;
+                executor.submit(() -> {
+                    for (int j = 0; j < messages; j++) {
+                        queue.put(producer * messages + j);
+                    }
+                    return null;
+                });
+                executor.submit(() -> {
+                    while (latch.getCount() > 0) {
+                        Integer e = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (e != null) {
+                            received.add(e);
+                            latch.countDown();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            assertTrue("Should receive all messages", latch.await(30, TimeUnit.SECONDS));
+            assertEquals(producers * messages, received.size());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+public class SedaRingBufferQueueTest extends ContextTestSupport {
+
+    private final AtomicInteger pending = new AtomicInteger(-1);
+    private final AtomicReference<SedaConsumer> suspended = new AtomicReference<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ringBufferQueueFactory", new RingBufferBlockingQueueFactory<Exchange>());
+        return context;
+    }
+
+    @Test
+    public void testRingBufferQueue() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:foo?queueFactory=#ringBufferQueueFactory&size=100", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ringBuffer = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals("capacity is rounded up to power of two", 128, ringBuffer.getCapacity());
+    }
+
+    @Test
+    public void testPollBatchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(500);
+        // a single consumer routes the exchanges in the order they were queued
+        for (int i = 0; i < 500; i++) {
+            mock.message(i).body().isEqualTo("Message " + i);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            template.sendBody("seda:foo?queueFactory=#ringBufferQueueFactory&size=100&blockWhenFull=true", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, context.getEndpoint("seda:foo", SedaEndpoint.class).getCurrentQueueSize());
+    }
+
+    @Test
+    public void testRequestReply() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Bye " + i, template.requestBody("seda:bar", String.valueOf(i)));
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPollBatchPendingAndSuspended() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint("seda:batch", SedaEndpoint.class);
+        for (int i = 0; i < 5; i++) {
+            template.sendBody(endpoint, "Message " + i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:batch");
+        mock.expectedBodiesReceived("Message 0");
+
+        context.getRouteController().startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+        // the exchanges drained with the first exchange were pending
+        assertEquals(4, pending.get());
+        // and are put back on the queue as the consumer was suspended
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(4, endpoint.getCurrentQueueSize()));
+
+        resetMocks();
+        mock.expectedBodiesReceived("Message 1", "Message 2", "Message 3", "Message 4");
+        suspended.get().resume();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?queueFactory=#ringBufferQueueFactory&size=100&pollBatchSize=16")
+                    .to("mock:result");
+
+                from("seda:batch?pollBatchSize=16").routeId("batch").noAutoStartup()
+                    .process(exchange -> {
+                        if (pending.get() == -1) {
+                            SedaEndpoint endpoint = (SedaEndpoint) exchange.getFromEndpoint();
+                            SedaConsumer consumer = (SedaConsumer) endpoint.getConsumers().iterator().next();
+                            pending.set(consumer.getPendingExchangesSize());
+                            suspended.set(consumer);
+                            consumer.suspend();
+                        }
+                    })
+                    .to("mock:batch");
+
+                from("seda:bar?queueFactory=#ringBufferQueueFactory&concurrentConsumers=4&pollBatchSize=8")
+                    .transform(body().prepend("Bye "))
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.util.CollectionStringBuffer;
@@ -297,6 +298,87 @@ public class CachedOutputStreamTest extends ContextTestSupport {
         IOHelper.close(cos);
     }
 
+    @Test
+    public void testCacheStreamToBufferPool() throws Exception {
+        context.getStreamCachingStrategy().setSpoolThreshold(1024);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setBufferPoolSize(1024);
+
+        context.start();
+
+        StreamCachingStrategy.BufferPool pool = context.getStreamCachingStrategy().getBufferPool();
+        assertNotNull(pool);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have no temp file", 0, files.length);
+
+        // the data spans several buffers of 16 bytes
+        int buffers = (TEST_STRING.length() + 15) / 16;
+        assertEquals(buffers * 16, pool.getUsedSize());
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        String temp = IOConverter.toString((InputStream)cache, null);
+        assertEquals("Cached a wrong content", TEST_STRING, temp);
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("Cached a wrong content", TEST_STRING, bos.toString("UTF-8"));
+
+        // the buffers are released back to the pool when the exchange is done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, pool.getUsedSize());
+        assertEquals(buffers * 16, pool.getAllocatedSize());
+        try {
+            cache.reset();
+            ((InputStream)cache).read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected
+        }
+
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamToFileWhenBufferPoolExhausted() throws Exception {
+        context.getStreamCachingStrategy().setSpoolThreshold(1024);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setBufferPoolSize(32);
+
+        context.start();
+
+        StreamCachingStrategy.BufferPool pool = context.getStreamCachingStrategy().getBufferPool();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        // the pool is exhausted so the stream is spooled to disk
+        File file = new File("target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", 1, files.length);
+        assertEquals(1, pool.getExhaustedCounter());
+        assertEquals(0, pool.getUsedSize());
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        String temp = toString((InputStream)cache);
+        assertEquals("Cached a wrong file", TEST_STRING, temp);
+        ((InputStream)cache).close();
+
+        exchange.getUnitOfWork().done(exchange);
+        files = file.list();
+        assertEquals("we should have no temp file", 0, files.length);
+
+        IOHelper.close(cos);
+    }
+
     @Test
     public void testCachedOutputStreamEmptyInput() throws Exception {
         context.start();
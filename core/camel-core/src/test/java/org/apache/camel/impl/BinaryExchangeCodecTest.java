@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.support.BinaryExchangeCodec;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.junit.Test;
+
+public class BinaryExchangeCodecTest extends ContextTestSupport {
+
+    private final BinaryExchangeCodec codec = new BinaryExchangeCodec();
+
+    @Test
+    public void testMarshalUnmarshal() throws Exception {
+        Exchange exchange = createExchange();
+
+        byte[] data = codec.marshal(exchange, true, false, null);
+        assertTrue(BinaryExchangeCodec.isBinaryExchange(data));
+
+        Exchange answer = codec.unmarshal(context, data);
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals("Bye World", answer.getOut().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+        assertEquals("Hi Camel", answer.getIn().getHeader("CamelFoo"));
+        assertEquals(-5L, answer.getIn().getHeader("long"));
+        assertEquals(true, answer.getIn().getHeader("boolean"));
+        assertEquals(1.5d, answer.getIn().getHeader("double"));
+        assertEquals(2.5f, answer.getIn().getHeader("float"));
+        assertEquals((short) 7, answer.getIn().getHeader("short"));
+        assertEquals((byte) 8, answer.getIn().getHeader("byte"));
+        assertEquals('c', answer.getIn().getHeader("char"));
+        assertEquals(new Date(1234), answer.getIn().getHeader("date"));
+        assertEquals(new BigInteger("-12345678901234567890"), answer.getIn().getHeader("bigInteger"));
+        assertEquals(new BigDecimal("123.456"), answer.getIn().getHeader("bigDecimal"));
+        assertEquals("sequence", answer.getIn().getHeader("sequence"));
+        assertEquals("Bye", answer.getOut().getHeader("out"));
+        assertEquals(444, answer.getProperty("bar"));
+        assertEquals(555, answer.getProperty("CamelBar"));
+    }
+
+    @Test
+    public void testNoProperties() throws Exception {
+        Exchange exchange = createExchange();
+
+        byte[] data = codec.marshal(exchange, false, false, Collections.singletonMap(Exchange.AGGREGATED_SIZE, 3));
+        Exchange answer = codec.unmarshal(context, data);
+
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+        assertNull(answer.getProperty("bar"));
+        assertEquals(3, answer.getProperty(Exchange.AGGREGATED_SIZE));
+    }
+
+    @Test
+    public void testNullInBody() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", 123);
+        exchange.setProperty("bar", 444);
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, true, false, null));
+        assertNull(answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+        assertEquals(444, answer.getProperty("bar"));
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+
+        // without any headers
+        exchange = new DefaultExchange(context);
+        answer = codec.unmarshal(context, codec.marshal(exchange, false, false, null));
+        assertNull(answer.getIn().getBody());
+        assertTrue(answer.getIn().getHeaders().isEmpty());
+    }
+
+    @Test
+    public void testNullOutBody() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getOut().setHeader("out", "Bye");
+        exchange.setProperty("bar", 444);
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, true, false, null));
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertTrue(answer.hasOut());
+        assertNull(answer.getOut().getBody());
+        assertEquals("Bye", answer.getOut().getHeader("out"));
+        assertEquals(444, answer.getProperty("bar"));
+    }
+
+    @Test
+    public void testBytesBody() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new byte[]{1, 2, 3});
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, false, false, null));
+        assertArrayEquals(new byte[]{1, 2, 3}, answer.getIn().getBody(byte[].class));
+        assertFalse(answer.hasOut());
+    }
+
+    @Test
+    public void testSerializableBody() throws Exception {
+        List<Object> list = new ArrayList<>();
+        list.add("Hello");
+        list.add(123);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(list);
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, false, false, null));
+        assertEquals(list, answer.getIn().getBody());
+    }
+
+    @Test
+    public void testSkipNonSerializableData() throws Exception {
+        List<Object> list = new ArrayList<>();
+        list.add("I am okay");
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("Foo", new MyFoo("Tiger"));
+        exchange.getIn().setHeader("Bar", 123);
+        exchange.getIn().setHeader("List", list);
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, false, false, null));
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("Bar"));
+        assertNull(answer.getIn().getHeader("Foo"));
+        assertNull(answer.getIn().getHeader("List"));
+
+        // serialized headers must be allowed explicit
+        answer = codec.unmarshal(context, codec.marshal(exchange, false, true, null));
+        assertNull(answer.getIn().getHeader("Foo"));
+        assertEquals(list, answer.getIn().getHeader("List"));
+    }
+
+    @Test
+    public void testCaughtException() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.setProperty(Exchange.EXCEPTION_CAUGHT, new IllegalArgumentException("Forced"));
+        exchange.setException(new IllegalStateException("Damn"));
+
+        Exchange answer = codec.unmarshal(context, codec.marshal(exchange, true, false, null));
+        assertEquals("Forced", answer.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class).getMessage());
+        assertIsInstanceOf(IllegalStateException.class, answer.getException());
+        assertEquals("Damn", answer.getException().getMessage());
+    }
+
+    @Test
+    public void testCompress() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("Hello World ");
+        }
+        Exchange exchange = createExchange();
+        exchange.getIn().setBody(sb.toString());
+
+        byte[] plain = codec.marshal(exchange, true, false, null);
+
+        BinaryExchangeCodec compressing = new BinaryExchangeCodec();
+        compressing.setCompress(true);
+        byte[] compressed = compressing.marshal(exchange, true, false, null);
+        assertTrue("Should be compressed", compressed.length < plain.length / 10);
+
+        // any codec can read the compressed data
+        Exchange answer = codec.unmarshal(context, compressed);
+        assertEquals(sb.toString(), answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+
+        // small data is not compressed
+        exchange.getIn().setBody("Hello World");
+        assertArrayEquals(codec.marshal(exchange, true, false, null), compressing.marshal(exchange, true, false, null));
+    }
+
+    @Test
+    public void testSmallerThanSerialization() throws Exception {
+        Exchange exchange = createExchange();
+
+        byte[] data = codec.marshal(exchange, true, false, null);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(DefaultExchangeHolder.marshal(exchange, true));
+        }
+        assertFalse(BinaryExchangeCodec.isBinaryExchange(bos.toByteArray()));
+        assertTrue("Should be smaller than serialization", data.length < bos.size() / 2);
+    }
+
+    @Test
+    public void testUnsupportedVersion() throws Exception {
+        byte[] data = codec.marshal(createExchange(), true, false, null);
+        data[2] = (byte) (BinaryExchangeCodec.VERSION + 1);
+
+        try {
+            codec.unmarshal(context, data);
+            fail("Should have thrown exception");
+        } catch (StreamCorruptedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        byte[] data = codec.marshal(createExchange(), true, false, null);
+
+        try {
+            codec.unmarshal(context, data, 0, data.length - 10);
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFileNotSupported() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new File("src/test/resources/log4j2.properties"));
+
+        try {
+            codec.marshal(exchange, false, false, null);
+            fail("Should have thrown exception");
+        } catch (RuntimeExchangeException e) {
+            // expected
+        }
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("CamelFoo", "Hi Camel");
+        exchange.getIn().setHeader("long", -5L);
+        exchange.getIn().setHeader("boolean", true);
+        exchange.getIn().setHeader("double", 1.5d);
+        exchange.getIn().setHeader("float", 2.5f);
+        exchange.getIn().setHeader("short", (short) 7);
+        exchange.getIn().setHeader("byte", (byte) 8);
+        exchange.getIn().setHeader("char", 'c');
+        exchange.getIn().setHeader("date", new Date(1234));
+        exchange.getIn().setHeader("bigInteger", new BigInteger("-12345678901234567890"));
+        exchange.getIn().setHeader("bigDecimal", new BigDecimal("123.456"));
+        exchange.getIn().setHeader("sequence", new StringBuilder("sequence"));
+        exchange.setProperty("bar", 444);
+        exchange.setProperty("CamelBar", 555);
+        exchange.getOut().setBody("Bye World");
+        exchange.getOut().setHeader("out", "Bye");
+        return exchange;
+    }
+
+    private static final class MyFoo {
+        private String foo;
+
+        private MyFoo(String foo) {
+            this.foo = foo;
+        }
+
+        @SuppressWarnings("unused")
+        public String getFoo() {
+            return foo;
+        }
+
+    }
+
+}
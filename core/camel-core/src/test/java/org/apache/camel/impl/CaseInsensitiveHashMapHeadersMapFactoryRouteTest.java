@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.CaseInsensitiveHashMapHeadersMapFactory;
+import org.apache.camel.impl.engine.HeadersMapFactoryResolver;
+import org.apache.camel.util.CaseInsensitiveHashMap;
+import org.junit.Test;
+
+public class CaseInsensitiveHashMapHeadersMapFactoryRouteTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(HeadersMapFactoryResolver.HEADERS_MAP_FACTORY_OPTION, HeadersMapFactoryResolver.HASHED);
+        return context;
+    }
+
+    @Test
+    public void testResolved() throws Exception {
+        assertIsInstanceOf(CaseInsensitiveHashMapHeadersMapFactory.class, context.getHeadersMapFactory());
+    }
+
+    @Test
+    public void testCaseInsensitiveHeaders() throws Exception {
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 456);
+        getMockEndpoint("mock:result").expectedHeaderReceived("Bar", "yes");
+        getMockEndpoint("mock:copy").expectedHeaderReceived("FOO", 789);
+        getMockEndpoint("mock:copy").expectedHeaderReceived("bar", "yes");
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+
+        assertIsInstanceOf(CaseInsensitiveHashMap.class, getMockEndpoint("mock:result").getReceivedExchanges().get(0).getIn().getHeaders());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("FOO", constant(456))
+                    .setHeader("Bar", constant("yes"))
+                    // the wire tap copies the exchange and changes the header on the copy only
+                    .wireTap("direct:copy")
+                    .to("mock:result");
+
+                from("direct:copy")
+                    .setHeader("Foo", constant(789))
+                    .to("mock:copy");
+            }
+        };
+    }
+
+}
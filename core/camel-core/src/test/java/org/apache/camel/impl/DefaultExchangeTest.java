@@ -18,6 +18,11 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -247,6 +252,125 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
                      sourceIn.getClass(), destIn.getClass());
     }
 
+    @Test
+    public void testCopyOnWrite() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.getIn().setBody("Hello World");
+        sourceExchange.getIn().setHeader("foo", 123);
+        sourceExchange.setProperty("fruit", "apple");
+
+        DefaultExchange destExchange = (DefaultExchange) sourceExchange.copyOnWrite();
+        DefaultMessage sourceIn = (DefaultMessage) sourceExchange.getIn();
+        DefaultMessage destIn = (DefaultMessage) destExchange.getIn();
+        assertNotSame(sourceIn, destIn);
+        assertSame(destExchange, destIn.getExchange());
+        assertEquals("Hello World", destIn.getBody());
+        assertTrue(sourceIn.isHeadersShared());
+        assertTrue(destIn.isHeadersShared());
+
+        // reading does not copy
+        assertEquals(123, destIn.getHeader("FOO"));
+        assertEquals("apple", destExchange.getProperty("fruit"));
+        assertTrue(destIn.isHeadersShared());
+
+        // changing the copy does not affect the source
+        destIn.setHeader("foo", 456);
+        destIn.setHeader("bar", "yes");
+        destExchange.setProperty("fruit", "banana");
+        assertFalse(destIn.isHeadersShared());
+        assertEquals(456, destIn.getHeader("foo"));
+        assertEquals(123, sourceIn.getHeader("foo"));
+        assertNull(sourceIn.getHeader("bar"));
+        assertEquals("banana", destExchange.getProperty("fruit"));
+        assertEquals("apple", sourceExchange.getProperty("fruit"));
+
+        // changing the source does not affect another copy
+        Exchange otherExchange = sourceExchange.copyOnWrite();
+        sourceIn.getHeaders().remove("foo");
+        sourceExchange.removeProperty("fruit");
+        assertEquals(123, otherExchange.getIn().getHeader("foo"));
+        assertEquals("apple", otherExchange.getProperty("fruit"));
+        assertNull(sourceIn.getHeader("foo"));
+        assertNull(sourceExchange.getProperty("fruit"));
+    }
+
+    @Test
+    public void testCopyOnWriteReadHeadersMap() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.getIn().setHeader("foo", 123);
+        sourceExchange.getIn().setHeader("bar", "yes");
+        sourceExchange.setProperty("fruit", "apple");
+
+        DefaultExchange destExchange = (DefaultExchange) sourceExchange.copyOnWrite();
+        DefaultMessage destIn = (DefaultMessage) destExchange.getIn();
+
+        // reading the maps does not copy
+        Map<String, Object> headers = destIn.getHeaders();
+        assertEquals(2, headers.size());
+        assertEquals(123, headers.get("FOO"));
+        assertEquals("apple", destExchange.getProperties().get("fruit"));
+        assertTrue(destIn.isHeadersShared());
+
+        // changing the map copies
+        headers.remove("bar");
+        assertFalse(destIn.isHeadersShared());
+        assertNull(destIn.getHeader("bar"));
+        assertEquals("yes", sourceExchange.getIn().getHeader("bar"));
+        destExchange.getProperties().put("fruit", "banana");
+        assertEquals("banana", destExchange.getProperty("fruit"));
+        assertEquals("apple", sourceExchange.getProperty("fruit"));
+    }
+
+    @Test
+    public void testCopyOnWriteConcurrentSetProperty() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 100; i++) {
+                DefaultExchange sourceExchange = new DefaultExchange(context);
+                sourceExchange.setProperty("fruit", "apple");
+                Exchange destExchange = sourceExchange.copyOnWrite();
+
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(4);
+                for (int j = 0; j < 4; j++) {
+                    String name = "thread" + j;
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            destExchange.setProperty(name, true);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                assertTrue(done.await(10, TimeUnit.SECONDS));
+
+                // no change is lost when the properties are copied concurrently
+                assertEquals(5, destExchange.getProperties().size());
+                assertEquals(1, sourceExchange.getProperties().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCopyOnWriteCustomMessage() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        MyMessage sourceIn = new MyMessage(context);
+        sourceIn.setHeader("foo", 123);
+        sourceExchange.setIn(sourceIn);
+        Exchange destExchange = sourceExchange.copyOnWrite();
+
+        // custom messages are copied
+        assertIsInstanceOf(MyMessage.class, destExchange.getIn());
+        assertFalse(sourceIn.isHeadersShared());
+        assertEquals(123, destExchange.getIn().getHeader("foo"));
+    }
+
     public static class MyMessage extends DefaultMessage {
         public MyMessage(CamelContext camelContext) {
             super(camelContext);
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.junit.Test;
+
+public class TypeConverterIndexTest extends ContextTestSupport {
+
+    @Test
+    public void testContains() throws Exception {
+        TypeConverterIndex index = new TypeConverterIndex(Collections.singletonList("org.apache.camel.converter.IOConverterLoader"),
+            Arrays.asList("byte[] java.io.File", "java.io.InputStream java.io.File", "java.lang.String byte[]"));
+
+        assertEquals(Collections.singletonList("org.apache.camel.converter.IOConverterLoader"), index.getLoaders());
+        assertEquals(3, index.size());
+        assertTrue(index.contains(byte[].class, File.class));
+        assertTrue(index.contains(InputStream.class, File.class));
+        assertTrue(index.contains("java.lang.String", "byte[]"));
+        assertFalse(index.contains(File.class, byte[].class));
+        assertFalse(index.contains("java.lang.String", "byte"));
+        assertFalse(index.contains("java.lang.Strin", "gbyte[]"));
+    }
+
+    @Test
+    public void testDuplicates() throws Exception {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add("to.Type" + i + " from.Type" + i);
+        }
+        // another module may list the same type converters
+        entries.addAll(entries.subList(0, 100));
+
+        TypeConverterIndex index = new TypeConverterIndex(Collections.emptyList(), entries);
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(index.contains("to.Type" + i, "from.Type" + i));
+            assertFalse(index.contains("to.Type" + i, "from.Type" + (i + 1)));
+        }
+    }
+
+    @Test
+    public void testGeneratedIndex() throws Exception {
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        TypeConverterIndex index = registry.getTypeConverterIndex();
+
+        assertTrue(index.getLoaders().contains("org.apache.camel.converter.IOConverterLoader"));
+        assertTrue(index.contains(byte[].class, File.class));
+        assertTrue(index.size() <= registry.size());
+    }
+
+}
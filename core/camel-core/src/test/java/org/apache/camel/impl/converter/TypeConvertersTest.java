@@ -42,4 +42,16 @@ public class TypeConvertersTest extends ContextTestSupport {
         assertEquals("en", iso);
     }
 
+    @Test
+    public void testAddAfterLookupMiss() throws Exception {
+        // there is no type converter yet
+        assertNull(context.getTypeConverter().tryConvertTo(Country.class, "en"));
+
+        context.getTypeConverterRegistry().addTypeConverters(converters);
+
+        Country country = context.getTypeConverter().convertTo(Country.class, "en");
+        assertNotNull(country);
+        assertEquals("England", country.getName());
+    }
+
 }
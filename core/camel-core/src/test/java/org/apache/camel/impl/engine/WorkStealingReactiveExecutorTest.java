@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(ReactiveExecutorResolver.REACTIVE_EXECUTOR_OPTION, ReactiveExecutorResolver.WORK_STEALING);
+        return context;
+    }
+
+    @Test
+    public void testResolved() throws Exception {
+        assertIsInstanceOf(WorkStealingReactiveExecutor.class, context.getReactiveExecutor());
+    }
+
+    @Test
+    public void testRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World", "Bye World");
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testScheduleOrder() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.setInitialQueueCapacity(2);
+
+        List<String> order = new ArrayList<>();
+        executor.scheduleMain(() -> {
+            order.add("main");
+            // queued while running, newest first
+            for (int i = 0; i < 5; i++) {
+                String name = "task" + i;
+                executor.schedule(() -> order.add(name), name);
+            }
+            // sync tasks are run at once, followed by the queued tasks
+            executor.scheduleSync(() -> order.add("sync"), "sync");
+            order.add("main-done");
+        }, "main");
+
+        assertEquals("[main, sync, task4, task3, task2, task1, task0, main-done]", order.toString());
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Test
+    public void testSteal() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+
+        List<String> order = new ArrayList<>();
+        executor.scheduleMain(() -> {
+            executor.schedule(() -> order.add("first"), "first");
+            executor.schedule(() -> order.add("second"), "second");
+
+            // another idle thread steals the oldest task
+            Thread thief = new Thread(() -> executor.executeFromQueue());
+            thief.start();
+            try {
+                thief.join();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }, "main");
+
+        assertEquals("[first, second]", order.toString());
+        assertEquals(1, executor.getStolenTasks());
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("log:foo").to("seda:bar");
+
+                from("seda:bar").to("log:bar").to("mock:result");
+            }
+        };
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.language;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.apache.camel.Exchange;
@@ -71,6 +73,36 @@ public class TokenizerTest extends ExchangeTestSupport {
         assertEquals("Charles", names.get(1));
     }
 
+    @Test
+    public void testTokenizeBodyStream() throws Exception {
+        Expression exp = TokenizeLanguage.tokenize("\n");
+
+        exchange.getIn().setBody(new ByteArrayInputStream("Hadrian\nCharles\n".getBytes(StandardCharsets.UTF_8)));
+
+        List<?> names = exp.evaluate(exchange, List.class);
+        assertEquals(2, names.size());
+
+        assertEquals("Hadrian", names.get(0));
+        assertEquals("Charles", names.get(1));
+    }
+
+    @Test
+    public void testTokenizeBodyGroup() throws Exception {
+        TokenizeLanguage language = new TokenizeLanguage();
+        language.setToken("\n");
+        language.setGroup("2");
+        language.setSkipFirst(true);
+        Expression exp = language.createExpression();
+
+        exchange.getIn().setBody("name\nClaus\nJames\nWillem\n".getBytes(StandardCharsets.UTF_8));
+
+        List<?> names = exp.evaluate(exchange, List.class);
+        assertEquals(2, names.size());
+
+        assertEquals("Claus\nJames", names.get(0));
+        assertEquals("Willem", names.get(1));
+    }
+
     @Test
     public void testTokenizeBodyRegEx() throws Exception {
         Expression exp = TokenizeLanguage.tokenize("(\\W+)\\s*", true);
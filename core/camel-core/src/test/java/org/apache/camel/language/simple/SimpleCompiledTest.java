@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.function.Supplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.Language;
+import org.junit.Test;
+
+/**
+ * Runs the tests of {@link SimpleTest} with the simple language compiled.
+ */
+public class SimpleCompiledTest extends SimpleTest {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(SimpleLanguage.COMPILED_OPTION, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        Language simple = context.resolveLanguage("simple");
+        assertTrue(((SimpleLanguage) simple).isCompiled());
+
+        assertCompiled(simple.createExpression("${body}"));
+        assertCompiled(simple.createExpression("${header.foo}"));
+        assertCompiled(simple.createExpression("${headers[foo]}"));
+        assertCompiled(simple.createExpression("${exchangeProperty.foo}"));
+        assertCompiled(simple.createExpression("${body.address.city}"));
+        assertCompiled(simple.createExpression("${header.foo.length}"));
+        assertCompiled(simple.createExpression("Hello ${body} and ${header.foo}"));
+        assertCompiled(simple.createPredicate("${header.foo} == 'abc'"));
+        assertCompiled(simple.createPredicate("${header.foo} > 123"));
+    }
+
+    @Test
+    public void testCompiledGetterChain() throws Exception {
+        exchange.getIn().setBody(new Person("Claus", new Address("Copenhagen")));
+
+        assertExpression("${body.name}", "Claus");
+        assertExpression("${body.name.length}", 5);
+        assertExpression("${body.address.city}", "Copenhagen");
+        assertExpression("${body.getAddress.getCity}", "Copenhagen");
+        assertExpression("${body.vip}", false);
+        assertPredicate("${body.address.city} == 'Copenhagen'");
+
+        // the method is declared by a non public class but invoked using the public interface
+        assertExpression("${body.secret.get}", "Camel");
+
+        exchange.getIn().setBody(new Person("Claus", null));
+        assertExpression("${body?.address}", null);
+
+        exchange.getIn().setBody(null);
+        assertExpression("${body.address.city}", null);
+    }
+
+    @Test
+    public void testCompiledKeyedGetterChain() throws Exception {
+        exchange.getIn().setHeader("person", new Person("Claus", new Address("Copenhagen")));
+        exchange.setProperty("person", new Person("Jonathan", new Address("Paris")));
+
+        assertExpression("${header.person.address.city}", "Copenhagen");
+        assertExpression("${headers:person.name}", "Claus");
+        assertExpression("${exchangeProperty.person.address.city}", "Paris");
+        assertExpression("${header.unknown.address.city}", null);
+    }
+
+    @Test
+    public void testCompiledPolymorphicGetterChain() throws Exception {
+        exchange.getIn().setBody(new Person("Claus", new Address("Copenhagen")));
+        assertExpression("${body.address.city}", "Copenhagen");
+
+        exchange.getIn().setBody(new Person("James", new PostalAddress("London")));
+        assertExpression("${body.address.city}", "London");
+
+        exchange.getIn().setBody(new Person("Claus", new Address("Copenhagen")));
+        assertExpression("${body.address.city}", "Copenhagen");
+    }
+
+    @Test
+    public void testCompiledGetterChainContinuesWithBeanLanguage() throws Exception {
+        Person person = new Person("Claus", new Address("Copenhagen"));
+        exchange.getIn().setBody(person);
+
+        // the static method is invoked using the bean language, without invoking getAddress again
+        assertExpression("${body.address.planet}", "Earth");
+        assertEquals(1, person.getAddressCalls());
+    }
+
+    @Test
+    public void testCompiledConstantComparison() throws Exception {
+        exchange.getIn().setHeader("num", 10);
+        exchange.getIn().setHeader("text", "10");
+        exchange.getIn().setHeader("decimal", 10.5d);
+
+        assertPredicate("${header.num} == 10");
+        assertPredicate("${header.num} == '10'");
+        assertPredicate("${header.num} != 11");
+        assertPredicate("${header.num} > 9");
+        assertPredicate("${header.num} >= 10");
+        assertPredicate("${header.num} < 10.5");
+        assertPredicate("${header.num} <= 10");
+        assertPredicateFails("${header.num} > 10");
+        assertPredicate("${header.text} == 10");
+        assertPredicate("${header.text} > 9");
+        assertPredicate("${header.decimal} > 10.4");
+        assertPredicate("${header.decimal} == 10.5");
+        assertPredicateFails("${header.unknown} == 10");
+        assertPredicate("${header.unknown} != 10");
+        assertPredicateFails("${header.unknown} > 10");
+        assertPredicate("${header.num} == 10 && ${header.text} == '10'");
+        assertPredicate("${header.num} == 11 || ${header.text} == '10'");
+    }
+
+    private static void assertCompiled(Object expression) {
+        String name = expression.getClass().getName();
+        assertTrue("Should be compiled: " + name, name.startsWith(SimpleCompiler.class.getName() + "$"));
+    }
+
+    public static class Person {
+        private final String name;
+        private final Address address;
+        private int addressCalls;
+
+        public Person(String name, Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Address getAddress() {
+            addressCalls++;
+            return address;
+        }
+
+        public int getAddressCalls() {
+            return addressCalls;
+        }
+
+        public boolean isVip() {
+            return false;
+        }
+
+        public Supplier<String> getSecret() {
+            return new Secret();
+        }
+    }
+
+    public static class Address {
+        private final String city;
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public static String getPlanet() {
+            return "Earth";
+        }
+    }
+
+    public static class PostalAddress extends Address {
+
+        public PostalAddress(String city) {
+            super(city);
+        }
+
+        @Override
+        public String getCity() {
+            return super.getCity();
+        }
+    }
+
+    private static class Secret implements Supplier<String> {
+        @Override
+        public String get() {
+            return "Camel";
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+/**
+ * Tests that the exchanges copied by the EIPs which share the headers and properties
+ * until changed do not affect each other.
+ */
+public class CopyOnWriteExchangeTest extends ContextTestSupport {
+
+    @Test
+    public void testSplit() throws Exception {
+        MockEndpoint split = getMockEndpoint("mock:split");
+        split.expectedBodiesReceivedInAnyOrder("A", "B", "C");
+        split.allMessages().header("bar").isEqualTo("original");
+        split.allMessages().exchangeProperty("fruit").isEqualTo("apple");
+
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedHeaderReceived("foo", "original");
+        result.expectedPropertyReceived("fruit", "apple");
+
+        template.sendBodyAndHeader("direct:split", "A,B,C", "foo", "original");
+
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : split.getReceivedExchanges()) {
+            assertEquals(exchange.getIn().getBody(), exchange.getIn().getHeader("foo"));
+        }
+    }
+
+    @Test
+    public void testMulticast() throws Exception {
+        getMockEndpoint("mock:a").expectedHeaderReceived("foo", "a");
+        getMockEndpoint("mock:a").expectedPropertyReceived("fruit", "banana");
+        getMockEndpoint("mock:b").expectedHeaderReceived("foo", "original");
+        getMockEndpoint("mock:b").expectedPropertyReceived("fruit", "apple");
+        getMockEndpoint("mock:c").expectedHeaderReceived("foo", "original");
+        getMockEndpoint("mock:c").message(0).header("bar").isNull();
+
+        template.sendBodyAndHeader("direct:multicast", "Hello World", "foo", "original");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testWireTap() throws Exception {
+        getMockEndpoint("mock:tap").expectedHeaderReceived("foo", "tap");
+        getMockEndpoint("mock:tap").expectedHeaderReceived("bar", "original");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", "original");
+        getMockEndpoint("mock:result").expectedHeaderReceived("bar", "changed");
+
+        template.sendBodyAndHeader("direct:wiretap", "Hello World", "foo", "original");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:split")
+                    .setHeader("bar", constant("original"))
+                    .setProperty("fruit", constant("apple"))
+                    .split(body().tokenize(",")).parallelProcessing()
+                        .setHeader("foo", body())
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:multicast")
+                    .setProperty("fruit", constant("apple"))
+                    .multicast().parallelProcessing()
+                        .to("direct:a", "direct:b", "direct:c")
+                    .end();
+
+                from("direct:a")
+                    .setHeader("foo", constant("a"))
+                    .setHeader("bar", constant("a"))
+                    .setProperty("fruit", constant("banana"))
+                    .to("mock:a");
+                from("direct:b")
+                    .process(e -> e.getIn().removeHeader("bar"))
+                    .to("mock:b");
+                from("direct:c")
+                    .delay(100)
+                    .to("mock:c");
+
+                from("direct:wiretap")
+                    .setHeader("bar", constant("original"))
+                    .wireTap("direct:tap")
+                    .setHeader("bar", constant("changed"))
+                    .to("mock:result");
+
+                from("direct:tap")
+                    .delay(100)
+                    .setHeader("foo", constant("tap"))
+                    .to("mock:tap");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.spi.ThrottlingRepository;
+import org.apache.camel.support.processor.throttle.MemoryThrottlingRepository;
+import org.junit.Test;
+
+public class DistributedThrottlerTest extends ContextTestSupport {
+
+    private static final int INTERVAL = 10000;
+
+    private ThrottlingRepository repository = new MemoryThrottlingRepository();
+    private AtomicInteger countingRepositoryCalls = new AtomicInteger();
+    private ThrottlingRepository countingRepository = new MemoryThrottlingRepository() {
+        @Override
+        public int acquirePermits(String key, long periodStart, long timePeriodMillis, int permits, int maxPermits) {
+            countingRepositoryCalls.incrementAndGet();
+            return super.acquirePermits(key, periodStart, timePeriodMillis, permits, maxPermits);
+        }
+    };
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myRepo", repository);
+        jndi.bind("countingRepo", countingRepository);
+        return jndi;
+    }
+
+    @Test
+    public void testMemoryThrottlingRepository() throws Exception {
+        assertEquals(2, repository.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(1, repository.acquirePermits("foo", 1000, 1000, 2, 3));
+        assertEquals(0, repository.acquirePermits("foo", 1000, 1000, 2, 3));
+        // other keys has their own permits
+        assertEquals(2, repository.acquirePermits("bar", 1000, 1000, 2, 3));
+        // no permits for an old time period
+        assertEquals(2, repository.acquirePermits("foo", 2000, 1000, 2, 3));
+        assertEquals(0, repository.acquirePermits("foo", 1000, 1000, 2, 3));
+    }
+
+    @Test
+    public void testSharedByRoutes() throws Exception {
+        awaitStartOfTimePeriod();
+
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(5);
+        getMockEndpoint("mock:rejected").expectedMessageCount(5);
+
+        // the routes each lease 2 permits at a time from the 5 permits shared by the routes
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:a", "A" + i);
+            template.sendBody("direct:b", "B" + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testExhaustedTimePeriod() throws Exception {
+        awaitStartOfTimePeriod();
+
+        getMockEndpoint("mock:counted").expectedMessageCount(2);
+        getMockEndpoint("mock:rejected").expectedMessageCount(3);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:counted", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the repository is not accessed again once all the permits of the time period are used
+        assertEquals(2, countingRepositoryCalls.get());
+    }
+
+    @Test
+    public void testThrottled() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:delayed");
+        resultEndpoint.expectedMessageCount(3);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:delayed", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the third exchange must wait for the next time period
+        long first = resultEndpoint.getReceivedExchanges().get(0).getProperty(Exchange.RECEIVED_TIMESTAMP, Date.class).getTime();
+        long third = resultEndpoint.getReceivedExchanges().get(2).getProperty(Exchange.RECEIVED_TIMESTAMP, Date.class).getTime();
+        assertTrue("Should be in the next time period", third / 1000 > first / 1000);
+    }
+
+    private static void awaitStartOfTimePeriod() throws InterruptedException {
+        long remaining = INTERVAL - System.currentTimeMillis() % INTERVAL;
+        if (remaining < 2000) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:rejected");
+
+                from("direct:a").throttle(5).timePeriodMillis(INTERVAL).throttlingRepositoryRef("myRepo").permitBatchSize(2)
+                    .rejectExecution(true).to("mock:result");
+
+                from("direct:b").throttle(5).timePeriodMillis(INTERVAL).throttlingRepositoryRef("myRepo").permitBatchSize(2)
+                    .rejectExecution(true).to("mock:result");
+
+                from("direct:counted").throttle(2).timePeriodMillis(INTERVAL).throttlingRepositoryRef("countingRepo").permitBatchSize(2)
+                    .rejectExecution(true).to("mock:counted");
+
+                from("direct:delayed").throttle(constant(2), constant("delayed")).timePeriodMillis(1000).throttlingRepositoryRef("myRepo")
+                    .to("mock:delayed");
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.HashedWheelTimer;
+import org.junit.Test;
+
+public class NonBlockingThrottlerTest extends ContextTestSupport {
+
+    private static final int INTERVAL = 500;
+
+    @Test
+    public void testSendLotsOfMessagesButOnly3GetThroughWithin2Seconds() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(3);
+        resultEndpoint.setResultWaitTime(2000);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:a", "<message>" + i + "</message>");
+        }
+
+        // lets pause to give the requests time to be processed
+        // to check that the throttle really does kick in
+        resultEndpoint.assertIsSatisfied();
+    }
+
+    @Test
+    public void testThrottled() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(6);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:a", "<message>" + i + "</message>");
+        }
+        resultEndpoint.assertIsSatisfied();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // a burst of 3 and then one every third of the interval
+        assertTrue("Should take at least " + INTERVAL + "ms, was: " + elapsed, elapsed >= INTERVAL - 50);
+
+        // the delayed exchanges have been released by the shared timer
+        assertNotNull(context.hasService(HashedWheelTimer.class));
+        assertEquals(0, context.hasService(HashedWheelTimer.class).getPendingTasks());
+    }
+
+    @Test
+    public void testGrouping() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(4);
+        resultEndpoint.setResultWaitTime(INTERVAL / 2);
+
+        // each group has its own burst of 2
+        template.sendBodyAndHeader("direct:group", "A1", "key", "A");
+        template.sendBodyAndHeader("direct:group", "A2", "key", "A");
+        template.sendBodyAndHeader("direct:group", "B1", "key", "B");
+        template.sendBodyAndHeader("direct:group", "B2", "key", "B");
+
+        resultEndpoint.assertIsSatisfied();
+    }
+
+    @Test
+    public void testRejectExecution() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedBodiesReceived("A", "B");
+        getMockEndpoint("mock:rejected").expectedBodiesReceived("C");
+
+        template.sendBody("direct:reject", "A");
+        template.sendBody("direct:reject", "B");
+        template.sendBody("direct:reject", "C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:rejected");
+
+                from("seda:a").throttle(3).timePeriodMillis(10000).nonBlocking().to("log:result", "mock:result");
+
+                from("direct:a").throttle(3).timePeriodMillis(INTERVAL).nonBlocking().to("log:result", "mock:result");
+
+                from("direct:group").throttle(constant(2), header("key")).timePeriodMillis(10000).nonBlocking()
+                    .to("log:result", "mock:result");
+
+                from("direct:reject").throttle(2).timePeriodMillis(10000).nonBlocking().rejectExecution(true)
+                    .to("log:result", "mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int MAX_INFLIGHT = 3;
+    private static final int SIZE = 30;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxAhead = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Test
+    public void testStreaming() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:streaming", SIZE);
+
+        assertMockEndpointsSatisfied();
+
+        // the replies are aggregated in the order they come back
+        assertEquals(SIZE, mock.getReceivedExchanges().get(0).getIn().getBody(String.class).length());
+        assertEquals(SIZE, aggregated.get());
+        assertTrue("Should split at most " + MAX_INFLIGHT + " messages ahead, was: " + maxAhead.get(), maxAhead.get() <= MAX_INFLIGHT);
+        assertTrue("Should process at most " + MAX_INFLIGHT + " messages, was: " + maxActive.get(), maxActive.get() <= MAX_INFLIGHT);
+    }
+
+    @Test
+    public void testOrdered() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            expected.append((char) ('A' + i));
+        }
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:ordered", SIZE);
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(SIZE, aggregated.get());
+        // the messages are split on demand, also when aggregating in order
+        assertTrue("Should split at most " + MAX_INFLIGHT + " messages ahead, was: " + maxAhead.get(), maxAhead.get() <= MAX_INFLIGHT);
+        assertTrue("Should process at most " + MAX_INFLIGHT + " messages, was: " + maxActive.get(), maxActive.get() <= MAX_INFLIGHT);
+    }
+
+    @Test
+    public void testMaxInflightOne() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:one", SIZE);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(20 * SIZE, aggregated.get());
+        assertTrue("Should process at most 1 message, was: " + maxActive.get(), maxActive.get() <= 1);
+    }
+
+    @Test
+    public void testMaxInflightWithoutParallelProcessing() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:invalid").split(body()).maxInflight(MAX_INFLIGHT).to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (FailedToCreateRouteException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    public Iterator<Character> letters(final int size) {
+        return new Iterator<Character>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Character next() {
+                int ahead = created.incrementAndGet() - aggregated.get();
+                maxAhead.accumulateAndGet(ahead, Math::max);
+                return (char) ('A' + index++);
+            }
+        };
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                AggregationStrategy strategy = new AggregationStrategy() {
+                    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                        aggregated.incrementAndGet();
+                        if (oldExchange == null) {
+                            return newExchange;
+                        }
+                        String body = oldExchange.getIn().getBody(String.class);
+                        oldExchange.getIn().setBody(body + newExchange.getIn().getBody(String.class));
+                        return oldExchange;
+                    }
+                };
+
+                from("direct:streaming")
+                    .split(method(SplitterParallelMaxInflightTest.this, "letters"), strategy)
+                        .streaming().parallelProcessing().maxInflight(MAX_INFLIGHT)
+                        .to("direct:slow")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:ordered")
+                    .split(method(SplitterParallelMaxInflightTest.this, "letters"), strategy)
+                        .parallelProcessing().maxInflight(MAX_INFLIGHT)
+                        .to("direct:slow")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:one")
+                    .split(method(SplitterParallelMaxInflightTest.this, "letters"), strategy)
+                        .streaming().parallelProcessing().maxInflight(1)
+                        .to("direct:slow")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:slow")
+                    .process(e -> {
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        try {
+                            // the first messages are slower so the replies come back out of order
+                            String body = e.getIn().getBody(String.class);
+                            Thread.sleep(body.charAt(0) < 'A' + MAX_INFLIGHT ? 50 : 5);
+                        } finally {
+                            active.decrementAndGet();
+                        }
+                    });
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
+import org.junit.Test;
+
+public class ThreadsVirtualThreadsTest extends ContextTestSupport {
+
+    private final Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+
+    @Test
+    public void testThreadsVirtualThreads() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(50);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // virtual threads is only used on JVMs which supports them
+        assertEquals(1, virtual.size());
+        assertEquals(VirtualThreadHelper.isVirtualThreadsSupported(), virtual.iterator().next());
+    }
+
+    @Test
+    public void testMulticastVirtualThreadsProfile() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(10);
+        getMockEndpoint("mock:b").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:multicast", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1, virtual.size());
+        assertEquals(VirtualThreadHelper.isVirtualThreadsSupported(), virtual.iterator().next());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileBuilder("virtualProfile").virtualThreads(true).build();
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start")
+                    .threads().virtualThreads(true)
+                    .process(e -> virtual.add(isVirtual(Thread.currentThread())))
+                    .to("mock:result");
+
+                from("direct:multicast")
+                    .multicast().parallelProcessing().executorServiceRef("virtualProfile")
+                        .to("direct:a", "direct:b");
+
+                from("direct:a")
+                    .process(e -> virtual.add(isVirtual(Thread.currentThread())))
+                    .to("mock:a");
+
+                from("direct:b")
+                    .process(e -> virtual.add(isVirtual(Thread.currentThread())))
+                    .to("mock:b");
+            }
+        };
+    }
+}
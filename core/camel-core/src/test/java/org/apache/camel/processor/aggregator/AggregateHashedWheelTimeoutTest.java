@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.junit.Test;
+
+public class AggregateHashedWheelTimeoutTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(HashedWheelTimeoutMap.TIMEOUT_MAP_OPTION, HashedWheelTimeoutMap.HASHED_WHEEL);
+        return context;
+    }
+
+    @Test
+    public void testAggregateTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedBodiesReceivedInAnyOrder("A+B+C", "D+E");
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("timeout");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 123);
+        template.sendBodyAndHeader("direct:start", "D", "id", 456);
+        template.sendBodyAndHeader("direct:start", "B", "id", 123);
+        template.sendBodyAndHeader("direct:start", "E", "id", 456);
+        template.sendBodyAndHeader("direct:start", "C", "id", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateTimeoutOptimisticLocking() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:optimistic");
+        mock.expectedBodiesReceivedInAnyOrder("A+B+C", "D+E");
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("timeout");
+
+        template.sendBodyAndHeader("direct:optimistic", "A", "id", 123);
+        template.sendBodyAndHeader("direct:optimistic", "D", "id", 456);
+        template.sendBodyAndHeader("direct:optimistic", "B", "id", 123);
+        template.sendBodyAndHeader("direct:optimistic", "E", "id", 456);
+        template.sendBodyAndHeader("direct:optimistic", "C", "id", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionTimeout(100).completionTimeoutCheckerInterval(10)
+                        .to("mock:aggregated");
+
+                from("direct:optimistic")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).optimisticLocking()
+                        .completionTimeout(100).completionTimeoutCheckerInterval(10)
+                        .to("mock:optimistic");
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
+import org.apache.camel.util.ObjectHelper;
+import org.junit.Test;
+
+public class AggregateStripedLockingTest extends ContextTestSupport {
+
+    private static final int KEYS = 20;
+    private static final int SIZE = 10;
+
+    @Test
+    public void testStripedLocking() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedMessageCount(KEYS * 3);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("size");
+
+        for (int i = 0; i < KEYS * SIZE * 3; i++) {
+            template.sendBodyAndHeader("seda:start", i % KEYS, "id", i % KEYS);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // each group must only contain its own correlation key, and nothing must be lost
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            List<?> body = exchange.getIn().getBody(List.class);
+            assertEquals(SIZE, body.size());
+            Object id = exchange.getIn().getHeader("id");
+            for (Object value : body) {
+                assertEquals(id, value);
+            }
+        }
+    }
+
+    @Test
+    public void testStripedLockingTimeout() throws Exception {
+        getMockEndpoint("mock:timeout").expectedBodiesReceivedInAnyOrder("A+B", "C");
+
+        template.sendBodyAndHeader("direct:timeout", "A", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "C", "id", 2);
+        template.sendBodyAndHeader("direct:timeout", "B", "id", 1);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testStripedLockingCompleteAllGroups() throws Exception {
+        getMockEndpoint("mock:all").expectedBodiesReceived("AAA", "BB");
+
+        template.sendBody("direct:all", "A,A,A,B,B");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testStripedLockingAndOptimisticLocking() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:invalid")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(2).stripedLocking().optimisticLocking()
+                            .to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            IllegalArgumentException cause = ObjectHelper.getException(IllegalArgumentException.class, e);
+            assertNotNull(cause);
+            assertEquals("Only one of optimisticLocking or stripedLocking can be used, not both.", cause.getMessage());
+        }
+    }
+
+    @Test
+    public void testStripedLockingAndCompletionOnNewCorrelationGroup() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:invalid")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(2).completionOnNewCorrelationGroup().stripedLocking()
+                            .to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            IllegalArgumentException cause = ObjectHelper.getException(IllegalArgumentException.class, e);
+            assertNotNull(cause);
+            assertTrue(cause.getMessage().startsWith("Striped locking cannot be used together with"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=8")
+                    .aggregate(header("id"), new GroupedBodyAggregationStrategy()).completionSize(SIZE).stripedLocking().lockStripes(4)
+                        .to("mock:aggregated");
+
+                from("direct:timeout")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionTimeout(100).completionTimeoutCheckerInterval(10).stripedLocking()
+                        .to("mock:timeout");
+
+                from("direct:all")
+                    .split(body())
+                        .aggregate(simple("${body}"), new AggregateForceCompletionHeaderInAggregationStrategyTest.MyAggregationStrategy())
+                            .completionPredicate(exchangeProperty(Exchange.SPLIT_COMPLETE)).stripedLocking()
+                        .to("mock:all");
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BloomFilterTest extends Assert {
+
+    @Test
+    public void testBloomFilter() throws Exception {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        assertTrue(filter.getBitSize() >= 9585);
+        assertEquals(7, filter.getHashFunctions());
+
+        assertFalse(filter.mightContain("foo"));
+        assertTrue(filter.put("foo"));
+        assertFalse(filter.put("foo"));
+        assertTrue(filter.mightContain("foo"));
+        assertEquals(7, filter.getBitCount());
+
+        filter.clear();
+        assertFalse(filter.mightContain("foo"));
+        assertEquals(0, filter.getBitCount());
+    }
+
+    @Test
+    public void testFalsePositiveProbability() throws Exception {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("key" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("key" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("Should have about 1% false positives, was " + falsePositives, falsePositives < 200);
+        assertEquals(0.01, filter.getFalsePositiveProbability(), 0.005);
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+public class HashedWheelTimeoutMapTest extends Assert {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Test
+    public void testHashedWheelTimeoutMap() throws Exception {
+        HashedWheelTimeoutMap<?, ?> map = new HashedWheelTimeoutMap<>(executor);
+        map.start();
+        assertTrue(map.currentTime() > 0);
+        assertEquals(1000, map.getPurgePollTime());
+        assertEquals(512, map.getTicksPerWheel());
+        assertSame(executor, map.getExecutor());
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testPurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testPutBeforeStart() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+
+        map.put("A", 123, 10);
+        map.put("B", 456, 5000);
+        assertEquals(2, map.size());
+
+        // should not timeout as the map is not started
+        Thread.sleep(100);
+        assertEquals(2, map.size());
+
+        // the entries added before the map is started are evicted when started
+        map.start();
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, map.size()));
+        assertEquals(456, (int) map.get("B"));
+
+        map.stop();
+    }
+
+    @Test
+    public void testGetRemove() throws Exception {
+        List<String> evicted = new ArrayList<>();
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                evicted.add(key);
+            }
+        });
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertNull(map.get("A"));
+        assertNull(map.remove("A"));
+        assertEquals(0, map.size());
+
+        // the removed entry must not be evicted
+        Thread.sleep(150);
+        assertTrue(evicted.isEmpty());
+
+        map.stop();
+    }
+
+    @Test
+    public void testPutIfAbsentAndReplace() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.start();
+
+        assertNull(map.putIfAbsent("A", 1, 50));
+        assertEquals(1, (int) map.putIfAbsent("A", 2, 50));
+        assertEquals(1, (int) map.get("A"));
+
+        // replacing the entry should use the new timeout
+        assertEquals(1, (int) map.put("A", 3, 5000));
+        Thread.sleep(200);
+        assertEquals(3, (int) map.get("A"));
+
+        map.stop();
+    }
+
+    @Test
+    public void testGetExtendsTimeout() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.start();
+
+        map.put("A", 123, 200);
+        // keep the entry alive well beyond its timeout
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(50);
+            assertEquals(123, (int) map.get("A"));
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testTimeoutBeyondOneRevolution() throws Exception {
+        final List<String> keys = new ArrayList<>();
+
+        // the wheel turns around every 40 millis
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10, 4);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+        map.start();
+        assertEquals(4, map.getTicksPerWheel());
+
+        map.put("A", 1, 300);
+        map.put("B", 2, 30);
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(2, keys.size()));
+        // should not be evicted on an earlier revolution of the wheel
+        assertEquals("[B, A]", keys.toString());
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<>();
+        final List<Integer> values = new ArrayList<>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+                values.add(value);
+            }
+        });
+        map.start();
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(5, keys.size()));
+
+        assertEquals("D", keys.get(0));
+        assertEquals(4, values.get(0).intValue());
+        assertEquals("B", keys.get(1));
+        assertEquals(2, values.get(1).intValue());
+        assertEquals("C", keys.get(2));
+        assertEquals(3, values.get(2).intValue());
+        assertEquals("E", keys.get(3));
+        assertEquals(5, values.get(3).intValue());
+        assertEquals("A", keys.get(4));
+        assertEquals(1, values.get(4).intValue());
+
+        assertEquals(1, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testStopStart() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.start();
+        map.put("A", 1, 500);
+
+        assertEquals(1, map.size());
+        map.stop();
+
+        assertEquals(0, map.size());
+        map.put("A", 1, 50);
+
+        // should not timeout as the scheduler doesn't run
+        Thread.sleep(250);
+        assertEquals(1, map.size());
+
+        // start
+        map.start();
+
+        // start and wait for scheduler to purge
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() ->
+            // now it should be gone
+            assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+}
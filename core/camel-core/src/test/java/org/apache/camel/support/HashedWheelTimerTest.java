@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+public class HashedWheelTimerTest extends Assert {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHashedWheelTimer() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 5, 100);
+        assertEquals(5, timer.getTickMillis());
+        // rounded up to a power of two
+        assertEquals(128, timer.getTicksPerWheel());
+
+        try {
+            timer.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+            fail("Should have thrown exception");
+        } catch (RejectedExecutionException e) {
+            // expected as the timer is not started
+        }
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 5, 16);
+        timer.start();
+
+        List<String> runs = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        timer.schedule(() -> runs.add("C"), 300, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> runs.add("A"), 20, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> runs.add("B"), 20, TimeUnit.MILLISECONDS);
+        assertEquals(3, timer.getPendingTasks());
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, runs.size()));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // C has a delay longer than a turn of the wheel
+        assertTrue("Should take at least 300ms, was: " + elapsed, elapsed >= 300);
+        assertEquals("[A, B, C]", runs.toString());
+        assertEquals(0, timer.getPendingTasks());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testScheduleOnWheels() throws Exception {
+        // each wheel holds 4 times the delay of the previous wheel
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 2, 4);
+        timer.start();
+
+        List<String> runs = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        timer.schedule(() -> runs.add("D:" + elapsedMillis(start)), 300, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> runs.add("C:" + elapsedMillis(start)), 100, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> runs.add("B:" + elapsedMillis(start)), 20, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> runs.add("A:" + elapsedMillis(start)), 4, TimeUnit.MILLISECONDS);
+        assertEquals(4, timer.getPendingTasks());
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(4, runs.size()));
+
+        long[] delays = {4, 20, 100, 300};
+        for (int i = 0; i < delays.length; i++) {
+            String[] run = runs.get(i).split(":");
+            assertEquals(String.valueOf((char) ('A' + i)), run[0]);
+            assertTrue("Should run after " + delays[i] + "ms, was: " + run[1], Long.parseLong(run[1]) >= delays[i]);
+        }
+        assertEquals(0, timer.getPendingTasks());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testRunPendingTasksOnStop() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(executor);
+        timer.start();
+
+        List<String> runs = new CopyOnWriteArrayList<>();
+        timer.schedule(() -> runs.add("A"), 1, TimeUnit.HOURS);
+
+        timer.stop();
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals("[A]", runs.toString()));
+        assertEquals(0, timer.getPendingTasks());
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+}
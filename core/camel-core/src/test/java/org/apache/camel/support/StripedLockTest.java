@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StripedLockTest extends Assert {
+
+    @Test
+    public void testStripes() throws Exception {
+        StripedLock lock = new StripedLock(10);
+        assertEquals(16, lock.getStripes());
+        assertSame(lock.getLock("foo"), lock.getLock("foo"));
+
+        // all the stripes are locked
+        lock.lock();
+        try {
+            assertTrue(lock.getLock("foo").tryLock());
+            lock.getLock("foo").unlock();
+            assertFalse(tryLockFromOtherThread(lock.getLock("foo")));
+        } finally {
+            lock.unlock();
+        }
+        assertTrue(tryLockFromOtherThread(lock.getLock("foo")));
+    }
+
+    @Test
+    public void testCondition() throws Exception {
+        StripedLock lock = new StripedLock(4);
+        Condition condition = lock.newCondition();
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            lock.lock();
+            try {
+                waiting.countDown();
+                condition.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        waiter.start();
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+
+        // the stripes are released while waiting
+        assertTrue(lock.tryLock(5, TimeUnit.SECONDS));
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+        waiter.join(5000);
+        assertFalse(waiter.isAlive());
+
+        // and locked again before returning
+        assertTrue(lock.tryLock());
+        lock.unlock();
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testConditionNotLocked() throws Exception {
+        new StripedLock(4).newCondition().await(1, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean tryLockFromOtherThread(Lock lock) throws InterruptedException {
+        boolean[] answer = new boolean[1];
+        Thread thread = new Thread(() -> {
+            answer[0] = lock.tryLock();
+            if (answer[0]) {
+                lock.unlock();
+            }
+        });
+        thread.start();
+        thread.join();
+        return answer[0];
+    }
+
+}
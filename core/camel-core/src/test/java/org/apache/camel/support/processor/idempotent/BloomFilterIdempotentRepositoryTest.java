@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BloomFilterIdempotentRepositoryTest extends Assert {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final MemoryIdempotentRepository memory = new MemoryIdempotentRepository() {
+        @Override
+        public boolean add(String key) {
+            calls.incrementAndGet();
+            return super.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            calls.incrementAndGet();
+            return super.contains(key);
+        }
+
+        @Override
+        public boolean remove(String key) {
+            calls.incrementAndGet();
+            return super.remove(key);
+        }
+    };
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(memory);
+        repo.start();
+
+        // new keys are not looked up in the repository
+        assertFalse(repo.contains("A"));
+        assertFalse(repo.remove("A"));
+        assertEquals(0, calls.get());
+
+        // but always added
+        assertTrue(repo.add("A"));
+        assertEquals(1, calls.get());
+        assertFalse(repo.add("A"));
+        assertEquals(2, calls.get());
+
+        assertTrue(repo.contains("A"));
+        assertEquals(3, calls.get());
+        assertTrue(repo.remove("A"));
+        assertFalse(memory.contains("A"));
+
+        assertEquals(2, repo.getDefiniteMisses());
+        assertEquals(1, repo.getInsertions());
+
+        repo.stop();
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        memory.add("A");
+        memory.add("B");
+
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(memory);
+        repo.setWarmUpKeys(() -> Arrays.asList("A", "B"));
+        repo.start();
+
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("B"));
+        assertFalse(repo.contains("C"));
+        assertEquals(2, repo.getInsertions());
+
+        repo.stop();
+    }
+
+    @Test
+    public void testWithoutWarmUp() throws Exception {
+        memory.add("A");
+
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(memory);
+        repo.start();
+
+        // the key is not known by the filter
+        assertFalse(repo.contains("A"));
+        // but is detected as a duplicate when added, and then known by the filter
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+
+        repo.stop();
+    }
+
+    @Test
+    public void testScalable() throws Exception {
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(MemoryIdempotentRepository.memoryIdempotentRepository(100000));
+        repo.setExpectedInsertions(1000);
+        repo.setFalsePositiveProbability(0.01);
+        repo.start();
+
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        // 1000 + 2000 + 4000 + 8000
+        assertEquals(4, repo.getFilters());
+        assertEquals(10000, repo.getInsertions(), 50);
+
+        for (int i = 0; i < 10000; i++) {
+            assertFalse(repo.contains("other" + i));
+        }
+        assertTrue("False positive rate should be below 2%, was " + repo.getFalsePositiveRate(), repo.getFalsePositiveRate() < 0.02);
+        assertTrue(repo.getEstimatedFalsePositiveProbability() < 0.02);
+
+        repo.clear();
+        assertEquals(1, repo.getFilters());
+        assertFalse(repo.contains("key1"));
+
+        repo.stop();
+    }
+
+}
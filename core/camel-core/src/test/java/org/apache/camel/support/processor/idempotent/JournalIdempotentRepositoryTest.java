@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.camel.TestSupport.deleteDirectory;
+import static org.awaitility.Awaitility.await;
+
+public class JournalIdempotentRepositoryTest extends Assert {
+
+    private File journal = new File("target/data/journal");
+    private JournalIdempotentRepository repo;
+
+    @Before
+    public void setUp() {
+        deleteDirectory(journal);
+        repo = new JournalIdempotentRepository(journal);
+    }
+
+    @After
+    public void tearDown() {
+        repo.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        repo.start();
+
+        assertTrue(repo.add("file1.txt"));
+        assertTrue(repo.add("file2.txt"));
+        assertFalse(repo.add("file1.txt"));
+        assertTrue(repo.contains("file1.txt"));
+        assertFalse(repo.contains("file3.txt"));
+        assertEquals(2, repo.getSize());
+
+        assertTrue(repo.remove("file1.txt"));
+        assertFalse(repo.remove("file1.txt"));
+        assertFalse(repo.contains("file1.txt"));
+        assertTrue(repo.contains("file2.txt"));
+        assertEquals(1, repo.getSize());
+
+        repo.clear();
+        assertFalse(repo.contains("file2.txt"));
+        assertEquals(0, repo.getSize());
+    }
+
+    @Test
+    public void testLoadJournal() throws Exception {
+        repo.start();
+        for (int i = 0; i < 1000; i++) {
+            repo.add("file" + i + ".txt");
+        }
+        repo.remove("file10.txt");
+        repo.stop();
+
+        repo = new JournalIdempotentRepository(journal);
+        repo.start();
+        assertEquals(999, repo.getSize());
+        assertTrue(repo.contains("file0.txt"));
+        assertTrue(repo.contains("file999.txt"));
+        assertFalse(repo.contains("file10.txt"));
+        assertFalse(repo.add("file500.txt"));
+        assertTrue(repo.add("file10.txt"));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        repo.setSegmentSize(1024);
+        repo.start();
+
+        // fill a few segments
+        for (int i = 0; i < 200; i++) {
+            repo.add("file" + i + ".txt");
+        }
+        int segments = repo.getSegments();
+        assertTrue("Should have several segments, was " + segments, segments > 3);
+
+        // remove most of the keys, so the oldest segments are compacted when the next segment is created
+        for (int i = 0; i < 190; i++) {
+            repo.remove("file" + i + ".txt");
+        }
+        repo.compact();
+        assertTrue("Should have compacted segments, was " + repo.getSegments(), repo.getSegments() < segments);
+        // and the compacted segment files has been deleted
+        assertEquals(repo.getSegments(), journal.list().length);
+        for (int i = 190; i < 200; i++) {
+            assertTrue(repo.contains("file" + i + ".txt"));
+        }
+
+        // and the compacted journal is loaded
+        repo.stop();
+        repo = new JournalIdempotentRepository(journal);
+        repo.setSegmentSize(1024);
+        repo.start();
+        assertEquals(10, repo.getSize());
+        assertFalse(repo.contains("file0.txt"));
+        assertTrue(repo.contains("file195.txt"));
+    }
+
+    @Test
+    public void testMaxSegments() throws Exception {
+        repo.setSegmentSize(1024);
+        repo.setMaxSegments(2);
+        repo.start();
+
+        for (int i = 0; i < 200; i++) {
+            repo.add("file" + i + ".txt");
+        }
+
+        // the oldest keys has been dropped by the background task
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(2, repo.getSegments()));
+        assertFalse(repo.contains("file0.txt"));
+        assertTrue(repo.contains("file199.txt"));
+    }
+
+    @Test
+    public void testBackgroundCompaction() throws Exception {
+        repo.setSegmentSize(1024);
+        repo.start();
+
+        for (int i = 0; i < 200; i++) {
+            repo.add("file" + i + ".txt");
+        }
+        int segments = repo.getSegments();
+        for (int i = 0; i < 190; i++) {
+            repo.remove("file" + i + ".txt");
+        }
+
+        // the oldest segments are compacted by the background task when the next segment is created
+        for (int i = 200; i < 250; i++) {
+            repo.add("file" + i + ".txt");
+        }
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertTrue(repo.getSegments() < segments));
+        assertEquals(60, repo.getSize());
+        assertTrue(repo.contains("file195.txt"));
+    }
+
+    @Test
+    public void testStopped() throws Exception {
+        repo.start();
+        assertTrue(repo.add("file1.txt"));
+        repo.stop();
+
+        try {
+            repo.add("file2.txt");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            repo.contains("file1.txt");
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, repo.getSize());
+
+        // and the keys are loaded when started again
+        repo.start();
+        assertTrue(repo.contains("file1.txt"));
+    }
+
+    @Test
+    public void testBloomFilterAndForceSync() throws Exception {
+        repo.setBloomFilterEnabled(true);
+        repo.setBloomFilterExpectedInsertions(1000);
+        repo.setForceSync(true);
+        repo.start();
+
+        assertTrue(repo.add("file1.txt"));
+        assertFalse(repo.add("file1.txt"));
+        assertTrue(repo.contains("file1.txt"));
+        assertFalse(repo.contains("file2.txt"));
+        assertTrue(repo.remove("file1.txt"));
+        assertFalse(repo.contains("file1.txt"));
+        assertTrue(repo.add("file1.txt"));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        repo.setSegmentSize(64 * 1024);
+        repo.start();
+
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    // all the threads add the same keys
+                    for (int i = 0; i < 5000; i++) {
+                        if (repo.add("file" + i + ".txt")) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5000, added.get());
+        assertEquals(5000, repo.getSize());
+    }
+
+}
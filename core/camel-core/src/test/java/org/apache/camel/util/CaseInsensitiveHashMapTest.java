@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CaseInsensitiveHashMapTest extends Assert {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOo"));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void testPreserveOriginalKey() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        map.put("Content-Type", "text/plain");
+        assertEquals("text/plain", map.put("CONTENT-TYPE", "text/xml"));
+
+        assertEquals(1, map.size());
+        assertEquals("Content-Type", map.keySet().iterator().next());
+        assertEquals("text/xml", map.get("content-type"));
+    }
+
+    @Test
+    public void testNonAscii() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        map.put("ÆbleGrØd", "yes");
+
+        assertEquals("yes", map.get("æblegrød"));
+        assertEquals("yes", map.get("ÆBLEGRØD"));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove("KEY" + i));
+        }
+        assertEquals(50, map.size());
+
+        List<String> keys = new ArrayList<>(map.keySet());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("key" + (i * 2 + 1), keys.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveAndPutMany() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        Map<String, Object> expected = new HashMap<>();
+        // keep adding and removing so removed entries are compacted
+        for (int i = 0; i < 10000; i++) {
+            map.put("Key" + i, i);
+            expected.put("key" + i, i);
+            if (i % 3 != 0) {
+                map.remove("KEY" + (i - 1));
+                expected.remove("key" + (i - 1));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        map.put("foo", 1);
+        map.put("bar", 2);
+        map.put("baz", 3);
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("bar")) {
+                it.remove();
+            } else {
+                entry.setValue(10);
+            }
+        }
+
+        assertEquals(2, map.size());
+        assertEquals(10, map.get("FOO"));
+        assertEquals(10, map.get("BAZ"));
+        assertFalse(map.containsKey("bar"));
+
+        map.keySet().remove("Foo");
+        assertEquals(1, map.size());
+        map.values().clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        CaseInsensitiveHashMap map = new CaseInsensitiveHashMap();
+        map.put("foo", "cheese");
+        map.put("bar", "wine");
+
+        Map<String, Object> copy = new CaseInsensitiveHashMap(map);
+        assertEquals(map, copy);
+
+        // changes to the copy does not affect the source
+        copy.put("FOO", "beer");
+        copy.put("baz", "water");
+        assertEquals("cheese", map.get("foo"));
+        assertFalse(map.containsKey("baz"));
+
+        // changes to the source does not affect the copy
+        Map<String, Object> copy2 = new CaseInsensitiveHashMap();
+        copy2.putAll(map);
+        map.remove("bar");
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(2, copy2.size());
+        assertEquals("wine", copy2.get("BAR"));
+
+        // the source can still be used
+        map.put("bar", "juice");
+        assertEquals("juice", map.get("Bar"));
+        assertEquals("wine", copy2.get("Bar"));
+    }
+
+    @Test
+    public void testEqualsOtherMaps() {
+        Map<String, Object> map = new CaseInsensitiveHashMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        Map<String, Object> other = new CaseInsensitiveMap();
+        other.put("foo", "cheese");
+        other.put("bar", 123);
+
+        assertEquals(other, map);
+        assertEquals(map, other);
+        assertEquals(other.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        CaseInsensitiveHashMap map = new CaseInsensitiveHashMap();
+        map.put("Foo", "cheese");
+        map.put("bar", 123);
+        map.remove("bar");
+        map.put("Baz", null);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bos);
+        out.writeObject(map);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) in.readObject();
+
+        assertEquals(2, copy.size());
+        assertEquals("cheese", copy.get("FOO"));
+        assertTrue(copy.containsKey("baz"));
+        assertEquals("[Foo, Baz]", copy.keySet().toString());
+    }
+
+}
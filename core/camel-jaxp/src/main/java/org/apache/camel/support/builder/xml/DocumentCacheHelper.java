@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.builder.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+
+/**
+ * Helper for caching the documents parsed from the message body (or a header) on the exchange, so the XML
+ * languages and components which are used on the same message, such as XPath, XSLT, XQuery and validation,
+ * only parse the message once.
+ * <p/>
+ * The cache is disabled by default, and is enabled by setting the global option
+ * {@link #DOCUMENT_CACHE_ENABLED} to <tt>true</tt> on the {@link CamelContext}.
+ * <p/>
+ * A cached document is only valid for the exchange and the message input it was parsed from. When the body
+ * (or header) is changed to another object then the cached documents are discarded the next time the cache
+ * is used, and the cache is not copied when the exchange is copied, such as by the Splitter or Multicast EIPs.
+ * Any component which changes the body to another XML document should call {@link #removeDocuments(Exchange)}.
+ * <p/>
+ * The cached documents must not be modified, as they are shared by the languages and components. Therefore
+ * only cache documents which has been parsed from the message, and not a document from the message as-is,
+ * and never return nodes of a cached document, such as the result of a XPath expression, to the caller.
+ */
+public final class DocumentCacheHelper {
+
+    /**
+     * The exchange property holding the documents parsed from the message.
+     */
+    public static final String DOCUMENT_CACHE = Exchange.XML_DOCUMENT_CACHE;
+
+    /**
+     * The global option to enable the cache.
+     */
+    public static final String DOCUMENT_CACHE_ENABLED = "CamelXmlDocumentCacheEnabled";
+
+    private DocumentCacheHelper() {
+    }
+
+    /**
+     * Whether caching the parsed documents is enabled by the global option {@link #DOCUMENT_CACHE_ENABLED}.
+     *
+     * @param exchange the exchange
+     * @return <tt>true</tt> if enabled
+     */
+    public static boolean isEnabled(Exchange exchange) {
+        CamelContext context = exchange.getContext();
+        return context != null && "true".equalsIgnoreCase(context.getGlobalOption(DOCUMENT_CACHE_ENABLED));
+    }
+
+    /**
+     * Gets the document of the given type which has already been parsed from the input on this exchange.
+     *
+     * @param exchange the exchange
+     * @param input    the message body or header the document was parsed from
+     * @param type     the type of document, such as {@link org.w3c.dom.Document}
+     * @return the document, or <tt>null</tt> if no document of the type has been parsed from the input
+     */
+    public static <T> T getDocument(Exchange exchange, Object input, Class<T> type) {
+        if (input == null || !isEnabled(exchange)) {
+            return null;
+        }
+        DocumentCache cache = exchange.getProperty(DOCUMENT_CACHE, DocumentCache.class);
+        if (cache == null) {
+            return null;
+        }
+        if (cache.exchange != exchange || cache.input != input) {
+            // the message has changed so do not keep the old documents
+            exchange.removeProperty(DOCUMENT_CACHE);
+            return null;
+        }
+        for (Object document : cache.documents) {
+            if (type.isInstance(document)) {
+                return type.cast(document);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches the document parsed from the input on this exchange. Any documents which was parsed from another
+     * input (such as the previous body) are discarded.
+     *
+     * @param exchange the exchange
+     * @param input    the message body or header the document was parsed from
+     * @param document the parsed document
+     */
+    public static void putDocument(Exchange exchange, Object input, Object document) {
+        if (input == null || document == null || input == document || !isEnabled(exchange)) {
+            return;
+        }
+        DocumentCache cache = exchange.getProperty(DOCUMENT_CACHE, DocumentCache.class);
+        if (cache == null || cache.exchange != exchange || cache.input != input) {
+            cache = new DocumentCache(exchange, input);
+            exchange.setProperty(DOCUMENT_CACHE, cache);
+        }
+        cache.documents.add(document);
+    }
+
+    /**
+     * Discards the documents cached on this exchange, such as when the message body has been changed.
+     *
+     * @param exchange the exchange
+     */
+    public static void removeDocuments(Exchange exchange) {
+        if (exchange.hasProperties()) {
+            exchange.removeProperty(DOCUMENT_CACHE);
+        }
+    }
+
+    private static final class DocumentCache {
+        private final Exchange exchange;
+        private final Object input;
+        // there is only a few kinds of documents, such as DOM and the Saxon tree
+        private final List<Object> documents = new ArrayList<>(2);
+
+        DocumentCache(Exchange exchange, Object input) {
+            this.exchange = exchange;
+            this.input = input;
+        }
+    }
+
+}
@@ -37,6 +37,7 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.ls.LSResourceResolver;
 
@@ -49,6 +50,7 @@ import org.apache.camel.ExpectedBodyTypeException;
 import org.apache.camel.RuntimeTransformException;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
 import org.apache.camel.support.builder.xml.XMLConverterHelper;
 import org.apache.camel.util.IOHelper;
 
@@ -117,8 +119,13 @@ public class ValidatingProcessor extends AsyncProcessorSupport {
         InputStream is = null;
         try {
             Result result = null;
-            // only convert to input stream if really needed
-            if (isInputStreamNeeded(exchange)) {
+            // reuse the document if the message has already been parsed, such as by xpath
+            Document document = DocumentCacheHelper.getDocument(exchange, getContentToValidate(exchange), Document.class);
+            if (document != null) {
+                log.trace("Reusing document parsed from the message");
+                source = new DOMSource(document);
+            } else if (isInputStreamNeeded(exchange)) {
+                // only convert to input stream if really needed
                 is = getContentToValidate(exchange, InputStream.class);
                 if (is != null) {
                     source = getSource(exchange, is);
@@ -143,7 +150,10 @@ public class ValidatingProcessor extends AsyncProcessorSupport {
             // CAMEL-7036 We don't need to set the result if the source is an
             // instance of
             // StreamSource
-            if (source instanceof DOMSource) {
+            if (document != null) {
+                // validate the cached document as-is, as the document must not be modified
+                result = null;
+            } else if (source instanceof DOMSource) {
                 result = new DOMResult();
             } else if (source instanceof SAXSource) {
                 result = new SAXResult();
@@ -108,7 +108,10 @@ public final class DefaultConfigurationConfigurer {
         // stream caching
         camelContext.setStreamCaching(config.isStreamCachingEnabled());
         camelContext.getStreamCachingStrategy().setAnySpoolRules(config.isStreamCachingAnySpoolRules());
-        camelContext.getStreamCachingStrategy().setBufferSize(config.getStreamCachingBufferSize());
+        if (config.getStreamCachingBufferSize() > 0) {
+            camelContext.getStreamCachingStrategy().setBufferSize(config.getStreamCachingBufferSize());
+        }
+        camelContext.getStreamCachingStrategy().setBufferPoolSize(config.getStreamCachingBufferPoolSize());
         camelContext.getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
         if (config.getStreamCachingSpoolDirectory() != null) {
@@ -47,6 +47,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
+    private long streamCachingBufferPoolSize;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
     private boolean streamCachingStatisticsEnabled;
     private boolean backlogTracing;
@@ -365,6 +366,25 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingBufferSize = streamCachingBufferSize;
     }
 
+    public long getStreamCachingBufferPoolSize() {
+        return streamCachingBufferPoolSize;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a pool of direct (off-heap) buffers, which are reused for in-memory stream caches
+     * instead of allocating byte arrays on the heap. Each buffer has the stream caching buffer size. When the pool is
+     * exhausted then the stream caches spool to disk.
+     *
+     * Important: a stream cache using the pool can only be read until the exchanges using it are done, as its
+     * buffers are then reused. Reading it afterwards, such as when the message body is kept by an aggregation
+     * strategy or a bean, fails with an IOException.
+     *
+     * The default value is 0 which means the pool is not in use.
+     */
+    public void setStreamCachingBufferPoolSize(long streamCachingBufferPoolSize) {
+        this.streamCachingBufferPoolSize = streamCachingBufferPoolSize;
+    }
+
     public boolean isStreamCachingRemoveSpoolDirectoryWhenStopping() {
         return streamCachingRemoveSpoolDirectoryWhenStopping;
     }
@@ -904,6 +924,22 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets the maximum size in bytes of a pool of direct (off-heap) buffers, which are reused for in-memory stream caches
+     * instead of allocating byte arrays on the heap. Each buffer has the stream caching buffer size. When the pool is
+     * exhausted then the stream caches spool to disk.
+     *
+     * Important: a stream cache using the pool can only be read until the exchanges using it are done, as its
+     * buffers are then reused. Reading it afterwards, such as when the message body is kept by an aggregation
+     * strategy or a bean, fails with an IOException.
+     *
+     * The default value is 0 which means the pool is not in use.
+     */
+    public T withStreamCachingBufferPoolSize(long streamCachingBufferPoolSize) {
+        this.streamCachingBufferPoolSize = streamCachingBufferPoolSize;
+        return (T) this;
+    }
+
     /**
      * Whether to remove stream caching temporary directory when stopping.
      * This option is default true.
@@ -30,6 +30,7 @@ public class MainConfigurationProperties extends DefaultConfigurationProperties<
     private boolean autowireComponentPropertiesAllowPrivateSetter = true;
     private int durationHitExitCode;
     private boolean hangupInterceptorEnabled = true;
+    private String startupSnapshotClass;
 
     // extended configuration
     private final HystrixConfigurationProperties hystrixConfigurationProperties = new HystrixConfigurationProperties(this);
@@ -189,6 +190,20 @@ public class MainConfigurationProperties extends DefaultConfigurationProperties<
         this.durationHitExitCode = durationHitExitCode;
     }
 
+    public String getStartupSnapshotClass() {
+        return startupSnapshotClass;
+    }
+
+    /**
+     * The fully qualified class name of the {@link StartupSnapshot} which has been generated at build time
+     * by {@link StartupSnapshotGenerator}, which is used to create and configure the components, languages,
+     * route builders and configuration classes without looking them up from the classpath, and without
+     * binding their properties using reflection.
+     */
+    public void setStartupSnapshotClass(String startupSnapshotClass) {
+        this.startupSnapshotClass = startupSnapshotClass;
+    }
+
     // fluent builders
     // --------------------------------------------------------------
 
@@ -293,6 +308,17 @@ public class MainConfigurationProperties extends DefaultConfigurationProperties<
         return this;
     }
 
+    /**
+     * The fully qualified class name of the {@link StartupSnapshot} which has been generated at build time
+     * by {@link StartupSnapshotGenerator}, which is used to create and configure the components, languages,
+     * route builders and configuration classes without looking them up from the classpath, and without
+     * binding their properties using reflection.
+     */
+    public MainConfigurationProperties withStartupSnapshotClass(String startupSnapshotClass) {
+        this.startupSnapshotClass = startupSnapshotClass;
+        return this;
+    }
+
     /**
      * Sets the exit code for the application if duration was hit
      */
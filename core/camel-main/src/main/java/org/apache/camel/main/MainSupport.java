@@ -92,6 +92,7 @@ public abstract class MainSupport extends ServiceSupport {
     protected String propertyPlaceholderLocations;
     protected Properties initialProperties;
     protected Properties overrideProperties;
+    protected StartupSnapshot startupSnapshot;
 
     /**
      * A class for intercepting the hang up signal and do a graceful shutdown of the Camel.
@@ -624,6 +625,18 @@ public abstract class MainSupport extends ServiceSupport {
         this.configurations = configurations;
     }
 
+    public StartupSnapshot getStartupSnapshot() {
+        return startupSnapshot;
+    }
+
+    /**
+     * Sets the {@link StartupSnapshot} generated at build time to use for creating and configuring
+     * the components, languages, route builders and configuration classes when starting.
+     */
+    public void setStartupSnapshot(StartupSnapshot startupSnapshot) {
+        this.startupSnapshot = startupSnapshot;
+    }
+
     public List<RouteDefinition> getRouteDefinitions() {
         List<RouteDefinition> answer = new ArrayList<>();
         if (camelContext != null) {
@@ -663,13 +676,11 @@ public abstract class MainSupport extends ServiceSupport {
         if (routeBuilderClasses != null) {
             String[] routeClasses = routeBuilderClasses.split(",");
             for (String routeClass : routeClasses) {
-                Class<?> routeClazz = camelContext.getClassResolver().resolveClass(routeClass);
-                // lets use Camel's injector so the class has some support for dependency injection
-                Object builder = camelContext.getInjector().newInstance(routeClazz);
+                Object builder = newInstance(camelContext, routeClass);
                 if (builder instanceof RouteBuilder) {
                     getRouteBuilders().add((RouteBuilder) builder);
                 } else {
-                    LOG.warn("Class {} is not a RouteBuilder class", routeClazz);
+                    LOG.warn("Class {} is not a RouteBuilder class", routeClass);
                 }
             }
         }
@@ -687,9 +698,7 @@ public abstract class MainSupport extends ServiceSupport {
         if (configurationClasses != null) {
             String[] configClasses = configurationClasses.split(",");
             for (String configClass : configClasses) {
-                Class<?> configClazz = camelContext.getClassResolver().resolveClass(configClass);
-                // lets use Camel's injector so the class has some support for dependency injection
-                Object config = camelContext.getInjector().newInstance(configClazz);
+                Object config = newInstance(camelContext, configClass);
                 getConfigurations().add(config);
             }
         }
@@ -704,6 +713,40 @@ public abstract class MainSupport extends ServiceSupport {
         }
     }
 
+    private Object newInstance(CamelContext camelContext, String className) throws Exception {
+        Object answer = startupSnapshot != null ? startupSnapshot.createInstance(className) : null;
+        if (answer != null) {
+            // lets use Camel's bean post processor so the instance has some support for dependency injection
+            CamelBeanPostProcessor postProcessor = camelContext.adapt(ExtendedCamelContext.class).getBeanPostProcessor();
+            postProcessor.postProcessBeforeInitialization(answer, className);
+            postProcessor.postProcessAfterInitialization(answer, className);
+        } else {
+            Class<?> clazz = camelContext.getClassResolver().resolveClass(className);
+            // lets use Camel's injector so the class has some support for dependency injection
+            answer = camelContext.getInjector().newInstance(clazz);
+        }
+        return answer;
+    }
+
+    protected void initStartupSnapshot(CamelContext camelContext) throws Exception {
+        String className = mainConfigurationProperties.getStartupSnapshotClass();
+        if (startupSnapshot == null && className != null) {
+            Class<?> type = camelContext.getClassResolver().resolveClass(className);
+            if (type != null) {
+                startupSnapshot = (StartupSnapshot) camelContext.getInjector().newInstance(type, false);
+            } else {
+                LOG.warn("Cannot find startup snapshot class: {}. Components and languages are resolved from the classpath.", className);
+            }
+        }
+
+        if (startupSnapshot != null) {
+            LOG.info("Using startup snapshot: {}", startupSnapshot.getClass().getName());
+            ExtendedCamelContext ecc = camelContext.adapt(ExtendedCamelContext.class);
+            ecc.setComponentResolver(new StartupSnapshotComponentResolver(startupSnapshot, ecc.getComponentResolver()));
+            ecc.setLanguageResolver(new StartupSnapshotLanguageResolver(startupSnapshot, ecc.getLanguageResolver()));
+        }
+    }
+
     protected void postProcessCamelContext(CamelContext camelContext) throws Exception {
         if (propertyPlaceholderLocations != null) {
             PropertiesComponent pc = camelContext.getPropertiesComponent();
@@ -750,6 +793,9 @@ public abstract class MainSupport extends ServiceSupport {
             autoConfigurationMainConfiguration(camelContext, mainConfigurationProperties, autoConfiguredProperties);
         }
 
+        // use the startup snapshot (if any) to create and configure the components, languages and routes
+        initStartupSnapshot(camelContext);
+
         // configure from main configuration properties
         doConfigureCamelContextFromMainConfiguration(camelContext, mainConfigurationProperties, autoConfiguredProperties);
 
@@ -1236,9 +1282,9 @@ public abstract class MainSupport extends ServiceSupport {
         setRouteBuilderClasses(existing);
     }
 
-    private static boolean setPropertiesOnTarget(CamelContext context, Object target, Map<String, Object> properties,
-                                                 String optionKey, String optionPrefix, boolean failIfNotSet, boolean ignoreCase,
-                                                 Map<String, String> autoConfiguredProperties) throws Exception {
+    private boolean setPropertiesOnTarget(CamelContext context, Object target, Map<String, Object> properties,
+                                          String optionKey, String optionPrefix, boolean failIfNotSet, boolean ignoreCase,
+                                          Map<String, String> autoConfiguredProperties) throws Exception {
         ObjectHelper.notNull(context, "context");
         ObjectHelper.notNull(target, "target");
         ObjectHelper.notNull(properties, "properties");
@@ -1261,7 +1307,9 @@ public abstract class MainSupport extends ServiceSupport {
             LOG.debug("Configuring property: {}={} on bean: {}", key, stringValue, target);
             try {
                 boolean hit;
-                if (failIfNotSet) {
+                if (setPropertyFromStartupSnapshot(context, target, name, stringValue, ignoreCase)) {
+                    hit = true;
+                } else if (failIfNotSet) {
                     PropertyBindingSupport.build().withMandatory(true).withIgnoreCase(ignoreCase).bind(context, target, name, stringValue);
                     hit = true;
                 } else {
@@ -1287,6 +1335,22 @@ public abstract class MainSupport extends ServiceSupport {
         return rc;
     }
 
+    private boolean setPropertyFromStartupSnapshot(CamelContext context, Object target, String name, String value, boolean ignoreCase) {
+        if (startupSnapshot == null || !ignoreCase) {
+            // the snapshot matches the property names in lower case, so the case can only be checked using reflection
+            return false;
+        }
+        if (value == null || value.trim().startsWith("#") || name.contains(".") || name.contains("[")) {
+            // references to beans and nested properties are bound using reflection
+            return false;
+        }
+        try {
+            return startupSnapshot.bindProperty(context, target, optionKey(name), context.resolvePropertyPlaceholders(value));
+        } catch (Exception e) {
+            throw new PropertyBindingException(target, name, value, e);
+        }
+    }
+
     private static final class PropertyOptionKey {
 
         private final String key;
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.main;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.spi.Language;
+
+/**
+ * A snapshot of what Camel Main resolves and configures when starting, which is generated at build time by
+ * {@link StartupSnapshotGenerator} as Java source code. This allows to create the components, languages,
+ * route builders and configuration classes, and to set their properties, by calling the constructors and
+ * setter methods directly, instead of looking up the classes from the classpath and binding the properties
+ * using reflection.
+ * <p/>
+ * Anything which is not in the snapshot is resolved and configured as usual.
+ */
+public interface StartupSnapshot {
+
+    /**
+     * Creates the component with the given name.
+     *
+     * @param name the name of the component
+     * @return the new component, or <tt>null</tt> if the component is not in the snapshot
+     */
+    Component createComponent(String name);
+
+    /**
+     * Creates the language with the given name.
+     *
+     * @param name the name of the language
+     * @return the new language, or <tt>null</tt> if the language is not in the snapshot
+     */
+    Language createLanguage(String name);
+
+    /**
+     * Creates an instance of the route builder or configuration class with the given name.
+     *
+     * @param className the name of the class
+     * @return the new instance, or <tt>null</tt> if the class is not in the snapshot
+     */
+    Object createInstance(String className);
+
+    /**
+     * Sets the property on the target by calling its setter method. This is only used when the property names
+     * are matched ignoring case, as the setter methods are found by the name in lower case.
+     *
+     * @param camelContext the camel context, used for type conversion of the value
+     * @param target       the target such as a component
+     * @param name         the name of the property in lower case and without dashes
+     * @param value        the value, where property placeholders have already been resolved
+     * @return <tt>true</tt> if the property was set, or <tt>false</tt> if the property is not in the snapshot
+     * @throws Exception is thrown if the value cannot be converted to the type of the property
+     */
+    boolean bindProperty(CamelContext camelContext, Object target, String name, String value) throws Exception;
+
+}
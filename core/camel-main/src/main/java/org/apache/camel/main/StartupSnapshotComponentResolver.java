@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.main;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.spi.ComponentResolver;
+import org.apache.camel.support.ResolverHelper;
+
+/**
+ * A {@link ComponentResolver} which creates the components in the {@link StartupSnapshot},
+ * and otherwise uses the given resolver.
+ */
+class StartupSnapshotComponentResolver implements ComponentResolver {
+
+    private final StartupSnapshot snapshot;
+    private final ComponentResolver delegate;
+
+    StartupSnapshotComponentResolver(StartupSnapshot snapshot, ComponentResolver delegate) {
+        this.snapshot = snapshot;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Component resolveComponent(String name, CamelContext context) throws Exception {
+        // lookup in registry first
+        Component answer = ResolverHelper.lookupComponentInRegistryWithFallback(context, name);
+        if (answer == null) {
+            answer = snapshot.createComponent(name);
+        }
+        if (answer == null) {
+            answer = delegate.resolveComponent(name, context);
+        }
+        return answer;
+    }
+}
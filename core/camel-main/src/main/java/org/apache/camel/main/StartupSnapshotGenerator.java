@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.main;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.spi.Language;
+import org.apache.camel.spi.RestConfiguration;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates the Java source code of a {@link StartupSnapshot} at build time.
+ * <p/>
+ * The generator initializes and starts the {@link CamelContext} of the given {@link MainSupport} (without starting
+ * the routes), and records the components, languages, route builders and configuration classes which was resolved,
+ * together with the setter methods of their properties. The generated class can then be used at runtime
+ * by setting the <tt>camel.main.startupSnapshotClass</tt> option.
+ * <p/>
+ * The generator can be run from the build, such as by the exec maven plugin, with the arguments:
+ * <tt>outputDir className [routeBuilderClasses]</tt>.
+ */
+public class StartupSnapshotGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupSnapshotGenerator.class);
+
+    private final MainSupport main;
+
+    public StartupSnapshotGenerator(MainSupport main) {
+        this.main = main;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupSnapshotGenerator outputDir className [routeBuilderClasses]");
+            System.exit(1);
+        }
+        Main main = new Main();
+        if (args.length > 2) {
+            main.setRouteBuilderClasses(args[2]);
+        }
+        File file = new StartupSnapshotGenerator(main).generate(args[1], new File(args[0]));
+        LOG.info("Generated startup snapshot: {}", file);
+    }
+
+    /**
+     * Generates the startup snapshot and writes the source code to the given directory.
+     *
+     * @param className the fully qualified name of the class to generate
+     * @param outputDir the directory where the source code is written (using a sub directory per package)
+     * @return the generated file
+     */
+    public File generate(String className, File outputDir) throws Exception {
+        String source = generate(className);
+        File file = new File(outputDir, className.replace('.', File.separatorChar) + ".java");
+        file.getParentFile().mkdirs();
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(source.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            IOHelper.close(os);
+        }
+        return file;
+    }
+
+    /**
+     * Generates the startup snapshot.
+     *
+     * @param className the fully qualified name of the class to generate
+     * @return the source code
+     */
+    public String generate(String className) throws Exception {
+        ObjectHelper.notNull(className, "className");
+
+        Map<String, Class<?>> components = new TreeMap<>();
+        Map<String, Class<?>> languages = new TreeMap<>();
+        Map<String, Class<?>> instances = new TreeMap<>();
+        Set<Class<?>> targets = new HashSet<>();
+
+        main.init();
+        try {
+            CamelContext camelContext = main.getCamelContext();
+            // start the context to create the routes, which resolves the components and languages in use
+            camelContext.setAutoStartup(false);
+            camelContext.start();
+
+            for (String name : camelContext.getComponentNames()) {
+                Component component = camelContext.getComponent(name);
+                if (component != null && isInstantiable(component.getClass())) {
+                    components.put(name, component.getClass());
+                    targets.add(component.getClass());
+                }
+            }
+            for (String name : camelContext.getLanguageNames()) {
+                Language language = camelContext.resolveLanguage(name);
+                if (language != null && isInstantiable(language.getClass())) {
+                    languages.put(name, language.getClass());
+                    targets.add(language.getClass());
+                }
+            }
+            for (String name : classNames(main.getRouteBuilderClasses(), main.getConfigurationClasses())) {
+                Class<?> type = camelContext.getClassResolver().resolveClass(name);
+                if (type != null && isInstantiable(type)) {
+                    instances.put(name, type);
+                }
+            }
+            targets.add(camelContext.getClass());
+            targets.add(RestConfiguration.class);
+        } finally {
+            main.stop();
+        }
+
+        return generateSource(className, components, languages, instances, targets);
+    }
+
+    private static List<String> classNames(String... values) {
+        List<String> answer = new ArrayList<>();
+        for (String value : values) {
+            if (value != null) {
+                for (String name : value.split(",")) {
+                    name = name.trim();
+                    if (!name.isEmpty()) {
+                        answer.add(name);
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    private static boolean isInstantiable(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()) || type.getCanonicalName() == null) {
+            return false;
+        }
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPublic(Class<?> type) {
+        return Modifier.isPublic(type.getModifiers()) && type.getCanonicalName() != null;
+    }
+
+    private static boolean isSupportedType(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type == Boolean.class || type == Character.class
+            || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.lang.")
+            || type.isEnum() && isPublic(type);
+    }
+
+    /**
+     * Finds the setter methods of the given type, keyed by the property name in lower case.
+     * Overloaded setters are left for reflection, as the value decides which setter to use.
+     */
+    private static Map<String, Method> findSetters(Class<?> type) {
+        Map<String, Method> answer = new TreeMap<>();
+        Set<String> overloaded = new HashSet<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 1
+                || name.length() <= 3 || !name.startsWith("set")) {
+                continue;
+            }
+            String key = name.substring(3).toLowerCase(Locale.US);
+            if (answer.put(key, method) != null) {
+                overloaded.add(key);
+            }
+        }
+        answer.keySet().removeAll(overloaded);
+        answer.values().removeIf(m -> !isSupportedType(m.getParameterTypes()[0]) || !isPublic(m.getDeclaringClass()));
+        return answer;
+    }
+
+    private static String generateSource(String className, Map<String, Class<?>> components, Map<String, Class<?>> languages,
+                                         Map<String, Class<?>> instances, Set<Class<?>> targets) {
+        int pos = className.lastIndexOf('.');
+        String packageName = pos > 0 ? className.substring(0, pos) : null;
+        String simpleName = className.substring(pos + 1);
+
+        StringBuilder sb = new StringBuilder();
+        if (packageName != null) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import org.apache.camel.CamelContext;\n");
+        sb.append("import org.apache.camel.Component;\n");
+        sb.append("import org.apache.camel.main.StartupSnapshot;\n");
+        sb.append("import org.apache.camel.spi.Language;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Generated by camel-main ").append(StartupSnapshotGenerator.class.getSimpleName()).append(" - do not edit this file!\n");
+        sb.append(" */\n");
+        sb.append("@SuppressWarnings(\"deprecation\")\n");
+        sb.append("public class ").append(simpleName).append(" implements StartupSnapshot {\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Component createComponent(String name) {\n");
+        appendSwitch(sb, "name", components);
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Language createLanguage(String name) {\n");
+        appendSwitch(sb, "name", languages);
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Object createInstance(String className) {\n");
+        appendSwitch(sb, "className", instances);
+        sb.append("    }\n\n");
+
+        // sort the targets by name so the generated source is the same on every build
+        Map<String, Class<?>> sorted = new TreeMap<>();
+        for (Class<?> target : targets) {
+            if (isPublic(target)) {
+                sorted.put(target.getName(), target);
+            }
+        }
+        List<String> binders = new ArrayList<>();
+        StringBuilder methods = new StringBuilder();
+        for (Class<?> target : sorted.values()) {
+            Map<String, Method> setters = findSetters(target);
+            if (setters.isEmpty()) {
+                continue;
+            }
+            String method = "bind" + binders.size();
+            String type = target.getCanonicalName();
+            binders.add("        if (target.getClass() == " + type + ".class) {\n"
+                + "            return " + method + "(camelContext, (" + type + ") target, name, value);\n"
+                + "        }\n");
+
+            methods.append("    private static boolean ").append(method).append("(CamelContext camelContext, ").append(type)
+                .append(" target, String name, String value) throws Exception {\n");
+            methods.append("        switch (name) {\n");
+            for (Map.Entry<String, Method> entry : setters.entrySet()) {
+                Class<?> parameterType = entry.getValue().getParameterTypes()[0];
+                String argument = parameterType == String.class
+                    ? "value" : "convert(camelContext, " + parameterType.getCanonicalName() + ".class, value)";
+                methods.append("        case \"").append(entry.getKey()).append("\":\n");
+                methods.append("            target.").append(entry.getValue().getName()).append("(").append(argument).append(");\n");
+                methods.append("            return true;\n");
+            }
+            methods.append("        default:\n");
+            methods.append("            return false;\n");
+            methods.append("        }\n");
+            methods.append("    }\n\n");
+        }
+
+        sb.append("    @Override\n");
+        sb.append("    public boolean bindProperty(CamelContext camelContext, Object target, String name, String value) throws Exception {\n");
+        for (String binder : binders) {
+            sb.append(binder);
+        }
+        sb.append("        return false;\n");
+        sb.append("    }\n\n");
+        sb.append(methods);
+
+        sb.append("    private static <T> T convert(CamelContext camelContext, Class<T> type, String value) throws Exception {\n");
+        sb.append("        return camelContext.getTypeConverter().mandatoryConvertTo(type, value);\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        LOG.debug("Generated startup snapshot {} with {} components, {} languages, {} instances and {} property binders",
+            className, components.size(), languages.size(), instances.size(), binders.size());
+        return sb.toString();
+    }
+
+    private static void appendSwitch(StringBuilder sb, String variable, Map<String, Class<?>> types) {
+        sb.append("        switch (").append(variable).append(") {\n");
+        for (Map.Entry<String, Class<?>> entry : types.entrySet()) {
+            sb.append("        case \"").append(entry.getKey()).append("\":\n");
+            sb.append("            return new ").append(entry.getValue().getCanonicalName()).append("();\n");
+        }
+        sb.append("        default:\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.main;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.Language;
+import org.apache.camel.spi.LanguageResolver;
+import org.apache.camel.support.ResolverHelper;
+
+/**
+ * A {@link LanguageResolver} which creates the languages in the {@link StartupSnapshot},
+ * and otherwise uses the given resolver.
+ */
+class StartupSnapshotLanguageResolver implements LanguageResolver {
+
+    private final StartupSnapshot snapshot;
+    private final LanguageResolver delegate;
+
+    StartupSnapshotLanguageResolver(StartupSnapshot snapshot, LanguageResolver delegate) {
+        this.snapshot = snapshot;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Language resolveLanguage(String name, CamelContext context) {
+        // lookup in registry first
+        Language answer = ResolverHelper.lookupLanguageInRegistryWithFallback(context, name);
+        if (answer == null) {
+            answer = snapshot.createLanguage(name);
+        }
+        if (answer == null) {
+            answer = delegate.resolveLanguage(name, context);
+        }
+        return answer;
+    }
+}
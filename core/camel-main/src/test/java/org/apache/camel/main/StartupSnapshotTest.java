@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.direct.DirectComponent;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.component.seda.SedaComponent;
+import org.apache.camel.spi.Language;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StartupSnapshotTest extends Assert {
+
+    private static final List<String> CALLS = new ArrayList<>();
+
+    @Test
+    public void testStartupSnapshot() throws Exception {
+        CALLS.clear();
+
+        Properties prop = new Properties();
+        prop.put("camel.component.seda.queue-size", "{{size}}");
+        prop.put("size", "500");
+
+        Main main = new Main();
+        main.setOverrideProperties(prop);
+        main.setStartupSnapshot(new MySnapshot());
+        main.setRouteBuilderClasses(MyRouteBuilder.class.getName());
+        main.start();
+
+        CamelContext camelContext = main.getCamelContext();
+        assertNotNull(camelContext);
+
+        // the route builder and the seda component are in the snapshot
+        assertTrue(CALLS.contains("instance:" + MyRouteBuilder.class.getName()));
+        assertTrue(CALLS.contains("component:seda"));
+        assertTrue(CALLS.contains("bind:queuesize=500"));
+        assertEquals(500, camelContext.getComponent("seda", SedaComponent.class).getQueueSize());
+
+        // whereas the direct and mock components are resolved as usual
+        assertTrue(CALLS.contains("component:direct"));
+        assertTrue(camelContext.getComponent("direct") instanceof DirectComponent);
+
+        MockEndpoint endpoint = camelContext.getEndpoint("mock:results", MockEndpoint.class);
+        endpoint.expectedBodiesReceived("Hello World");
+
+        main.getCamelTemplate().sendBody("direct:start", "Hello World");
+
+        endpoint.assertIsSatisfied();
+
+        main.stop();
+    }
+
+    @Test
+    public void testStartupSnapshotClass() throws Exception {
+        CALLS.clear();
+
+        Main main = new Main();
+        main.configure().withStartupSnapshotClass(MySnapshot.class.getName());
+        main.addRouteBuilder(new MyRouteBuilder());
+        main.start();
+
+        assertTrue(main.getStartupSnapshot() instanceof MySnapshot);
+        assertTrue(CALLS.contains("component:seda"));
+
+        main.stop();
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        Main main = new Main();
+        main.setRouteBuilderClasses(MyRouteBuilder.class.getName());
+
+        String source = new StartupSnapshotGenerator(main).generate("org.apache.camel.main.MyGeneratedSnapshot");
+
+        assertTrue(source, source.startsWith("package org.apache.camel.main;"));
+        assertTrue(source, source.contains("public class MyGeneratedSnapshot implements StartupSnapshot"));
+        assertTrue(source, source.contains("case \"direct\":\n            return new org.apache.camel.component.direct.DirectComponent();"));
+        assertTrue(source, source.contains("case \"seda\":\n            return new org.apache.camel.component.seda.SedaComponent();"));
+        assertTrue(source, source.contains("case \"" + MyRouteBuilder.class.getName() + "\":\n"
+            + "            return new org.apache.camel.main.StartupSnapshotTest.MyRouteBuilder();"));
+        assertTrue(source, source.contains("if (target.getClass() == org.apache.camel.component.seda.SedaComponent.class)"));
+        assertTrue(source, source.contains("case \"queuesize\":\n            target.setQueueSize(convert(camelContext, int.class, value));"));
+    }
+
+    public static class MySnapshot implements StartupSnapshot {
+
+        @Override
+        public Component createComponent(String name) {
+            CALLS.add("component:" + name);
+            return "seda".equals(name) ? new SedaComponent() : null;
+        }
+
+        @Override
+        public Language createLanguage(String name) {
+            CALLS.add("language:" + name);
+            return null;
+        }
+
+        @Override
+        public Object createInstance(String className) {
+            CALLS.add("instance:" + className);
+            return MyRouteBuilder.class.getName().equals(className) ? new MyRouteBuilder() : null;
+        }
+
+        @Override
+        public boolean bindProperty(CamelContext camelContext, Object target, String name, String value) throws Exception {
+            if (target instanceof SedaComponent && "queuesize".equals(name)) {
+                CALLS.add("bind:" + name + "=" + value);
+                ((SedaComponent) target).setQueueSize(Integer.parseInt(value));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public static class MyRouteBuilder extends RouteBuilder {
+        @Override
+        public void configure() throws Exception {
+            from("direct:start").to("seda:foo");
+            from("seda:foo").to("mock:results");
+        }
+    }
+}
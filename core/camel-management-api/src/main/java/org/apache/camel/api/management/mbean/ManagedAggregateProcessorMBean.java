@@ -69,6 +69,12 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Optimistic locking")
     boolean isOptimisticLocking();
 
+    @ManagedAttribute(description = "Striped locking")
+    boolean isStripedLocking();
+
+    @ManagedAttribute(description = "Number of stripes the lock is split into when using striped locking")
+    int getLockStripes();
+
     @ManagedAttribute(description = "Whether or not to eager check for completion when a new incoming Exchange has been received")
     boolean isEagerCheckCompletion();
 
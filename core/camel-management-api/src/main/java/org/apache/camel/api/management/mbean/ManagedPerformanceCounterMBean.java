@@ -59,6 +59,24 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "Whether the processing times are recorded in a histogram (statistics level is Histogram)")
+    boolean isProcessingTimeHistogramEnabled();
+
+    @ManagedAttribute(description = "50th Percentile Processing Time [milliseconds] (requires statistics level Histogram)")
+    long getP50ProcessingTime();
+
+    @ManagedAttribute(description = "90th Percentile Processing Time [milliseconds] (requires statistics level Histogram)")
+    long getP90ProcessingTime();
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds] (requires statistics level Histogram)")
+    long getP99ProcessingTime();
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds] (requires statistics level Histogram)")
+    long getP999ProcessingTime();
+
+    @ManagedOperation(description = "Processing Time [milliseconds] at the given percentile (requires statistics level Histogram)")
+    long processingTimePercentile(double percentile);
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
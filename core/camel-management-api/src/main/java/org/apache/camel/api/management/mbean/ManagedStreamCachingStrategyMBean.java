@@ -61,6 +61,21 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     int getBufferSize();
 
+    @ManagedAttribute(description = "Maximum size in bytes of the pool of direct buffers used for in-memory stream caches (0 = not in use)")
+    void setBufferPoolSize(long bufferPoolSize);
+
+    @ManagedAttribute(description = "Maximum size in bytes of the pool of direct buffers used for in-memory stream caches (0 = not in use)")
+    long getBufferPoolSize();
+
+    @ManagedAttribute(description = "Number of bytes of the pooled direct buffers currently in use")
+    long getBufferPoolUsedSize();
+
+    @ManagedAttribute(description = "Number of bytes of direct buffers allocated by the pool")
+    long getBufferPoolAllocatedSize();
+
+    @ManagedAttribute(description = "Number of times the pool of direct buffers was exhausted and the stream cache spooled to disk")
+    long getBufferPoolExhaustedCounter();
+
     @ManagedAttribute(description = "Whether to remove spool directory when stopping")
     void setRemoveSpoolDirectoryWhenStopping(boolean remove);
 
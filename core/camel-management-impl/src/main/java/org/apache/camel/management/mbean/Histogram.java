@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of recorded values, to calculate percentiles of the values.
+ * <p/>
+ * The histogram uses log-linear buckets (as HdrHistogram), where values below 64 are recorded exactly, and greater
+ * values are recorded with a relative error of at most 1/32 (3%). Values greater than {@link #HIGHEST_TRACKABLE_VALUE}
+ * are recorded as the highest trackable value. Recording a value is lock-free by incrementing the count of its bucket,
+ * and the buckets take up 7kb of memory.
+ * <p/>
+ * This is not a {@link Statistic}, as the recorded values cannot be incremented or decremented. The number of
+ * recorded values is calculated by summing the buckets, so a separate counter should be used when the count is
+ * read frequently.
+ */
+public class Histogram {
+
+    /**
+     * The highest value which can be recorded, which is about 49 days in millis.
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << 32) - 1;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(HIGHEST_TRACKABLE_VALUE) + 1);
+
+    /**
+     * Records the value
+     */
+    public void record(long value) {
+        counts.incrementAndGet(indexOf(Math.min(Math.max(0, value), HIGHEST_TRACKABLE_VALUE)));
+    }
+
+    /**
+     * Gets the number of recorded values
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the value at the given percentile, which is the highest value which is recorded in the same bucket
+     * as the value at the percentile.
+     *
+     * @param percentile the percentile, such as 99.9
+     * @return the value, or 0 if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, was " + percentile);
+        }
+        // take a snapshot so the counts do not change while we walk the buckets
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            count += snapshot[i];
+            if (count >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return HIGHEST_TRACKABLE_VALUE;
+    }
+
+    /**
+     * Gets the lowest recorded value, which is the lowest value of the first bucket with recorded values.
+     *
+     * @return the value, or 0 if no values has been recorded
+     */
+    public long getMinValue() {
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) > 0) {
+                return lowestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the highest recorded value, which is the highest value of the last bucket with recorded values.
+     *
+     * @return the value, or 0 if no values has been recorded
+     */
+    public long getMaxValue() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return highestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "" + getCount();
+    }
+
+    /**
+     * Clears the recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // the values between 2^n and 2^(n+1) are split in half the sub buckets
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - shift * SUB_BUCKET_HALF_COUNT;
+        return subBucket << shift;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
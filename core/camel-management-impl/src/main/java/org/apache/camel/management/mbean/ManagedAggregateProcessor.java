@@ -153,6 +153,16 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    @Override
+    public boolean isStripedLocking() {
+        return processor.isStripedLocking();
+    }
+
+    @Override
+    public int getLockStripes() {
+        return processor.getLockStripes();
+    }
+
     @Override
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
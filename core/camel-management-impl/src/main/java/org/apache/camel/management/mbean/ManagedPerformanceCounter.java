@@ -18,8 +18,10 @@ package org.apache.camel.management.mbean;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.ManagementStatisticsLevel;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedPerformanceCounterMBean;
 import org.apache.camel.management.PerformanceCounter;
@@ -51,22 +53,31 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
     private String lastExchangeFailureExchangeId;
+    // only in use when the statistics level is histogram
+    private Histogram processingTimeHistogram;
+    // with the histogram the last completed exchange is set lazily, as it is only read by management
+    private final AtomicLong lastCompletedProcessingTime = new AtomicLong();
+    private final AtomicLong previousCompletedProcessingTime = new AtomicLong();
+    private final AtomicLong lastCompletedTimestamp = new AtomicLong();
     private boolean statisticsEnabled = true;
 
     @Override
     public void init(ManagementStrategy strategy) {
         super.init(strategy);
-        this.exchangesCompleted = new StatisticCounter();
-        this.exchangesFailed = new StatisticCounter();
-        this.exchangesInflight = new StatisticCounter();
+        boolean histogram = strategy != null && strategy.getManagementAgent() != null
+            && strategy.getManagementAgent().getStatisticsLevel() == ManagementStatisticsLevel.Histogram;
+        this.processingTimeHistogram = histogram ? new Histogram() : null;
+        this.exchangesCompleted = createCounter();
+        this.exchangesFailed = createCounter();
+        this.exchangesInflight = createCounter();
 
-        this.failuresHandled = new StatisticCounter();
-        this.redeliveries = new StatisticCounter();
-        this.externalRedeliveries = new StatisticCounter();
+        this.failuresHandled = createCounter();
+        this.redeliveries = createCounter();
+        this.externalRedeliveries = createCounter();
 
         this.minProcessingTime = new StatisticMinimum();
         this.maxProcessingTime = new StatisticMaximum();
-        this.totalProcessingTime = new StatisticCounter();
+        this.totalProcessingTime = createCounter();
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
         this.meanProcessingTime = new StatisticValue();
@@ -88,6 +99,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         externalRedeliveries.reset();
         minProcessingTime.reset();
         maxProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
+        lastCompletedProcessingTime.set(0);
+        previousCompletedProcessingTime.set(0);
+        lastCompletedTimestamp.set(0);
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
@@ -102,6 +119,20 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastExchangeFailureExchangeId = null;
     }
 
+    private Statistic createCounter() {
+        // use striped counters with the histogram as they have less contention
+        return processingTimeHistogram != null ? new StatisticAdder() : new StatisticCounter();
+    }
+
+    @Override
+    public long getExchangesTotal() throws Exception {
+        if (processingTimeHistogram != null) {
+            // the total is calculated when needed, instead of counting every exchange twice
+            return exchangesCompleted.getValue() + exchangesFailed.getValue();
+        }
+        return super.getExchangesTotal();
+    }
+
     @Override
     public long getExchangesCompleted() throws Exception {
         return exchangesCompleted.getValue();
@@ -134,16 +165,41 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
 
     @Override
     public long getMinProcessingTime() throws Exception {
+        return getMinProcessingTimeValue();
+    }
+
+    private long getMinProcessingTimeValue() {
+        if (processingTimeHistogram != null) {
+            // the min is found from the histogram when needed, instead of when every exchange completes
+            return processingTimeHistogram.getMinValue();
+        }
         return minProcessingTime.getValue();
     }
 
     @Override
     public long getMeanProcessingTime() throws Exception {
+        return getMeanProcessingTimeValue();
+    }
+
+    private long getMeanProcessingTimeValue() {
+        if (processingTimeHistogram != null) {
+            // the mean is calculated when needed, instead of when every exchange completes
+            long completed = exchangesCompleted.getValue();
+            return completed > 0 ? totalProcessingTime.getValue() / completed : 0;
+        }
         return meanProcessingTime.getValue();
     }
 
     @Override
     public long getMaxProcessingTime() throws Exception {
+        return getMaxProcessingTimeValue();
+    }
+
+    private long getMaxProcessingTimeValue() {
+        if (processingTimeHistogram != null) {
+            // the max is found from the histogram when needed, instead of when every exchange completes
+            return processingTimeHistogram.getMaxValue();
+        }
         return maxProcessingTime.getValue();
     }
 
@@ -154,20 +210,75 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
 
     @Override
     public long getLastProcessingTime() throws Exception {
+        return getLastProcessingTimeValue();
+    }
+
+    private long getLastProcessingTimeValue() {
+        if (processingTimeHistogram != null) {
+            // -1 until an exchange has completed, the same as without the histogram
+            return exchangesCompleted.getValue() > 0 ? lastCompletedProcessingTime.get() : -1;
+        }
         return lastProcessingTime.getValue();
     }
 
     @Override
     public long getDeltaProcessingTime() throws Exception {
+        return getDeltaProcessingTimeValue();
+    }
+
+    private long getDeltaProcessingTimeValue() {
+        if (processingTimeHistogram != null) {
+            return lastCompletedProcessingTime.get() - previousCompletedProcessingTime.get();
+        }
         return deltaProcessingTime.getValue();
     }
 
+    @Override
+    public boolean isProcessingTimeHistogramEnabled() {
+        return processingTimeHistogram != null;
+    }
+
+    @Override
+    public long getP50ProcessingTime() {
+        return processingTimePercentile(50);
+    }
+
+    @Override
+    public long getP90ProcessingTime() {
+        return processingTimePercentile(90);
+    }
+
+    @Override
+    public long getP99ProcessingTime() {
+        return processingTimePercentile(99);
+    }
+
+    @Override
+    public long getP999ProcessingTime() {
+        return processingTimePercentile(99.9);
+    }
+
+    @Override
+    public long processingTimePercentile(double percentile) {
+        if (processingTimeHistogram == null) {
+            return 0;
+        }
+        return processingTimeHistogram.getValueAtPercentile(percentile);
+    }
+
     @Override
     public Date getLastExchangeCompletedTimestamp() {
-        long value = lastExchangeCompletedTimestamp.getValue();
+        long value = getLastExchangeCompletedTimestampValue();
         return value > 0 ? new Date(value) : null;
     }
 
+    private long getLastExchangeCompletedTimestampValue() {
+        if (processingTimeHistogram != null) {
+            return lastCompletedTimestamp.get();
+        }
+        return lastExchangeCompletedTimestamp.getValue();
+    }
+
     @Override
     public String getLastExchangeCompletedExchangeId() {
         return lastExchangeCompletedExchangeId;
@@ -223,6 +334,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
 
     @Override
     public void completedExchange(Exchange exchange, long time) {
+        if (processingTimeHistogram != null) {
+            completedExchangeWithHistogram(exchange, time);
+            return;
+        }
+
         increment();
         exchangesCompleted.increment();
         exchangesInflight.decrement();
@@ -261,9 +377,44 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         meanProcessingTime.updateValue(mean);
     }
 
+    /**
+     * Updates the statistics when an exchange is completed with the histogram, which is done with as little work
+     * as possible. The total of exchanges, and the min, max and mean processing time are calculated when read,
+     * from the histogram and the striped counters, and the last completed exchange is set lazily.
+     */
+    private void completedExchangeWithHistogram(Exchange exchange, long time) {
+        exchangesCompleted.increment();
+        exchangesInflight.decrement();
+
+        if (ExchangeHelper.isFailureHandled(exchange)) {
+            failuresHandled.increment();
+        }
+        Boolean externalRedelivered = exchange.isExternalRedelivered();
+        if (externalRedelivered != null && externalRedelivered) {
+            externalRedeliveries.increment();
+        }
+
+        processingTimeHistogram.record(time);
+        totalProcessingTime.updateValue(time);
+
+        long now = System.currentTimeMillis();
+        previousCompletedProcessingTime.lazySet(lastCompletedProcessingTime.get());
+        lastCompletedProcessingTime.lazySet(time);
+        lastCompletedTimestamp.lazySet(now);
+        String exchangeId = exchange.getExchangeId();
+        lastExchangeCompletedExchangeId = exchangeId;
+
+        if (firstExchangeCompletedExchangeId == null) {
+            firstExchangeCompletedTimestamp.updateValue(now);
+            firstExchangeCompletedExchangeId = exchangeId;
+        }
+    }
+
     @Override
     public void failedExchange(Exchange exchange) {
-        increment();
+        if (processingTimeHistogram == null) {
+            increment();
+        }
         exchangesFailed.increment();
         exchangesInflight.decrement();
 
@@ -296,12 +447,18 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" failuresHandled=\"%s\"", failuresHandled.getValue()));
         sb.append(String.format(" redeliveries=\"%s\"", redeliveries.getValue()));
         sb.append(String.format(" externalRedeliveries=\"%s\"", externalRedeliveries.getValue()));
-        sb.append(String.format(" minProcessingTime=\"%s\"", minProcessingTime.getValue()));
-        sb.append(String.format(" maxProcessingTime=\"%s\"", maxProcessingTime.getValue()));
+        sb.append(String.format(" minProcessingTime=\"%s\"", getMinProcessingTimeValue()));
+        sb.append(String.format(" maxProcessingTime=\"%s\"", getMaxProcessingTimeValue()));
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
-        sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
-        sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" lastProcessingTime=\"%s\"", getLastProcessingTimeValue()));
+        sb.append(String.format(" deltaProcessingTime=\"%s\"", getDeltaProcessingTimeValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", getMeanProcessingTimeValue()));
+        if (processingTimeHistogram != null) {
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", getP50ProcessingTime()));
+            sb.append(String.format(" p90ProcessingTime=\"%s\"", getP90ProcessingTime()));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", getP99ProcessingTime()));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", getP999ProcessingTime()));
+        }
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
@@ -310,7 +467,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             sb.append(String.format(" firstExchangeCompletedExchangeId=\"%s\"", nullSafe(firstExchangeCompletedExchangeId)));
             sb.append(String.format(" firstExchangeFailureTimestamp=\"%s\"", dateAsString(firstExchangeFailureTimestamp.getValue())));
             sb.append(String.format(" firstExchangeFailureExchangeId=\"%s\"", nullSafe(firstExchangeFailureExchangeId)));
-            sb.append(String.format(" lastExchangeCompletedTimestamp=\"%s\"", dateAsString(lastExchangeCompletedTimestamp.getValue())));
+            sb.append(String.format(" lastExchangeCompletedTimestamp=\"%s\"", dateAsString(getLastExchangeCompletedTimestampValue())));
             sb.append(String.format(" lastExchangeCompletedExchangeId=\"%s\"", nullSafe(lastExchangeCompletedExchangeId)));
             sb.append(String.format(" lastExchangeFailureTimestamp=\"%s\"", dateAsString(lastExchangeFailureTimestamp.getValue())));
             sb.append(String.format(" lastExchangeFailureExchangeId=\"%s\"", nullSafe(lastExchangeFailureExchangeId)));
@@ -123,6 +123,34 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    @Override
+    public void setBufferPoolSize(long bufferPoolSize) {
+        streamCachingStrategy.setBufferPoolSize(bufferPoolSize);
+    }
+
+    @Override
+    public long getBufferPoolSize() {
+        return streamCachingStrategy.getBufferPoolSize();
+    }
+
+    @Override
+    public long getBufferPoolUsedSize() {
+        StreamCachingStrategy.BufferPool pool = streamCachingStrategy.getBufferPool();
+        return pool != null ? pool.getUsedSize() : 0;
+    }
+
+    @Override
+    public long getBufferPoolAllocatedSize() {
+        StreamCachingStrategy.BufferPool pool = streamCachingStrategy.getBufferPool();
+        return pool != null ? pool.getAllocatedSize() : 0;
+    }
+
+    @Override
+    public long getBufferPoolExhaustedCounter() {
+        StreamCachingStrategy.BufferPool pool = streamCachingStrategy.getBufferPool();
+        return pool != null ? pool.getExhaustedCounter() : 0;
+    }
+
     @Override
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
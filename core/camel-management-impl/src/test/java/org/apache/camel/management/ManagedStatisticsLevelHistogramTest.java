@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class ManagedStatisticsLevelHistogramTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.init();
+        // use histograms
+        context.getManagementStrategy().getManagementAgent().setStatisticsLevel(ManagementStatisticsLevel.Histogram);
+        return context;
+    }
+
+    @Test
+    public void testManageStatisticsHistogram() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMessageCount(20);
+
+        // one slow message among fast messages
+        for (int i = 0; i < 19; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello World", "delay", 0);
+        }
+        template.sendBodyAndHeader("direct:start", "Bye World", "delay", 300);
+
+        assertMockEndpointsSatisfied();
+
+        // get the stats for the route
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=routes,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "ProcessingTimeHistogramEnabled"));
+        assertEquals(20L, mbeanServer.getAttribute(on, "ExchangesCompleted"));
+        assertEquals(20L, mbeanServer.getAttribute(on, "ExchangesTotal"));
+        assertEquals(0L, mbeanServer.getAttribute(on, "ExchangesInflight"));
+
+        Long min = (Long) mbeanServer.getAttribute(on, "MinProcessingTime");
+        Long max = (Long) mbeanServer.getAttribute(on, "MaxProcessingTime");
+        Long total = (Long) mbeanServer.getAttribute(on, "TotalProcessingTime");
+        Long mean = (Long) mbeanServer.getAttribute(on, "MeanProcessingTime");
+        Long p50 = (Long) mbeanServer.getAttribute(on, "P50ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        assertTrue("Should be fast: was " + min, min < 100);
+        assertTrue("Should take around 300 millis: was " + max, max >= 290);
+        assertEquals(total / 20, mean.longValue());
+        assertTrue("Should be fast: was " + p50, p50 < 100);
+        assertTrue("Should be around 300 millis: was " + p99, p99 >= 290);
+        assertTrue("Should not be above max: was " + p99, p99 <= max);
+
+        // the slow message was the last message
+        Long last = (Long) mbeanServer.getAttribute(on, "LastProcessingTime");
+        Long delta = (Long) mbeanServer.getAttribute(on, "DeltaProcessingTime");
+        assertTrue("Should take around 300 millis: was " + last, last >= 290);
+        assertTrue("Should be slower than the previous message: was " + delta, delta > 0);
+        assertNotNull(mbeanServer.getAttribute(on, "FirstExchangeCompletedTimestamp"));
+        assertNotNull(mbeanServer.getAttribute(on, "LastExchangeCompletedTimestamp"));
+        assertNotNull(mbeanServer.getAttribute(on, "LastExchangeCompletedExchangeId"));
+
+        Long p95 = invoke(mbeanServer, on, "processingTimePercentile", new Object[]{95.0}, new String[]{"double"});
+        assertTrue("Should be fast: was " + p95, p95 < 100);
+
+        String xml = invoke(mbeanServer, on, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertTrue(xml, xml.contains("p99ProcessingTime=\"" + p99 + "\""));
+
+        // the processors have statistics as well
+        set = mbeanServer.queryNames(new ObjectName("*:type=processors,*"), null);
+        assertEquals(2, set.size());
+        for (ObjectName processor : set) {
+            assertEquals(20L, mbeanServer.getAttribute(processor, "ExchangesCompleted"));
+            assertEquals(Boolean.TRUE, mbeanServer.getAttribute(processor, "ProcessingTimeHistogramEnabled"));
+        }
+
+        mbeanServer.invoke(on, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(on, "ExchangesCompleted"));
+        assertEquals(0L, mbeanServer.getAttribute(on, "P99ProcessingTime"));
+        assertEquals(-1L, mbeanServer.getAttribute(on, "LastProcessingTime"));
+        assertNull(mbeanServer.getAttribute(on, "LastExchangeCompletedTimestamp"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(header("delay")).to("mock:result");
+            }
+        };
+    }
+
+}
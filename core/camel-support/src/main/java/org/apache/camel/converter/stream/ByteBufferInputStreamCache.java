@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+
+/**
+ * A {@link StreamCache} for caching using in-memory direct buffers from a
+ * {@link org.apache.camel.spi.StreamCachingStrategy.BufferPool}.
+ * <p/>
+ * The buffers are shared by the copies of the cache, and are released back to the pool when all the exchanges
+ * using the cache are done, after which the cache cannot be read anymore.
+ *
+ * @see CachedByteBufferOutputStream
+ */
+public final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private final CachedByteBufferOutputStream source;
+    private final TempFileManager tempFileManager;
+    private final long length;
+    private final ByteBuffer[] views;
+    private long pos;
+    private long mark;
+
+    ByteBufferInputStreamCache(CachedByteBufferOutputStream source, TempFileManager tempFileManager) {
+        this.source = source;
+        this.tempFileManager = tempFileManager;
+        this.length = source.size();
+        this.views = new ByteBuffer[(int) ((length + source.getBufferSize() - 1) / source.getBufferSize())];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos >= length) {
+            return -1;
+        }
+        ByteBuffer view = view();
+        int answer = view.get() & 0xff;
+        pos++;
+        return answer;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pos >= length) {
+            return -1;
+        }
+        int total = 0;
+        while (len > 0 && pos < length) {
+            ByteBuffer view = view();
+            int n = Math.min(len, view.remaining());
+            view.get(b, off, n);
+            off += n;
+            len -= n;
+            total += n;
+            pos += n;
+        }
+        return total;
+    }
+
+    @Override
+    public long skip(long n) {
+        long k = Math.max(0, Math.min(n, length - pos));
+        pos += k;
+        return k;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, length - pos);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = pos;
+    }
+
+    @Override
+    public synchronized void reset() {
+        pos = mark;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(source.getBufferSize(), length - pos)];
+        // the position is kept as is
+        long start = pos;
+        try {
+            int n;
+            while ((n = read(chunk, 0, chunk.length)) > 0) {
+                os.write(chunk, 0, n);
+            }
+        } finally {
+            pos = start;
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        // the buffers must not be released before the exchange is done as well
+        tempFileManager.addExchange(exchange);
+        return new ByteBufferInputStreamCache(source, tempFileManager);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Gets the view of the buffer to read from, positioned at the current position.
+     */
+    private ByteBuffer view() throws IOException {
+        if (source.isReleased()) {
+            throw new IOException("Cannot read stream cache as its buffers has been released to the buffer pool, as the exchanges using"
+                + " the stream cache are done. Convert the message body to byte[] or String if the body is kept after the exchange is done.");
+        }
+        int bufferSize = source.getBufferSize();
+        int index = (int) (pos / bufferSize);
+        ByteBuffer view = views[index];
+        if (view == null) {
+            view = source.getBuffer(index);
+            views[index] = view;
+        }
+        view.position((int) (pos % bufferSize));
+        return view;
+    }
+}
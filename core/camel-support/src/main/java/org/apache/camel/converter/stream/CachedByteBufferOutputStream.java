@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.spi.StreamCachingStrategy.BufferPool;
+
+/**
+ * An {@link OutputStream} which writes into direct buffers acquired from a {@link BufferPool}, and is capable of
+ * returning a {@link ByteBufferInputStreamCache} view of the buffers.
+ * <p/>
+ * The buffers are never copied, as another buffer is acquired from the pool when more room is needed.
+ * The buffers must be released back to the pool using {@link #release()} when the data is no longer in use.
+ */
+public final class CachedByteBufferOutputStream extends OutputStream {
+
+    private final BufferPool pool;
+    private final int bufferSize;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private long count;
+    private volatile boolean released;
+
+    public CachedByteBufferOutputStream(BufferPool pool) {
+        this.pool = pool;
+        this.bufferSize = pool.getBufferSize();
+    }
+
+    /**
+     * Acquires the buffers needed for writing the given number of bytes.
+     *
+     * @param len number of bytes
+     * @return <tt>true</tt> if there is room for the bytes, or <tt>false</tt> if the pool is exhausted
+     */
+    public boolean reserve(int len) {
+        long capacity = (long) buffers.size() * bufferSize;
+        while (capacity < count + len) {
+            ByteBuffer buffer = pool.acquire();
+            if (buffer == null) {
+                return false;
+            }
+            buffers.add(buffer);
+            capacity += bufferSize;
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(1);
+        buffers.get((int) (count / bufferSize)).put((byte) b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureCapacity(len);
+        while (len > 0) {
+            ByteBuffer buffer = buffers.get((int) (count / bufferSize));
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(b, off, n);
+            off += n;
+            len -= n;
+            count += n;
+        }
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        if (released) {
+            throw new IOException("The buffers has been released");
+        }
+        if (!reserve(len)) {
+            throw new IOException("The buffer pool is exhausted");
+        }
+    }
+
+    /**
+     * Writes the data to the given stream.
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(bufferSize, count)];
+        long remaining = count;
+        for (int i = 0; remaining > 0; i++) {
+            ByteBuffer buffer = buffers.get(i).duplicate();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int n = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, n);
+                os.write(chunk, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+    /**
+     * Releases the buffers back to the pool. The data can no longer be read or written.
+     */
+    public synchronized void release() {
+        if (!released) {
+            released = true;
+            for (ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+            buffers.clear();
+        }
+    }
+
+    /**
+     * Number of bytes written
+     */
+    public long size() {
+        return count;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Gets a read-only view of the buffer at the given index, positioned at the beginning of the buffer
+     */
+    ByteBuffer getBuffer(int index) {
+        ByteBuffer buffer = buffers.get(index).asReadOnlyBuffer();
+        buffer.flip();
+        return buffer;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
 import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.StreamCachingStrategy.BufferPool;
 
 /**
  * This output stream will store the content into a File if the stream context size is exceed the
@@ -56,7 +57,15 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        BufferPool bufferPool = strategy.getBufferPool();
+        if (bufferPool != null && closedOnCompletion) {
+            // the buffers are released back to the pool when the exchanges are done
+            CachedByteBufferOutputStream bout = new CachedByteBufferOutputStream(bufferPool);
+            tempFileManager.setBufferStream(bout);
+            currentStream = bout;
+        } else {
+            currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     @Override
@@ -96,7 +105,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(len)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
@@ -105,7 +114,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(b.length)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -114,7 +123,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(1)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -138,6 +147,8 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedByteBufferOutputStream) {
+                return new ByteBufferInputStreamCache((CachedByteBufferOutputStream) currentStream, tempFileManager);
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
@@ -147,13 +158,27 @@ public class CachedOutputStream extends OutputStream {
     }
     
 
+    private boolean shouldPageToFileStream(int len) {
+        if (currentStream instanceof CachedByteBufferOutputStream) {
+            // also spool to disk if the buffer pool is exhausted
+            return strategy.shouldSpoolCache(totalLength) || !((CachedByteBufferOutputStream) currentStream).reserve(len);
+        }
+        return currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength);
+    }
+
     private void pageToFileStream() throws IOException {
         flush();
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream bout = currentStream;
         try {
             // creates an tmp file and a file output stream
             currentStream = tempFileManager.createOutputStream(strategy);
-            bout.writeTo(currentStream);
+            if (bout instanceof CachedByteBufferOutputStream) {
+                ((CachedByteBufferOutputStream) bout).writeTo(currentStream);
+                // the buffers are no longer in use
+                ((CachedByteBufferOutputStream) bout).release();
+            } else {
+                ((ByteArrayOutputStream) bout).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
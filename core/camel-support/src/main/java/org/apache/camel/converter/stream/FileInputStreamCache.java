@@ -154,6 +154,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
      * Collects all FileInputStreamCache instances of the temporary file.
      * Counts the number of exchanges which have a FileInputStreamCache  instance of the temporary file.
      * Deletes the temporary file, if all exchanges are done.
+     * Releases the pooled buffers of the in-memory stream cache, if all exchanges are done.
      * 
      * @see CachedOutputStream
      */
@@ -166,6 +167,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private CachedByteBufferOutputStream bufferStream;
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -211,6 +213,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                                 } catch (Exception e) {
                                     LOG.warn("Error deleting temporary cache file: " + tempFile + ". This exception will be ignored.", e);
                                 }
+                                releaseBuffers();
                             } catch (Exception e) {
                                 LOG.warn("Error closing streams. This exception will be ignored.", e);
                             }
@@ -296,6 +299,16 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
         
+        void setBufferStream(CachedByteBufferOutputStream bufferStream) {
+            this.bufferStream = bufferStream;
+        }
+
+        void releaseBuffers() {
+            if (bufferStream != null) {
+                bufferStream.release();
+            }
+        }
+
         File getTempFile() {
             return tempFile;
         }
@@ -0,0 +1,712 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary codec for storing an exchange, such as in an aggregation repository,
+ * as an alternative to Java serialization of a {@link DefaultExchangeHolder}.
+ * <p/>
+ * The codec stores the same information, and applies the same rules for which headers and properties
+ * are retained, as {@link DefaultExchangeHolder}. However the values of the common types (String, byte array,
+ * numbers, Boolean, Character and Date) are written with a type tag and their raw value, which is much smaller
+ * and faster than Java serialization. Any other value (such as a caught exception) is written using Java serialization.
+ * <p/>
+ * The data starts with a magic marker and a format version, so it can be told apart from Java serialized data
+ * using {@link #isBinaryExchange(byte[], int, int)}, which allows repositories to read data stored in either format.
+ * <p/>
+ * The payload can optionally be compressed using {@link Deflater} when its size is at least the configured threshold.
+ */
+public class BinaryExchangeCodec {
+
+    /**
+     * The current version of the binary format
+     */
+    public static final int VERSION = 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryExchangeCodec.class);
+
+    private static final byte MAGIC_1 = (byte) 0xCA;
+    private static final byte MAGIC_2 = (byte) 0x3E;
+    private static final int HEADER_LENGTH = 4;
+    private static final int FLAG_COMPRESSED = 1;
+
+    // value type tags, where END terminates a map of entries
+    private static final byte END = 0;
+    private static final byte NULL = 1;
+    private static final byte STRING = 2;
+    private static final byte BYTES = 3;
+    private static final byte INTEGER = 4;
+    private static final byte LONG = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte FLOAT = 9;
+    private static final byte BOOLEAN = 10;
+    private static final byte CHARACTER = 11;
+    private static final byte DATE = 12;
+    private static final byte BIG_INTEGER = 13;
+    private static final byte BIG_DECIMAL = 14;
+    private static final byte SERIALIZED = 15;
+
+    private boolean compress;
+    private int compressThreshold = 1024;
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * Whether to compress the data using {@link Deflater} when its size is at least the compress threshold.
+     */
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    /**
+     * The minimum size in bytes of the data before compression is used. The default is 1024 bytes.
+     */
+    public void setCompressThreshold(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * Whether the given data is in the binary exchange format (as opposed to for example Java serialized data).
+     */
+    public static boolean isBinaryExchange(byte[] data) {
+        return data != null && isBinaryExchange(data, 0, data.length);
+    }
+
+    /**
+     * Whether the given data is in the binary exchange format (as opposed to for example Java serialized data).
+     */
+    public static boolean isBinaryExchange(byte[] data, int offset, int length) {
+        return length >= HEADER_LENGTH && data[offset] == MAGIC_1 && data[offset + 1] == MAGIC_2;
+    }
+
+    /**
+     * Whether the given stream contains data in the binary exchange format. The stream must support
+     * {@link InputStream#mark(int)} as it is reset to its current position before returning.
+     */
+    public static boolean isBinaryExchange(InputStream is) throws IOException {
+        is.mark(2);
+        try {
+            return is.read() == (MAGIC_1 & 0xFF) && is.read() == (MAGIC_2 & 0xFF);
+        } finally {
+            is.reset();
+        }
+    }
+
+    /**
+     * Gets the aggregation properties of the exchange, which are the only properties an aggregation repository
+     * retains, to be used as the additional properties when marshalling the exchange.
+     *
+     * @param exchange the exchange
+     * @return the aggregation properties
+     */
+    public static Map<String, Object> aggregatedProperties(Exchange exchange) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+        answer.put(Exchange.AGGREGATED_SIZE, exchange.getProperty(Exchange.AGGREGATED_SIZE, Integer.class));
+        answer.put(Exchange.AGGREGATED_TIMEOUT, exchange.getProperty(Exchange.AGGREGATED_TIMEOUT, Long.class));
+        answer.put(Exchange.AGGREGATED_COMPLETED_BY, exchange.getProperty(Exchange.AGGREGATED_COMPLETED_BY, String.class));
+        answer.put(Exchange.AGGREGATED_CORRELATION_KEY, exchange.getProperty(Exchange.AGGREGATED_CORRELATION_KEY, String.class));
+        answer.put(Exchange.AGGREGATED_COLLECTION_GUARD, exchange.getProperty(Exchange.AGGREGATED_COLLECTION_GUARD, String.class));
+        // persist the from endpoint as well
+        if (exchange.getFromEndpoint() != null) {
+            answer.put("CamelAggregatedFromEndpoint", exchange.getFromEndpoint().getEndpointUri());
+        }
+        return answer;
+    }
+
+    /**
+     * Marshals the exchange to the binary format.
+     *
+     * @param exchange the exchange, must <b>not</b> be <tt>null</tt>
+     * @param includeProperties whether or not to include exchange properties
+     * @param allowSerializedHeaders whether or not to include headers of other types as serialized objects
+     * @param additionalProperties additional properties to include, may be <tt>null</tt>
+     * @return the data
+     */
+    public byte[] marshal(Exchange exchange, boolean includeProperties, boolean allowSerializedHeaders,
+                          Map<String, Object> additionalProperties) throws IOException {
+        ObjectHelper.notNull(exchange, "exchange");
+
+        // we do not support files
+        Object body = exchange.getIn().getBody();
+        if (body instanceof WrappedFile || body instanceof File) {
+            throw new RuntimeExchangeException("Message body of type " + body.getClass().getCanonicalName() + " is not supported by this marshaller.", exchange);
+        }
+
+        Output out = new Output(256);
+        out.writeByte(MAGIC_1);
+        out.writeByte(MAGIC_2);
+        out.writeByte(VERSION);
+        out.writeByte(0);
+
+        writeBody(out, "in body", exchange, exchange.getIn().getBody());
+        writeHeaders(out, "in headers", exchange, exchange.getIn().hasHeaders() ? exchange.getIn().getHeaders() : null, allowSerializedHeaders);
+        if (exchange.hasOut()) {
+            out.writeByte(1);
+            writeBody(out, "out body", exchange, exchange.getOut().getBody());
+            writeHeaders(out, "out headers", exchange, exchange.getOut().hasHeaders() ? exchange.getOut().getHeaders() : null, allowSerializedHeaders);
+        } else {
+            out.writeByte(0);
+        }
+        if (includeProperties && exchange.hasProperties()) {
+            writeProperties(out, exchange, exchange.getProperties(), allowSerializedHeaders);
+        }
+        if (additionalProperties != null) {
+            writeProperties(out, exchange, additionalProperties, allowSerializedHeaders);
+        }
+        out.writeByte(END);
+        writeValue(out, exchange.getExchangeId());
+        writeValue(out, exchange.getException());
+
+        if (compress && out.size - HEADER_LENGTH >= compressThreshold) {
+            return compress(out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Marshals the exchange to the binary format, and writes it to the given stream.
+     *
+     * @param exchange the exchange, must <b>not</b> be <tt>null</tt>
+     * @param includeProperties whether or not to include exchange properties
+     * @param allowSerializedHeaders whether or not to include headers of other types as serialized objects
+     * @param additionalProperties additional properties to include, may be <tt>null</tt>
+     * @param outputStream the stream to write the data to
+     */
+    public void marshal(Exchange exchange, boolean includeProperties, boolean allowSerializedHeaders,
+                        Map<String, Object> additionalProperties, OutputStream outputStream) throws IOException {
+        outputStream.write(marshal(exchange, includeProperties, allowSerializedHeaders, additionalProperties));
+    }
+
+    /**
+     * Unmarshals the data in the binary format to a new exchange.
+     *
+     * @param camelContext the camel context
+     * @param data the data
+     * @return the exchange
+     */
+    public Exchange unmarshal(CamelContext camelContext, byte[] data) throws IOException, ClassNotFoundException {
+        return unmarshal(camelContext, data, 0, data.length);
+    }
+
+    /**
+     * Unmarshals the data in the binary format from the given stream to a new exchange.
+     *
+     * @param camelContext the camel context
+     * @param inputStream the stream to read the data from
+     * @return the exchange
+     */
+    public Exchange unmarshal(CamelContext camelContext, InputStream inputStream) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        IOHelper.copy(inputStream, bos);
+        return unmarshal(camelContext, bos.toByteArray());
+    }
+
+    /**
+     * Unmarshals the data in the binary format to a new exchange.
+     *
+     * @param camelContext the camel context
+     * @param data the buffer with the data
+     * @param offset the offset of the data in the buffer
+     * @param length the length of the data
+     * @return the exchange
+     */
+    public Exchange unmarshal(CamelContext camelContext, byte[] data, int offset, int length) throws IOException, ClassNotFoundException {
+        if (!isBinaryExchange(data, offset, length)) {
+            throw new StreamCorruptedException("Data is not in the binary exchange format");
+        }
+        int version = data[offset + 2];
+        if (version < 1 || version > VERSION) {
+            throw new StreamCorruptedException("Unsupported binary exchange format version: " + version);
+        }
+
+        Input in;
+        if ((data[offset + 3] & FLAG_COMPRESSED) != 0) {
+            in = uncompress(data, offset + HEADER_LENGTH, length - HEADER_LENGTH);
+        } else {
+            in = new Input(data, offset + HEADER_LENGTH, offset + length);
+        }
+
+        Exchange answer = new DefaultExchange(camelContext);
+        answer.getIn().setBody(readValue(in, camelContext));
+        readHeaders(in, camelContext, answer.getIn());
+        if (in.readByte() == 1) {
+            answer.getOut().setBody(readValue(in, camelContext));
+            readHeaders(in, camelContext, answer.getOut());
+        }
+        byte tag = in.readByte();
+        while (tag != END) {
+            String key = in.readString();
+            answer.setProperty(key, readValue(tag, in, camelContext));
+            tag = in.readByte();
+        }
+        String exchangeId = (String) readValue(in, camelContext);
+        if (exchangeId != null) {
+            answer.setExchangeId(exchangeId);
+        }
+        answer.setException((Throwable) readValue(in, camelContext));
+        return answer;
+    }
+
+    private void writeBody(Output out, String type, Exchange exchange, Object body) throws IOException {
+        if (body == null) {
+            // the body is always read so write null
+            out.writeByte(NULL);
+            return;
+        }
+        if (writeTypedValue(out, body)) {
+            return;
+        }
+        Serializable converted = exchange.getContext().getTypeConverter().convertTo(Serializable.class, exchange, body);
+        if (converted != null) {
+            if (!writeTypedValue(out, converted)) {
+                writeSerialized(out, converted);
+            }
+        } else {
+            LOG.warn("Exchange {} containing object: {} of type: {} cannot be serialized, it will be excluded by the codec.", type, body, body.getClass().getCanonicalName());
+            out.writeByte(NULL);
+        }
+    }
+
+    private void writeHeaders(Output out, String type, Exchange exchange, Map<String, Object> headers, boolean allowSerializedHeaders) throws IOException {
+        if (headers != null) {
+            for (Map.Entry<String, Object> entry : headers.entrySet()) {
+                // silently skip any values which is null
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                Object value = DefaultExchangeHolder.getValidHeaderValue(entry.getKey(), entry.getValue(), allowSerializedHeaders);
+                if (value != null) {
+                    writeEntry(out, type, exchange, entry.getKey(), value);
+                } else {
+                    LOG.debug("Exchange {} containing key: {} with object: {} of type: {} is not valid header type, it will be excluded by the codec.",
+                              type, entry.getKey(), entry.getValue(), ObjectHelper.classCanonicalName(entry.getValue()));
+                }
+            }
+        }
+        out.writeByte(END);
+    }
+
+    private void writeProperties(Output out, Exchange exchange, Map<String, Object> properties, boolean allowSerializedHeaders) throws IOException {
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            // silently skip any values which is null
+            if (entry.getValue() == null) {
+                continue;
+            }
+            Object value = DefaultExchangeHolder.getValidExchangePropertyValue(entry.getKey(), entry.getValue(), allowSerializedHeaders);
+            if (value != null) {
+                writeEntry(out, "properties", exchange, entry.getKey(), value);
+            } else {
+                LOG.debug("Exchange {} containing key: {} with object: {} of type: {} is not valid exchange property type, it will be excluded by the codec.",
+                          "properties", entry.getKey(), entry.getValue(), ObjectHelper.classCanonicalName(entry.getValue()));
+            }
+        }
+    }
+
+    private void writeEntry(Output out, String type, Exchange exchange, String key, Object value) throws IOException {
+        // the tag is written before the key so the end of the entries can be detected
+        byte tag = typeOf(value);
+        if (tag == SERIALIZED && !(value instanceof Serializable)) {
+            value = exchange.getContext().getTypeConverter().convertTo(Serializable.class, exchange, value);
+            if (value == null) {
+                if (key.startsWith("Camel")) {
+                    LOG.debug("Exchange {} containing key: {} cannot be serialized, it will be excluded by the codec.", type, key);
+                } else {
+                    LOG.warn("Exchange {} containing key: {} cannot be serialized, it will be excluded by the codec.", type, key);
+                }
+                return;
+            }
+            tag = typeOf(value);
+        }
+        out.writeByte(tag);
+        out.writeString(key);
+        writeValue(tag, out, value);
+    }
+
+    private void writeValue(Output out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (!writeTypedValue(out, value)) {
+            writeSerialized(out, value);
+        }
+    }
+
+    private boolean writeTypedValue(Output out, Object value) throws IOException {
+        byte tag = typeOf(value);
+        if (tag == SERIALIZED) {
+            return false;
+        }
+        out.writeByte(tag);
+        writeValue(tag, out, value);
+        return true;
+    }
+
+    private void writeSerialized(Output out, Object value) throws IOException {
+        out.writeByte(SERIALIZED);
+        writeValue(SERIALIZED, out, value);
+    }
+
+    private static byte typeOf(Object value) {
+        // only the exact types are written as typed values, so sub classes are preserved using serialization
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            return STRING;
+        } else if (type == byte[].class) {
+            return BYTES;
+        } else if (type == Integer.class) {
+            return INTEGER;
+        } else if (type == Long.class) {
+            return LONG;
+        } else if (type == Boolean.class) {
+            return BOOLEAN;
+        } else if (type == Double.class) {
+            return DOUBLE;
+        } else if (type == Float.class) {
+            return FLOAT;
+        } else if (type == Short.class) {
+            return SHORT;
+        } else if (type == Byte.class) {
+            return BYTE;
+        } else if (type == Character.class) {
+            return CHARACTER;
+        } else if (type == Date.class) {
+            return DATE;
+        } else if (type == BigInteger.class) {
+            return BIG_INTEGER;
+        } else if (type == BigDecimal.class) {
+            return BIG_DECIMAL;
+        }
+        return SERIALIZED;
+    }
+
+    private static void writeValue(byte tag, Output out, Object value) throws IOException {
+        switch (tag) {
+        case STRING:
+            out.writeString((String) value);
+            break;
+        case BYTES:
+            out.writeBytes((byte[]) value);
+            break;
+        case INTEGER:
+            out.writeVarLong((Integer) value);
+            break;
+        case LONG:
+            out.writeVarLong((Long) value);
+            break;
+        case SHORT:
+            out.writeVarLong((Short) value);
+            break;
+        case BYTE:
+            out.writeByte((Byte) value);
+            break;
+        case BOOLEAN:
+            out.writeByte((Boolean) value ? 1 : 0);
+            break;
+        case DOUBLE:
+            out.writeLong(Double.doubleToLongBits((Double) value));
+            break;
+        case FLOAT:
+            out.writeVarLong(Float.floatToIntBits((Float) value));
+            break;
+        case CHARACTER:
+            out.writeVarLong((Character) value);
+            break;
+        case DATE:
+            out.writeVarLong(((Date) value).getTime());
+            break;
+        case BIG_INTEGER:
+            out.writeBytes(((BigInteger) value).toByteArray());
+            break;
+        case BIG_DECIMAL:
+            out.writeVarLong(((BigDecimal) value).scale());
+            out.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+            break;
+        default:
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            out.writeBytes(bos.toByteArray());
+        }
+    }
+
+    private static void readHeaders(Input in, CamelContext camelContext, Message message) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        while (tag != END) {
+            String key = in.readString();
+            message.setHeader(key, readValue(tag, in, camelContext));
+            tag = in.readByte();
+        }
+    }
+
+    private static Object readValue(Input in, CamelContext camelContext) throws IOException, ClassNotFoundException {
+        return readValue(in.readByte(), in, camelContext);
+    }
+
+    private static Object readValue(byte tag, Input in, CamelContext camelContext) throws IOException, ClassNotFoundException {
+        switch (tag) {
+        case NULL:
+            return null;
+        case STRING:
+            return in.readString();
+        case BYTES:
+            return in.readBytes();
+        case INTEGER:
+            return (int) in.readVarLong();
+        case LONG:
+            return in.readVarLong();
+        case SHORT:
+            return (short) in.readVarLong();
+        case BYTE:
+            return in.readByte();
+        case BOOLEAN:
+            return in.readByte() != 0;
+        case DOUBLE:
+            return Double.longBitsToDouble(in.readLong());
+        case FLOAT:
+            return Float.intBitsToFloat((int) in.readVarLong());
+        case CHARACTER:
+            return (char) in.readVarLong();
+        case DATE:
+            return new Date(in.readVarLong());
+        case BIG_INTEGER:
+            return new BigInteger(in.readBytes());
+        case BIG_DECIMAL:
+            int scale = (int) in.readVarLong();
+            return new BigDecimal(new BigInteger(in.readBytes()), scale);
+        case SERIALIZED:
+            int length = in.readLength();
+            try (ObjectInputStream ois = new CamelObjectInputStream(new ByteArrayInputStream(in.data, in.position, length), camelContext)) {
+                in.position += length;
+                return ois.readObject();
+            }
+        default:
+            throw new StreamCorruptedException("Unknown value type: " + tag);
+        }
+    }
+
+    private static byte[] compress(Output out) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            int length = out.size - HEADER_LENGTH;
+            deflater.setInput(out.buffer, HEADER_LENGTH, length);
+            deflater.finish();
+
+            // the header is followed by the uncompressed length and the compressed data
+            Output answer = new Output(length / 2 + 16);
+            answer.write(out.buffer, 0, HEADER_LENGTH);
+            answer.buffer[3] = FLAG_COMPRESSED;
+            answer.writeVarLong(length);
+            while (!deflater.finished()) {
+                answer.ensureCapacity(1024);
+                answer.size += deflater.deflate(answer.buffer, answer.size, answer.buffer.length - answer.size);
+            }
+            return answer.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static Input uncompress(byte[] data, int offset, int length) throws IOException {
+        Input in = new Input(data, offset, offset + length);
+        int uncompressedLength = (int) in.readVarLong();
+        if (uncompressedLength < 0) {
+            throw new StreamCorruptedException("Invalid length: " + uncompressedLength);
+        }
+        byte[] buffer = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, in.position, in.limit - in.position);
+            int count = 0;
+            while (count < uncompressedLength && !inflater.finished()) {
+                int n = inflater.inflate(buffer, count, uncompressedLength - count);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += n;
+            }
+            if (count != uncompressedLength) {
+                throw new StreamCorruptedException("Compressed data is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("Compressed data is corrupted: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return new Input(buffer, 0, uncompressedLength);
+    }
+
+    /**
+     * A growable byte array, which avoids the synchronization of {@link ByteArrayOutputStream}.
+     */
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void ensureCapacity(int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+            }
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void write(byte[] data, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(data, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeBytes(byte[] data) {
+            writeVarLong(data.length);
+            write(data, 0, data.length);
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int i = 56; i >= 0; i -= 8) {
+                buffer[size++] = (byte) (value >>> i);
+            }
+        }
+
+        void writeVarLong(long value) {
+            // zig-zag encoding so small negative numbers are also written in few bytes
+            long v = (value << 1) ^ (value >> 63);
+            ensureCapacity(10);
+            while ((v & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buffer[size++] = (byte) v;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private final int limit;
+        private int position;
+
+        Input(byte[] data, int position, int limit) {
+            this.data = data;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        byte readByte() throws IOException {
+            if (position >= limit) {
+                throw new StreamCorruptedException("Unexpected end of data");
+            }
+            return data[position++];
+        }
+
+        int readLength() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > limit - position) {
+                throw new StreamCorruptedException("Invalid length: " + length);
+            }
+            return (int) length;
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = readLength();
+            byte[] answer = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return answer;
+        }
+
+        String readString() throws IOException {
+            int length = readLength();
+            String answer = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return answer;
+        }
+
+        long readLong() throws IOException {
+            long answer = 0;
+            for (int i = 0; i < 8; i++) {
+                answer = (answer << 8) | (readByte() & 0xFF);
+            }
+            return answer;
+        }
+
+        long readVarLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable length number");
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter, which is a space efficient probabilistic set of keys.
+ * <p/>
+ * The filter can tell for certain that a key has <b>not</b> been added, but may wrongly tell that a key has been
+ * added, with a false positive probability which depends on the number of keys added and the size of the filter.
+ * Keys cannot be removed from the filter.
+ * <p/>
+ * The keys are added as a 64-bit hash, see {@link #hash(CharSequence)}, from which the bit positions are derived
+ * using double hashing.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    /**
+     * Creates a Bloom filter sized for the given number of keys.
+     *
+     * @param expectedInsertions        the expected number of keys to add
+     * @param falsePositiveProbability  the false positive probability when the expected number of keys has been added
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be > 0, was " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("FalsePositiveProbability must be > 0 and < 1, was " + falsePositiveProbability);
+        }
+        long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (size + 63) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter is too large for " + expectedInsertions + " insertions");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Computes the 64-bit hash of the key, as used by {@link #put(long)} and {@link #mightContain(long)}.
+     */
+    public static long hash(CharSequence key) {
+        // FNV-1a followed by the murmur3 finalizer to spread the bits
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Adds the key
+     *
+     * @return <tt>true</tt> if the filter changed, <tt>false</tt> if the key might have been added before
+     */
+    public boolean put(String key) {
+        return put(hash(key));
+    }
+
+    /**
+     * Adds the key with the given hash
+     *
+     * @return <tt>true</tt> if the filter changed, <tt>false</tt> if the key might have been added before
+     */
+    public boolean put(long hash) {
+        boolean changed = false;
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = bitIndex(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = bits.get(word);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Whether the key might have been added, or <tt>false</tt> if the key has definitely not been added
+     */
+    public boolean mightContain(String key) {
+        return mightContain(hash(key));
+    }
+
+    /**
+     * Whether the key with the given hash might have been added, or <tt>false</tt> if the key has definitely not been added
+     */
+    public boolean mightContain(long hash) {
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = bitIndex(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long combined) {
+        return (combined < 0 ? ~combined : combined) % bitSize;
+    }
+
+    /**
+     * Removes all the keys
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+    }
+
+    /**
+     * Number of bits in the filter
+     */
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Number of bits set for each key
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Number of bits which are set
+     */
+    public long getBitCount() {
+        long count = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            count += Long.bitCount(bits.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * The probability that {@link #mightContain(long)} wrongly returns <tt>true</tt> for a key which has not been added,
+     * based on the number of bits currently set.
+     */
+    public double getFalsePositiveProbability() {
+        return Math.pow((double) getBitCount() / bitSize, hashFunctions);
+    }
+
+}
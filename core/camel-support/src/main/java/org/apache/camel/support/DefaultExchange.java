@@ -43,6 +43,8 @@ public final class DefaultExchange implements Exchange {
 
     protected final CamelContext context;
     private Map<String, Object> properties;
+    // whether the properties are shared with a copy of this exchange, and must be copied before being changed
+    private volatile boolean propertiesShared;
     private Message in;
     private Message out;
     private Exception exception;
@@ -114,12 +116,60 @@ public final class DefaultExchange implements Exchange {
 
         // copy properties after body as body may trigger lazy init
         if (hasProperties()) {
-            exchange.setProperties(safeCopyProperties(getProperties()));
+            exchange.setProperties(safeCopyProperties(properties));
         }
 
         return exchange;
     }
 
+    /**
+     * Creates a copy of this exchange, where the message headers and exchange properties are shared between
+     * this exchange and the copy until either of the exchanges changes them, which then copies them (copy on write).
+     * <p/>
+     * This is used by EIPs such as the Splitter and Multicast, which create many copies of the same exchange,
+     * where the copies often only read the headers and properties. The headers are only shared when the messages
+     * are {@link DefaultMessage}, otherwise this is the same as {@link #copy()}.
+     *
+     * @return the copy
+     * @see DefaultMessage#copyOnWrite()
+     */
+    public Exchange copyOnWrite() {
+        if (!isCopyOnWriteMessage(in) || hasOut() && !isCopyOnWriteMessage(out)) {
+            return copy();
+        }
+
+        DefaultExchange exchange = new DefaultExchange(this);
+
+        exchange.setIn(((DefaultMessage) getIn()).copyOnWrite());
+        if (hasOut()) {
+            exchange.setOut(((DefaultMessage) getOut()).copyOnWrite());
+        }
+
+        exchange.setException(getException());
+
+        // copy properties after body as body may trigger lazy init
+        if (hasProperties()) {
+            if (properties.containsKey(Exchange.MESSAGE_HISTORY) || properties.containsKey(Exchange.XML_DOCUMENT_CACHE)) {
+                // the message history is changed when routing so the properties cannot be shared,
+                // and the parsed documents must not be kept alive by the copy
+                exchange.setProperties(safeCopyProperties(properties));
+            } else {
+                synchronized (this) {
+                    propertiesShared = true;
+                    exchange.properties = properties;
+                }
+                exchange.propertiesShared = true;
+            }
+        }
+
+        return exchange;
+    }
+
+    private static boolean isCopyOnWriteMessage(Message message) {
+        // custom messages may create or store the headers differently
+        return message == null || message.getClass() == DefaultMessage.class;
+    }
+
     private Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
         if (headers == null) {
             return null;
@@ -142,6 +192,9 @@ public final class DefaultExchange implements Exchange {
             answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
         }
 
+        // the documents parsed from the message are only valid for this exchange
+        answer.remove(Exchange.XML_DOCUMENT_CACHE);
+
         return answer;
     }
 
@@ -210,11 +263,11 @@ public final class DefaultExchange implements Exchange {
     public void setProperty(String name, Object value) {
         if (value != null) {
             // avoid the NullPointException
-            getProperties().put(name, value);
+            writableProperties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
             if (name != null) {
-                getProperties().remove(name);
+                writableProperties().remove(name);
             }
         }
     }
@@ -224,7 +277,7 @@ public final class DefaultExchange implements Exchange {
         if (!hasProperties()) {
             return null;
         }
-        return getProperties().remove(name);
+        return writableProperties().remove(name);
     }
 
     @Override
@@ -254,9 +307,10 @@ public final class DefaultExchange implements Exchange {
         if (!toBeRemoved.isEmpty()) {
             if (toBeRemoved.size() == properties.size()) {
                 // special optimization when all should be removed
-                properties.clear();
+                writableProperties().clear();
             } else {
-                toBeRemoved.forEach(k -> properties.remove(k));
+                Map<String, Object> map = writableProperties();
+                toBeRemoved.forEach(map::remove);
             }
         }
 
@@ -268,6 +322,31 @@ public final class DefaultExchange implements Exchange {
         if (properties == null) {
             properties = createProperties();
         }
+        if (propertiesShared) {
+            // the caller may only read the properties, so they are copied on the first change
+            return new SharedMapView(() -> properties, this::writableProperties);
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the properties which can be changed, which copies the properties if they are shared with a copy
+     * of this exchange. The properties may be changed by several threads, so copying is synchronized to
+     * not lose any changes.
+     */
+    private Map<String, Object> writableProperties() {
+        if (properties == null) {
+            properties = createProperties();
+        }
+        if (propertiesShared) {
+            synchronized (this) {
+                // another thread may have copied the properties already
+                if (propertiesShared) {
+                    properties = createProperties(properties);
+                    propertiesShared = false;
+                }
+            }
+        }
         return properties;
     }
 
@@ -278,6 +357,7 @@ public final class DefaultExchange implements Exchange {
 
     public void setProperties(Map<String, Object> properties) {
         this.properties = properties;
+        this.propertiesShared = false;
     }
 
     @Override
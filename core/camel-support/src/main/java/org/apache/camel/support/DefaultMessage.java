@@ -38,6 +38,8 @@ import org.apache.camel.util.ObjectHelper;
  */
 public class DefaultMessage extends MessageSupport {
     private Map<String, Object> headers;
+    // whether the headers are shared with a copy of this message, and must be copied before being changed
+    private volatile boolean headersShared;
 
     public DefaultMessage(Exchange exchange) {
         setExchange(exchange);
@@ -51,7 +53,7 @@ public class DefaultMessage extends MessageSupport {
     @Override
     public Object getHeader(String name) {
         if (hasHeaders()) {
-            return getHeaders().get(name);
+            return headersShared ? headers.get(name) : getHeaders().get(name);
         } else {
             return null;
         }
@@ -59,7 +61,7 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public Object getHeader(String name, Object defaultValue) {
-        Object answer = getHeaders().get(name);
+        Object answer = getHeader(name);
         return answer != null ? answer : defaultValue;
     }
 
@@ -67,7 +69,7 @@ public class DefaultMessage extends MessageSupport {
     public Object getHeader(String name, Supplier<Object> defaultValueSupplier) {
         ObjectHelper.notNull(name, "name");
         ObjectHelper.notNull(defaultValueSupplier, "defaultValueSupplier");
-        Object answer = getHeaders().get(name);
+        Object answer = getHeader(name);
         return answer != null ? answer : defaultValueSupplier.get();
     }
 
@@ -154,10 +156,7 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public void setHeader(String name, Object value) {
-        if (headers == null) {
-            headers = createHeaders();
-        }
-        headers.put(name, value);
+        writableHeaders().put(name, value);
     }
 
     @Override
@@ -165,7 +164,7 @@ public class DefaultMessage extends MessageSupport {
         if (!hasHeaders()) {
             return null;
         }
-        return headers.remove(name);
+        return writableHeaders().remove(name);
     }
 
     @Override
@@ -193,8 +192,11 @@ public class DefaultMessage extends MessageSupport {
                 toRemove.add(entry.getKey());
             }
         }
-        for (String key : toRemove) {
-            headers.remove(key);
+        if (!toRemove.isEmpty()) {
+            Map<String, Object> map = writableHeaders();
+            for (String key : toRemove) {
+                map.remove(key);
+            }
         }
 
         return matches;
@@ -205,6 +207,10 @@ public class DefaultMessage extends MessageSupport {
         if (headers == null) {
             headers = createHeaders();
         }
+        if (headersShared) {
+            // the caller may only read the headers, so they are copied on the first change
+            return new SharedMapView(() -> headers, this::writableHeaders);
+        }
         return headers;
     }
 
@@ -218,6 +224,7 @@ public class DefaultMessage extends MessageSupport {
             // create a new map
             this.headers = getCamelContext().getHeadersMapFactory().newMap(headers);
         }
+        this.headersShared = false;
     }
 
     @Override
@@ -236,6 +243,64 @@ public class DefaultMessage extends MessageSupport {
         return new DefaultMessage(getCamelContext());
     }
 
+    /**
+     * Creates a copy of this message, where the headers are shared between this message and the copy
+     * until either of the messages changes its headers, which then copies the headers (copy on write).
+     * <p/>
+     * The headers are only shared when accessed using the methods on this class, such as {@link #getHeader(String)}
+     * and {@link #setHeader(String, Object)}, and therefore the headers map obtained from {@link #getHeaders()}
+     * before the copy was created must no longer be changed.
+     *
+     * @return the copy
+     */
+    public DefaultMessage copyOnWrite() {
+        ObjectHelper.notNull(getCamelContext(), "CamelContext", this);
+
+        DefaultMessage answer = new DefaultMessage(getCamelContext());
+        if (hasDataType()) {
+            answer.setDataType(getDataType());
+        }
+        answer.setMessageId(getMessageId());
+        answer.setBody(getBody());
+        if (hasHeaders()) {
+            synchronized (this) {
+                headersShared = true;
+                answer.headers = headers;
+            }
+            answer.headersShared = true;
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the headers are currently shared with a copy of this message
+     *
+     * @see #copyOnWrite()
+     */
+    public boolean isHeadersShared() {
+        return headersShared;
+    }
+
+    /**
+     * Gets the headers which can be changed, which copies the headers if they are shared with a copy
+     * of this message. Copying is synchronized so concurrent changes are not lost.
+     */
+    private Map<String, Object> writableHeaders() {
+        if (headers == null) {
+            headers = createHeaders();
+        }
+        if (headersShared) {
+            synchronized (this) {
+                // another thread may have copied the headers already
+                if (headersShared) {
+                    headers = getCamelContext().getHeadersMapFactory().newMap(headers);
+                    headersShared = false;
+                }
+            }
+        }
+        return headers;
+    }
+
     /**
      * A factory method to lazily create the headers to make it easy to create
      * efficient Message implementations which only construct and populate the
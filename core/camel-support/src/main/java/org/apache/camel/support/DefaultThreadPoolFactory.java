@@ -33,12 +33,17 @@ import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
  */
 public class DefaultThreadPoolFactory implements ThreadPoolFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+
     @Override
     public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
         return Executors.newCachedThreadPool(threadFactory);
@@ -46,6 +51,10 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (isVirtualThreads(profile)) {
+            // a new virtual thread per task, so there is no pool or work queue to size
+            return VirtualThreadHelper.newThreadPerTaskExecutor(factory);
+        }
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
@@ -96,6 +105,19 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
         return answer;
     }
     
+    /**
+     * Whether the profile is configured to use virtual threads, and the JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreads(ThreadPoolProfile profile) {
+        if (profile.getVirtualThreads() != null && profile.getVirtualThreads()) {
+            if (VirtualThreadHelper.isVirtualThreadsSupported()) {
+                return true;
+            }
+            LOG.warn("ThreadPoolProfile: {} is configured to use virtual threads which requires Java 21 or newer. Will use platform threads.", profile.getId());
+        }
+        return false;
+    }
+
     @Override
     public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
         RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
@@ -17,10 +17,13 @@
 package org.apache.camel.support;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,10 +52,12 @@ import org.apache.camel.TypeConverter;
 import org.apache.camel.WrappedFile;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.util.ByteTokenIterator;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.Scanner;
 import org.apache.camel.util.StringHelper;
+import org.apache.camel.util.StringTokenIterator;
 
 /**
  * Some helper methods for working with {@link Exchange} objects
@@ -242,10 +247,28 @@ public final class ExchangeHelper {
      * @param filter whether to handover the on completion
      */
     public static Exchange createCorrelatedCopy(Exchange exchange, boolean handover, boolean useSameMessageId, Predicate<Synchronization> filter) {
+        // make sure to do a safe copy as the correlated copy can be routed independently of the source.
+        return doCreateCorrelatedCopy(exchange, exchange.copy(), handover, useSameMessageId, filter);
+    }
+
+    /**
+     * Creates a new instance and copies from the current message exchange, like {@link #createCorrelatedCopy(Exchange, boolean)},
+     * but where the message headers and exchange properties are shared with the original exchange until either of the
+     * exchanges changes them (copy on write). This is used by EIPs which create many copies of the same exchange, such as the
+     * Splitter and Multicast EIPs.
+     *
+     * @param exchange original copy of the exchange
+     * @param handover whether the on completion callbacks should be handed over to the new copy.
+     * @see DefaultExchange#copyOnWrite()
+     */
+    public static Exchange createCorrelatedCopyOnWrite(Exchange exchange, boolean handover) {
+        Exchange copy = exchange instanceof DefaultExchange ? ((DefaultExchange) exchange).copyOnWrite() : exchange.copy();
+        return doCreateCorrelatedCopy(exchange, copy, handover, false, null);
+    }
+
+    private static Exchange doCreateCorrelatedCopy(Exchange exchange, Exchange copy, boolean handover, boolean useSameMessageId, Predicate<Synchronization> filter) {
         String id = exchange.getExchangeId();
 
-        // make sure to do a safe copy as the correlated copy can be routed independently of the source.
-        Exchange copy = exchange.copy();
         // do not reuse message id on copy
         if (!useSameMessageId) {
             if (copy.hasOut()) {
@@ -982,4 +1005,85 @@ public final class ExchangeHelper {
         }
         return scanner;
     }
+
+    /**
+     * Creates an {@link Iterator} for tokenizing the given value using a literal token, which returns the same tokens
+     * as a {@link Scanner} but without using a regular expression. Files, streams and byte arrays are tokenized
+     * without decoding the input into characters first.
+     *
+     * @param exchange  the current exchange
+     * @param value     the value, typically the message IN body
+     * @param token     the literal token to use
+     * @param group     number of tokens to group together, use 1 to not group
+     * @param skipFirst whether to skip the first token
+     * @return the iterator, or <tt>null</tt> if the token contains regular expression characters, or the value
+     *         cannot be tokenized without decoding it using a {@link Scanner}
+     */
+    public static Iterator<String> getTokenIterator(Exchange exchange, Object value, String token, int group, boolean skipFirst) {
+        if (!isLiteralToken(token)) {
+            return null;
+        }
+        if (value instanceof WrappedFile) {
+            WrappedFile<?> gf = (WrappedFile<?>) value;
+            Object body = gf.getBody();
+            if (body != null) {
+                // we have loaded the file content into the body so use that
+                value = body;
+            } else {
+                // generic file is just a wrapper for the real file so call again with the real file
+                return getTokenIterator(exchange, gf.getFile(), token, group, skipFirst);
+            }
+        }
+
+        if (value instanceof Readable) {
+            // already decoded so use a scanner
+            return null;
+        } else if (value instanceof String) {
+            return new StringTokenIterator((String) value, token, group, skipFirst);
+        } else if (value instanceof byte[]) {
+            // the same charset as used when converting the bytes to a string
+            Charset charset = Charset.forName(getCharsetName(exchange));
+            if (!ByteTokenIterator.isSupportedCharset(charset)) {
+                return null;
+            }
+            return new ByteTokenIterator((byte[]) value, charset, token, group, skipFirst);
+        } else if (value instanceof File || value instanceof InputStream || value instanceof ReadableByteChannel) {
+            // the same charset as used by the scanner
+            String charsetName = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
+            Charset charset = charsetName != null ? Charset.forName(charsetName) : Charset.defaultCharset();
+            if (!ByteTokenIterator.isSupportedCharset(charset)) {
+                return null;
+            }
+            if (value instanceof File) {
+                try {
+                    return new ByteTokenIterator(new FileInputStream((File) value).getChannel(), charset, token, group, skipFirst);
+                } catch (IOException e) {
+                    throw new RuntimeCamelException(e);
+                }
+            } else if (value instanceof InputStream) {
+                return new ByteTokenIterator((InputStream) value, charset, token, group, skipFirst);
+            } else {
+                return new ByteTokenIterator((ReadableByteChannel) value, charset, token, group, skipFirst);
+            }
+        } else {
+            // value is not a suitable type, try to convert value to a string
+            String text = exchange.getContext().getTypeConverter().convertTo(String.class, exchange, value);
+            return new StringTokenIterator(text, token, group, skipFirst);
+        }
+    }
+
+    /**
+     * Whether the token is the same when used as a regular expression, as it has no special characters.
+     */
+    private static boolean isLiteralToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if ("\\^$.|?*+()[]{}".indexOf(token.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
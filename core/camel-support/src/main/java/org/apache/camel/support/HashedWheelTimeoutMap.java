@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A {@link TimeoutMap} which uses a {@link HashedWheelTimer} to evict the entries when they expire.
+ * <p/>
+ * Unlike {@link DefaultTimeoutMap} this implementation does not use a lock, and does not scan all the entries
+ * when purging. Adding, getting and removing entries are lock-free operations on a {@link ConcurrentHashMap}, where
+ * adding an entry schedules its eviction on the timer, which is O(1). Getting an entry extends its expire time,
+ * which is detected lazily when the eviction of the entry is due, and the eviction is then scheduled again.
+ * Removed entries are ignored when their eviction is due.
+ * <p/>
+ * The poll time is used as the tick duration of the timer, so an entry is evicted at most one poll time after it expired,
+ * and the entries which expire at the same tick are evicted in the order they expired.
+ * <p/>
+ * You must provide a single threaded {@link java.util.concurrent.ScheduledExecutorService} in the constructor which
+ * is used by the timer to evict the expired entries.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    /**
+     * Global option to use the hashed wheel timeout map instead of {@link DefaultTimeoutMap} where Camel creates
+     * timeout maps, such as the aggregator completion timeout and request/reply in the JMS, RabbitMQ and Netty components.
+     * Set the option to <tt>hashed-wheel</tt> to enable.
+     */
+    public static final String TIMEOUT_MAP_OPTION = "CamelTimeoutMap";
+    public static final String HASHED_WHEEL = "hashed-wheel";
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    // the entries added before the map is started
+    private final Queue<WheelEntry<K, V>> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor;
+    private final HashedWheelTimer timer;
+    private final long purgePollTime;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, HashedWheelTimer.DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int ticksPerWheel) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be > 0, was " + requestMapPollTimeMillis);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.timer = new HashedWheelTimer(executor, requestMapPollTimeMillis, ticksPerWheel);
+    }
+
+    /**
+     * Whether the {@link #TIMEOUT_MAP_OPTION} global option is configured to use the hashed wheel timeout map.
+     */
+    public static boolean isHashedWheelTimeoutMap(CamelContext camelContext) {
+        return camelContext != null && HASHED_WHEEL.equalsIgnoreCase(camelContext.getGlobalOption(TIMEOUT_MAP_OPTION));
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // the eviction is scheduled again when its due and finds the new expire time
+        updateExpireTime(entry);
+        return entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        WheelEntry<K, V> result = map.put(key, entry);
+        if (result != null) {
+            result.removed = true;
+        }
+        scheduleEviction(entry);
+        emitEvent(Put, key, value);
+        return unwrap(result);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        WheelEntry<K, V> result = map.putIfAbsent(key, entry);
+        if (result == null) {
+            scheduleEviction(entry);
+            emitEvent(Put, key, value);
+        }
+        return unwrap(result);
+    }
+
+    @Override
+    public V remove(K key) {
+        WheelEntry<K, V> entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        // the eviction of the entry is ignored when its due
+        entry.removed = true;
+        emitEvent(Remove, key, entry.getValue());
+        return entry.getValue();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Evicts the entry, which has expired, unless it has been removed or replaced in the meantime.
+     * <p/>
+     * Is invoked by the thread of the timer, and is therefore not invoked concurrently.
+     */
+    protected void evict(TimeoutMapEntry<K, V> entry) {
+        if (map.remove(entry.getKey(), entry)) {
+            log.debug("Evicting inactive entry ID: {}", entry);
+            emitEvent(Evict, entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getTicksPerWheel() {
+        return timer.getTicksPerWheel();
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private void scheduleEviction(WheelEntry<K, V> entry) {
+        if (timer.isRunAllowed()) {
+            scheduleEviction(entry, entry.getTimeout());
+        } else {
+            // the eviction is scheduled when the map is started
+            pending.offer(entry);
+            if (timer.isRunAllowed()) {
+                schedulePending();
+            }
+        }
+    }
+
+    private void scheduleEviction(WheelEntry<K, V> entry, long delay) {
+        try {
+            timer.schedule(() -> onExpired(entry), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the map is being stopped so the entry is cleared anyway
+            log.trace("Cannot schedule eviction of entry ID: {} as the timer is stopped", entry);
+        }
+    }
+
+    private void schedulePending() {
+        WheelEntry<K, V> entry;
+        while ((entry = pending.poll()) != null) {
+            if (!entry.removed) {
+                scheduleEviction(entry, Math.max(0, entry.getExpireTime() - currentTime()));
+            }
+        }
+    }
+
+    private void onExpired(WheelEntry<K, V> entry) {
+        if (entry.removed || !isRunAllowed()) {
+            return;
+        }
+        try {
+            long delay = entry.getExpireTime() - currentTime();
+            if (delay > 0) {
+                // the expire time has been extended
+                scheduleEviction(entry, delay);
+            } else if (isValidForEviction(entry)) {
+                evict(entry);
+            } else {
+                // try again on next poll
+                scheduleEviction(entry, purgePollTime);
+            }
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the timer will not evict the other entries
+            log.warn("Exception occurred during eviction of entry ID: " + entry + ". This exception will be ignored.", t);
+        }
+    }
+
+    private static <K, V> V unwrap(TimeoutMapEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Throwable t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        ServiceHelper.startService(timer);
+        schedulePending();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(timer);
+        // clear map if we stop
+        for (WheelEntry<K, V> entry : map.values()) {
+            entry.removed = true;
+        }
+        map.clear();
+        pending.clear();
+    }
+
+    /**
+     * An entry of the map, which is scheduled on the timer.
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        // updated by the callers of get, and read by the timer
+        private volatile long expireTime;
+        private volatile boolean removed;
+
+        WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+
+        @Override
+        public long getExpireTime() {
+            return expireTime;
+        }
+
+        @Override
+        public void setExpireTime(long expireTime) {
+            this.expireTime = expireTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            // entries are identity based so they can be used with ConcurrentMap.remove(key, value)
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timer which runs tasks after a delay, using hierarchical hashed timing wheels.
+ * <p/>
+ * Scheduling a task is a lock-free O(1) operation, where the task is handed over to the timer using a lock-free queue,
+ * unlike a {@link ScheduledExecutorService} which keeps the tasks in a priority queue guarded by a lock.
+ * The timer only ticks while there are pending tasks, and a task runs at most one tick after its delay has elapsed.
+ * The tasks which are due at the same tick are run in the order of their delays.
+ * <p/>
+ * The first wheel has a bucket for each tick, and each of the next wheels has a bucket for a full turn of the previous
+ * wheel. A task is added to the first wheel which can hold its delay. When a wheel has turned, the tasks in the
+ * current bucket of the next wheel are moved down to the previous wheels, so a task is moved at most once per wheel
+ * no matter how long its delay is. The wheels above the first wheel are created when needed.
+ * <p/>
+ * The tasks are run by the thread of the {@link ScheduledExecutorService} provided in the constructor, and should therefore
+ * be short, such as handing over the work to another thread pool. The executor must be single threaded.
+ * You must invoke {@link #start()} to startup the timer, before its ready to be used. Any pending tasks are run when the
+ * timer is stopped.
+ */
+public class HashedWheelTimer extends ServiceSupport {
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final ScheduledExecutorService executor;
+    private final long tickNanos;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    // number of tasks which has not been run yet
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    // the head and tail of the tasks in each bucket of each wheel, only accessed by the timer thread
+    private final Timeout[][] wheels;
+    private final Timeout[][] tails;
+    private final int bits;
+    private final int mask;
+    private final long startTime;
+    // the next tick to visit, and the number of tasks in the wheel, only accessed by the timer thread
+    private long tick;
+    private int size;
+
+    public HashedWheelTimer(ScheduledExecutorService executor) {
+        this(executor, DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    public HashedWheelTimer(ScheduledExecutorService executor, long tickMillis, int ticksPerWheel) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("TickMillis must be > 0, was " + tickMillis);
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("TicksPerWheel must be > 0, was " + ticksPerWheel);
+        }
+        this.executor = executor;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int wheelSize = Integer.highestOneBit(Math.max(2, ticksPerWheel) - 1) << 1;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        // enough wheels to hold any delay in ticks
+        int levels = (Long.SIZE - 1 + bits - 1) / bits;
+        this.wheels = new Timeout[levels][];
+        this.tails = new Timeout[levels][];
+        this.wheels[0] = new Timeout[wheelSize];
+        this.tails[0] = new Timeout[wheelSize];
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Schedules the task to run after the given delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @throws RejectedExecutionException if the timer is not started
+     */
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!isRunAllowed()) {
+            throw new RejectedExecutionException("Timer is not started");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        pending.add(new Timeout(task, deadline));
+        count.incrementAndGet();
+        if (ticking.compareAndSet(false, true)) {
+            scheduleTick();
+        }
+    }
+
+    /**
+     * Number of tasks which has not been run yet
+     */
+    public int getPendingTasks() {
+        return count.get();
+    }
+
+    public long getTickMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+    }
+
+    public int getTicksPerWheel() {
+        return mask + 1;
+    }
+
+    private void scheduleTick() {
+        try {
+            executor.schedule(this::tick, tickNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            ticking.set(false);
+            if (isRunAllowed()) {
+                throw e;
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.nanoTime() - startTime;
+            long target = now / tickNanos;
+            if (size == 0) {
+                // skip the ticks while the timer was idle
+                tick = Math.max(tick, target);
+            }
+            transferPending();
+            while (tick <= target) {
+                if ((tick & mask) == 0) {
+                    // the first wheel has turned
+                    cascade(1);
+                }
+                expire((int) (tick & mask));
+                tick++;
+            }
+        } catch (Throwable e) {
+            LOG.warn("Error during timer tick. This exception is ignored.", e);
+        }
+
+        if (count.get() > 0) {
+            scheduleTick();
+        } else {
+            ticking.set(false);
+            // a task may have been scheduled while we stopped ticking
+            if (count.get() > 0 && ticking.compareAndSet(false, true)) {
+                scheduleTick();
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            // round up so the task does not run before its deadline
+            timeout.deadlineTick = Math.max(tick, (timeout.deadline + tickNanos - 1) / tickNanos);
+            add(timeout);
+            size++;
+        }
+    }
+
+    /**
+     * Adds the task to the first wheel which can hold the ticks until its deadline
+     */
+    private void add(Timeout timeout) {
+        long ticks = timeout.deadlineTick - tick;
+        int level = ticks <= mask ? 0 : Math.min((Long.SIZE - 1 - Long.numberOfLeadingZeros(ticks)) / bits, wheels.length - 1);
+        if (wheels[level] == null) {
+            wheels[level] = new Timeout[mask + 1];
+            tails[level] = new Timeout[mask + 1];
+        }
+        Timeout[] wheel = wheels[level];
+        Timeout[] tail = tails[level];
+        int index = (int) ((timeout.deadlineTick >>> (level * bits)) & mask);
+        // append so tasks with the same deadline run in the order they were scheduled
+        if (tail[index] == null) {
+            wheel[index] = timeout;
+        } else {
+            tail[index].next = timeout;
+        }
+        tail[index] = timeout;
+    }
+
+    /**
+     * Moves the tasks in the current bucket of the wheel down to the previous wheels, as the previous wheel has turned
+     */
+    private void cascade(int level) {
+        if (level >= wheels.length) {
+            return;
+        }
+        int index = (int) ((tick >>> (level * bits)) & mask);
+        if (index == 0) {
+            // this wheel has turned as well, so move the tasks of the next wheel first
+            cascade(level + 1);
+        }
+        Timeout[] wheel = wheels[level];
+        if (wheel == null) {
+            return;
+        }
+        Timeout timeout = wheel[index];
+        wheel[index] = null;
+        tails[level][index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            add(timeout);
+            timeout = next;
+        }
+    }
+
+    private void expire(int index) {
+        // all the tasks in the current bucket of the first wheel are due
+        Timeout timeout = wheels[0][index];
+        if (timeout == null) {
+            return;
+        }
+        wheels[0][index] = null;
+        tails[0][index] = null;
+        List<Timeout> due = new ArrayList<>();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            size--;
+            due.add(timeout);
+            timeout = next;
+        }
+        // the tasks in the bucket are in the order they were scheduled, so sort them by their deadline
+        due.sort(Comparator.comparingLong(t -> t.deadline));
+        for (Timeout t : due) {
+            run(t);
+        }
+    }
+
+    private void run(Timeout timeout) {
+        count.decrementAndGet();
+        try {
+            timeout.task.run();
+        } catch (Throwable e) {
+            LOG.warn("Error running timer task: " + timeout.task + ". This exception is ignored.", e);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // run the pending tasks so they are not lost, as new tasks cannot be scheduled
+        try {
+            executor.submit(this::runAll);
+        } catch (RejectedExecutionException e) {
+            // the executor is shutdown so there is no timer thread which can run concurrently
+            runAll();
+        }
+    }
+
+    private void runAll() {
+        transferPending();
+        for (int level = 0; level < wheels.length; level++) {
+            Timeout[] wheel = wheels[level];
+            if (wheel == null) {
+                continue;
+            }
+            for (int i = 0; i < wheel.length; i++) {
+                Timeout timeout = wheel[i];
+                wheel[i] = null;
+                tails[level][i] = null;
+                for (; timeout != null; timeout = timeout.next) {
+                    size--;
+                    run(timeout);
+                }
+            }
+        }
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        // nanos since the timer was created
+        private final long deadline;
+        // the tick the task is due, set when the task is added to the wheels
+        private long deadlineTick;
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A view of the headers or properties map which is shared between a message or exchange and its copies
+ * (copy on write). Reading uses the current map, and the first change copies the map, so handing out the
+ * map for reading does not copy it.
+ */
+final class SharedMapView extends AbstractMap<String, Object> {
+
+    private final Supplier<Map<String, Object>> reader;
+    private final Supplier<Map<String, Object>> writer;
+
+    /**
+     * @param reader returns the current map, which may be shared
+     * @param writer copies the map if shared, and returns the map which can be changed
+     */
+    SharedMapView(Supplier<Map<String, Object>> reader, Supplier<Map<String, Object>> writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return reader.get().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return reader.get().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return reader.get().containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return reader.get().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return reader.get().isEmpty();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return writer.get().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return writer.get().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        writer.get().putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        writer.get().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator(reader.get());
+            }
+
+            @Override
+            public int size() {
+                return SharedMapView.this.size();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Map<String, Object> map;
+        private final Iterator<Entry<String, Object>> iterator;
+        private Entry<String, Object> last;
+
+        EntryIterator(Map<String, Object> map) {
+            this.map = map;
+            this.iterator = map.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            last = iterator.next();
+            final Entry<String, Object> entry = last;
+            return new SimpleEntry<String, Object>(entry) {
+                @Override
+                public Object setValue(Object value) {
+                    super.setValue(value);
+                    Map<String, Object> target = writer.get();
+                    // the iterated map may have been copied, and then the copy is changed instead
+                    return target == map ? entry.setValue(value) : target.put(entry.getKey(), value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            Map<String, Object> target = writer.get();
+            if (target == map) {
+                iterator.remove();
+            } else {
+                target.remove(last.getKey());
+            }
+            last = null;
+        }
+    }
+}
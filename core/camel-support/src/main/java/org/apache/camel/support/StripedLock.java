@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A lock which is split into a number of stripes, where each key is guarded by the stripe it hashes to.
+ * <p/>
+ * Use {@link #getLock(Object)} to lock a single key, which allows different keys to be locked in parallel.
+ * This lock itself locks all the stripes (in the same order), to allow exclusive access to all the keys.
+ * <p/>
+ * A thread holding the lock of a key must not lock all the stripes, or the lock of another key,
+ * as this can deadlock with another thread doing the same.
+ * <p/>
+ * A {@link Condition} of this lock releases all the stripes while waiting, and locks them again (in the same order)
+ * before returning.
+ */
+public class StripedLock implements Lock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be > 0, was " + stripes);
+        }
+        // use a power of two so the stripe can be found by masking the hash
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the lock which guards the given key
+     */
+    public Lock getLock(Object key) {
+        int h = key.hashCode();
+        // spread the hash as keys such as strings with a common prefix may only differ in the low bits
+        h ^= h >>> 16;
+        return stripes[h & mask];
+    }
+
+    /**
+     * Number of stripes
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    @Override
+    public void lock() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        int i = 0;
+        try {
+            for (; i < stripes.length; i++) {
+                stripes[i].lockInterruptibly();
+            }
+        } catch (InterruptedException e) {
+            unlock(i);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        for (int i = 0; i < stripes.length; i++) {
+            if (!stripes[i].tryLock()) {
+                unlock(i);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        int i = 0;
+        try {
+            for (; i < stripes.length; i++) {
+                if (!stripes[i].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    unlock(i);
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            unlock(i);
+            throw e;
+        }
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        unlock(stripes.length);
+    }
+
+    private void unlock(int count) {
+        // unlock in reverse order of locking
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new StripedCondition(stripes[0].newCondition());
+    }
+
+    /**
+     * A condition of the first stripe, where the other stripes are released while waiting. The other stripes are locked
+     * again after the first stripe has been locked again, which is the same order as when locking all the stripes.
+     */
+    private final class StripedCondition implements Condition {
+        private final Condition condition;
+
+        StripedCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            int[] holds = releaseOthers();
+            try {
+                condition.await();
+            } finally {
+                reacquireOthers(holds);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            int[] holds = releaseOthers();
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                reacquireOthers(holds);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            int[] holds = releaseOthers();
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                reacquireOthers(holds);
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            int[] holds = releaseOthers();
+            try {
+                return condition.await(time, unit);
+            } finally {
+                reacquireOthers(holds);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            int[] holds = releaseOthers();
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                reacquireOthers(holds);
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+
+        private int[] releaseOthers() {
+            if (!stripes[0].isHeldByCurrentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+            // the first stripe is released by the condition itself
+            int[] holds = new int[stripes.length];
+            for (int i = stripes.length - 1; i > 0; i--) {
+                holds[i] = stripes[i].getHoldCount();
+                for (int j = 0; j < holds[i]; j++) {
+                    stripes[i].unlock();
+                }
+            }
+            return holds;
+        }
+
+        private void reacquireOthers(int[] holds) {
+            for (int i = 1; i < stripes.length; i++) {
+                for (int j = 0; j < holds[i]; j++) {
+                    stripes[i].lock();
+                }
+            }
+        }
+    }
+}
@@ -937,6 +937,11 @@ public class ExpressionBuilder {
             public Object evaluate(Exchange exchange) {
                 String text = simpleExpression(token).evaluate(exchange, String.class);
                 Object value = expression.evaluate(exchange, Object.class);
+                // use the faster token iterator for literal tokens, and fallback to the scanner
+                Iterator<String> it = ExchangeHelper.getTokenIterator(exchange, value, text, 1, false);
+                if (it != null) {
+                    return it;
+                }
                 Scanner scanner = ExchangeHelper.getScanner(exchange, value, text);
                 return scanner;
             }
@@ -948,6 +953,42 @@ public class ExpressionBuilder {
         };
     }
 
+    /**
+     * Returns a tokenize expression which will tokenize the string with the
+     * given token, and group the given number of parts together. This is the same as
+     * {@link #groupIteratorExpression(Expression, String, String, boolean)} on a {@link #tokenizeExpression(Expression, String)},
+     * but a literal token is tokenized and grouped in one go, without converting each part.
+     */
+    public static Expression groupTokenizeExpression(final Expression expression, final String token, final String group, final boolean skipFirst) {
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                // the group can be a simple expression so evaluate it as a number
+                Integer parts = exchange.getContext().resolveLanguage("simple").createExpression(group).evaluate(exchange, Integer.class);
+                if (parts == null) {
+                    throw new RuntimeExchangeException("Group evaluated as null, must be evaluated as a positive Integer value from expression: " + group, exchange);
+                } else if (parts <= 0) {
+                    throw new RuntimeExchangeException("Group must be a positive number, was: " + parts, exchange);
+                }
+                String text = simpleExpression(token).evaluate(exchange, String.class);
+                Object value = expression.evaluate(exchange, Object.class);
+                // the parts are joined by the token as is (not evaluated)
+                if (token.equals(text)) {
+                    Iterator<String> it = ExchangeHelper.getTokenIterator(exchange, value, text, parts, skipFirst);
+                    if (it != null) {
+                        return it;
+                    }
+                }
+                Scanner scanner = ExchangeHelper.getScanner(exchange, value, text);
+                return new GroupTokenIterator(exchange, scanner, token, parts, skipFirst);
+            }
+
+            @Override
+            public String toString() {
+                return "group tokenize(" + expression + ", " + token + ") " + group + " times";
+            }
+        };
+    }
+
     /**
      * Returns an expression that skips the first element
      */
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.BloomFilter;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * An {@link IdempotentRepository} which uses a {@link BloomFilter} in front of another repository, to avoid accessing
+ * the repository for keys which has definitely not been added, such as a database or a remote cache where each access
+ * is a network round-trip.
+ * <p/>
+ * The {@link #contains(String)} and {@link #remove(String)} methods are short-circuited for keys which are not in the
+ * filter. The {@link #add(String)} method always adds the key to the repository, as the key must be stored.
+ * The filter grows when the number of keys exceeds its capacity, by adding a new filter twice the size with a tighter
+ * false positive probability, so the overall false positive probability stays bounded (a scalable bloom filter).
+ * <p/>
+ * <b>Important:</b> The filter only knows the keys which are added using this repository, and the keys loaded using
+ * {@link #setWarmUpKeys(Supplier)} when started. A key which is already in the underlying repository, but not known
+ * by the filter, is reported as absent by {@link #contains(String)} and is not removed by {@link #remove(String)}.
+ * Therefore warm up keys should be configured when the underlying repository is persistent, and this repository
+ * should only be used when it is the only one adding keys to the underlying repository, or else a key added by
+ * another Camel instance is not detected.
+ */
+@ManagedResource(description = "Bloom filter based idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final IdempotentRepository repository;
+    // an immutable snapshot of the filters, which is replaced when a filter is added or the filters are reset
+    private volatile Filter[] filters = new Filter[0];
+    // the number of lookups of keys which are not in the filter (short-circuited), and which are wrongly in the filter
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private long expectedInsertions = 100000;
+    private double falsePositiveProbability = 0.01;
+    private Supplier<? extends Iterable<String>> warmUpKeys;
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        ObjectHelper.notNull(repository, "repository");
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new bloom filter based repository in front of the given repository
+     *
+     * @param repository  the repository
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    @Override
+    public boolean add(String key) {
+        return add(null, key);
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        boolean added = exchange != null ? repository.add(exchange, key) : repository.add(key);
+        // the key is in the repository either way, so the filter also learns the keys which was added before
+        put(BloomFilter.hash(key));
+        return added;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return contains(null, key);
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        long hash = BloomFilter.hash(key);
+        if (!mightContain(hash)) {
+            definiteMisses.incrementAndGet();
+            return false;
+        }
+        boolean answer = exchange != null ? repository.contains(exchange, key) : repository.contains(key);
+        if (!answer) {
+            falsePositives.incrementAndGet();
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        return remove(null, key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        // the key remains in the filter, as keys cannot be removed from a bloom filter
+        if (!mightContain(BloomFilter.hash(key))) {
+            definiteMisses.incrementAndGet();
+            return false;
+        }
+        boolean answer = exchange != null ? repository.remove(exchange, key) : repository.remove(key);
+        if (!answer) {
+            falsePositives.incrementAndGet();
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        repository.clear();
+        resetFilter();
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        definiteMisses.set(0);
+        falsePositives.set(0);
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys the first filter is sized for")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Sets the expected number of keys the first filter is sized for. When more keys are added, then a new
+     * filter with twice the size is added.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The configured false positive probability")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability of the first filter. Each new filter uses half the false positive
+     * probability of the previous filter, so the overall probability is at most twice the configured probability.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public Supplier<? extends Iterable<String>> getWarmUpKeys() {
+        return warmUpKeys;
+    }
+
+    /**
+     * Sets the keys to add to the filter when started, which should be the keys already in the underlying repository,
+     * such as from a query of the database. Otherwise the keys which was added before the repository was started, are
+     * only detected as duplicates by {@link #add(String)}, and are reported as absent by {@link #contains(String)}
+     * until they are added again.
+     */
+    public void setWarmUpKeys(Supplier<? extends Iterable<String>> warmUpKeys) {
+        this.warmUpKeys = warmUpKeys;
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys not in the filter, where the underlying repository was not accessed")
+    public long getDefiniteMisses() {
+        return definiteMisses.get();
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys wrongly in the filter, where the underlying repository was accessed in vain")
+    public long getFalsePositives() {
+        return falsePositives.get();
+    }
+
+    @ManagedAttribute(description = "The observed false positive rate, of the lookups of keys not in the underlying repository")
+    public double getFalsePositiveRate() {
+        long positives = falsePositives.get();
+        long total = positives + definiteMisses.get();
+        return total > 0 ? (double) positives / total : 0;
+    }
+
+    @ManagedAttribute(description = "The estimated false positive probability of the filter, based on the bits set")
+    public double getEstimatedFalsePositiveProbability() {
+        // the probability that any of the filters gives a false positive
+        double none = 1;
+        for (Filter filter : filters) {
+            none *= 1 - filter.filter.getFalsePositiveProbability();
+        }
+        return 1 - none;
+    }
+
+    @ManagedAttribute(description = "Number of keys added to the filter")
+    public long getInsertions() {
+        long count = 0;
+        for (Filter filter : filters) {
+            count += filter.insertions.get();
+        }
+        return count;
+    }
+
+    @ManagedAttribute(description = "Number of filters")
+    public int getFilters() {
+        return filters.length;
+    }
+
+    @ManagedAttribute(description = "Total size of the filters in bits")
+    public long getFilterBitSize() {
+        long size = 0;
+        for (Filter filter : filters) {
+            size += filter.filter.getBitSize();
+        }
+        return size;
+    }
+
+    private boolean mightContain(long hash) {
+        for (Filter filter : filters) {
+            if (filter.filter.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(long hash) {
+        Filter[] snapshot = filters;
+        if (snapshot.length == 0) {
+            throw new IllegalStateException("BloomFilterIdempotentRepository is not started");
+        }
+        Filter current = snapshot[snapshot.length - 1];
+        if (current.insertions.get() >= current.capacity) {
+            current = grow(current);
+        }
+        if (current.filter.put(hash)) {
+            current.insertions.incrementAndGet();
+        }
+    }
+
+    private synchronized Filter grow(Filter current) {
+        Filter[] snapshot = filters;
+        Filter last = snapshot[snapshot.length - 1];
+        if (last != current) {
+            // another thread has already added a new filter, or the filters has been reset
+            return last;
+        }
+        Filter next = new Filter(current.capacity * GROWTH_FACTOR, current.falsePositiveProbability * TIGHTENING_RATIO);
+        Filter[] grown = Arrays.copyOf(snapshot, snapshot.length + 1);
+        grown[snapshot.length] = next;
+        filters = grown;
+        log.debug("Added bloom filter with capacity: {} as the previous filter is full", next.capacity);
+        return next;
+    }
+
+    private synchronized void resetFilter() {
+        filters = new Filter[] {new Filter(expectedInsertions, falsePositiveProbability)};
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(repository);
+        resetFilter();
+
+        if (warmUpKeys != null) {
+            log.debug("Loading keys into the bloom filter");
+            long count = 0;
+            for (String key : warmUpKeys.get()) {
+                put(BloomFilter.hash(key));
+                count++;
+            }
+            log.debug("Loaded {} keys into the bloom filter", count);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+    }
+
+    private static final class Filter {
+        private final BloomFilter filter;
+        private final long capacity;
+        private final double falsePositiveProbability;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Filter(long capacity, double falsePositiveProbability) {
+            this.filter = new BloomFilter(capacity, falsePositiveProbability);
+            this.capacity = capacity;
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+    }
+}
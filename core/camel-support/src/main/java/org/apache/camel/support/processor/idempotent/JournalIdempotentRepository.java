@@ -0,0 +1,1021 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.BloomFilter;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository}, which stores the keys in an
+ * append-only journal split into segment files.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository} the file store is never scanned or rewritten when adding, checking or removing
+ * keys. All the keys are indexed in memory by their 64-bit hash and location in the journal, which is split into stripes
+ * with their own lock, so concurrent consumers do not block each other. The keys are appended to the journal (removed keys
+ * are appended as a tombstone), and the journal is replayed to rebuild the index when the repository is started.
+ * <p/>
+ * When the current segment is full a new segment is created, and the oldest segment is compacted when most of its keys
+ * have been removed, by appending its remaining keys to the journal and deleting the segment. If the number of segments
+ * exceeds {@link #getMaxSegments()} then the oldest segment is dropped including its keys, similar to how
+ * {@link FileIdempotentRepository} drops the oldest entries when the file store is full. The compaction is done by a
+ * background task, so adding a key is not delayed by reading and rewriting a segment.
+ * <p/>
+ * The segments are written using a {@link FileChannel} (not memory mapped), so a segment file can be deleted as soon
+ * as its channel is closed. The journal is forced to disk every {@link #getSyncInterval()} millis by a background task.
+ * If {@link #isForceSync()} is enabled then adding or removing a key does not return until the journal has been forced
+ * to disk, where concurrent writers share the same force (group commit).
+ * <p/>
+ * An optional {@link BloomFilter} can be enabled, which allows {@link #contains(String)} and {@link #add(String)}
+ * of new keys to skip the index lookup.
+ */
+@ManagedResource(description = "Journal based idempotent repository")
+public class JournalIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    // length (int) + operation (byte) + crc (int)
+    private static final int RECORD_OVERHEAD = 9;
+
+    private final AtomicBoolean compactionNeeded = new AtomicBoolean();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final Object appendLock = new Object();
+    private final Object forceLock = new Object();
+    private final Map<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private CamelContext camelContext;
+    private File journalDirectory;
+    private int segmentSize = 16 * 1024 * 1024;
+    private int maxSegments;
+    private double compactionThreshold = 0.5;
+    private boolean forceSync;
+    private long syncInterval = 1000;
+    private int stripes = 16;
+    private boolean bloomFilterEnabled;
+    private long bloomFilterExpectedInsertions = 1000000;
+    private double bloomFilterFalsePositiveProbability = 0.01;
+
+    // null when the repository is stopped
+    private volatile Stripe[] index;
+    private int stripeMask;
+    private BloomFilter bloomFilter;
+    // guarded by appendLock
+    private Segment tail;
+    private int writeOffset;
+    // the journal positions (segment id and offset) which has been written and forced to disk
+    private volatile long writePosition;
+    private volatile long forcedPosition;
+    private volatile ScheduledExecutorService executor;
+
+    public JournalIdempotentRepository() {
+    }
+
+    public JournalIdempotentRepository(File journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Creates a new journal based repository.
+     *
+     * @param journalDirectory  the directory of the journal segment files
+     */
+    public static IdempotentRepository journalIdempotentRepository(File journalDirectory) {
+        return new JournalIdempotentRepository(journalDirectory);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long hash = BloomFilter.hash(key);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long position;
+        Stripe stripe = stripeFor(hash);
+        stripe.lock.lock();
+        try {
+            // the key is definitely new if not in the bloom filter
+            if ((bloomFilter == null || bloomFilter.mightContain(hash)) && stripe.indexOf(hash, bytes) >= 0) {
+                return false;
+            }
+            long location = append(OP_ADD, bytes);
+            stripe.put(hash, location);
+            position = writePosition;
+            if (bloomFilter != null) {
+                bloomFilter.put(hash);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterWrite(position);
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        long hash = BloomFilter.hash(key);
+        if (bloomFilter != null && !bloomFilter.mightContain(hash)) {
+            return false;
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        Stripe stripe = stripeFor(hash);
+        stripe.lock.lock();
+        try {
+            return stripe.indexOf(hash, bytes) >= 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long hash = BloomFilter.hash(key);
+        if (bloomFilter != null && !bloomFilter.mightContain(hash)) {
+            return false;
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long position;
+        Stripe stripe = stripeFor(hash);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.indexOf(hash, bytes);
+            if (slot < 0) {
+                return false;
+            }
+            segmentOf(stripe.locations[slot]).live.decrementAndGet();
+            stripe.removeAt(slot);
+            append(OP_REMOVE, bytes);
+            position = writePosition;
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterWrite(position);
+        return true;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        Stripe[] all = getIndex();
+        compactionLock.lock();
+        lockAll(all);
+        try {
+            synchronized (appendLock) {
+                for (Stripe stripe : all) {
+                    stripe.clear();
+                }
+                if (bloomFilter != null) {
+                    bloomFilter.clear();
+                }
+                for (Segment segment : segments.values()) {
+                    deleteSegment(segment);
+                }
+                int id = tail != null ? tail.id + 1 : 1;
+                createSegment(id);
+            }
+        } finally {
+            unlockAll(all);
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the journal to disk
+     */
+    @ManagedOperation(description = "Forces the journal to disk")
+    public void force() {
+        force(writePosition);
+    }
+
+    /**
+     * Compacts the oldest segments where most of the keys have been removed
+     */
+    @ManagedOperation(description = "Compacts the oldest segments where most of the keys have been removed")
+    public void compact() {
+        compactionLock.lock();
+        try {
+            while (true) {
+                Segment oldest = oldestSegment();
+                if (oldest == null || oldest == currentTail()) {
+                    break;
+                }
+                if (maxSegments > 0 && segments.size() > maxSegments) {
+                    log.warn("Maximum number of segments: {} hit in journal: {}. Dropping the oldest segment with {} entries",
+                            maxSegments, journalDirectory, oldest.live.get());
+                    compactSegment(oldest, false);
+                } else if (oldest.live.get() <= oldest.adds.get() * compactionThreshold) {
+                    log.debug("Compacting segment: {} with {} of {} entries remaining", oldest.file, oldest.live.get(), oldest.adds.get());
+                    compactSegment(oldest, true);
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "The directory of the journal")
+    public String getJournalPath() {
+        return journalDirectory.getPath();
+    }
+
+    @ManagedAttribute(description = "Number of keys in the store")
+    public long getSize() {
+        long size = 0;
+        Stripe[] all = index;
+        if (all != null) {
+            for (Stripe stripe : all) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    @ManagedAttribute(description = "Number of segment files in the journal")
+    public int getSegments() {
+        return segments.size();
+    }
+
+    public File getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    /**
+     * The directory of the journal segment files
+     */
+    public void setJournalDirectory(File journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    @ManagedAttribute(description = "The size of a segment file in bytes")
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the size of a segment file in bytes.
+     * <p/>
+     * The default is 16mb.
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @ManagedAttribute(description = "The maximum number of segment files")
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    /**
+     * Sets the maximum number of segment files, where the oldest segment including its keys is dropped when exceeded.
+     * The segment is dropped by a background task, so the journal can briefly have one more segment than the maximum.
+     * You can set the value to 0 or negative to turn this off, and have unlimited number of segments.
+     * <p/>
+     * The default is unlimited.
+     */
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio of remaining keys in the oldest segment, below which the segment is compacted.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public boolean isForceSync() {
+        return forceSync;
+    }
+
+    /**
+     * Whether adding or removing a key should not return until the journal has been forced to disk.
+     * Concurrent writers share the same force (group commit).
+     * <p/>
+     * The default is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the interval in millis the journal is forced to disk by a background task, when {@link #isForceSync()}
+     * is not enabled. You can set the value to 0 or negative to turn this off. The journal is also forced to disk
+     * when the repository is stopped.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Sets the number of stripes the index is split into, each with their own lock.
+     * <p/>
+     * The default is 16.
+     */
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public boolean isBloomFilterEnabled() {
+        return bloomFilterEnabled;
+    }
+
+    /**
+     * Whether to use a {@link BloomFilter} in front of the index.
+     * <p/>
+     * The default is false.
+     */
+    public void setBloomFilterEnabled(boolean bloomFilterEnabled) {
+        this.bloomFilterEnabled = bloomFilterEnabled;
+    }
+
+    public long getBloomFilterExpectedInsertions() {
+        return bloomFilterExpectedInsertions;
+    }
+
+    /**
+     * Sets the expected number of keys, which the bloom filter is sized for.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setBloomFilterExpectedInsertions(long bloomFilterExpectedInsertions) {
+        this.bloomFilterExpectedInsertions = bloomFilterExpectedInsertions;
+    }
+
+    public double getBloomFilterFalsePositiveProbability() {
+        return bloomFilterFalsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability of the bloom filter, when the expected number of keys has been added.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setBloomFilterFalsePositiveProbability(double bloomFilterFalsePositiveProbability) {
+        this.bloomFilterFalsePositiveProbability = bloomFilterFalsePositiveProbability;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(journalDirectory, "journalDirectory", this);
+        if (segmentSize <= RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("SegmentSize must be > " + RECORD_OVERHEAD + ", was " + segmentSize);
+        }
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be > 0, was " + stripes);
+        }
+
+        // use a power of two so the stripe can be found by masking the hash
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        Stripe[] all = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = new Stripe();
+        }
+        stripeMask = size - 1;
+        index = all;
+        bloomFilter = bloomFilterEnabled ? new BloomFilter(bloomFilterExpectedInsertions, bloomFilterFalsePositiveProbability) : null;
+
+        loadJournal();
+
+        // the background task compacts the journal, and forces it to disk if not done when writing
+        if (camelContext != null) {
+            executor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "JournalIdempotentRepository");
+        } else {
+            executor = Executors.newSingleThreadScheduledExecutor(
+                    new CamelThreadFactory("Camel Thread ##counter# - #name#", "JournalIdempotentRepository", true));
+        }
+        if (!forceSync && syncInterval > 0) {
+            executor.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executor != null) {
+            // let a running compaction complete, as interrupting it would close the segment it writes to
+            if (camelContext != null) {
+                camelContext.getExecutorServiceManager().shutdownGraceful(executor);
+            } else {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            executor = null;
+        }
+        compactionLock.lock();
+        try {
+            synchronized (forceLock) {
+                synchronized (appendLock) {
+                    for (Segment segment : segments.values()) {
+                        try {
+                            segment.channel.force(false);
+                        } finally {
+                            IOHelper.close(segment.channel);
+                        }
+                    }
+                    forcedPosition = writePosition;
+                    segments.clear();
+                    tail = null;
+                }
+            }
+            // the repository cannot be used until started again
+            index = null;
+            bloomFilter = null;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the record to the journal
+     *
+     * @return the location of the record
+     */
+    private long append(byte op, byte[] key) {
+        int length = RECORD_OVERHEAD + key.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Key with " + key.length + " bytes is too large for the segment size: " + segmentSize);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(key, 0, key.length);
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(key.length);
+        record.put(op);
+        record.put(key);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        synchronized (appendLock) {
+            if (tail == null) {
+                throw new IllegalStateException("JournalIdempotentRepository is not started");
+            }
+            if (writeOffset + length > segmentSize) {
+                rollSegment();
+            }
+            int offset = writeOffset;
+            try {
+                // an incomplete record (after a crash) is detected by its crc when the journal is loaded
+                writeFully(tail.channel, record, offset);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+            writeOffset = offset + length;
+            writePosition = position(tail.id, writeOffset);
+            if (op == OP_ADD) {
+                tail.adds.incrementAndGet();
+                tail.live.incrementAndGet();
+            }
+            return position(tail.id, offset);
+        }
+    }
+
+    private void afterWrite(long position) {
+        if (forceSync) {
+            force(position);
+        }
+        if (compactionNeeded.compareAndSet(true, false)) {
+            ScheduledExecutorService current = executor;
+            if (current != null) {
+                try {
+                    current.execute(this::compactInBackground);
+                } catch (RejectedExecutionException e) {
+                    // the repository is stopping, and the journal is compacted when the next segment is created after started again
+                    compactionNeeded.set(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compacts the journal from the background task
+     */
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (Exception e) {
+            log.warn("Error compacting journal: " + journalDirectory + ". This exception is ignored.", e);
+        }
+    }
+
+    /**
+     * Forces the journal to disk up until the given position. The writers which are waiting while
+     * another writer forces the journal, are likely to find their position is forced as well (group commit).
+     */
+    private void force(long position) {
+        if (forcedPosition >= position) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (forcedPosition >= position) {
+                return;
+            }
+            long target;
+            FileChannel channel;
+            synchronized (appendLock) {
+                if (tail == null) {
+                    return;
+                }
+                target = writePosition;
+                channel = tail.channel;
+            }
+            // the previous segments are forced when rolled
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // the segment has been deleted (cleared) in the meantime
+                return;
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+            forcedPosition = target;
+        }
+    }
+
+    /**
+     * Forces the journal to disk from the background task
+     */
+    private void sync() {
+        try {
+            force(writePosition);
+        } catch (Exception e) {
+            log.warn("Error forcing journal: " + journalDirectory + " to disk. This exception is ignored.", e);
+        }
+    }
+
+    private void rollSegment() {
+        // guarded by appendLock
+        try {
+            tail.channel.force(false);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        createSegment(tail.id + 1);
+        compactionNeeded.set(true);
+    }
+
+    private void createSegment(int id) {
+        // guarded by appendLock
+        File file = new File(journalDirectory, segmentName(id));
+        try {
+            tail = openSegment(id, file);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        segments.put(id, tail);
+        writeOffset = 0;
+        writePosition = position(id, 0);
+        log.debug("Created segment: {} in journal: {}", file, journalDirectory);
+    }
+
+    /**
+     * Moves the keys which are still live in the segment to the end of the journal (if keep is enabled)
+     * and deletes the segment.
+     */
+    private void compactSegment(Segment segment, boolean keep) {
+        ByteBuffer data;
+        try {
+            data = readSegment(segment);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        int offset = 0;
+        while (true) {
+            int length = recordLength(data, offset);
+            if (length < 0) {
+                break;
+            }
+            if (data.get(offset + 4) == OP_ADD) {
+                long location = position(segment.id, offset);
+                byte[] bytes = readKey(data, offset, length);
+                long hash = BloomFilter.hash(new String(bytes, StandardCharsets.UTF_8));
+                Stripe stripe = stripeFor(hash);
+                stripe.lock.lock();
+                try {
+                    int slot = stripe.indexOfLocation(hash, location);
+                    if (slot >= 0) {
+                        if (keep) {
+                            stripe.locations[slot] = append(OP_ADD, bytes);
+                        } else {
+                            stripe.removeAt(slot);
+                        }
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            offset += RECORD_OVERHEAD + length;
+        }
+        // the moved keys must be on disk before the segment is deleted
+        force(writePosition);
+        deleteSegment(segment);
+    }
+
+    private void loadJournal() throws IOException {
+        if (!journalDirectory.exists()) {
+            log.debug("Creating journal directory: {}", journalDirectory);
+            if (!journalDirectory.mkdirs()) {
+                throw new IOException("Cannot create journal directory: " + journalDirectory);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        File[] files = journalDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    ids.add(Integer.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                }
+            }
+        }
+        ids.sort(null);
+
+        log.trace("Loading index from journal: {} with {} segments", journalDirectory, ids.size());
+        synchronized (appendLock) {
+            ByteBuffer data = null;
+            for (Integer id : ids) {
+                File file = new File(journalDirectory, segmentName(id));
+                Segment segment = openSegment(id, file);
+                segments.put(id, segment);
+                data = readSegment(segment);
+                writeOffset = replaySegment(segment, data);
+                tail = segment;
+            }
+            if (tail == null) {
+                createSegment(1);
+            } else {
+                // truncate any incomplete records after the end of the journal
+                int dirty = writeOffset;
+                while (dirty < data.limit() && data.get(dirty) == 0) {
+                    dirty++;
+                }
+                if (dirty < data.limit()) {
+                    log.warn("Clearing incomplete records after offset: {} in segment: {}", writeOffset, tail.file);
+                }
+                tail.channel.truncate(writeOffset);
+                writePosition = position(tail.id, writeOffset);
+            }
+            forcedPosition = writePosition;
+        }
+        log.debug("Loaded {} keys from journal: {} with {} segments", getSize(), journalDirectory, segments.size());
+    }
+
+    /**
+     * Replays the records of the segment into the index
+     *
+     * @return the offset after the last valid record
+     */
+    private int replaySegment(Segment segment, ByteBuffer data) {
+        int offset = 0;
+        while (true) {
+            int length = recordLength(data, offset);
+            if (length < 0) {
+                break;
+            }
+            byte op = data.get(offset + 4);
+            byte[] bytes = readKey(data, offset, length);
+            CRC32 crc = new CRC32();
+            crc.update(op);
+            crc.update(bytes, 0, bytes.length);
+            if ((int) crc.getValue() != data.getInt(offset + 5 + length) || (op != OP_ADD && op != OP_REMOVE)) {
+                log.warn("Invalid record at offset: {} in segment: {}. The remaining records in the segment are ignored.", offset, segment.file);
+                break;
+            }
+
+            long hash = BloomFilter.hash(new String(bytes, StandardCharsets.UTF_8));
+            Stripe stripe = stripeFor(hash);
+            int slot = stripe.indexOf(hash, bytes);
+            if (slot >= 0) {
+                segmentOf(stripe.locations[slot]).live.decrementAndGet();
+                stripe.removeAt(slot);
+            }
+            if (op == OP_ADD) {
+                stripe.put(hash, position(segment.id, offset));
+                segment.adds.incrementAndGet();
+                segment.live.incrementAndGet();
+                if (bloomFilter != null) {
+                    bloomFilter.put(hash);
+                }
+            }
+            offset += RECORD_OVERHEAD + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Gets the key length of the record at the offset, or -1 if there is no record
+     */
+    private static int recordLength(ByteBuffer data, int offset) {
+        int limit = data.limit();
+        if (offset + 4 > limit) {
+            return -1;
+        }
+        int length = data.getInt(offset);
+        if (length <= 0 || offset + RECORD_OVERHEAD + length > limit) {
+            return -1;
+        }
+        return length;
+    }
+
+    private static byte[] readKey(ByteBuffer data, int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data.get(offset + 5 + i);
+        }
+        return bytes;
+    }
+
+    private static boolean keyEquals(Segment segment, int offset, byte[] key) {
+        // length (int) + operation (byte) + key
+        ByteBuffer data = ByteBuffer.allocate(5 + key.length);
+        try {
+            while (data.hasRemaining()) {
+                if (segment.channel.read(data, offset + data.position()) < 0) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        if (data.getInt(0) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (data.get(5 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the content of the segment, which is used when the journal is loaded and when the segment is compacted
+     */
+    private static ByteBuffer readSegment(Segment segment) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate((int) segment.channel.size());
+        while (data.hasRemaining()) {
+            if (segment.channel.read(data, data.position()) < 0) {
+                break;
+            }
+        }
+        data.flip();
+        return data;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data, position + data.position());
+        }
+    }
+
+    private static Segment openSegment(int id, File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, file, channel);
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        // close the channel first, as an open file cannot be deleted on all platforms
+        IOHelper.close(segment.channel, segment.file.getName(), log);
+        if (!FileUtil.deleteFile(segment.file)) {
+            log.warn("Cannot delete segment: {} from journal: {}", segment.file, journalDirectory);
+        }
+    }
+
+    private Segment oldestSegment() {
+        return segments.isEmpty() ? null : ((ConcurrentSkipListMap<Integer, Segment>) segments).firstEntry().getValue();
+    }
+
+    private Segment currentTail() {
+        synchronized (appendLock) {
+            return tail;
+        }
+    }
+
+    private Segment segmentOf(long location) {
+        return segments.get((int) (location >>> 32));
+    }
+
+    private Stripe[] getIndex() {
+        Stripe[] answer = index;
+        if (answer == null) {
+            throw new IllegalStateException("JournalIdempotentRepository is not started");
+        }
+        return answer;
+    }
+
+    private Stripe stripeFor(long hash) {
+        return getIndex()[(int) (hash >>> 32) & stripeMask];
+    }
+
+    private static void lockAll(Stripe[] stripes) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private static void unlockAll(Stripe[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlock();
+        }
+    }
+
+    private static long position(int id, int offset) {
+        return ((long) id << 32) | offset;
+    }
+
+    private static String segmentName(int id) {
+        return SEGMENT_PREFIX + String.format("%010d", id) + SEGMENT_SUFFIX;
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final File file;
+        private final FileChannel channel;
+        // number of keys added, and the number of those which are still in the index
+        private final AtomicInteger adds = new AtomicInteger();
+        private final AtomicInteger live = new AtomicInteger();
+
+        Segment(int id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * A part of the index, which is an open addressing hash table from the hash of a key to the location of the key
+     * in the journal. The key is compared with the key in the journal, in case of hash collisions.
+     */
+    private final class Stripe {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        // 0 is an empty slot as segment ids starts from 1
+        private long[] locations = new long[INITIAL_CAPACITY];
+        private int size;
+
+        int indexOf(long hash, byte[] key) {
+            int mask = locations.length - 1;
+            for (int i = (int) hash & mask; locations[i] != 0; i = (i + 1) & mask) {
+                if (hashes[i] == hash) {
+                    long location = locations[i];
+                    if (keyEquals(segmentOf(location), (int) location, key)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        int indexOfLocation(long hash, long location) {
+            int mask = locations.length - 1;
+            for (int i = (int) hash & mask; locations[i] != 0; i = (i + 1) & mask) {
+                if (locations[i] == location) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void put(long hash, long location) {
+            if ((size + 1) * 4 > locations.length * 3) {
+                resize();
+            }
+            insert(hash, location);
+            size++;
+        }
+
+        private void insert(long hash, long location) {
+            int mask = locations.length - 1;
+            int i = (int) hash & mask;
+            while (locations[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            locations[i] = location;
+        }
+
+        private void resize() {
+            long[] oldHashes = hashes;
+            long[] oldLocations = locations;
+            hashes = new long[oldLocations.length * 2];
+            locations = new long[oldLocations.length * 2];
+            for (int i = 0; i < oldLocations.length; i++) {
+                if (oldLocations[i] != 0) {
+                    insert(oldHashes[i], oldLocations[i]);
+                }
+            }
+        }
+
+        void removeAt(int slot) {
+            // shift the following entries back, so there are no gaps in the probe sequences
+            int mask = locations.length - 1;
+            int i = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                if (locations[j] == 0) {
+                    break;
+                }
+                int home = (int) hashes[j] & mask;
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    hashes[i] = hashes[j];
+                    locations[i] = locations[j];
+                    i = j;
+                }
+            }
+            hashes[i] = 0;
+            locations[i] = 0;
+            size--;
+        }
+
+        void clear() {
+            hashes = new long[INITIAL_CAPACITY];
+            locations = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+
+}
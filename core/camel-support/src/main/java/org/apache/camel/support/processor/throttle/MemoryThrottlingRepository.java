@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ThrottlingRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.ThrottlingRepository}.
+ * <p/>
+ * The permits are only shared by the throttlers using the same repository instance in the JVM,
+ * which makes it useful for testing, or to throttle several routes together.
+ */
+@ManagedResource(description = "Memory based throttling repository")
+public class MemoryThrottlingRepository extends ServiceSupport implements ThrottlingRepository {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new memory based repository.
+     */
+    public static ThrottlingRepository memoryThrottlingRepository() {
+        return new MemoryThrottlingRepository();
+    }
+
+    @Override
+    public int acquirePermits(String key, long periodStart, long timePeriodMillis, int permits, int maxPermits) {
+        int[] acquired = new int[1];
+        windows.compute(key, (k, window) -> {
+            if (window != null && window.periodStart > periodStart) {
+                // the caller is behind (clock skew) so no permits for an old time period
+                return window;
+            }
+            // the window of an old time period is replaced
+            if (window == null || window.periodStart != periodStart) {
+                window = new Window(periodStart);
+            }
+            acquired[0] = Math.max(0, Math.min(permits, maxPermits - window.used));
+            window.used += acquired[0];
+            return window;
+        });
+        return acquired[0];
+    }
+
+    @ManagedAttribute(description = "Current number of keys")
+    public int getSize() {
+        return windows.size();
+    }
+
+    @ManagedOperation(description = "Clear the repository")
+    public void clear() {
+        windows.clear();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        windows.clear();
+    }
+
+    private static final class Window {
+        private final long periodStart;
+        private int used;
+
+        Window(long periodStart) {
+            this.periodStart = periodStart;
+        }
+    }
+}
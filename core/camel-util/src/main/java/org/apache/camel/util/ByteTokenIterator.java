@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An {@link Iterator} which splits a stream of bytes by a literal delimiter, such as a new line.
+ * <p/>
+ * Unlike {@link Scanner} the input is not decoded into characters and matched using a regular expression, but the
+ * delimiter is encoded and searched for in the bytes, and only the tokens are decoded into strings, directly from
+ * the read buffer. When grouping, then each group of tokens (including the delimiters in between) is decoded into
+ * a single string, instead of decoding each token on its own.
+ * <p/>
+ * The tokens are the same as returned by a {@link Scanner} using the delimiter as pattern, which means that a
+ * delimiter at the beginning and at the end of the input is skipped. This is only correct for charsets where the
+ * encoded delimiter cannot be a part of the encoding of another character, see {@link #isSupportedCharset(Charset)}.
+ * If the input is malformed in the charset, then the iteration stops, and the error is thrown when closed, as with
+ * a {@link Scanner}.
+ */
+public final class ByteTokenIterator implements Iterator<String>, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final InputStream in;
+    private final ReadableByteChannel channel;
+    private final Charset charset;
+    private final byte[] delimiter;
+    private final int group;
+    private boolean skipFirst;
+    private byte[] buf;
+    // the start of the next token, and the end of the bytes read into the buffer
+    private int position;
+    private int limit;
+    // the number of bytes (relative to position) of the tokens found by the last scan, including the last delimiter
+    private int consumed;
+    // the next token, which is found in advance by hasNext
+    private String token;
+    private boolean inputExhausted;
+    private boolean started;
+    private boolean closed;
+    private IOException lastIOException;
+
+    /**
+     * Creates a new iterator
+     *
+     * @param source     the input stream to read
+     * @param charset    the charset of the input
+     * @param delimiter  the literal delimiter
+     * @param group      number of tokens to group together, use 1 to not group
+     * @param skipFirst  whether to skip the first token (such as a header line)
+     */
+    public ByteTokenIterator(InputStream source, Charset charset, String delimiter, int group, boolean skipFirst) {
+        this(Objects.requireNonNull(source, "source"), null, null, charset, delimiter, group, skipFirst);
+    }
+
+    /**
+     * Creates a new iterator
+     *
+     * @param source     the channel to read, such as a {@link java.nio.channels.FileChannel}
+     * @param charset    the charset of the input
+     * @param delimiter  the literal delimiter
+     * @param group      number of tokens to group together, use 1 to not group
+     * @param skipFirst  whether to skip the first token (such as a header line)
+     */
+    public ByteTokenIterator(ReadableByteChannel source, Charset charset, String delimiter, int group, boolean skipFirst) {
+        this(null, Objects.requireNonNull(source, "source"), null, charset, delimiter, group, skipFirst);
+    }
+
+    /**
+     * Creates a new iterator, which tokenizes the given bytes without copying them
+     *
+     * @param source     the bytes
+     * @param charset    the charset of the input
+     * @param delimiter  the literal delimiter
+     * @param group      number of tokens to group together, use 1 to not group
+     * @param skipFirst  whether to skip the first token (such as a header line)
+     */
+    public ByteTokenIterator(byte[] source, Charset charset, String delimiter, int group, boolean skipFirst) {
+        this(null, null, Objects.requireNonNull(source, "source"), charset, delimiter, group, skipFirst);
+    }
+
+    private ByteTokenIterator(InputStream in, ReadableByteChannel channel, byte[] bytes, Charset charset,
+                              String delimiter, int group, boolean skipFirst) {
+        Objects.requireNonNull(charset, "charset");
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        if (group <= 0) {
+            throw new IllegalArgumentException("Group must be a positive number, was: " + group);
+        }
+        this.in = in;
+        this.channel = channel;
+        this.charset = charset;
+        this.delimiter = delimiter.getBytes(charset);
+        this.group = group;
+        this.skipFirst = skipFirst;
+        if (bytes != null) {
+            this.buf = bytes;
+            this.limit = bytes.length;
+            this.inputExhausted = true;
+        } else {
+            this.buf = new byte[BUFFER_SIZE];
+        }
+    }
+
+    /**
+     * Whether the input in the given charset can be tokenized by searching for the encoded delimiter, which requires
+     * that the encoded delimiter cannot be a part of the encoding of another character.
+     */
+    public static boolean isSupportedCharset(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)
+            || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        boolean answer = hasToken();
+        if (!answer) {
+            // auto close
+            try {
+                close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String next() {
+        if (closed || !hasToken()) {
+            throw new NoSuchElementException();
+        }
+        String answer = token;
+        token = null;
+        return answer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                if (in != null) {
+                    in.close();
+                } else if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                lastIOException = e;
+            }
+        }
+        if (lastIOException != null) {
+            throw lastIOException;
+        }
+    }
+
+    private boolean hasToken() {
+        if (token == null && lastIOException == null) {
+            token = nextToken();
+        }
+        return token != null;
+    }
+
+    private String nextToken() {
+        if (!started) {
+            started = true;
+            // a delimiter at the beginning is skipped
+            if (available(delimiter.length) && startsWithDelimiter(position)) {
+                position += delimiter.length;
+            }
+        }
+        if (!available(1)) {
+            return null;
+        }
+        if (skipFirst) {
+            skipFirst = false;
+            scan(1);
+            position += consumed;
+            if (!available(1)) {
+                // only the first token which is skipped
+                return "";
+            }
+        }
+        int end = scan(group);
+        String answer = decode(end);
+        position += consumed;
+        return answer;
+    }
+
+    private String decode(int length) {
+        String answer = new String(buf, position, length, charset);
+        if (answer.indexOf(REPLACEMENT) >= 0) {
+            // the replacement character may be in the input, so check whether the input is malformed
+            try {
+                charset.newDecoder().decode(ByteBuffer.wrap(buf, position, length));
+            } catch (CharacterCodingException e) {
+                // stop like the scanner, and throw the exception when closed
+                lastIOException = e;
+                return null;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Scans the given number of tokens from the position.
+     *
+     * @return the end of the tokens (excluding the last delimiter) relative to the position
+     */
+    private int scan(int tokens) {
+        int count = 0;
+        int from = 0;
+        int end;
+        while (true) {
+            int index = indexOfDelimiter(from);
+            if (index < 0) {
+                // the last token
+                end = limit - position;
+                from = end;
+                break;
+            }
+            end = index;
+            from = index + delimiter.length;
+            // a delimiter at the end is skipped
+            if (++count == tokens || !available(from + 1)) {
+                break;
+            }
+        }
+        consumed = from;
+        return end;
+    }
+
+    /**
+     * Finds the next delimiter, reading more input as needed.
+     *
+     * @param from where to start searching, relative to the position
+     * @return the index of the delimiter relative to the position, or <tt>-1</tt> if there is no more delimiters
+     */
+    private int indexOfDelimiter(int from) {
+        while (true) {
+            int index = indexOf(position + from);
+            if (index >= 0) {
+                return index - position;
+            }
+            if (inputExhausted) {
+                return -1;
+            }
+            // the end of the buffer may be the start of a delimiter
+            from = Math.max(from, limit - position - delimiter.length + 1);
+            readMore();
+        }
+    }
+
+    private int indexOf(int from) {
+        byte first = delimiter[0];
+        int max = limit - delimiter.length;
+        for (int i = from; i <= max; i++) {
+            if (buf[i] == first && startsWithDelimiter(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean startsWithDelimiter(int index) {
+        for (int i = 1; i < delimiter.length; i++) {
+            if (buf[index + i] != delimiter[i]) {
+                return false;
+            }
+        }
+        return buf[index] == delimiter[0];
+    }
+
+    /**
+     * Reads more input until the given number of bytes is available from the position, or the input is exhausted.
+     */
+    private boolean available(int length) {
+        while (limit - position < length && !inputExhausted) {
+            readMore();
+        }
+        return limit - position >= length;
+    }
+
+    private void readMore() {
+        if (limit == buf.length) {
+            if (position > 0) {
+                // make room by moving the remaining bytes to the beginning of the buffer
+                System.arraycopy(buf, position, buf, 0, limit - position);
+                limit -= position;
+                position = 0;
+            } else {
+                // the token is larger than the buffer
+                byte[] newBuf = new byte[buf.length * 2];
+                System.arraycopy(buf, 0, newBuf, 0, limit);
+                buf = newBuf;
+            }
+        }
+        int n;
+        try {
+            if (in != null) {
+                n = in.read(buf, limit, buf.length - limit);
+            } else {
+                n = channel.read(ByteBuffer.wrap(buf, limit, buf.length - limit));
+            }
+        } catch (IOException e) {
+            lastIOException = e;
+            n = -1;
+        }
+        if (n == -1) {
+            inputExhausted = true;
+        } else {
+            limit += n;
+        }
+    }
+
+}
@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases, as an alternative to
+ * {@link CaseInsensitiveMap} which is based on a {@link java.util.TreeMap}.
+ * <p/>
+ * The map is an open addressing hash table, where the hash code of each key is computed from the case
+ * folded key once, when the key is added. The entries are kept in insertion order.
+ * <p/>
+ * Copying a map using {@link #CaseInsensitiveHashMap(Map)} or {@link #putAll(Map)} on an empty map
+ * is cheap, as the copy shares the tables with the source map until either of the maps is changed
+ * (copy on write). This makes it well suited for message headers which are copied often, such as when
+ * an {@link org.apache.camel.Exchange} is copied, but often only read afterwards.
+ * <p/>
+ * The map does not support <tt>null</tt> keys, and is <b>not</b> thread-safe.
+ */
+public class CaseInsensitiveHashMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = -8538318195477618308L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // the hash table with the position of the entry + 1, where 0 is a free slot
+    private transient int[] index;
+    // the entries in insertion order, where removed entries have a null key
+    private transient String[] keys;
+    private transient Object[] values;
+    private transient int[] hashes;
+    // number of used positions in the entries (including removed entries)
+    private transient int end;
+    private transient int size;
+    // whether the tables are shared with a copy of this map
+    private transient boolean shared;
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+    private transient Set<String> keySet;
+
+    public CaseInsensitiveHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveHashMap(int initialCapacity) {
+        init(tableSizeFor(initialCapacity));
+    }
+
+    public CaseInsensitiveHashMap(Map<? extends String, ?> map) {
+        if (map instanceof CaseInsensitiveHashMap) {
+            share((CaseInsensitiveHashMap) map);
+        } else {
+            init(tableSizeFor(map.size()));
+            putAll(map);
+        }
+    }
+
+    private void init(int capacity) {
+        index = new int[capacity * 2];
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        end = 0;
+        size = 0;
+        shared = false;
+    }
+
+    private void share(CaseInsensitiveHashMap source) {
+        source.shared = true;
+        index = source.index;
+        keys = source.keys;
+        values = source.values;
+        hashes = source.hashes;
+        end = source.end;
+        size = source.size;
+        shared = true;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(capacity, 4);
+        return n >= 1 << 29 ? 1 << 29 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Computes the hash code of the case folded key, which is the same for all the cases of the key.
+     */
+    static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 128) {
+                // fast path for ascii which is the most common for header names
+                if (c >= 'A' && c <= 'Z') {
+                    c += 32;
+                }
+            } else {
+                // same folding as String.equalsIgnoreCase
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private int find(String key, int hash) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int i = hash & mask;
+        int pos;
+        while ((pos = index[i]) != 0) {
+            pos--;
+            if (hashes[pos] == hash) {
+                String k = keys[pos];
+                if (k == key || k != null && k.equalsIgnoreCase(key)) {
+                    return pos;
+                }
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(int pos, int hash) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        int p;
+        // slots of removed entries can be reused as the key is known not to be in the table
+        while ((p = index[i]) != 0 && keys[p - 1] != null) {
+            i = (i + 1) & mask;
+        }
+        index[i] = pos + 1;
+    }
+
+    private void copyOnWrite() {
+        if (shared) {
+            index = index.clone();
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            shared = false;
+        }
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldEnd = end;
+        int count = size;
+
+        init(capacity);
+        for (int i = 0; i < oldEnd; i++) {
+            if (oldKeys[i] != null) {
+                keys[end] = oldKeys[i];
+                values[end] = oldValues[i];
+                hashes[end] = oldHashes[i];
+                insert(end, oldHashes[i]);
+                end++;
+            }
+        }
+        size = count;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && find((String) key, hash((String) key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < end; i++) {
+            if (keys[i] != null && ObjectHelper.equal(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String) {
+            int pos = find((String) key, hash((String) key));
+            return pos >= 0 ? values[pos] : null;
+        }
+        return null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int hash = hash(key);
+        int pos = find(key, hash);
+        if (pos >= 0) {
+            // keep the original case of the key as TreeMap does
+            copyOnWrite();
+            Object answer = values[pos];
+            values[pos] = value;
+            return answer;
+        }
+        if (end == keys.length) {
+            // compact the removed entries, or grow if there are not enough of them
+            rehash(size >= keys.length / 2 ? keys.length * 2 : keys.length);
+        } else {
+            copyOnWrite();
+        }
+        keys[end] = key;
+        values[end] = value;
+        hashes[end] = hash;
+        insert(end, hash);
+        end++;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<? extends String, ?> map) {
+        if (size == 0 && map instanceof CaseInsensitiveHashMap) {
+            // cheap copy by sharing the tables
+            share((CaseInsensitiveHashMap) map);
+            modCount++;
+            return;
+        }
+        if (map instanceof CaseInsensitiveHashMap) {
+            ((CaseInsensitiveHashMap) map).forEach(this::put);
+        } else {
+            for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key instanceof String) {
+            int pos = find((String) key, hash((String) key));
+            if (pos >= 0) {
+                Object answer = values[pos];
+                removeAt(pos);
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    private void removeAt(int pos) {
+        copyOnWrite();
+        // the slot in the index is kept so probing continues past the removed entry
+        keys[pos] = null;
+        values[pos] = null;
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            init(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(index, 0);
+            Arrays.fill(keys, 0, end, null);
+            Arrays.fill(values, 0, end, null);
+            end = 0;
+            size = 0;
+        }
+        modCount++;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        int mc = modCount;
+        for (int i = 0; i < end; i++) {
+            String key = keys[i];
+            if (key != null) {
+                action.accept(key, values[i]);
+            }
+        }
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < end; i++) {
+            if (keys[i] != null) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        init(tableSizeFor(count));
+        for (int i = 0; i < count; i++) {
+            String key = (String) in.readObject();
+            Object value = in.readObject();
+            put(key, value);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry) {
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                return containsKey(e.getKey()) && ObjectHelper.equal(get(e.getKey()), e.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHashMap.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<Map.Entry<String, Object>> it = new EntryIterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return it.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int before = size;
+            CaseInsensitiveHashMap.this.remove(o);
+            return size != before;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (next < end && keys[next] == null) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= end) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            advance();
+            return new Entry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(current);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final String key;
+        private final int pos;
+
+        Entry(int pos) {
+            this.key = keys[pos];
+            this.pos = pos;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            // the entry may have been removed or the tables rehashed since
+            return keys[pos] == key ? values[pos] : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (keys[pos] == key) {
+                copyOnWrite();
+                Object answer = values[pos];
+                values[pos] = value;
+                return answer;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && ObjectHelper.equal(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+}
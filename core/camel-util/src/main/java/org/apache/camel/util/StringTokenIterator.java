@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An {@link Iterator} which splits a string by a literal delimiter, such as a new line.
+ * <p/>
+ * The tokens are the same as returned by a {@link Scanner} using the delimiter as pattern, which means that a
+ * delimiter at the beginning and at the end of the string is skipped, but the delimiter is searched for using
+ * {@link String#indexOf(String, int)} instead of a regular expression. When grouping, then each group of tokens
+ * (including the delimiters in between) is returned as a single substring.
+ *
+ * @see ByteTokenIterator
+ */
+public final class StringTokenIterator implements Iterator<String> {
+
+    private final String source;
+    private final String delimiter;
+    private final int group;
+    private boolean skipFirst;
+    // the start of the next token, and the start of the token after the tokens found by the last scan
+    private int position;
+    private int next;
+
+    /**
+     * Creates a new iterator
+     *
+     * @param source     the string
+     * @param delimiter  the literal delimiter
+     * @param group      number of tokens to group together, use 1 to not group
+     * @param skipFirst  whether to skip the first token (such as a header line)
+     */
+    public StringTokenIterator(String source, String delimiter, int group, boolean skipFirst) {
+        this.source = Objects.requireNonNull(source, "source");
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        if (group <= 0) {
+            throw new IllegalArgumentException("Group must be a positive number, was: " + group);
+        }
+        this.delimiter = delimiter;
+        this.group = group;
+        this.skipFirst = skipFirst;
+        // a delimiter at the beginning is skipped
+        if (source.startsWith(delimiter)) {
+            position = delimiter.length();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < source.length();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (skipFirst) {
+            skipFirst = false;
+            scan(1);
+            position = next;
+            if (!hasNext()) {
+                // only the first token which is skipped
+                return "";
+            }
+        }
+        int end = scan(group);
+        String answer = source.substring(position, end);
+        position = next;
+        return answer;
+    }
+
+    /**
+     * Scans the given number of tokens from the position.
+     *
+     * @return the end of the tokens (excluding the last delimiter)
+     */
+    private int scan(int tokens) {
+        int count = 0;
+        int from = position;
+        int end;
+        while (true) {
+            int index = source.indexOf(delimiter, from);
+            if (index < 0) {
+                // the last token
+                end = source.length();
+                from = end;
+                break;
+            }
+            end = index;
+            from = index + delimiter.length();
+            // a delimiter at the end is skipped
+            if (++count == tokens || from == source.length()) {
+                break;
+            }
+        }
+        next = from;
+        return end;
+    }
+
+}
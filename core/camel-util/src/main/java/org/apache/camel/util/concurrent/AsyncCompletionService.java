@@ -58,6 +58,20 @@ public class AsyncCompletionService<V> {
         index.incrementAndGet();
     }
 
+    /**
+     * Whether a completed result is available to {@link #poll()}.
+     */
+    public boolean hasCompleted() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Task t = queue.peek();
+            return t != null && (!ordered || index.get() == t.id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public V pollUnordered() {
         final ReentrantLock lock = this.lock;
         lock.lock();
@@ -30,18 +30,38 @@ public final class CamelThreadFactory implements ThreadFactory {
     private final String pattern;
     private final String name;
     private final boolean daemon;
+    private final boolean virtual;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    /**
+     * Creates a thread factory
+     *
+     * @param pattern the thread name pattern
+     * @param name    the name
+     * @param daemon  whether the threads are daemon threads (virtual threads are always daemon threads)
+     * @param virtual whether to create virtual threads (requires Java 21 or newer)
+     * @see VirtualThreadHelper#isVirtualThreadsSupported()
+     */
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
+        this.virtual = virtual;
     }
 
     @Override
     public Thread newThread(Runnable runnable) {
         String threadName = ThreadHelper.resolveThreadName(pattern, name);
-        Thread answer = new Thread(runnable, threadName);
-        answer.setDaemon(daemon);
+        Thread answer;
+        if (virtual) {
+            answer = VirtualThreadHelper.newVirtualThread(runnable, threadName);
+        } else {
+            answer = new Thread(runnable, threadName);
+            answer.setDaemon(daemon);
+        }
 
         LOG.trace("Created thread[{}] -> {}", threadName, answer);
         return answer;
@@ -51,6 +71,10 @@ public final class CamelThreadFactory implements ThreadFactory {
         return name;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
     @Override
     public String toString() {
         return "CamelThreadFactory[" + name + "]";
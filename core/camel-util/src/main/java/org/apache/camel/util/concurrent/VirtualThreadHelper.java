@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for creating virtual threads when running on a JDK which supports them (JDK 21 onwards).
+ * <p/>
+ * The JDK APIs are looked up once using method handles, as Camel is compiled to run on older JDKs.
+ */
+public final class VirtualThreadHelper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadHelper.class);
+
+    // Thread.ofVirtual().unstarted(Runnable)
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle UNSTARTED;
+    // Executors.newThreadPerTaskExecutor(ThreadFactory)
+    private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle unstarted = null;
+        MethodHandle threadPerTask = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(builder));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            threadPerTask = lookup.findStatic(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // virtual threads is a preview feature on JDK 19/20 which fails unless preview is enabled
+            Runnable noop = () -> { };
+            Object dummy = unstarted.invoke(ofVirtual.invoke(), noop);
+            LOG.trace("Virtual threads are supported: {}", dummy);
+        } catch (Throwable e) {
+            LOG.debug("Virtual threads are not supported on this JVM");
+            ofVirtual = null;
+            unstarted = null;
+            threadPerTask = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+        THREAD_PER_TASK_EXECUTOR = threadPerTask;
+    }
+
+    private VirtualThreadHelper() {
+    }
+
+    /**
+     * Whether the JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a new unstarted virtual thread with the given name.
+     *
+     * @param runnable the task to run
+     * @param name     the thread name
+     * @return the thread
+     * @throws UnsupportedOperationException if virtual threads is not supported
+     */
+    public static Thread newVirtualThread(Runnable runnable, String name) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads requires Java 21 or newer");
+        }
+        try {
+            Thread answer = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(), runnable);
+            answer.setName(name);
+            return answer;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating virtual thread", e);
+        }
+    }
+
+    /**
+     * Creates a new {@link ExecutorService} which starts a new thread for each task,
+     * using the given thread factory which should create virtual threads.
+     *
+     * @param threadFactory the thread factory
+     * @return the executor service
+     * @throws UnsupportedOperationException if virtual threads is not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads requires Java 21 or newer");
+        }
+        try {
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating thread per task executor", e);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteTokenIteratorTest extends Assert {
+
+    @Test
+    public void testTokenize() {
+        assertTokens("a,b,c", ",", 1, false, "a", "b", "c");
+        assertTokens(",a,,b,", ",", 1, false, "a", "", "b");
+        assertTokens(",,", ",", 1, false, "");
+        assertTokens("", ",", 1, false);
+        assertTokens("a\r\nb\r\n", "\r\n", 1, false, "a", "b");
+        assertTokens("æøå|€", "|", 1, false, "æøå", "€");
+    }
+
+    @Test
+    public void testGroup() {
+        assertTokens("a\nb\nc\nd\ne\n", "\n", 2, false, "a\nb", "c\nd", "e");
+        assertTokens("h\na\nb\nc", "\n", 2, true, "a\nb", "c");
+        assertTokens("h\n", "\n", 2, true, "");
+    }
+
+    @Test
+    public void testMalformedInput() throws Exception {
+        byte[] bytes = "a\nb\næ\nc".getBytes(StandardCharsets.ISO_8859_1);
+        ByteTokenIterator it = new ByteTokenIterator(bytes, StandardCharsets.UTF_8, "\n", 1, false);
+        assertEquals("a", it.next());
+        assertEquals("b", it.next());
+        // the iteration stops, and the error is thrown when closed
+        assertFalse(it.hasNext());
+        try {
+            it.close();
+            fail("Should have thrown exception");
+        } catch (CharacterCodingException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSameTokensAsScanner() {
+        Random random = new Random(1234);
+        String[] delimiters = {",", "\n", "\r\n", "ab", "aab"};
+        for (int i = 0; i < 500; i++) {
+            String delimiter = delimiters[random.nextInt(delimiters.length)];
+            // use long tokens once in a while, which are larger than the buffer
+            int length = random.nextInt(10) == 0 ? 50000 : random.nextInt(100);
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                sb.append("ab,\r\næ".charAt(random.nextInt(random.nextInt(10) == 0 ? 6 : 5)));
+            }
+            String text = sb.toString();
+            List<String> expected = toList(new Scanner(text, delimiter));
+            int group = 1 + random.nextInt(3);
+            boolean skipFirst = random.nextBoolean();
+            String[] tokens = group(expected, delimiter, group, skipFirst).toArray(new String[0]);
+            assertTokens(text, delimiter, group, skipFirst, tokens);
+        }
+    }
+
+    private static void assertTokens(String text, String delimiter, int group, boolean skipFirst, String... expected) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        String message = "Tokenizing: " + text + " by: " + delimiter;
+        assertEquals(message, Arrays.asList(expected), toList(new StringTokenIterator(text, delimiter, group, skipFirst)));
+        assertEquals(message, Arrays.asList(expected), toList(new ByteTokenIterator(bytes, StandardCharsets.UTF_8, delimiter, group, skipFirst)));
+        // read a few bytes at a time so the delimiters are split between the reads
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        assertEquals(message, Arrays.asList(expected), toList(new ByteTokenIterator(in, StandardCharsets.UTF_8, delimiter, group, skipFirst)));
+    }
+
+    private static List<String> toList(Iterator<String> it) {
+        List<String> answer = new ArrayList<>();
+        while (it.hasNext()) {
+            answer.add(it.next());
+        }
+        return answer;
+    }
+
+    private static List<String> group(List<String> tokens, String delimiter, int group, boolean skipFirst) {
+        List<String> answer = new ArrayList<>();
+        int index = 0;
+        if (skipFirst && !tokens.isEmpty()) {
+            index++;
+            if (index == tokens.size()) {
+                answer.add("");
+            }
+        }
+        while (index < tokens.size()) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < group && index < tokens.size(); i++) {
+                if (i > 0) {
+                    sb.append(delimiter);
+                }
+                sb.append(tokens.get(index++));
+            }
+            answer.add(sb.toString());
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleMapTest extends Assert {
+
+    @Test
+    public void testPutGetRemove() {
+        DoubleMap<Class<?>, Class<?>, String> map = new DoubleMap<>(2);
+        map.put(String.class, Integer.class, "a");
+        map.put(Integer.class, String.class, "b");
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(String.class, Integer.class));
+        assertEquals("b", map.get(Integer.class, String.class));
+        assertNull(map.get(String.class, String.class));
+
+        // replace does not change the size
+        map.put(String.class, Integer.class, "c");
+        assertEquals(2, map.size());
+        assertEquals("c", map.get(String.class, Integer.class));
+
+        assertTrue(map.remove(String.class, Integer.class));
+        assertFalse(map.remove(String.class, Integer.class));
+        assertEquals(1, map.size());
+        assertNull(map.get(String.class, Integer.class));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(Integer.class, String.class));
+    }
+
+    @Test
+    public void testGrow() {
+        Class<?>[] types = {String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class,
+            Boolean.class, Character.class, Object.class};
+        DoubleMap<Class<?>, Class<?>, String> map = new DoubleMap<>(2);
+        for (Class<?> to : types) {
+            for (Class<?> from : types) {
+                map.put(to, from, to.getSimpleName() + from.getSimpleName());
+                // replacing while the table grows does not change the size
+                map.put(to, from, to.getSimpleName() + "-" + from.getSimpleName());
+            }
+        }
+        assertEquals(types.length * types.length, map.size());
+
+        int[] count = new int[1];
+        map.forEach((to, from, v) -> {
+            assertEquals(to.getSimpleName() + "-" + from.getSimpleName(), v);
+            count[0]++;
+        });
+        assertEquals(map.size(), count[0]);
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        DoubleMap<Class<?>, Class<?>, String> map = new DoubleMap<>(2);
+        map.put(String.class, Integer.class, "a");
+        map.put(Integer.class, String.class, "b");
+        map.ensureCapacity(100);
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(String.class, Integer.class));
+        assertEquals("b", map.get(Integer.class, String.class));
+
+        map.put(Long.class, String.class, "c");
+        assertEquals(3, map.size());
+        assertEquals("c", map.get(Long.class, String.class));
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.apache.camel.util.CaseInsensitiveHashMap;
 import org.apache.camel.util.CaseInsensitiveMap;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -39,7 +40,7 @@ import org.openjdk.jmh.runner.options.TimeValue;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 
 /**
- * Tests {@link CaseInsensitiveMap}
+ * Tests {@link CaseInsensitiveMap}, {@link CaseInsensitiveHashMap} and the cedarsoft map used by camel-headersmap
  */
 public class CaseInsensitiveMapTest {
 
@@ -71,12 +72,14 @@ public class CaseInsensitiveMapTest {
     @State(Scope.Thread)
     public static class MapsBenchmarkState {
         CaseInsensitiveMap camelMap;
+        CaseInsensitiveHashMap camelHashMap;
         com.cedarsoftware.util.CaseInsensitiveMap cedarsoftMap;
         HashMap hashMap;
 
         @Setup(Level.Trial)
         public void initialize() {
             camelMap = new CaseInsensitiveMap();
+            camelHashMap = new CaseInsensitiveHashMap();
             cedarsoftMap = new com.cedarsoftware.util.CaseInsensitiveMap();
             hashMap = new HashMap();
         }
@@ -87,6 +90,10 @@ public class CaseInsensitiveMapTest {
     public static class MapsSourceDataBenchmarkState {
         Map<String, Object> map1 = generateRandomMap(10);
         Map<String, Object> map2 = generateRandomMap(10);
+        CaseInsensitiveMap camelSource = new CaseInsensitiveMap(map1);
+        CaseInsensitiveHashMap camelHashSource = new CaseInsensitiveHashMap(map1);
+        com.cedarsoftware.util.CaseInsensitiveMap cedarsoftSource = new com.cedarsoftware.util.CaseInsensitiveMap(map1);
+        String lookupKey = map1.keySet().iterator().next().toUpperCase();
 
         private Map<String, Object> generateRandomMap(int size) {
             return IntStream.range(0, size)
@@ -112,6 +119,23 @@ public class CaseInsensitiveMapTest {
         bh.consume(o4);
     }
 
+    @Benchmark
+    public void camelHashMapSimpleCase(MapsBenchmarkState state, Blackhole bh) {
+        Map map = state.camelHashMap;
+
+        map.put("foo", "Hello World");
+        Object o1 = map.get("foo");
+        bh.consume(o1);
+        Object o2 = map.get("FOO");
+        bh.consume(o2);
+
+        map.put("BAR", "Bye World");
+        Object o3 = map.get("bar");
+        bh.consume(o3);
+        Object o4 = map.get("BAR");
+        bh.consume(o4);
+    }
+
     @Benchmark
     public void cedarsoftMapSimpleCase(MapsBenchmarkState state, Blackhole bh) {
         Map map = state.cedarsoftMap;
@@ -167,6 +191,26 @@ public class CaseInsensitiveMapTest {
     }
 
 
+    @Benchmark
+    public void camelHashMapComplexCase(MapsBenchmarkState mapsBenchmarkState, MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
+        // step 1 - initialize map with existing elements
+        Map map = mapsBenchmarkState.camelHashMap;
+
+        // step 2 - add elements one by one
+        sourceDataState.map2.entrySet().forEach(entry -> blackhole.consume(map.put(entry.getKey(), entry.getValue())));
+
+        // step 3 - remove elements one by one
+        sourceDataState.map1.keySet().forEach(key -> blackhole.consume(map.get(key)));
+
+        // step 4 - remove elements one by one
+        sourceDataState.map1.keySet().forEach(key -> blackhole.consume(map.remove(key)));
+
+        // step 5 - add couple of element at once
+        map.putAll(sourceDataState.map1);
+
+        blackhole.consume(map);
+    }
+
     @Benchmark
     public void cedarsoftMapComplexCase(MapsBenchmarkState mapsBenchmarkState, MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
         // step 1 - initialize map with existing elements
@@ -207,4 +251,25 @@ public class CaseInsensitiveMapTest {
         blackhole.consume(map);
     }
 
+    @Benchmark
+    public void camelMapCopy(MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
+        // copy the headers as when an exchange is copied, and then read a header from the copy
+        Map<String, Object> copy = new CaseInsensitiveMap(sourceDataState.camelSource);
+        blackhole.consume(copy.get(sourceDataState.lookupKey));
+    }
+
+    @Benchmark
+    public void camelHashMapCopy(MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
+        // copy the headers as when an exchange is copied, and then read a header from the copy
+        Map<String, Object> copy = new CaseInsensitiveHashMap(sourceDataState.camelHashSource);
+        blackhole.consume(copy.get(sourceDataState.lookupKey));
+    }
+
+    @Benchmark
+    public void cedarsoftMapCopy(MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
+        // copy the headers as when an exchange is copied, and then read a header from the copy
+        Map<String, Object> copy = new com.cedarsoftware.util.CaseInsensitiveMap(sourceDataState.cedarsoftSource);
+        blackhole.consume(copy.get(sourceDataState.lookupKey));
+    }
+
 }
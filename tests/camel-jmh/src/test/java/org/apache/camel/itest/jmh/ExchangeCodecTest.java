@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.BinaryExchangeCodec;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests storing and loading an exchange as the aggregation repositories does, using Java serialization
+ * of {@link DefaultExchangeHolder} and the {@link BinaryExchangeCodec} with and without compression.
+ * <p/>
+ * The size of the stored data in each format is printed when the benchmark is set up.
+ */
+public class ExchangeCodecTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .addProfiler("gc")
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Exchange exchange;
+        Map<String, Object> properties;
+        BinaryExchangeCodec codec;
+        BinaryExchangeCodec compressingCodec;
+        byte[] serialized;
+        byte[] binary;
+        byte[] compressed;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            // an aggregated exchange with a few kb body and the headers such as from a HTTP or JMS consumer
+            exchange = new DefaultExchange(camel);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                sb.append("<order id=\"").append(i).append("\"><item>Camel</item><amount>").append(i * 10).append("</amount></order>");
+            }
+            exchange.getIn().setBody(sb.toString());
+            for (int i = 0; i < 20; i++) {
+                exchange.getIn().setHeader("Header" + i, "Value" + i);
+            }
+            exchange.getIn().setHeader("CamelFileLength", 4096L);
+            exchange.getIn().setHeader("JMSPriority", 4);
+            exchange.getIn().setHeader("JMSRedelivered", false);
+            properties = Collections.singletonMap(Exchange.AGGREGATED_SIZE, 100);
+
+            codec = new BinaryExchangeCodec();
+            compressingCodec = new BinaryExchangeCodec();
+            compressingCodec.setCompress(true);
+
+            serialized = serialize(this);
+            binary = codec.marshal(exchange, false, false, properties);
+            compressed = compressingCodec.marshal(exchange, false, false, properties);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void serializedMarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(serialize(state));
+    }
+
+    @Benchmark
+    public void serializedUnmarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(state.serialized))) {
+            DefaultExchangeHolder holder = (DefaultExchangeHolder) ois.readObject();
+            Exchange answer = new DefaultExchange(state.camel);
+            DefaultExchangeHolder.unmarshal(answer, holder);
+            bh.consume(answer);
+        }
+    }
+
+    @Benchmark
+    public void binaryMarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.codec.marshal(state.exchange, false, false, state.properties));
+    }
+
+    @Benchmark
+    public void binaryUnmarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.codec.unmarshal(state.camel, state.binary));
+    }
+
+    @Benchmark
+    public void compressedMarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.compressingCodec.marshal(state.exchange, false, false, state.properties));
+    }
+
+    @Benchmark
+    public void compressedUnmarshal(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.compressingCodec.unmarshal(state.camel, state.compressed));
+    }
+
+    private static byte[] serialize(BenchmarkState state) throws IOException {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(state.exchange, false, false);
+        DefaultExchangeHolder.addProperty(holder, Exchange.AGGREGATED_SIZE, 100);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(holder);
+        }
+        return bos.toByteArray();
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.ExchangeHelper;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests copying an exchange as the Splitter and Multicast EIPs does, using a regular copy
+ * and a copy which shares the headers and properties until changed (copy on write).
+ * <p/>
+ * The allocation rate per copy is reported as <tt>gc.alloc.rate.norm</tt>.
+ */
+public class ExchangeCopyTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .addProfiler("gc")
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            // an exchange with the number of headers and properties such as from a HTTP or JMS consumer
+            exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("Hello World");
+            for (int i = 0; i < 30; i++) {
+                exchange.getIn().setHeader("Header" + i, "Value" + i);
+            }
+            for (int i = 0; i < 5; i++) {
+                exchange.setProperty("Property" + i, "Value" + i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void copy(BenchmarkState state, Blackhole bh) {
+        Exchange copy = ExchangeHelper.createCorrelatedCopy(state.exchange, false);
+        // the sub exchange typically reads a few headers and sets its own properties
+        bh.consume(copy.getIn().getHeader("Header10"));
+        copy.setProperty(Exchange.SPLIT_INDEX, 1);
+        bh.consume(copy);
+    }
+
+    @Benchmark
+    public void copyOnWrite(BenchmarkState state, Blackhole bh) {
+        Exchange copy = ExchangeHelper.createCorrelatedCopyOnWrite(state.exchange, false);
+        // the sub exchange typically reads a few headers and sets its own properties
+        bh.consume(copy.getIn().getHeader("Header10"));
+        copy.setProperty(Exchange.SPLIT_INDEX, 1);
+        bh.consume(copy);
+    }
+
+}
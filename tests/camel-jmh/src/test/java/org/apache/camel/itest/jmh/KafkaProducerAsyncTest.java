@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaEndpoint;
+import org.apache.camel.component.kafka.KafkaProducer;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests sending exchanges with the Kafka producer in synchronous and asynchronous mode,
+ * where the broker acknowledges each record from a single I/O thread after a short delay.
+ */
+public class KafkaProducerAsyncTest {
+
+    private static final int EXCHANGES = 100;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(2)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        AcknowledgingKafkaProducer kafkaProducer;
+        KafkaProducer syncProducer;
+        KafkaProducer asyncProducer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            kafkaProducer = new AcknowledgingKafkaProducer();
+            syncProducer = createProducer("kafka:bench?brokers=localhost:9092&synchronous=true");
+            asyncProducer = createProducer("kafka:bench?brokers=localhost:9092");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            syncProducer.stop();
+            asyncProducer.stop();
+            kafkaProducer.close();
+            camel.stop();
+        }
+
+        private KafkaProducer createProducer(String uri) throws Exception {
+            KafkaEndpoint endpoint = camel.getEndpoint(uri, KafkaEndpoint.class);
+            KafkaProducer producer = new KafkaProducer(endpoint);
+            producer.setKafkaProducer(kafkaProducer);
+            producer.start();
+            return producer;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendSynchronous(BenchmarkState state) throws Exception {
+        for (int i = 0; i < EXCHANGES; i++) {
+            Exchange exchange = state.syncProducer.getEndpoint().createExchange();
+            exchange.getIn().setBody("Hello World");
+            state.syncProducer.process(exchange);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendAsynchronous(BenchmarkState state) throws Exception {
+        CountDownLatch latch = new CountDownLatch(EXCHANGES);
+        for (int i = 0; i < EXCHANGES; i++) {
+            Exchange exchange = state.asyncProducer.getEndpoint().createExchange();
+            exchange.getIn().setBody("Hello World");
+            state.asyncProducer.process(exchange, doneSync -> latch.countDown());
+        }
+        latch.await();
+    }
+
+    /**
+     * Stand-in for a Kafka producer connected to a broker, which completes the sends from its own I/O thread.
+     */
+    private static final class AcknowledgingKafkaProducer extends org.apache.kafka.clients.producer.KafkaProducer<String, String> {
+
+        private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor();
+
+        AcknowledgingKafkaProducer() {
+            super(config());
+        }
+
+        private static Properties config() {
+            Properties props = new Properties();
+            props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+            props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+            props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+            return props;
+        }
+
+        @Override
+        public Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+            // simulate the round trip to the broker
+            return io.schedule(() -> {
+                RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), 0, 0, 0, 0L, 0, 0);
+                callback.onCompletion(metadata, null);
+                return metadata;
+            }, 1, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void close() {
+            io.shutdownNow();
+            super.close();
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.main.Main;
+import org.apache.camel.main.StartupSnapshot;
+import org.apache.camel.main.StartupSnapshotGenerator;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the startup time of Camel Main with and without a startup snapshot generated at build time
+ */
+public class MainStartupSnapshotTest {
+
+    private static final String SNAPSHOT_CLASS = "org.apache.camel.itest.jmh.MyStartupSnapshot";
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(2)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        StartupSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            // generate the snapshot as it would be done at build time, and compile it
+            File dir = Files.createTempDirectory("camel-startup-snapshot").toFile();
+            File source = new StartupSnapshotGenerator(createMain()).generate(SNAPSHOT_CLASS, dir);
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            int rc = compiler.run(null, null, null, "-nowarn", "-classpath", System.getProperty("java.class.path"),
+                "-d", dir.getAbsolutePath(), source.getAbsolutePath());
+            if (rc != 0) {
+                throw new IllegalStateException("Cannot compile startup snapshot: " + source);
+            }
+
+            ClassLoader loader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, MainStartupSnapshotTest.class.getClassLoader());
+            snapshot = (StartupSnapshot) loader.loadClass(SNAPSHOT_CLASS).newInstance();
+        }
+    }
+
+    @Benchmark
+    public void startWithoutSnapshot(BenchmarkState state) throws Exception {
+        Main main = createMain();
+        main.start();
+        main.stop();
+    }
+
+    @Benchmark
+    public void startWithSnapshot(BenchmarkState state) throws Exception {
+        Main main = createMain();
+        main.setStartupSnapshot(state.snapshot);
+        main.start();
+        main.stop();
+    }
+
+    private static Main createMain() {
+        Properties prop = new Properties();
+        prop.put("camel.component.seda.queue-size", "500");
+        prop.put("camel.component.seda.concurrent-consumers", "2");
+        prop.put("camel.component.log.exchange-formatter", "#class:org.apache.camel.support.processor.DefaultExchangeFormatter");
+        prop.put("camel.context.name", "myCamel");
+
+        Main main = new Main();
+        main.setOverrideProperties(prop);
+        main.setRouteBuilderClasses(MyRouteBuilder.class.getName());
+        main.disableHangupSupport();
+        return main;
+    }
+
+    public static class MyRouteBuilder extends RouteBuilder {
+        @Override
+        public void configure() throws Exception {
+            from("direct:start").filter(simple("${body} contains 'Camel'")).to("log:foo").to("seda:foo");
+            from("direct:bar").split(body().tokenize(",")).to("log:bar").to("mock:result");
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultManagementStrategy;
+import org.apache.camel.management.DefaultManagementAgent;
+import org.apache.camel.management.mbean.ManagedPerformanceCounter;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests routing, and updating a performance counter, with the <tt>Default</tt> and <tt>Histogram</tt> management
+ * statistics levels, from 1, 8 and 32 concurrent threads.
+ */
+public class ManagementStatisticsLevelTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        for (int threads : new int[]{1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .threads(threads)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        CamelContext defaultLevel;
+        CamelContext histogramLevel;
+        ProducerTemplate defaultTemplate;
+        ProducerTemplate histogramTemplate;
+        ManagedPerformanceCounter defaultCounter;
+        ManagedPerformanceCounter histogramCounter;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            defaultLevel = createCamelContext(ManagementStatisticsLevel.Default);
+            histogramLevel = createCamelContext(ManagementStatisticsLevel.Histogram);
+            defaultTemplate = defaultLevel.createProducerTemplate();
+            histogramTemplate = histogramLevel.createProducerTemplate();
+            defaultCounter = createCounter(defaultLevel, ManagementStatisticsLevel.Default);
+            histogramCounter = createCounter(histogramLevel, ManagementStatisticsLevel.Histogram);
+            exchange = new DefaultExchange(defaultLevel);
+        }
+
+        private ManagedPerformanceCounter createCounter(CamelContext camel, ManagementStatisticsLevel level) {
+            DefaultManagementAgent agent = new DefaultManagementAgent(camel);
+            agent.setStatisticsLevel(level);
+            ManagedPerformanceCounter counter = new ManagedPerformanceCounter() {
+            };
+            counter.init(new DefaultManagementStrategy(camel, agent));
+            return counter;
+        }
+
+        private CamelContext createCamelContext(ManagementStatisticsLevel level) throws Exception {
+            CamelContext camel = new DefaultCamelContext();
+            camel.init();
+            camel.getManagementStrategy().getManagementAgent().setStatisticsLevel(level);
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start")
+                        .setHeader("foo", constant("bar"))
+                        .setBody(simple("${body} World"))
+                        .to("log:" + level + "?level=OFF");
+                }
+            });
+            camel.start();
+            return camel;
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            defaultTemplate.stop();
+            histogramTemplate.stop();
+            defaultLevel.stop();
+            histogramLevel.stop();
+        }
+    }
+
+    @Benchmark
+    public void defaultLevel(BenchmarkState state) {
+        state.defaultTemplate.sendBody("direct:start", "Hello");
+    }
+
+    @Benchmark
+    public void histogramLevel(BenchmarkState state) {
+        state.histogramTemplate.sendBody("direct:start", "Hello");
+    }
+
+    @Benchmark
+    public void defaultCounter(BenchmarkState state) {
+        state.defaultCounter.processExchange(state.exchange);
+        state.defaultCounter.completedExchange(state.exchange, 5);
+    }
+
+    @Benchmark
+    public void histogramCounter(BenchmarkState state) {
+        state.histogramCounter.processExchange(state.exchange);
+        state.histogramCounter.completedExchange(state.exchange, 5);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.impl.engine.DefaultReactiveExecutor;
+import org.apache.camel.impl.engine.WorkStealingReactiveExecutor;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests {@link DefaultReactiveExecutor} and {@link WorkStealingReactiveExecutor}
+ * <p/>
+ * Run with <tt>-prof gc</tt> to compare the allocation rate per operation.
+ */
+public class ReactiveExecutorTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        ReactiveExecutor defaultExecutor;
+        ReactiveExecutor workStealingExecutor;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            defaultExecutor = new DefaultReactiveExecutor();
+            workStealingExecutor = new WorkStealingReactiveExecutor();
+        }
+    }
+
+    @Benchmark
+    public void defaultExecutor(BenchmarkState state, Blackhole bh) {
+        routeLikeWork(state.defaultExecutor, bh);
+    }
+
+    @Benchmark
+    public void workStealingExecutor(BenchmarkState state, Blackhole bh) {
+        routeLikeWork(state.workStealingExecutor, bh);
+    }
+
+    private static void routeLikeWork(ReactiveExecutor executor, Blackhole bh) {
+        // simulate a pipeline of 10 steps where each step schedules the next as a continuation
+        // and a callback, which is how the routing engine uses the reactive executor
+        executor.scheduleMain(() -> step(executor, bh, 10), "Main");
+    }
+
+    private static void step(ReactiveExecutor executor, Blackhole bh, int remaining) {
+        bh.consume(remaining);
+        if (remaining > 0) {
+            executor.schedule(() -> step(executor, bh, remaining - 1), "Step");
+            executor.schedule(() -> bh.consume(executor), "Callback");
+        }
+    }
+
+}
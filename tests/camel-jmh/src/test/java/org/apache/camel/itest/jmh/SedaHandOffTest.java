@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.seda.RingBufferBlockingQueueFactory;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests handing over exchanges between routes using direct, seda (with the default linked queue and with a ring buffer queue)
+ * and disruptor. The send benchmarks measure the time per exchange when sending many exchanges (throughput),
+ * and the request benchmarks measure the time of a single request reply round trip (latency).
+ */
+public class SedaHandOffTest {
+
+    private static final int EXCHANGES = 1000;
+
+    private static final String DIRECT = "direct:handoff";
+    private static final String SEDA = "seda:linked?size=1024&blockWhenFull=true";
+    private static final String SEDA_RING_BUFFER = "seda:ring?queueFactory=#ringBufferQueueFactory&size=1024&blockWhenFull=true&pollBatchSize=64";
+    private static final String DISRUPTOR = "disruptor:handoff?size=1024";
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(2)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerTemplate producer;
+        Endpoint direct;
+        Endpoint seda;
+        Endpoint sedaRingBuffer;
+        Endpoint disruptor;
+        volatile CountDownLatch latch = new CountDownLatch(0);
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.getRegistry().bind("ringBufferQueueFactory", new RingBufferBlockingQueueFactory<>());
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from(DIRECT).process(e -> latch.countDown());
+                    from(SEDA).process(e -> latch.countDown());
+                    from(SEDA_RING_BUFFER).process(e -> latch.countDown());
+                    from(DISRUPTOR).process(e -> latch.countDown());
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+
+            // resolve the endpoints up front so the benchmarks do not include the endpoint lookup
+            direct = camel.getEndpoint(DIRECT);
+            seda = camel.getEndpoint(SEDA);
+            sedaRingBuffer = camel.getEndpoint(SEDA_RING_BUFFER);
+            disruptor = camel.getEndpoint(DISRUPTOR);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            producer.stop();
+            camel.stop();
+        }
+
+        void send(Endpoint endpoint) throws Exception {
+            latch = new CountDownLatch(EXCHANGES);
+            for (int i = 0; i < EXCHANGES; i++) {
+                producer.sendBody(endpoint, "Hello World");
+            }
+            latch.await();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendDirect(BenchmarkState state) throws Exception {
+        state.send(state.direct);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendSeda(BenchmarkState state) throws Exception {
+        state.send(state.seda);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendSedaRingBuffer(BenchmarkState state) throws Exception {
+        state.send(state.sedaRingBuffer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXCHANGES)
+    public void sendDisruptor(BenchmarkState state) throws Exception {
+        state.send(state.disruptor);
+    }
+
+    @Benchmark
+    public Object requestDirect(BenchmarkState state) {
+        return state.producer.requestBody(state.direct, "Hello World");
+    }
+
+    @Benchmark
+    public Object requestSeda(BenchmarkState state) {
+        return state.producer.requestBody(state.seda, "Hello World");
+    }
+
+    @Benchmark
+    public Object requestSedaRingBuffer(BenchmarkState state) {
+        return state.producer.requestBody(state.sedaRingBuffer, "Hello World");
+    }
+
+    @Benchmark
+    public Object requestDisruptor(BenchmarkState state) {
+        return state.producer.requestBody(state.disruptor, "Hello World");
+    }
+
+}
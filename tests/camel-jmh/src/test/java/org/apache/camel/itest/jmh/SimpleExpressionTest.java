@@ -20,7 +20,9 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.DefaultExchange;
 import org.junit.Test;
@@ -39,7 +41,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
- * Tests a Simple expression
+ * Tests a Simple expression, and a content based router predicate using the interpreted and compiled simple language
  */
 public class SimpleExpressionTest {
 
@@ -71,8 +73,12 @@ public class SimpleExpressionTest {
     public static class BenchmarkState {
         CamelContext camel;
         String expression = "Hello ${body}";
+        String predicate = "${header.type} == 'gold' && ${header.amount} > 1000 && ${body.length} < 100";
         Exchange exchange;
         Language simple;
+        SimpleLanguage compiled;
+        Predicate interpretedPredicate;
+        Predicate compiledPredicate;
 
         @Setup(Level.Trial)
         public void initialize() {
@@ -81,8 +87,17 @@ public class SimpleExpressionTest {
                 camel.start();
                 exchange = new DefaultExchange(camel);
                 exchange.getIn().setBody("World");
+                exchange.getIn().setHeader("type", "gold");
+                exchange.getIn().setHeader("amount", 1234);
                 simple = camel.resolveLanguage("simple");
 
+                compiled = new SimpleLanguage();
+                compiled.setCamelContext(camel);
+                compiled.setCompiled(true);
+
+                interpretedPredicate = simple.createPredicate(predicate);
+                compiledPredicate = compiled.createPredicate(predicate);
+
             } catch (Exception e) {
                 // ignore
             }
@@ -109,4 +124,34 @@ public class SimpleExpressionTest {
         bh.consume(out);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simpleExpressionCompiled(BenchmarkState state, Blackhole bh) {
+        String out = state.compiled.createExpression(state.expression).evaluate(state.exchange, String.class);
+        if (!out.equals("Hello World")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simplePredicate(BenchmarkState state, Blackhole bh) {
+        boolean out = state.interpretedPredicate.matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simplePredicateCompiled(BenchmarkState state, Blackhole bh) {
+        boolean out = state.compiledPredicate.matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
 }
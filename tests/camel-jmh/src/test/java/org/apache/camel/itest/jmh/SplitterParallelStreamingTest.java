@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests splitting a big message in streaming mode using parallel processing, where the processing is slower than
+ * splitting the message, with and without a max number of messages in flight. The processing is asynchronous,
+ * so the threads of the splitter are not what is limiting the number of messages in flight.
+ * <p/>
+ * The benchmark runs with a small heap, and the time and count of the garbage collections are reported as
+ * <tt>gc.time</tt> and <tt>gc.count</tt>. Without a limit the splitted lines pile up in the heap, so the garbage
+ * collector has to work hard to keep up, which it does not when the max number of messages in flight is used.
+ */
+public class SplitterParallelStreamingTest {
+
+    private static final int LINES = 20000;
+    private static final int LINE_LENGTH = 10000;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.SingleShotTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(1)
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(5))
+            .threads(1)
+            .forks(1)
+            .jvmArgsAppend("-Xmx512m")
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .addProfiler("gc")
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerTemplate producer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:unbounded")
+                        .split(body(), new CountingAggregationStrategy()).streaming().parallelProcessing()
+                            .delay(1).asyncDelayed()
+                        .end();
+
+                    from("direct:bounded")
+                        .split(body(), new CountingAggregationStrategy()).streaming().parallelProcessing().maxInflight(100)
+                            .delay(1).asyncDelayed()
+                        .end();
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            producer.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void unbounded(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:unbounded", new Lines(LINES)));
+    }
+
+    @Benchmark
+    public void bounded(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:bounded", new Lines(LINES)));
+    }
+
+    /**
+     * A big message which generates the lines on demand, like a file being read.
+     */
+    private static final class Lines implements Iterable<String> {
+        private final int size;
+
+        Lines(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public String next() {
+                    index++;
+                    return new String(new char[LINE_LENGTH]);
+                }
+            };
+        }
+    }
+
+    private static final class CountingAggregationStrategy implements AggregationStrategy {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            count.incrementAndGet();
+            // do not keep the splitted messages
+            return oldExchange != null ? oldExchange : newExchange;
+        }
+    }
+
+}
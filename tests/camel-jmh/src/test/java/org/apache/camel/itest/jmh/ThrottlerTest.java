@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the throughput and latency of the Throttler EIP, using the regular throttler which blocks the threads
+ * while throttling, and the non blocking throttler.
+ * <p/>
+ * The throttle rate is higher than a single thread can send, so the exchanges are mostly not delayed and the
+ * overhead of the throttler itself when called concurrently is measured. The latency is reported as percentiles.
+ */
+public class ThrottlerTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.SampleTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .threads(8)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerTemplate producer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:blocking").throttle(200000).timePeriodMillis(1000).to("mock:blocking");
+
+                    from("direct:nonBlocking").throttle(200000).timePeriodMillis(1000).nonBlocking().to("mock:nonBlocking");
+
+                    // with correlation groups so each thread is throttled on its own
+                    from("direct:blockingGrouped").throttle(constant(20000), header("group")).timePeriodMillis(1000)
+                        .to("mock:blockingGrouped");
+
+                    from("direct:nonBlockingGrouped").throttle(constant(20000), header("group")).timePeriodMillis(1000).nonBlocking()
+                        .to("mock:nonBlockingGrouped");
+                }
+            });
+            // do not keep the received exchanges in memory
+            camel.getEndpoint("mock:blocking", MockEndpoint.class).setRetainFirst(0);
+            camel.getEndpoint("mock:nonBlocking", MockEndpoint.class).setRetainFirst(0);
+            camel.getEndpoint("mock:blockingGrouped", MockEndpoint.class).setRetainFirst(0);
+            camel.getEndpoint("mock:nonBlockingGrouped", MockEndpoint.class).setRetainFirst(0);
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            producer.stop();
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void blocking(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:blocking", "Hello World"));
+    }
+
+    @Benchmark
+    public void nonBlocking(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:nonBlocking", "Hello World"));
+    }
+
+    @Benchmark
+    public void blockingGrouped(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBodyAndHeader("direct:blockingGrouped", "Hello World", "group", Thread.currentThread().getName()));
+    }
+
+    @Benchmark
+    public void nonBlockingGrouped(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBodyAndHeader("direct:nonBlockingGrouped", "Hello World", "group", Thread.currentThread().getName()));
+    }
+
+}
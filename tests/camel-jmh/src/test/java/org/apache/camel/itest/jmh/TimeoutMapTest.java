@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests {@link DefaultTimeoutMap} and {@link HashedWheelTimeoutMap} with 1 million outstanding entries,
+ * while the background task is purging the expired entries.
+ */
+public class TimeoutMapTest {
+
+    private static final int ENTRIES = 1_000_000;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(5)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        ScheduledExecutorService executor;
+        TimeoutMap<String, String> defaultMap;
+        TimeoutMap<String, String> hashedWheelMap;
+        AtomicLong counter = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            executor = new ScheduledThreadPoolExecutor(2);
+            // purge every 100 millis to make the cost of purging visible
+            defaultMap = new DefaultTimeoutMap<>(executor, 100);
+            hashedWheelMap = new HashedWheelTimeoutMap<>(executor, 100);
+            for (int i = 0; i < ENTRIES; i++) {
+                // spread the timeouts so entries keeps expiring during the benchmark
+                long timeout = ThreadLocalRandom.current().nextLong(1000, 60000);
+                defaultMap.put("key-" + i, "value-" + i, timeout);
+                hashedWheelMap.put("key-" + i, "value-" + i, timeout);
+            }
+            ServiceHelper.startService(defaultMap, hashedWheelMap);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception {
+            ServiceHelper.stopService(defaultMap, hashedWheelMap);
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void defaultTimeoutMap(BenchmarkState state, Blackhole bh) {
+        requestReply(state.defaultMap, state.counter, bh);
+    }
+
+    @Benchmark
+    public void hashedWheelTimeoutMap(BenchmarkState state, Blackhole bh) {
+        requestReply(state.hashedWheelMap, state.counter, bh);
+    }
+
+    private static void requestReply(TimeoutMap<String, String> map, AtomicLong counter, Blackhole bh) {
+        // simulate request/reply where a correlation id is added when sending the request,
+        // and looked up and removed when the reply is received, and some requests time out
+        long id = counter.incrementAndGet();
+        String key = "request-" + id;
+        map.put(key, "reply", 30000);
+        bh.consume(map.get(key));
+        if (id % 10 != 0) {
+            bh.consume(map.remove(key));
+        }
+    }
+
+}
@@ -16,6 +16,9 @@
  */
 package org.apache.camel.test.perf;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.util.StopWatch;
 import org.junit.Test;
@@ -73,6 +76,54 @@ public class SplitterPerformanceTest extends AbstractBasePerformanceTest {
         log.warn("Ran {} tests in {}ms", count, watch.taken());
     }
 
+    @Test
+    public void testTokenizeRegex() throws InterruptedException {
+        // the same as testTokenize but using the regular expression based scanner to compare with
+        template.setDefaultEndpointUri("direct:regex");
+
+        execute(1);
+
+        resetMock(count);
+
+        StopWatch watch = new StopWatch();
+        execute(1);
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", count, watch.taken());
+    }
+
+    @Test
+    public void testTokenizeStream() throws InterruptedException {
+        template.setDefaultEndpointUri("direct:stream");
+
+        template.sendBody(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+
+        resetMock(count);
+
+        StopWatch watch = new StopWatch();
+        template.sendBody(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", count, watch.taken());
+    }
+
+    @Test
+    public void testTokenizeGroup() throws InterruptedException {
+        template.setDefaultEndpointUri("direct:group");
+
+        execute(1);
+
+        // the lines are grouped by 100
+        int groups = (count + 99) / 100;
+        resetMock(groups);
+
+        StopWatch watch = new StopWatch();
+        execute(1);
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", groups, watch.taken());
+    }
+
     @Override
     protected String getPayload() {
         return PAYLOAD;
@@ -85,6 +136,18 @@ public class SplitterPerformanceTest extends AbstractBasePerformanceTest {
                 from("direct:tokenize")
                     .split(body().tokenize("\n"))
                         .to("mock:end");
+
+                from("direct:regex")
+                    .split(body().regexTokenize("\n"))
+                        .to("mock:end");
+
+                from("direct:stream")
+                    .split(body().tokenize("\n")).streaming()
+                        .to("mock:end");
+
+                from("direct:group")
+                    .split().tokenize("\n", 100)
+                        .to("mock:end");
             }
         };
     }
@@ -20,6 +20,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.language.xpath.XPathBuilder;
+import org.apache.camel.support.builder.xml.DocumentCacheHelper;
 import org.apache.camel.util.StopWatch;
 import org.junit.Test;
 
@@ -59,10 +61,61 @@ public class XPathBasedRoutingPerformanceTest extends AbstractBasePerformanceTes
         log.warn("Ran {} tests in {}ms", count, watch.taken());
     }
 
+    @Test
+    public void testChoiceStreaming() throws InterruptedException {
+        template.setDefaultEndpointUri("direct:choiceStreaming");
+
+        // warm up with 20.000 messages so that the JIT compiler kicks in
+        execute(20000);
+
+        resetMock(count);
+
+        StopWatch watch = new StopWatch();
+        execute(count);
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", count, watch.taken());
+    }
+
+    @Test
+    public void testFilterStreaming() throws InterruptedException {
+        template.setDefaultEndpointUri("direct:filterStreaming");
+
+        // warm up with 20.000 messages so that the JIT compiler kicks in
+        execute(20000);
+
+        resetMock(count);
+
+        StopWatch watch = new StopWatch();
+        execute(count);
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", count, watch.taken());
+    }
+
+    @Test
+    public void testChoiceMultiplePredicates() throws InterruptedException {
+        template.setDefaultEndpointUri("direct:choiceMultiplePredicates");
+
+        // warm up with 20.000 messages so that the JIT compiler kicks in
+        execute(20000);
+
+        resetMock(count);
+
+        StopWatch watch = new StopWatch();
+        execute(count);
+
+        assertMockEndpointsSatisfied();
+        log.warn("Ran {} tests in {}ms", count, watch.taken());
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
             public void configure() throws Exception {
+                // reuse the parsed message in the choice with multiple predicates
+                getContext().getGlobalOptions().put(DocumentCacheHelper.DOCUMENT_CACHE_ENABLED, "true");
+
                 Map<String, String> namespaces = new HashMap<>();
                 namespaces.put("soapenv", "http://schemas.xmlsoap.org/soap/envelope/");
                 namespaces.put("m", "http://services.samples/xsd");
@@ -75,7 +128,32 @@ public class XPathBasedRoutingPerformanceTest extends AbstractBasePerformanceTes
                     .choice()
                         .when().xpath("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='IBM'", namespaces)
                             .to("mock:end");
+
+                from("direct:filterStreaming")
+                    .filter(streaming("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='IBM'", namespaces))
+                        .to("mock:end");
+
+                from("direct:choiceStreaming")
+                    .choice()
+                        .when(streaming("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='IBM'", namespaces))
+                            .to("mock:end");
+
+                // the message is parsed once for all the predicates
+                from("direct:choiceMultiplePredicates")
+                    .choice()
+                        .when().xpath("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='MSFT'", namespaces)
+                            .to("mock:msft")
+                        .when().xpath("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='SUN'", namespaces)
+                            .to("mock:sun")
+                        .when().xpath("/soapenv:Envelope/soapenv:Body/m:buyStocks/order[1]/symbol='IBM'", namespaces)
+                            .to("mock:end");
             }
         };
     }
+
+    private static XPathBuilder streaming(String text, Map<String, String> namespaces) {
+        XPathBuilder builder = XPathBuilder.xpath(text).streaming();
+        builder.setNamespaces(namespaces);
+        return builder;
+    }
 }
\ No newline at end of file
@@ -307,7 +307,7 @@ public abstract class AbstractTypeConverterGenerator extends AbstractCamelAnnota
         }
     }
 
-    private String toString(TypeMirror type) {
+    String toString(TypeMirror type) {
         return type.toString().replaceAll("<.*>", "");
     }
 
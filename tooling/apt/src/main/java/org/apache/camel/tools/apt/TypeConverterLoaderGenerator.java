@@ -18,12 +18,15 @@ package org.apache.camel.tools.apt;
 
 import java.io.Writer;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeSet;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
@@ -49,6 +52,7 @@ public class TypeConverterLoaderGenerator extends AbstractTypeConverterGenerator
             writeConverters(key, "Loader", value);
         }
         writeConverterLoaderMetaInfo(converters);
+        writeConverterIndex(converters);
     }
 
     private void writeConverterLoaderMetaInfo(Map<String, ClassConverters> converters) throws Exception {
@@ -72,6 +76,38 @@ public class TypeConverterLoaderGenerator extends AbstractTypeConverterGenerator
         }
     }
 
+    private void writeConverterIndex(Map<String, ClassConverters> converters) throws Exception {
+        // the loaders and the (to, from) class names of their type converters, sorted by class name
+        Set<String> loaders = new TreeSet<>();
+        Set<String> entries = new TreeSet<>();
+        for (Map.Entry<String, ClassConverters> entry : converters.entrySet()) {
+            ClassConverters value = entry.getValue();
+            if (!value.isEmpty()) {
+                loaders.add(entry.getKey() + "Loader");
+            }
+            for (Map.Entry<String, Map<TypeMirror, ExecutableElement>> to : value.getConverters().entrySet()) {
+                for (TypeMirror from : to.getValue().keySet()) {
+                    entries.add(to.getKey() + " " + toString(from));
+                }
+            }
+        }
+
+        if (!loaders.isEmpty()) {
+            FileObject fo = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/org/apache/camel/TypeConverterIndex");
+            try (Writer writer = fo.openWriter()) {
+                writer.append("# Generated by camel annotation processor\n");
+                writer.append("# the number of type converters, the type converter loaders, and the to and from types of the type converters\n");
+                writer.append(Integer.toString(entries.size())).append("\n");
+                for (String loader : loaders) {
+                    writer.append(loader).append("\n");
+                }
+                for (String entry : entries) {
+                    writer.append(entry).append("\n");
+                }
+            }
+        }
+    }
+
     private static boolean isLoaderEnabled(Element element) {
         for (AnnotationMirror ann : element.getAnnotationMirrors()) {
             for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : ann.getElementValues().entrySet()) {